@@ -0,0 +1,83 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chargement d'un fichier de réseau (format de metro.txt) par les différents
+ * lecteurs (le lecteur parallèle utilise tous les cœurs). Le fichier est écrit dans un fichier temporaire à partir d'une
+ * grille générée, une connexion par paire de nœuds voisins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkChargement {
+
+    @Param({"10000", "1000000"})
+    public int taille;
+
+    Path fichier;
+    LireReseauParallele lecteurParallele;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        GrapheListe graphe = GenerateurGraphes.generer("grille", this.taille, BenchmarkMoteurs.GRAINE);
+        this.fichier = Files.createTempFile("reseau", ".txt");
+        try (BufferedWriter sortie = Files.newBufferedWriter(this.fichier, StandardCharsets.UTF_8)) {
+            sortie.write("%% Stations:\n");
+            for (String noeud : graphe.listeNoeuds()) {
+                sortie.write(noeud + ":Station " + noeud + "\n");
+            }
+            sortie.write("%% Connexions:\n");
+            for (String noeud : graphe.listeNoeuds()) {
+                for (Arc arc : graphe.suivants(noeud)) {
+                    // Une connexion est bidirectionnelle : on n'écrit que l'un des deux arcs
+                    if (Integer.parseInt(noeud) < Integer.parseInt(arc.getDest())) {
+                        sortie.write(noeud + ":" + arc.getDest() + ":" + arc.getCout() + ":" + arc.getLigne() + "\n");
+                    }
+                }
+            }
+        }
+        this.lecteurParallele = new LireReseauParallele();
+    }
+
+    @TearDown(Level.Trial)
+    public void terminer() throws IOException {
+        this.lecteurParallele.close();
+        Files.deleteIfExists(this.fichier);
+    }
+
+    @Benchmark
+    public Reseau lireReseau() throws IOException {
+        return LireReseau.lireReseau(this.fichier.toString());
+    }
+
+    @Benchmark
+    public Reseau lireReseauMappe() throws IOException {
+        return LireReseauMappe.lireReseau(this.fichier.toString());
+    }
+
+    @Benchmark
+    public Reseau lireReseauParallele() throws IOException {
+        return this.lecteurParallele.lireReseau(this.fichier.toString());
+    }
+}
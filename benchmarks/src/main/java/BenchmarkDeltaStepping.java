@@ -0,0 +1,89 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Passage à l'échelle du Δ-stepping : même requête avec 1 à 16 threads,
+ * et Dijkstra séquentiel comme référence (indépendant du nombre de threads).
+ * Le facteur appliqué à Δ permet de comparer plusieurs largeurs de paquet
+ * autour de la valeur conseillée (coût moyen des arcs).
+ * Les threads au-delà du nombre de cœurs de la machine ne mesurent que le surcoût.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkDeltaStepping {
+
+    @Param({"grille", "geometrique"})
+    public String type;
+
+    @Param({"100000", "1000000"})
+    public int taille;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"0.5", "1", "4"})
+    public double facteurDelta;
+
+    GrapheCompact compact;
+    int[] departs;
+    int requete;
+
+    Dijkstra dijkstra;
+    DeltaStepping deltaStepping;
+    ValeursIndexees valeurs;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        GrapheListe graphe = GenerateurGraphes.generer(this.type, this.taille, BenchmarkMoteurs.GRAINE);
+        this.compact = GrapheCompact.depuis(graphe);
+        String[] noms = GenerateurGraphes.noeudsAuHasard(graphe, BenchmarkMoteurs.NB_REQUETES, BenchmarkMoteurs.GRAINE);
+        this.departs = new int[noms.length];
+        for (int i = 0; i < noms.length; i++) {
+            this.departs[i] = this.compact.indice(noms[i]);
+        }
+        this.dijkstra = new Dijkstra();
+        this.deltaStepping = new DeltaStepping(this.facteurDelta * DeltaStepping.deltaConseille(this.compact),
+                this.threads);
+        this.valeurs = new ValeursIndexees(this.compact);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminer() {
+        this.deltaStepping.close();
+    }
+
+    /**
+     * Passe au départ suivant
+     */
+    int suivant() {
+        this.requete = (this.requete + 1) % this.departs.length;
+        return this.departs[this.requete];
+    }
+
+    @Benchmark
+    public ValeursIndexees deltaStepping() {
+        return this.deltaStepping.resoudre(this.compact, suivant(), this.valeurs);
+    }
+
+    @Benchmark
+    public ValeursIndexees dijkstraReference() {
+        return this.dijkstra.resoudre(this.compact, suivant(), -1, this.valeurs);
+    }
+}
@@ -0,0 +1,230 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de tous les moteurs sur le réseau réel du métro (metro.txt),
+ * avec les trajets de MainMetro
+ * Le chemin du fichier se règle avec -Dmetro=... (par défaut celui du projet principal).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkMetro {
+
+    static final String[][] TRAJETS = {{"1", "10"}, {"25", "45"}, {"50", "75"}, {"100", "125"}, {"150", "175"}};
+
+    Reseau reseau;
+    Graphe metro;
+    GrapheCompact compact;
+    int requete;
+
+    Dijkstra dijkstra;
+    BellmanFord bellmanFord;
+    AEtoile aEtoile;
+    AEtoile aEtoileReperes;
+    DijkstraBidirectionnel bidirectionnel;
+    DijkstraLignes dijkstraLignes;
+    MatriceDistances matrice;
+    HierarchieContraction hierarchie;
+    Raptor raptor;
+    KPlusCourtsChemins yen;
+    DijkstraCibles recherche;
+    Isochrones isochrones;
+    /** Une station sur sept, cibles de DijkstraCibles */
+    List<String> cibles;
+
+    /** Copie du réseau modifiée par DijkstraDynamique (fermeture de la station 10) */
+    GrapheListe metroModifiable;
+    DijkstraDynamique dynamique;
+    List<Arc> arcsStation;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        this.reseau = LireReseau.lireReseau(System.getProperty("metro", "../src/main/java/metro.txt"));
+        this.metro = this.reseau.getGraphe();
+        this.compact = GrapheCompact.depuis(this.metro);
+        this.dijkstra = new Dijkstra();
+        this.bellmanFord = new BellmanFord();
+        this.aEtoile = AEtoile.pourReseau(this.reseau);
+        this.aEtoileReperes = AEtoile.avecReperes(this.compact, 8);
+        this.bidirectionnel = new DijkstraBidirectionnel(this.compact);
+        this.dijkstraLignes = new DijkstraLignes(this.compact);
+        this.matrice = new MatriceDistances(this.compact);
+        this.hierarchie = HierarchieContraction.construire(this.compact);
+        this.raptor = new Raptor(this.metro);
+        this.yen = new KPlusCourtsChemins(this.compact);
+        this.recherche = new DijkstraCibles(this.compact);
+        this.isochrones = new Isochrones(this.reseau);
+        this.cibles = new ArrayList<>();
+        for (int i = 1; i <= 300; i += 7) {
+            this.cibles.add(String.valueOf(i));
+        }
+        this.metroModifiable = (GrapheListe) LireReseau.lire(System.getProperty("metro", "../src/main/java/metro.txt"));
+        this.dynamique = new DijkstraDynamique(this.metroModifiable, "1");
+        this.arcsStation = List.copyOf(this.metroModifiable.suivants("10"));
+    }
+
+    @TearDown(Level.Trial)
+    public void terminer() {
+        this.matrice.close();
+    }
+
+    String[] suivant() {
+        this.requete = (this.requete + 1) % TRAJETS.length;
+        return TRAJETS[this.requete];
+    }
+
+    @Benchmark
+    public Valeurs dijkstraResoudre() {
+        return this.dijkstra.resoudre(this.metro, suivant()[0]);
+    }
+
+    @Benchmark
+    public Valeurs dijkstraResoudre2() {
+        return this.dijkstra.resoudre2(this.metro, suivant()[0]);
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordResoudre() {
+        return this.bellmanFord.resoudre(this.metro, suivant()[0]);
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordResoudre2() {
+        return this.bellmanFord.resoudre2(this.metro, suivant()[0]);
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordFile() {
+        return this.bellmanFord.resoudreFile(this.compact, suivant()[0]);
+    }
+
+    @Benchmark
+    public Valeurs dijkstraPointAPoint() {
+        String[] trajet = suivant();
+        return this.dijkstra.resoudre(this.compact, trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public Valeurs aEtoile() {
+        String[] trajet = suivant();
+        return this.aEtoile.resoudre(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public Valeurs aEtoileReperes() {
+        String[] trajet = suivant();
+        return this.aEtoileReperes.resoudre(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public Chemin dijkstraBidirectionnel() {
+        String[] trajet = suivant();
+        return this.bidirectionnel.resoudre(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public Chemin dijkstraLignes() {
+        String[] trajet = suivant();
+        return this.dijkstraLignes.chemin(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public float[][] matriceToutesPaires() {
+        return this.matrice.toutesPaires();
+    }
+
+    @Benchmark
+    public Chemin hierarchieContraction() {
+        String[] trajet = suivant();
+        return this.hierarchie.chemin(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public HierarchieContraction hierarchieConstruire() {
+        return HierarchieContraction.construire(this.compact);
+    }
+
+    @Benchmark
+    public Chemin raptorTrajet() {
+        String[] trajet = suivant();
+        return this.raptor.trajet(trajet[0], trajet[1], 8 * 3600 + 12 * 60);
+    }
+
+    @Benchmark
+    public List<Raptor.Option> raptorProfil() {
+        String[] trajet = suivant();
+        return this.raptor.profil(trajet[0], trajet[1], 8 * 3600, 9 * 3600);
+    }
+
+    @Benchmark
+    public Raptor raptorPreparer() {
+        return new Raptor(this.metro);
+    }
+
+    @Benchmark
+    public List<Chemin> kPlusCourtsChemins() {
+        String[] trajet = suivant();
+        return this.yen.chemins(trajet[0], trajet[1], 10);
+    }
+
+    @Benchmark
+    public Map<String, Double> ciblesPlusProches() {
+        return this.recherche.plusProches(suivant()[0], this.cibles, 5);
+    }
+
+    @Benchmark
+    public Map<String, Double> ciblesBudget() {
+        return this.recherche.resoudre(suivant()[0], this.cibles, 300);
+    }
+
+    @Benchmark
+    public List<Isochrones.Isochrone> isochrones() {
+        return this.isochrones.calculer(suivant()[0], 60, 120, 180, 240);
+    }
+
+    /**
+     * Fermeture puis réouverture de la station 10, chacune suivie d'une réparation
+     */
+    @Benchmark
+    public int dynamiqueFermetureStation() {
+        for (Arc arc : this.arcsStation) {
+            this.dynamique.supprimerArc("10", arc.getDest());
+        }
+        this.dynamique.mettreAJour();
+        int traites = this.dynamique.getNbNoeudsTraites();
+        for (Arc arc : this.arcsStation) {
+            this.dynamique.ajouterArc("10", arc.getDest(), arc.getCout(), arc.getLigne());
+        }
+        this.dynamique.mettreAJour();
+        return traites + this.dynamique.getNbNoeudsTraites();
+    }
+
+    /**
+     * Référence de dynamiqueFermetureStation : deux calculs complets depuis la station 1
+     */
+    @Benchmark
+    public Valeurs dynamiqueRecalculComplet() {
+        this.dijkstra.resoudre(this.metroModifiable, "1");
+        return this.dijkstra.resoudre(this.metroModifiable, "1");
+    }
+}
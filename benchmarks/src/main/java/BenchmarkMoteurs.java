@@ -0,0 +1,109 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks des moteurs de plus court chemin sur des graphes synthétiques
+ * de 10^3 à 10^6 nœuds (graine fixée : les graphes sont identiques d'une exécution à l'autre)
+ * Les départs et arrivées changent à chaque appel, parmi un tirage reproductible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class BenchmarkMoteurs {
+
+    /** Graine des graphes et des tirages */
+    static final long GRAINE = 20240501L;
+
+    /** Nombre de couples départ/arrivée tirés */
+    static final int NB_REQUETES = 64;
+
+    @Param({"grille", "sansEchelle", "geometrique"})
+    public String type;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taille;
+
+    GrapheListe graphe;
+    GrapheCompact compact;
+    String[] departs;
+    String[] arrivees;
+    int requete;
+
+    Dijkstra dijkstra;
+    BellmanFord bellmanFord;
+    DijkstraBidirectionnel bidirectionnel;
+    DijkstraLignes dijkstraLignes;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        this.graphe = GenerateurGraphes.generer(this.type, this.taille, GRAINE);
+        this.compact = GrapheCompact.depuis(this.graphe);
+        this.departs = GenerateurGraphes.noeudsAuHasard(this.graphe, NB_REQUETES, GRAINE);
+        this.arrivees = GenerateurGraphes.noeudsAuHasard(this.graphe, NB_REQUETES, GRAINE + 1);
+        this.dijkstra = new Dijkstra();
+        this.bellmanFord = new BellmanFord();
+        this.bidirectionnel = new DijkstraBidirectionnel(this.compact);
+        this.dijkstraLignes = new DijkstraLignes(this.compact);
+    }
+
+    /**
+     * Passe au couple départ/arrivée suivant
+     */
+    int suivante() {
+        this.requete = (this.requete + 1) % NB_REQUETES;
+        return this.requete;
+    }
+
+    @Benchmark
+    public Valeurs dijkstraResoudre() {
+        return this.dijkstra.resoudre(this.graphe, this.departs[suivante()]);
+    }
+
+    @Benchmark
+    public Valeurs dijkstraResoudreCompact() {
+        return this.dijkstra.resoudre(this.compact, this.departs[suivante()]);
+    }
+
+    @Benchmark
+    public Valeurs dijkstraPointAPoint() {
+        int i = suivante();
+        return this.dijkstra.resoudre(this.compact, this.departs[i], this.arrivees[i]);
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordResoudre() {
+        return this.bellmanFord.resoudre(this.graphe, this.departs[suivante()]);
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordFile() {
+        return this.bellmanFord.resoudreFile(this.compact, this.departs[suivante()]);
+    }
+
+    @Benchmark
+    public Chemin dijkstraBidirectionnel() {
+        int i = suivante();
+        return this.bidirectionnel.resoudre(this.departs[i], this.arrivees[i]);
+    }
+
+    @Benchmark
+    public Chemin dijkstraLignes() {
+        int i = suivante();
+        return this.dijkstraLignes.chemin(this.departs[i], this.arrivees[i]);
+    }
+}
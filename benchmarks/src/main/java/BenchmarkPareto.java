@@ -0,0 +1,70 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Front de Pareto (temps, changements) en une recherche, comparé à N recherches
+ * DijkstraLignes avec N pénalités différentes (entre 0 et 15 minutes par
+ * changement), sur les trajets de BenchmarkMetro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkPareto {
+
+    @Param({"2", "4", "8", "16"})
+    public int nbPenalites;
+
+    GrapheCompact compact;
+    int requete;
+
+    DijkstraPareto pareto;
+    DijkstraLignes[] penalises;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        Graphe metro = LireReseau.lire(System.getProperty("metro", "../src/main/java/metro.txt"));
+        this.compact = GrapheCompact.depuis(metro);
+        this.pareto = new DijkstraPareto(this.compact);
+        this.penalises = new DijkstraLignes[this.nbPenalites];
+        for (int i = 0; i < this.nbPenalites; i++) {
+            this.penalises[i] = new DijkstraLignes(this.compact, 900.0 * i / (this.nbPenalites - 1));
+        }
+    }
+
+    String[] suivant() {
+        this.requete = (this.requete + 1) % BenchmarkMetro.TRAJETS.length;
+        return BenchmarkMetro.TRAJETS[this.requete];
+    }
+
+    @Benchmark
+    public List<Chemin> front() {
+        String[] trajet = suivant();
+        return this.pareto.front(trajet[0], trajet[1]);
+    }
+
+    @Benchmark
+    public void recherchesPenalisees(Blackhole trou) {
+        String[] trajet = suivant();
+        for (DijkstraLignes moteur : this.penalises) {
+            trou.consume(moteur.chemin(trajet[0], trajet[1]));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks des versions avec pénalité de changement de ligne (resoudre2)
+ * Leur recherche du minimum est linéaire (O(V^2) par requête) : les tailles
+ * sont limitées à 10^4 nœuds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class BenchmarkVersions2 {
+
+    @Param({"grille", "sansEchelle", "geometrique"})
+    public String type;
+
+    @Param({"1000", "10000"})
+    public int taille;
+
+    GrapheListe graphe;
+    String[] departs;
+    int requete;
+
+    Dijkstra dijkstra;
+    BellmanFord bellmanFord;
+    DijkstraLignes dijkstraLignes;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        this.graphe = GenerateurGraphes.generer(this.type, this.taille, BenchmarkMoteurs.GRAINE);
+        this.departs = GenerateurGraphes.noeudsAuHasard(this.graphe, BenchmarkMoteurs.NB_REQUETES,
+                BenchmarkMoteurs.GRAINE);
+        this.dijkstra = new Dijkstra();
+        this.bellmanFord = new BellmanFord();
+        this.dijkstraLignes = new DijkstraLignes(this.graphe);
+    }
+
+    String suivant() {
+        this.requete = (this.requete + 1) % BenchmarkMoteurs.NB_REQUETES;
+        return this.departs[this.requete];
+    }
+
+    @Benchmark
+    public Valeurs dijkstraResoudre2() {
+        return this.dijkstra.resoudre2(this.graphe, suivant());
+    }
+
+    @Benchmark
+    public Valeurs bellmanFordResoudre2() {
+        return this.bellmanFord.resoudre2(this.graphe, suivant());
+    }
+
+    @Benchmark
+    public Valeurs dijkstraLignes() {
+        return this.dijkstraLignes.resoudre(suivant());
+    }
+}
@@ -0,0 +1,163 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Générateur de graphes synthétiques reproductibles (graine fixée) pour les benchmarks
+ * - grille : grille carrée, 4 voisins, une ligne par rangée et par colonne
+ * - sansEchelle : graphe sans échelle (Barabási-Albert), degrés très inégaux
+ * - geometrique : graphe géométrique aléatoire (points du carré unité reliés
+ *   s'ils sont proches), proche d'un réseau routier
+ * Toutes les connexions sont bidirectionnelles, les nœuds sont nommés "0".."n-1".
+ */
+public class GenerateurGraphes {
+
+    /** Nombre de lignes différentes pour les graphes sans structure de lignes */
+    private static final int NB_LIGNES = 16;
+
+    /**
+     * Construit un graphe selon son type
+     * @param type "grille", "sansEchelle" ou "geometrique"
+     * @param n le nombre de nœuds voulu
+     * @param graine la graine du générateur aléatoire
+     * @return le graphe
+     */
+    public static GrapheListe generer(String type, int n, long graine) {
+        switch (type) {
+            case "grille":
+                return grille(n, graine);
+            case "sansEchelle":
+                return sansEchelle(n, 3, graine);
+            case "geometrique":
+                return geometrique(n, graine);
+            default:
+                throw new IllegalArgumentException("Type de graphe inconnu : " + type);
+        }
+    }
+
+    /**
+     * Grille carrée d'environ n nœuds, coûts entiers entre 1 et 10
+     */
+    public static GrapheListe grille(int n, long graine) {
+        Random alea = new Random(graine);
+        int cote = (int) Math.ceil(Math.sqrt(n));
+        GrapheListe g = new GrapheListe(cote * cote);
+        for (int i = 0; i < cote * cote; i++) {
+            g.ajouterNoeud(Integer.toString(i));
+        }
+        for (int ligne = 0; ligne < cote; ligne++) {
+            for (int colonne = 0; colonne < cote; colonne++) {
+                int u = ligne * cote + colonne;
+                if (colonne + 1 < cote) {
+                    connecter(g, u, u + 1, 1 + alea.nextInt(10), "H" + ligne);
+                }
+                if (ligne + 1 < cote) {
+                    connecter(g, u, u + cote, 1 + alea.nextInt(10), "V" + colonne);
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Graphe sans échelle (attachement préférentiel) : chaque nouveau nœud
+     * se relie à m nœuds existants choisis proportionnellement à leur degré
+     */
+    public static GrapheListe sansEchelle(int n, int m, long graine) {
+        Random alea = new Random(graine);
+        GrapheListe g = new GrapheListe(n);
+        // Chaque extrémité d'arête est mémorisée : tirer dans ce tableau revient à tirer selon le degré
+        int[] extremites = new int[2 * m * n];
+        int nbExtremites = 0;
+        for (int i = 0; i < n; i++) {
+            g.ajouterNoeud(Integer.toString(i));
+        }
+        for (int u = 1; u < n; u++) {
+            for (int k = 0; k < Math.min(m, u); k++) {
+                int v = (nbExtremites == 0) ? 0 : extremites[alea.nextInt(nbExtremites)];
+                if (v == u) {
+                    continue;
+                }
+                connecter(g, u, v, 1 + alea.nextInt(20), "L" + alea.nextInt(NB_LIGNES));
+                extremites[nbExtremites++] = u;
+                extremites[nbExtremites++] = v;
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Graphe géométrique aléatoire : n points dans le carré unité, reliés
+     * si leur distance est inférieure à un rayon donnant un degré moyen d'environ 6.
+     * Le coût d'un arc est sa longueur (multipliée par 1000).
+     */
+    public static GrapheListe geometrique(int n, long graine) {
+        Random alea = new Random(graine);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = alea.nextDouble();
+            y[i] = alea.nextDouble();
+        }
+        double rayon = Math.sqrt(6.0 / (Math.PI * n));
+
+        // Répartition des points dans des cases de la taille du rayon
+        int nbCases = Math.max(1, (int) (1 / rayon));
+        List<List<Integer>> cases = new ArrayList<>(nbCases * nbCases);
+        for (int c = 0; c < nbCases * nbCases; c++) {
+            cases.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            cases.get(caseDe(x[i], nbCases) * nbCases + caseDe(y[i], nbCases)).add(i);
+        }
+
+        GrapheListe g = new GrapheListe(n);
+        for (int i = 0; i < n; i++) {
+            g.ajouterNoeud(Integer.toString(i));
+        }
+        for (int u = 0; u < n; u++) {
+            int cx = caseDe(x[u], nbCases);
+            int cy = caseDe(y[u], nbCases);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (cx + dx < 0 || cx + dx >= nbCases || cy + dy < 0 || cy + dy >= nbCases) {
+                        continue;
+                    }
+                    for (int v : cases.get((cx + dx) * nbCases + cy + dy)) {
+                        double d = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                        if (u < v && d <= rayon) {
+                            connecter(g, u, v, d * 1000, "L" + alea.nextInt(NB_LIGNES));
+                        }
+                    }
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Tire des nœuds de départ reproductibles
+     * @param g le graphe
+     * @param nb le nombre de nœuds à tirer
+     * @param graine la graine du générateur aléatoire
+     * @return les noms des nœuds tirés
+     */
+    public static String[] noeudsAuHasard(Graphe g, int nb, long graine) {
+        Random alea = new Random(graine);
+        List<String> noeuds = g.listeNoeuds();
+        String[] tirage = new String[nb];
+        for (int i = 0; i < nb; i++) {
+            tirage[i] = noeuds.get(alea.nextInt(noeuds.size()));
+        }
+        return tirage;
+    }
+
+    private static int caseDe(double coordonnee, int nbCases) {
+        return Math.min(nbCases - 1, (int) (coordonnee * nbCases));
+    }
+
+    private static void connecter(GrapheListe g, int u, int v, double cout, String ligne) {
+        g.ajouterArc(Integer.toString(u), Integer.toString(v), cout, ligne);
+        g.ajouterArc(Integer.toString(v), Integer.toString(u), cout, ligne);
+    }
+}
@@ -0,0 +1,21 @@
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée du jar de benchmarks : lance les benchmarks avec le profileur gc
+ * (taux d'allocation en plus du débit et du temps moyen)
+ * Argument optionnel : expression régulière des benchmarks à lancer (par exemple "Metro").
+ */
+public class Lanceur {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "Benchmark.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
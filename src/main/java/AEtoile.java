@@ -0,0 +1,150 @@
+/**
+ * Classe implémentant l'algorithme A* pour la recherche du plus court chemin
+ * entre un départ et une arrivée
+ * - même principe que Dijkstra, mais le nœud extrait de Q est celui qui minimise
+ *   valeur(u) + h(u), où h est une heuristique estimant la distance restante
+ * - avec une heuristique cohérente, un nœud sorti de Q a sa valeur définitive
+ *   et la recherche s'arrête dès que l'arrivée est sortie de Q
+ */
+public class AEtoile {
+
+    /** Graphe compact sur lequel s'effectuent les recherches */
+    private final GrapheCompact graphe;
+
+    /** Heuristique (construite sur le même graphe compact) */
+    private final Heuristique heuristique;
+
+    /** Tas conservé entre deux appels (évite les allocations) */
+    private final TasBinaire tas;
+
+    /** Nombre de nœuds sortis de Q lors de la dernière recherche */
+    private int nbNoeudsTraites;
+
+    /**
+     * Constructeur
+     * @param graphe le graphe compact
+     * @param heuristique l'heuristique, construite sur ce même graphe
+     */
+    public AEtoile(GrapheCompact graphe, Heuristique heuristique) {
+        this.graphe = graphe;
+        this.heuristique = heuristique;
+        this.tas = new TasBinaire(graphe.nbNoeuds());
+    }
+
+    /**
+     * Crée une recherche A* pour un réseau, avec l'heuristique euclidienne
+     * construite sur les coordonnées des stations
+     * @param reseau le réseau (graphe et coordonnées)
+     * @return la recherche A*
+     */
+    public static AEtoile pourReseau(Reseau reseau) {
+        GrapheCompact g = GrapheCompact.depuis(reseau.getGraphe());
+        return new AEtoile(g, new HeuristiqueEuclidienne(g, reseau));
+    }
+
+    /**
+     * Crée une recherche A* pour un graphe quelconque (sans coordonnées),
+     * avec l'heuristique des repères (ALT)
+     * @param g le graphe (coûts positifs ou nuls)
+     * @param nbReperes le nombre de repères
+     * @return la recherche A*
+     */
+    public static AEtoile avecReperes(Graphe g, int nbReperes) {
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        return new AEtoile(compact, new HeuristiqueLandmarks(compact, nbReperes));
+    }
+
+    /**
+     * Retourne le graphe compact utilisé
+     * @return le graphe compact
+     */
+    public GrapheCompact getGraphe() {
+        return this.graphe;
+    }
+
+    /**
+     * Retourne le nombre de nœuds traités (sortis de Q) lors de la dernière recherche
+     * @return le nombre de nœuds traités
+     */
+    public int getNbNoeudsTraites() {
+        return this.nbNoeudsTraites;
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux nœuds
+     * Seuls les nœuds explorés ont une valeur ; celles de l'arrivée et des nœuds
+     * de son chemin sont définitives.
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return un objet Valeurs (utiliser calculerChemin(arrivee) pour le chemin)
+     */
+    public Valeurs resoudre(String depart, String arrivee) {
+        ValeursIndexees valeurs = new ValeursIndexees(this.graphe);
+        int indiceDepart = this.graphe.indice(depart);
+        int indiceArrivee = this.graphe.indice(arrivee);
+        if (indiceDepart == -1 || indiceArrivee == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + (indiceDepart == -1 ? depart : arrivee));
+        }
+        return resoudre(indiceDepart, indiceArrivee, valeurs);
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux nœuds, sans allocation
+     * @param depart l'indice du nœud de départ
+     * @param arrivee l'indice du nœud d'arrivée
+     * @param valeurs l'objet résultat (réinitialisé), construit sur le graphe compact
+     * @return l'objet valeurs passé en paramètre
+     */
+    public ValeursIndexees resoudre(int depart, int arrivee, ValeursIndexees valeurs) {
+        GrapheCompact g = this.graphe;
+        TasBinaire Q = this.tas;
+        valeurs.reinitialiser();
+        Q.vider();
+        this.nbNoeudsTraites = 0;
+
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("AEtoile") : null;
+        valeurs.setDistance(depart, 0);
+        Q.insererOuDiminuer(depart, this.heuristique.estimer(depart, arrivee));
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (!Q.estVide()) {
+            int u = Q.extraireMin();
+            valeurs.marquer(u);
+            this.nbNoeudsTraites++;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+            if (u == arrivee) {
+                break;
+            }
+
+            double valeurU = valeurs.getDistance(u);
+            for (int a = g.debut(u), fin = g.fin(u); a < fin; a++) {
+                int v = g.cible(a);
+                if (valeurs.estMarque(v)) {
+                    continue;
+                }
+                double d = valeurU + g.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (d < valeurs.getDistance(v)) {
+                    valeurs.setDistance(v, d);
+                    valeurs.setParentIndice(v, u);
+                    Q.insererOuDiminuer(v, d + this.heuristique.estimer(v, arrivee));
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return valeurs;
+    }
+}
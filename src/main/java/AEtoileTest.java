@@ -0,0 +1,115 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Tests unitaires pour la classe AEtoile (sur le réseau du métro)
+ */
+public class AEtoileTest {
+
+    private Reseau reseau;
+    private AEtoile aEtoile;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        reseau = LireReseau.lireReseau("src/main/java/metro.txt");
+        aEtoile = AEtoile.pourReseau(reseau);
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testCoordonnees() {
+        // 1:Grande Arche de la Défense:77:465:1
+        assertEquals("Grande Arche de la Défense", reseau.getNom("1"));
+        assertArrayEquals(new double[]{77, 465}, reseau.getCoordonnees("1"), 0.001);
+    }
+
+    @Test
+    public void testMemesDistancesQueDijkstra() {
+        String[][] trajets = {{"1", "10"}, {"25", "45"}, {"50", "75"}, {"100", "125"}, {"150", "175"}};
+        for (String[] trajet : trajets) {
+            Valeurs attendu = dijkstra.resoudre(reseau.getGraphe(), trajet[0]);
+            Valeurs resultats = aEtoile.resoudre(trajet[0], trajet[1]);
+
+            assertEquals(attendu.getValeur(trajet[1]), resultats.getValeur(trajet[1]), 0.001,
+                    "A* doit trouver la même distance que Dijkstra pour " + trajet[0] + " -> " + trajet[1]);
+            assertEquals(trajet[0], resultats.calculerChemin(trajet[1]).get(0));
+        }
+    }
+
+    @Test
+    public void testMoinsDeNoeudsTraites() {
+        // Trajet court : A* ne doit explorer qu'une partie du réseau
+        aEtoile.resoudre("1", "10");
+        assertTrue(aEtoile.getNbNoeudsTraites() < aEtoile.getGraphe().nbNoeuds() / 2,
+                "A* a traité " + aEtoile.getNbNoeudsTraites() + " nœuds");
+    }
+
+    @Test
+    public void testReperesMemesDistancesQueDijkstra() {
+        for (HeuristiqueLandmarks.Selection selection : HeuristiqueLandmarks.Selection.values()) {
+            GrapheCompact g = GrapheCompact.depuis(reseau.getGraphe());
+            HeuristiqueLandmarks reperes = new HeuristiqueLandmarks(g, 8, selection);
+            assertEquals(8, reperes.nbReperes());
+            AEtoile alt = new AEtoile(g, reperes);
+            for (String depart : new String[]{"1", "50", "150"}) {
+                Valeurs attendu = dijkstra.resoudre(reseau.getGraphe(), depart);
+                for (int i = 1; i < g.nbNoeuds(); i += 13) {
+                    String arrivee = g.nom(i);
+                    assertEquals(attendu.getValeur(arrivee), alt.resoudre(depart, arrivee).getValeur(arrivee), 0.001,
+                            selection + " : " + depart + " -> " + arrivee);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReperesMoinsDeNoeudsTraites() {
+        AEtoile alt = AEtoile.avecReperes(reseau.getGraphe(), 8);
+        alt.resoudre("1", "10");
+        assertTrue(alt.getNbNoeudsTraites() < alt.getGraphe().nbNoeuds() / 2,
+                "ALT a traité " + alt.getNbNoeudsTraites() + " nœuds");
+    }
+
+    @Test
+    public void testReperesGrapheOriente() {
+        // Graphe orienté non symétrique : certaines paires sont inaccessibles
+        Random alea = new Random(3);
+        GrapheListe g = new GrapheListe();
+        for (int i = 0; i < 200; i++) {
+            g.ajouterNoeud("n" + i);
+        }
+        for (int k = 0; k < 500; k++) {
+            g.ajouterArc("n" + alea.nextInt(200), "n" + alea.nextInt(200), alea.nextInt(30));
+        }
+        for (HeuristiqueLandmarks.Selection selection : HeuristiqueLandmarks.Selection.values()) {
+            GrapheCompact compact = GrapheCompact.depuis(g);
+            AEtoile alt = new AEtoile(compact, new HeuristiqueLandmarks(compact, 6, selection));
+            for (int k = 0; k < 10; k++) {
+                String depart = "n" + alea.nextInt(200);
+                Valeurs attendu = dijkstra.resoudre(g, depart);
+                for (int i = 0; i < 200; i += 9) {
+                    String arrivee = "n" + i;
+                    Valeurs v = alt.resoudre(depart, arrivee);
+                    double d = attendu.getValeur(arrivee);
+                    if (d == Double.MAX_VALUE) {
+                        assertTrue(v.calculerChemin(arrivee).isEmpty() || arrivee.equals(depart));
+                    } else {
+                        assertEquals(d, v.getValeur(arrivee), 0.001, selection + " : " + depart + " -> " + arrivee);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReperesCoutNegatifRefuse() {
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("A", "B", -1);
+        assertThrows(IllegalArgumentException.class, () -> new HeuristiqueLandmarks(GrapheCompact.depuis(g), 2));
+    }
+}
@@ -22,6 +22,44 @@ public class Arcs {
         this.arcs.add(a);
     }
 
+    /**
+     * Change le coût des arcs menant à une destination
+     * @param dest le nœud de destination
+     * @param ligne la ligne des arcs à modifier (null pour tous les arcs vers dest)
+     * @param cout le nouveau coût
+     * @return le nombre d'arcs modifiés
+     */
+    public int modifierCout(String dest, String ligne, double cout) {
+        int nb = 0;
+        for (int i = 0; i < this.arcs.size(); i++) {
+            Arc arc = this.arcs.get(i);
+            if (correspond(arc, dest, ligne)) {
+                this.arcs.set(i, (arc.getLigne() != null) ? new Arc(dest, cout, arc.getLigne()) : new Arc(dest, cout));
+                nb++;
+            }
+        }
+        return nb;
+    }
+
+    /**
+     * Retire les arcs menant à une destination
+     * @param dest le nœud de destination
+     * @param ligne la ligne des arcs à retirer (null pour tous les arcs vers dest)
+     * @return le nombre d'arcs retirés
+     */
+    public int supprimerArcs(String dest, String ligne) {
+        int avant = this.arcs.size();
+        this.arcs.removeIf(arc -> correspond(arc, dest, ligne));
+        return avant - this.arcs.size();
+    }
+
+    /**
+     * Indique si un arc va vers dest (et appartient à la ligne, si elle est donnée)
+     */
+    private static boolean correspond(Arc arc, String dest, String ligne) {
+        return arc.getDest().equals(dest) && (ligne == null || ligne.equals(arc.getLigne()));
+    }
+
     /**
      * Retourne la liste des arcs
      * @return la liste des arcs
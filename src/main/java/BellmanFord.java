@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -8,60 +10,224 @@ public class BellmanFord {
 
     /**
      * Résout le problème du plus court chemin en utilisant l'algorithme du point fixe
+     * Sans cycle négatif, le point fixe est atteint en au plus |V| passes :
+     * une modification lors de la |V|-ième passe signale un cycle négatif.
      *
      * @param g le graphe sur lequel appliquer l'algorithme
      * @param depart le nœud de départ
      * @return un objet Valeurs contenant les distances et parents de chaque nœud
+     * @throws CycleNegatifException si un cycle de coût négatif est atteignable
      */
     public Valeurs resoudre(Graphe g, String depart) {
-        // Initialisation de l'objet Valeurs
-        Valeurs valeurs = new Valeurs();
-
-        // Étape 1 : Initialisation des valeurs à +∞ pour tous les nœuds
+        // Initialisation de l'objet Valeurs (tableaux indexés par numéro de nœud)
+        // Étape 1 : toutes les valeurs sont à +∞ par défaut
         List<String> noeuds = g.listeNoeuds();
-        for (String noeud : noeuds) {
-            valeurs.setValeur(noeud, Double.MAX_VALUE);
-            valeurs.setParent(noeud, null);
-        }
+        GrapheCompact compact = (g instanceof GrapheCompact) ? (GrapheCompact) g : null;
+        ValeursIndexees valeurs = (compact != null) ? new ValeursIndexees(compact) : new ValeursIndexees(noeuds);
 
         // Le nœud de départ a une distance de 0
         valeurs.setValeur(depart, 0.0);
+        // Départ absent du graphe (en particulier graphe vide) : rien n'est atteignable,
+        // et la limite de passes ci-dessous ne doit pas être confondue avec un cycle
+        if (valeurs.indice(depart) == -1) {
+            return valeurs;
+        }
 
         // Variable pour détecter s'il y a eu des modifications
         boolean modification = true;
+        int passes = 0;
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("BellmanFord") : null;
 
         // Étape 2 : Répéter jusqu'à convergence (point fixe)
         while (modification) {
+            if (passes++ == noeuds.size()) {
+                throw new CycleNegatifException(trouverCycle(valeurs, -1));
+            }
             modification = false;
+            if (Metriques.ACTIVES) {
+                mesure.passes++;
+            }
 
             // Pour chaque nœud du graphe
-            for (String noeudCourant : noeuds) {
-                double valeurCourante = valeurs.getValeur(noeudCourant);
+            for (int u = 0; u < noeuds.size(); u++) {
+                double valeurCourante = valeurs.getDistance(u);
 
                 // Si le nœud n'est pas encore atteignable, on passe au suivant
                 if (valeurCourante == Double.MAX_VALUE) {
                     continue;
                 }
+                if (Metriques.ACTIVES) {
+                    mesure.noeudsTraites++;
+                }
+
+                if (compact != null) {
+                    // Pour chaque arc partant de ce nœud (tableaux du graphe compact)
+                    for (int a = compact.debut(u), fin = compact.fin(u); a < fin; a++) {
+                        int voisin = compact.cible(a);
+                        double nouvelleValeur = valeurCourante + compact.cout(a);
+                        if (Metriques.ACTIVES) {
+                            mesure.arcsRelaches++;
+                        }
+                        if (nouvelleValeur < valeurs.getDistance(voisin)) {
+                            valeurs.setDistance(voisin, nouvelleValeur);
+                            valeurs.setParentIndice(voisin, u);
+                            modification = true;
+                            if (Metriques.ACTIVES) {
+                                mesure.diminutions++;
+                            }
+                        }
+                    }
+                    continue;
+                }
 
                 // Pour chaque arc partant de ce nœud
-                List<Arc> arcs = g.suivants(noeudCourant);
+                List<Arc> arcs = g.suivants(noeuds.get(u));
                 for (Arc arc : arcs) {
-                    String voisin = arc.getDest();
+                    int voisin = valeurs.indice(arc.getDest());
                     double nouvelleValeur = valeurCourante + arc.getCout();
+                    if (Metriques.ACTIVES) {
+                        mesure.arcsRelaches++;
+                    }
 
                     // Si on trouve un chemin plus court
-                    if (nouvelleValeur < valeurs.getValeur(voisin)) {
-                        valeurs.setValeur(voisin, nouvelleValeur);
-                        valeurs.setParent(voisin, noeudCourant);
+                    if (nouvelleValeur < valeurs.getDistance(voisin)) {
+                        valeurs.setDistance(voisin, nouvelleValeur);
+                        valeurs.setParentIndice(voisin, u);
                         modification = true;
+                        if (Metriques.ACTIVES) {
+                            mesure.diminutions++;
+                        }
                     }
                 }
             }
         }
 
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
         return valeurs;
     }
 
+    /**
+     * Variante à file (Bellman-Ford-Moore, ou SPFA) : seuls les arcs sortants des
+     * nœuds dont la valeur vient de diminuer sont relâchés, dans l'ordre FIFO.
+     * On mémorise le nombre d'arcs du chemin courant de chaque nœud : s'il atteint
+     * |V|, le chemin repasse par un même nœud et le graphe des parents contient
+     * un cycle négatif, qui est renvoyé dans l'exception.
+     *
+     * @param g le graphe sur lequel appliquer l'algorithme
+     * @param depart le nœud de départ
+     * @return un objet Valeurs contenant les distances et parents de chaque nœud
+     * @throws CycleNegatifException si un cycle de coût négatif est atteignable
+     */
+    public Valeurs resoudreFile(Graphe g, String depart) {
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        int n = compact.nbNoeuds();
+        ValeursIndexees valeurs = new ValeursIndexees(compact);
+        int indiceDepart = compact.indice(depart);
+        if (indiceDepart == -1) {
+            valeurs.setValeur(depart, 0.0);
+            return valeurs;
+        }
+
+        // File circulaire : chaque nœud y figure au plus une fois
+        int[] file = new int[n];
+        boolean[] dansFile = new boolean[n];
+        int[] longueurs = new int[n];
+        int tete = 0;
+        int taille = 0;
+
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("BellmanFordFile") : null;
+        valeurs.setDistance(indiceDepart, 0.0);
+        file[0] = indiceDepart;
+        dansFile[indiceDepart] = true;
+        taille = 1;
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (taille > 0) {
+            int u = file[tete];
+            tete = (tete + 1 == n) ? 0 : tete + 1;
+            taille--;
+            dansFile[u] = false;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+
+            double valeurCourante = valeurs.getDistance(u);
+            for (int a = compact.debut(u), fin = compact.fin(u); a < fin; a++) {
+                int voisin = compact.cible(a);
+                double nouvelleValeur = valeurCourante + compact.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (nouvelleValeur < valeurs.getDistance(voisin)) {
+                    valeurs.setDistance(voisin, nouvelleValeur);
+                    valeurs.setParentIndice(voisin, u);
+                    longueurs[voisin] = longueurs[u] + 1;
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                    }
+                    if (longueurs[voisin] >= n) {
+                        List<String> cycle = trouverCycle(valeurs, voisin);
+                        if (!cycle.isEmpty()) {
+                            throw new CycleNegatifException(cycle);
+                        }
+                    }
+                    if (!dansFile[voisin]) {
+                        dansFile[voisin] = true;
+                        file[(tete + taille) % n] = voisin;
+                        taille++;
+                        if (Metriques.ACTIVES) {
+                            mesure.insertionsTas++;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Cherche un cycle dans le graphe des parents en remontant depuis un nœud
+     * (ou depuis chaque nœud si depart vaut -1)
+     * @param valeurs les valeurs et parents calculés
+     * @param depart l'indice du nœud de départ de la remontée, ou -1
+     * @return les nœuds du cycle dans l'ordre des arcs, ou une liste vide
+     */
+    static List<String> trouverCycle(ValeursIndexees valeurs, int depart) {
+        int n = valeurs.nbNoeuds();
+        int[] visite = new int[n];
+        int premier = (depart == -1) ? 0 : depart;
+        int dernier = (depart == -1) ? n - 1 : depart;
+        for (int s = premier; s <= dernier; s++) {
+            // Remontée des parents en marquant les nœuds avec le numéro s+1
+            int u = s;
+            while (u != -1 && visite[u] == 0) {
+                visite[u] = s + 1;
+                u = valeurs.getParentIndice(u);
+            }
+            if (u != -1 && visite[u] == s + 1) {
+                // u est sur un cycle : on en fait le tour
+                List<String> cycle = new ArrayList<>();
+                int v = u;
+                do {
+                    cycle.add(valeurs.nom(v));
+                    v = valeurs.getParentIndice(v);
+                } while (v != u);
+                Collections.reverse(cycle);
+                return cycle;
+            }
+        }
+        return new ArrayList<>();
+    }
+
         /**
          * Version 2 de l'algorithme de Bellman-Ford avec pénalité pour changement de ligne
          * @param g le graphe
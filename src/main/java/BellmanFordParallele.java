@@ -0,0 +1,238 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Classe implémentant l'algorithme de Bellman-Ford en parallèle
+ * - les nœuds sont répartis en blocs traités par un ForkJoinPool
+ * - les valeurs sont stockées dans un tableau atomique (bits des double),
+ *   mises à jour par un minimum atomique (compareAndSet)
+ * - à chaque passe, seuls les nœuds modifiés à la passe précédente sont relâchés
+ * - les parents sont calculés à la fin, de façon déterministe
+ *
+ * Les coûts négatifs sont acceptés ; un cycle négatif est signalé par une
+ * CycleNegatifException.
+ *
+ * Sans nombre de threads, les passes utilisent le pool commun ; sinon
+ * l'instance crée son propre pool, arrêté par close().
+ */
+public class BellmanFordParallele implements AutoCloseable {
+
+    /** Nombre minimal de nœuds par bloc traité par une tâche */
+    private static final int TAILLE_BLOC_MIN = 1024;
+
+    /** Pool de threads utilisé pour les passes */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructeur utilisant le pool commun (tous les cœurs disponibles)
+     */
+    public BellmanFordParallele() {
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructeur avec un nombre de threads donné : l'instance crée son propre
+     * pool, à arrêter par close()
+     * @param nbThreads le nombre de threads
+     */
+    public BellmanFordParallele(int nbThreads) {
+        this.pool = new ForkJoinPool(nbThreads);
+    }
+
+    /**
+     * Arrête le pool de l'instance (sans effet sur le pool commun)
+     */
+    @Override
+    public void close() {
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * Résout le problème du plus court chemin depuis un nœud de départ
+     * @param g le graphe (compacté si nécessaire)
+     * @param depart le nœud de départ
+     * @return un objet Valeurs contenant les distances et parents de chaque nœud
+     * @throws CycleNegatifException si un cycle de coût négatif est atteignable
+     */
+    public Valeurs resoudre(Graphe g, String depart) {
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        int n = compact.nbNoeuds();
+        ValeursIndexees valeurs = new ValeursIndexees(compact);
+        int indiceDepart = compact.indice(depart);
+        if (indiceDepart == -1) {
+            valeurs.setValeur(depart, 0.0);
+            return valeurs;
+        }
+
+        AtomicLongArray distances = new AtomicLongArray(n);
+        long infini = Double.doubleToRawLongBits(Double.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            distances.lazySet(i, infini);
+        }
+        distances.set(indiceDepart, Double.doubleToRawLongBits(0.0));
+
+        // Nœuds modifiés à la passe précédente (actifs) et à la passe courante
+        boolean[] actifs = new boolean[n];
+        boolean[] suivants = new boolean[n];
+        actifs[indiceDepart] = true;
+
+        int tailleBloc = Math.max(TAILLE_BLOC_MIN, n / (this.pool.getParallelism() * 8) + 1);
+        AtomicBoolean modification = new AtomicBoolean(true);
+        int passes = 0;
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("BellmanFordParallele") : null;
+        while (modification.get()) {
+            if (passes++ == n) {
+                // Cycle négatif : la version séquentielle le retrouve et le décrit
+                new BellmanFord().resoudreFile(compact, depart);
+                throw new IllegalStateException("Cycle négatif non retrouvé");
+            }
+            modification.set(false);
+            if (Metriques.ACTIVES) {
+                mesure.passes++;
+            }
+            this.pool.invoke(new Passe(compact, distances, actifs, suivants, modification, mesure, 0, n, tailleBloc));
+
+            boolean[] tmp = actifs;
+            actifs = suivants;
+            suivants = tmp;
+            java.util.Arrays.fill(suivants, false);
+        }
+
+        for (int i = 0; i < n; i++) {
+            double d = Double.longBitsToDouble(distances.get(i));
+            if (d != Double.MAX_VALUE) {
+                valeurs.setDistance(i, d);
+            }
+        }
+        resoudreParents(compact, indiceDepart, valeurs);
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Calcule des parents déterministes une fois les valeurs définitives :
+     * parcours en largeur depuis le départ sur les arcs « tendus »
+     * (valeur(u) + cout(u,v) == valeur(v)), dans l'ordre des arcs du graphe.
+     * Le premier nœud qui découvre v devient son parent.
+     * @param g le graphe compact
+     * @param depart l'indice du nœud de départ
+     * @param valeurs les valeurs définitives, dont les parents sont remplis
+     */
+    static void resoudreParents(GrapheCompact g, int depart, ValeursIndexees valeurs) {
+        int n = g.nbNoeuds();
+        int[] file = new int[n];
+        boolean[] vus = new boolean[n];
+        int tete = 0;
+        int queue = 0;
+        file[queue++] = depart;
+        vus[depart] = true;
+        valeurs.setParentIndice(depart, -1);
+        while (tete < queue) {
+            int u = file[tete++];
+            double valeurU = valeurs.getDistance(u);
+            for (int a = g.debut(u), fin = g.fin(u); a < fin; a++) {
+                int v = g.cible(a);
+                if (!vus[v] && valeurU + g.cout(a) == valeurs.getDistance(v)) {
+                    vus[v] = true;
+                    valeurs.setParentIndice(v, u);
+                    file[queue++] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Minimum atomique : remplace la valeur de v par d si d est plus petit
+     * @return true si la valeur a été diminuée
+     */
+    static boolean diminuer(AtomicLongArray distances, int v, double d) {
+        long bitsD = Double.doubleToRawLongBits(d);
+        while (true) {
+            long courant = distances.get(v);
+            if (d >= Double.longBitsToDouble(courant)) {
+                return false;
+            }
+            if (distances.compareAndSet(v, courant, bitsD)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tâche relâchant les arcs sortants des nœuds actifs d'un intervalle [debut, fin[
+     */
+    private static class Passe extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GrapheCompact g;
+        private final AtomicLongArray distances;
+        private final boolean[] actifs;
+        private final boolean[] suivants;
+        private final AtomicBoolean modification;
+        private final Metriques.Mesure mesure;
+        private final int debut;
+        private final int fin;
+        private final int tailleBloc;
+
+        Passe(GrapheCompact g, AtomicLongArray distances, boolean[] actifs, boolean[] suivants,
+              AtomicBoolean modification, Metriques.Mesure mesure, int debut, int fin, int tailleBloc) {
+            this.g = g;
+            this.distances = distances;
+            this.actifs = actifs;
+            this.suivants = suivants;
+            this.modification = modification;
+            this.mesure = mesure;
+            this.debut = debut;
+            this.fin = fin;
+            this.tailleBloc = tailleBloc;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.fin - this.debut > this.tailleBloc) {
+                int milieu = (this.debut + this.fin) >>> 1;
+                invokeAll(new Passe(this.g, this.distances, this.actifs, this.suivants, this.modification,
+                                this.mesure, this.debut, milieu, this.tailleBloc),
+                        new Passe(this.g, this.distances, this.actifs, this.suivants, this.modification,
+                                this.mesure, milieu, this.fin, this.tailleBloc));
+                return;
+            }
+            boolean modifie = false;
+            long traites = 0;
+            long relaches = 0;
+            long diminutions = 0;
+            for (int u = this.debut; u < this.fin; u++) {
+                if (!this.actifs[u]) {
+                    continue;
+                }
+                double valeurU = Double.longBitsToDouble(this.distances.get(u));
+                if (Metriques.ACTIVES) {
+                    traites++;
+                    relaches += this.g.fin(u) - this.g.debut(u);
+                }
+                for (int a = this.g.debut(u), finArcs = this.g.fin(u); a < finArcs; a++) {
+                    int v = this.g.cible(a);
+                    if (diminuer(this.distances, v, valeurU + this.g.cout(a))) {
+                        this.suivants[v] = true;
+                        modifie = true;
+                        if (Metriques.ACTIVES) {
+                            diminutions++;
+                        }
+                    }
+                }
+            }
+            if (modifie) {
+                this.modification.set(true);
+            }
+            if (Metriques.ACTIVES && traites > 0) {
+                this.mesure.cumuler(traites, relaches, diminutions);
+            }
+        }
+    }
+}
@@ -25,6 +25,15 @@ public class BellmanFordTest {
         bellmanFord = new BellmanFord();
     }
 
+    @Test
+    public void testGrapheVide() {
+        // Aucune passe n'est possible : ce n'est pas un cycle négatif
+        Valeurs resultats = bellmanFord.resoudre(new GrapheListe(), "A");
+        assertEquals(0.0, resultats.getValeur("A"), 0.001);
+        assertEquals(0.0, bellmanFord.resoudre(graphe, "Z").getValeur("Z"), 0.001);
+        assertEquals(Double.MAX_VALUE, bellmanFord.resoudre(graphe, "Z").getValeur("A"), 0.001);
+    }
+
     @Test
     public void testDistancesDepuisA() {
         Valeurs resultats = bellmanFord.resoudre(graphe, "A");
@@ -91,4 +100,103 @@ public class BellmanFordTest {
         assertEquals(Double.MAX_VALUE, resultats.getValeur("C"), 0.001, "C devrait être inaccessible");
         assertEquals(Double.MAX_VALUE, resultats.getValeur("D"), 0.001, "D devrait être inaccessible");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFileIdentique() {
+        // La variante à file doit donner les mêmes valeurs et parents
+        Valeurs resultats = bellmanFord.resoudre(graphe, "A");
+        Valeurs resultatsFile = bellmanFord.resoudreFile(graphe, "A");
+
+        for (String noeud : graphe.listeNoeuds()) {
+            assertEquals(resultats.getValeur(noeud), resultatsFile.getValeur(noeud), 0.001);
+            assertEquals(resultats.getParent(noeud), resultatsFile.getParent(noeud));
+        }
+    }
+
+    @Test
+    public void testArcsNegatifs() {
+        // Arcs négatifs sans cycle négatif : A->B(4), A->C(2), C->B(-3), B->D(1)
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("A", "B", 4);
+        g.ajouterArc("A", "C", 2);
+        g.ajouterArc("C", "B", -3);
+        g.ajouterArc("B", "D", 1);
+
+        Valeurs resultats = bellmanFord.resoudreFile(g, "A");
+        assertEquals(-1.0, resultats.getValeur("B"), 0.001);
+        assertEquals(0.0, resultats.getValeur("D"), 0.001);
+        assertEquals("C", resultats.getParent("B"));
+    }
+
+    @Test
+    public void testCycleNegatif() {
+        // Cycle B -> C -> D -> B de coût 2 - 5 + 1 = -2
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("A", "B", 1);
+        g.ajouterArc("B", "C", 2);
+        g.ajouterArc("C", "D", -5);
+        g.ajouterArc("D", "B", 1);
+
+        CycleNegatifException e = assertThrows(CycleNegatifException.class,
+                () -> bellmanFord.resoudreFile(g, "A"));
+        assertEquals(3, e.getCycle().size(), "Le cycle devrait contenir 3 nœuds");
+        assertTrue(e.getCycle().containsAll(java.util.List.of("B", "C", "D")));
+
+        // La version par passes ne boucle plus indéfiniment
+        CycleNegatifException e2 = assertThrows(CycleNegatifException.class,
+                () -> bellmanFord.resoudre(g, "A"));
+        assertTrue(e2.getCycle().containsAll(java.util.List.of("B", "C", "D")));
+    }
+
+    @Test
+    public void testParallele() {
+        // Graphe aléatoire (graine fixe) avec arcs négatifs mais sans cycle négatif :
+        // les arcs vers un indice plus grand coûtent entre -5 et 10,
+        // les arcs vers un indice plus petit coûtent au moins 1000
+        java.util.Random alea = new java.util.Random(42);
+        GrapheListe g = new GrapheListe();
+        int n = 3000;
+        for (int i = 0; i < n; i++) {
+            g.ajouterNoeud("N" + i);
+        }
+        for (int k = 0; k < 5 * n; k++) {
+            int u = alea.nextInt(n);
+            int v = alea.nextInt(n);
+            double cout = (u < v) ? alea.nextInt(16) - 5 : 1000 + alea.nextInt(100);
+            g.ajouterArc("N" + u, "N" + v, cout);
+        }
+
+        Valeurs attendu = bellmanFord.resoudre(g, "N0");
+        Valeurs resultats;
+        try (BellmanFordParallele parallele = new BellmanFordParallele(4)) {
+            resultats = parallele.resoudre(g, "N0");
+        }
+        for (String noeud : g.listeNoeuds()) {
+            assertEquals(attendu.getValeur(noeud), resultats.getValeur(noeud), 0.001,
+                    "Valeur différente pour " + noeud);
+            String parent = resultats.getParent(noeud);
+            if (parent != null) {
+                // Le parent doit être sur un plus court chemin
+                assertEquals(resultats.getValeur(noeud), resultats.getValeur(parent)
+                        + coutArc(g, parent, noeud), 0.001);
+            }
+        }
+        try (BellmanFordParallele parallele = new BellmanFordParallele(2)) {
+            assertEquals(resultats.getParent("N7"), parallele.resoudre(g, "N0").getParent("N7"),
+                    "Les parents doivent être déterministes");
+        }
+    }
+
+    /**
+     * Coût minimal d'un arc de u vers v
+     */
+    private static double coutArc(Graphe g, String u, String v) {
+        double min = Double.MAX_VALUE;
+        for (Arc arc : g.suivants(u)) {
+            if (arc.getDest().equals(v)) {
+                min = Math.min(min, arc.getCout());
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,380 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classe CacheChemins - cache des arbres de plus courts chemins calculés depuis
+ * une source, placé devant les moteurs de recherche
+ * - la clé est (version du graphe, source, algorithme, pénalité) : dès que le graphe
+ *   est modifié (GrapheListe.ajouterArc...), sa version change et les anciens
+ *   résultats ne sont plus jamais servis ; ils sont retirés au premier appel suivant
+ * - le nombre d'arbres conservés est borné ; au-delà, le moins récemment utilisé
+ *   est retiré (LRU)
+ * - un arbre est stocké sous forme compacte (distances et parents par indice de nœud)
+ *   et n'est pas modifiable : le même objet est rendu à chaque succès ; le résultat
+ *   de DijkstraLignes, dont les chemins suivent les états, est enveloppé en lecture seule
+ * - chaque calcul utilise son propre moteur : rien n'est partagé entre deux calculs
+ * - les succès, échecs, retraits et invalidations sont comptés
+ * Les méthodes peuvent être appelées depuis plusieurs threads ; deux appels simultanés
+ * pour la même clé absente peuvent calculer deux fois le même arbre.
+ */
+public class CacheChemins {
+
+    /**
+     * Algorithmes disponibles derrière le cache
+     */
+    public enum Algorithme {
+        /** Dijkstra (coûts positifs) */
+        DIJKSTRA,
+        /** Bellman-Ford (coûts négatifs acceptés) */
+        BELLMAN_FORD,
+        /** Dijkstra avec pénalité de changement de ligne (DijkstraLignes) */
+        LIGNES
+    }
+
+    /** Graphe dont les chemins sont mis en cache */
+    private final Graphe graphe;
+
+    /** Nombre maximal d'arbres conservés */
+    private final int capacite;
+
+    /** Arbres conservés, du moins récemment utilisé au plus récemment utilisé */
+    private final LinkedHashMap<Cle, Valeurs> arbres;
+
+    /** Version du graphe des arbres conservés et graphe compact correspondant */
+    private long version = -1;
+    private GrapheCompact compact;
+
+    /** Statistiques */
+    private long nbSucces;
+    private long nbEchecs;
+    private long nbRetraits;
+    private long nbInvalidations;
+
+    /**
+     * Constructeur
+     * @param graphe le graphe (peut être modifié ensuite, le cache suit sa version)
+     * @param capacite le nombre maximal d'arbres conservés
+     */
+    public CacheChemins(Graphe graphe, int capacite) {
+        if (capacite < 1) {
+            throw new IllegalArgumentException("La capacité du cache doit être positive : " + capacite);
+        }
+        this.graphe = graphe;
+        this.capacite = capacite;
+        this.arbres = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, Valeurs> aine) {
+                if (size() > CacheChemins.this.capacite) {
+                    CacheChemins.this.nbRetraits++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Plus courts chemins depuis un nœud, par Dijkstra
+     * @param depart le nœud de départ
+     * @return les distances et parents (objet partagé, à ne pas modifier)
+     */
+    public Valeurs resoudre(String depart) {
+        return resoudre(depart, Algorithme.DIJKSTRA);
+    }
+
+    /**
+     * Plus courts chemins depuis un nœud avec l'algorithme choisi
+     * (LIGNES utilise la pénalité par défaut de DijkstraLignes)
+     * @param depart le nœud de départ
+     * @param algorithme l'algorithme
+     * @return les distances et parents (objet partagé, à ne pas modifier)
+     */
+    public Valeurs resoudre(String depart, Algorithme algorithme) {
+        double penalite = (algorithme == Algorithme.LIGNES) ? DijkstraLignes.PENALITE_DEFAUT : 0;
+        return resoudre(depart, algorithme, penalite);
+    }
+
+    /**
+     * Plus courts chemins depuis un nœud avec pénalité de changement de ligne
+     * @param depart le nœud de départ
+     * @param penalite la pénalité de changement de ligne
+     * @return les distances et parents (objet partagé, à ne pas modifier)
+     */
+    public Valeurs resoudreLignes(String depart, double penalite) {
+        return resoudre(depart, Algorithme.LIGNES, penalite);
+    }
+
+    /**
+     * Recherche dans le cache, calcul et ajout en cas d'échec
+     */
+    private Valeurs resoudre(String depart, Algorithme algorithme, double penalite) {
+        GrapheCompact g;
+        Cle cle;
+        synchronized (this) {
+            g = grapheAJour();
+            if (g.indice(depart) == -1) {
+                throw new IllegalArgumentException("Nœud inconnu : " + depart);
+            }
+            cle = new Cle(this.version, depart, algorithme, penalite);
+            Valeurs arbre = this.arbres.get(cle);
+            if (arbre != null) {
+                this.nbSucces++;
+                return arbre;
+            }
+            this.nbEchecs++;
+        }
+
+        // Calcul hors verrou, par un moteur propre à ce calcul (DijkstraLignes garde
+        // son tas d'un appel à l'autre) : les autres sources restent servies pendant ce temps
+        Valeurs arbre;
+        switch (algorithme) {
+            case DIJKSTRA:
+                arbre = new ArbreChemins(g, (ValeursIndexees) new Dijkstra().resoudre(g, depart));
+                break;
+            case BELLMAN_FORD:
+                arbre = new ArbreChemins(g, (ValeursIndexees) new BellmanFord().resoudre(g, depart));
+                break;
+            default:
+                arbre = new ValeursFigees(new DijkstraLignes(g, penalite).resoudre(depart));
+                break;
+        }
+
+        synchronized (this) {
+            // Le graphe a pu changer pendant le calcul : le résultat n'est alors pas conservé
+            if (cle.version == this.version) {
+                this.arbres.put(cle, arbre);
+            }
+        }
+        return arbre;
+    }
+
+    /**
+     * Retourne le graphe compact de la version actuelle du graphe, en vidant
+     * le cache si la version a changé
+     */
+    private GrapheCompact grapheAJour() {
+        long versionActuelle = this.graphe.getVersion();
+        if (this.compact == null || versionActuelle != this.version) {
+            this.nbInvalidations += this.arbres.size();
+            this.arbres.clear();
+            this.compact = GrapheCompact.depuis(this.graphe);
+            this.version = versionActuelle;
+        }
+        return this.compact;
+    }
+
+    /**
+     * Vide le cache (les statistiques sont conservées)
+     */
+    public synchronized void vider() {
+        this.nbInvalidations += this.arbres.size();
+        this.arbres.clear();
+    }
+
+    /**
+     * Retourne le nombre d'arbres actuellement conservés
+     * @return le nombre d'arbres
+     */
+    public synchronized int taille() {
+        return this.arbres.size();
+    }
+
+    /**
+     * Retourne le nombre de demandes servies par le cache
+     * @return le nombre de succès
+     */
+    public synchronized long getNbSucces() {
+        return this.nbSucces;
+    }
+
+    /**
+     * Retourne le nombre de demandes qui ont nécessité un calcul
+     * @return le nombre d'échecs
+     */
+    public synchronized long getNbEchecs() {
+        return this.nbEchecs;
+    }
+
+    /**
+     * Retourne le nombre d'arbres retirés pour respecter la capacité
+     * @return le nombre de retraits
+     */
+    public synchronized long getNbRetraits() {
+        return this.nbRetraits;
+    }
+
+    /**
+     * Retourne le nombre d'arbres retirés parce que le graphe a changé (ou par vider)
+     * @return le nombre d'invalidations
+     */
+    public synchronized long getNbInvalidations() {
+        return this.nbInvalidations;
+    }
+
+    /**
+     * Retourne la proportion de demandes servies par le cache
+     * @return le taux de succès, entre 0 et 1 (0 si aucune demande)
+     */
+    public synchronized double getTauxSucces() {
+        long total = this.nbSucces + this.nbEchecs;
+        return (total == 0) ? 0 : (double) this.nbSucces / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CacheChemins[" + this.arbres.size() + "/" + this.capacite + " arbres, succès=" + this.nbSucces
+                + ", échecs=" + this.nbEchecs + ", retraits=" + this.nbRetraits
+                + ", invalidations=" + this.nbInvalidations + "]";
+    }
+
+    /**
+     * Clé du cache
+     */
+    private static final class Cle {
+        private final long version;
+        private final String depart;
+        private final Algorithme algorithme;
+        private final double penalite;
+
+        Cle(long version, String depart, Algorithme algorithme, double penalite) {
+            this.version = version;
+            this.depart = depart;
+            this.algorithme = algorithme;
+            this.penalite = penalite;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Cle)) {
+                return false;
+            }
+            Cle c = (Cle) o;
+            return this.version == c.version && this.depart.equals(c.depart)
+                    && this.algorithme == c.algorithme && Double.compare(this.penalite, c.penalite) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.version, this.depart, this.algorithme, this.penalite);
+        }
+    }
+
+    /**
+     * Résultat en lecture seule : toutes les lectures sont déléguées, les modifications refusées
+     */
+    private static final class ValeursFigees extends Valeurs {
+        private final Valeurs valeurs;
+
+        ValeursFigees(Valeurs valeurs) {
+            this.valeurs = valeurs;
+        }
+
+        @Override
+        public void setValeur(String nom, double valeur) {
+            throw new UnsupportedOperationException("Un arbre du cache n'est pas modifiable");
+        }
+
+        @Override
+        public void setParent(String nom, String parent) {
+            throw new UnsupportedOperationException("Un arbre du cache n'est pas modifiable");
+        }
+
+        @Override
+        public double getValeur(String nom) {
+            return this.valeurs.getValeur(nom);
+        }
+
+        @Override
+        public String getParent(String nom) {
+            return this.valeurs.getParent(nom);
+        }
+
+        @Override
+        public List<String> calculerChemin(String destination) {
+            return this.valeurs.calculerChemin(destination);
+        }
+
+        @Override
+        public String toString() {
+            return this.valeurs.toString();
+        }
+    }
+
+    /**
+     * Arbre de plus courts chemins figé : distances et parents par indice du graphe compact
+     */
+    private static final class ArbreChemins extends Valeurs {
+        private final GrapheCompact graphe;
+        private final double[] distances;
+        private final int[] parents;
+
+        ArbreChemins(GrapheCompact graphe, ValeursIndexees valeurs) {
+            this.graphe = graphe;
+            int n = graphe.nbNoeuds();
+            this.distances = new double[n];
+            this.parents = new int[n];
+            for (int u = 0; u < n; u++) {
+                this.distances[u] = valeurs.getDistance(u);
+                this.parents[u] = valeurs.getParentIndice(u);
+            }
+        }
+
+        @Override
+        public void setValeur(String nom, double valeur) {
+            throw new UnsupportedOperationException("Un arbre du cache n'est pas modifiable");
+        }
+
+        @Override
+        public void setParent(String nom, String parent) {
+            throw new UnsupportedOperationException("Un arbre du cache n'est pas modifiable");
+        }
+
+        @Override
+        public double getValeur(String nom) {
+            int u = this.graphe.indice(nom);
+            return (u == -1) ? Double.MAX_VALUE : this.distances[u];
+        }
+
+        @Override
+        public String getParent(String nom) {
+            int u = this.graphe.indice(nom);
+            return (u == -1 || this.parents[u] == -1) ? null : this.graphe.nom(this.parents[u]);
+        }
+
+        @Override
+        public List<String> calculerChemin(String destination) {
+            List<String> chemin = new ArrayList<>();
+            int u = this.graphe.indice(destination);
+            if (u == -1 || this.parents[u] == -1) {
+                return chemin;
+            }
+            while (u != -1 && chemin.size() <= this.distances.length) {
+                chemin.add(this.graphe.nom(u));
+                u = this.parents[u];
+            }
+            Collections.reverse(chemin);
+            return chemin;
+        }
+
+        @Override
+        public String toString() {
+            Integer[] ordre = new Integer[this.distances.length];
+            for (int i = 0; i < ordre.length; i++) {
+                ordre[i] = i;
+            }
+            Arrays.sort(ordre, (a, b) -> this.graphe.nom(a).compareTo(this.graphe.nom(b)));
+            StringBuilder sb = new StringBuilder();
+            for (int u : ordre) {
+                int p = this.parents[u];
+                sb.append(this.graphe.nom(u)).append(" -> V:").append(this.distances[u])
+                        .append(" p:").append(p == -1 ? null : this.graphe.nom(p)).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests unitaires pour la classe CacheChemins
+ */
+public class CacheCheminsTest {
+
+    private GrapheListe graphe;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+    }
+
+    @Test
+    public void testCacheChemins() {
+        CacheChemins cache = new CacheChemins(graphe, 2);
+
+        Valeurs depuisA = cache.resoudre("A");
+        assertEquals(76, depuisA.getValeur("C"), 0.001, "Distance A->C devrait être 76");
+        assertEquals(List.of("A", "B", "E", "D", "C"), depuisA.calculerChemin("C"));
+        assertSame(depuisA, cache.resoudre("A"), "Le second appel doit être servi par le cache");
+        assertEquals(1, cache.getNbSucces());
+        assertEquals(1, cache.getNbEchecs());
+
+        // L'algorithme fait partie de la clé
+        assertNotSame(depuisA, cache.resoudre("A", CacheChemins.Algorithme.BELLMAN_FORD));
+        assertThrows(UnsupportedOperationException.class, () -> depuisA.setValeur("C", 0));
+
+        // Capacité de 2 : ajouter B retire l'arbre le moins récemment utilisé (A avec Dijkstra)
+        cache.resoudre("B");
+        assertEquals(2, cache.taille());
+        assertEquals(1, cache.getNbRetraits());
+        assertNotSame(depuisA, cache.resoudre("A"));
+
+        // Modifier le graphe invalide les arbres conservés
+        long version = graphe.getVersion();
+        graphe.ajouterArc("A", "C", 5);
+        assertTrue(graphe.getVersion() > version, "Ajouter un arc doit changer la version");
+        assertEquals(5, cache.resoudre("A").getValeur("C"), 0.001, "Le nouvel arc doit être pris en compte");
+        assertEquals(2, cache.getNbInvalidations());
+        assertEquals(1, cache.taille());
+    }
+
+    @Test
+    public void testCacheCheminsLignesConcurrent() throws Exception {
+        // Capacité 1 : presque chaque appel calcule, plusieurs calculs LIGNES en même temps
+        GrapheCompact metro = GrapheCompact.depuis(LireReseau.lire("src/main/java/metro.txt"));
+        CacheChemins cache = new CacheChemins(metro, 1);
+        List<String> departs = metro.listeNoeuds().subList(0, 30);
+        Map<String, Valeurs> attendus = new HashMap<>();
+        for (String depart : departs) {
+            attendus.put(depart, new DijkstraLignes(metro).resoudre(depart));
+        }
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> resultats = new ArrayList<>();
+            for (int essai = 0; essai < 4; essai++) {
+                for (String depart : departs) {
+                    resultats.add(threads.submit(() -> {
+                        Valeurs v = cache.resoudre(depart, CacheChemins.Algorithme.LIGNES);
+                        Valeurs attendu = attendus.get(depart);
+                        for (String noeud : metro.listeNoeuds()) {
+                            if (v.getValeur(noeud) != attendu.getValeur(noeud)
+                                    || !v.calculerChemin(noeud).equals(attendu.calculerChemin(noeud))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }));
+                }
+            }
+            for (Future<Boolean> resultat : resultats) {
+                assertTrue(resultat.get(), "Résultat faussé par un calcul concurrent");
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        // Le résultat LIGNES est en lecture seule, comme les autres arbres du cache
+        Valeurs lignes = cache.resoudre("1", CacheChemins.Algorithme.LIGNES);
+        assertThrows(UnsupportedOperationException.class, () -> lignes.setValeur("2", 0));
+        assertThrows(UnsupportedOperationException.class, () -> lignes.setParent("2", "1"));
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe représentant un chemin dans un graphe : la suite des nœuds traversés,
+ * la ligne empruntée sur chaque arc et le coût total
+ */
+public class Chemin {
+
+    /** Nœuds du chemin, du départ à l'arrivée */
+    private final List<String> noeuds;
+
+    /** Ligne de chaque arc du chemin (taille = nombre de nœuds - 1, éléments null possibles) */
+    private final List<String> lignes;
+
+    /** Coût total du chemin */
+    private final double cout;
+
+    /**
+     * Constructeur
+     * @param noeuds les nœuds du chemin
+     * @param lignes la ligne de chaque arc
+     * @param cout le coût total
+     */
+    public Chemin(List<String> noeuds, List<String> lignes, double cout) {
+        this.noeuds = noeuds;
+        this.lignes = lignes;
+        this.cout = cout;
+    }
+
+    /**
+     * Construit un chemin à partir d'une suite d'indices de nœuds d'un graphe compact
+     * (pour chaque pas, l'arc de coût minimal entre les deux nœuds est retenu)
+     * @param g le graphe compact
+     * @param indices les indices des nœuds du chemin
+     * @param nb le nombre d'indices à prendre dans le tableau
+     * @return le chemin
+     */
+    public static Chemin depuisIndices(GrapheCompact g, int[] indices, int nb) {
+        List<String> noeuds = new ArrayList<>(nb);
+        List<String> lignes = new ArrayList<>(Math.max(0, nb - 1));
+        double cout = 0;
+        for (int i = 0; i < nb; i++) {
+            noeuds.add(g.nom(indices[i]));
+            if (i > 0) {
+                int a = g.arcEntre(indices[i - 1], indices[i]);
+                cout += g.cout(a);
+                lignes.add(g.nomLigne(g.ligne(a)));
+            }
+        }
+        return new Chemin(noeuds, lignes, cout);
+    }
+
+    /**
+     * Retourne les nœuds du chemin
+     * @return la liste des nœuds, du départ à l'arrivée
+     */
+    public List<String> getNoeuds() {
+        return this.noeuds;
+    }
+
+    /**
+     * Retourne la ligne empruntée sur chaque arc
+     * @return la liste des lignes
+     */
+    public List<String> getLignes() {
+        return this.lignes;
+    }
+
+    /**
+     * Retourne le coût total du chemin
+     * @return le coût
+     */
+    public double getCout() {
+        return this.cout;
+    }
+
+    /**
+     * Compte les changements de ligne le long du chemin
+     * @return le nombre de changements de ligne
+     */
+    public int nbChangements() {
+        int changements = 0;
+        for (int i = 1; i < this.lignes.size(); i++) {
+            String avant = this.lignes.get(i - 1);
+            String apres = this.lignes.get(i);
+            if (avant != null && apres != null && !avant.equals(apres)) {
+                changements++;
+            }
+        }
+        return changements;
+    }
+
+    /**
+     * Méthode d'affichage d'un chemin
+     * @return Une chaîne décrivant le chemin et son coût
+     */
+    @Override
+    public String toString() {
+        return this.noeuds + " (" + this.cout + ")";
+    }
+}
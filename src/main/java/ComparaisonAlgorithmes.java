@@ -1,5 +1,6 @@
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class ComparaisonAlgorithmes {
 
@@ -116,16 +117,18 @@ public class ComparaisonAlgorithmes {
 
     /**
      * Crée un graphe dense (beaucoup de connexions)
+     * Le tirage utilise une graine fixe pour que le graphe soit le même à chaque exécution
      */
     private static Graphe creerGrapheDense() {
+        Random alea = new Random(42);
         GrapheListe g = new GrapheListe();
         String[] noeuds = {"A", "B", "C", "D", "E", "F", "G", "H"};
 
         // Connexions multiples entre la plupart des nœuds
         for (int i = 0; i < noeuds.length; i++) {
             for (int j = 0; j < noeuds.length; j++) {
-                if (i != j && Math.random() > 0.4) { // 60% de chance de connexion
-                    double cout = 10 + Math.random() * 40; // Coût entre 10 et 50
+                if (i != j && alea.nextDouble() > 0.4) { // 60% de chance de connexion
+                    double cout = 10 + alea.nextDouble() * 40; // Coût entre 10 et 50
                     g.ajouterArc(noeuds[i], noeuds[j], cout);
                 }
             }
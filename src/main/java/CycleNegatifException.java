@@ -0,0 +1,31 @@
+import java.util.List;
+
+/**
+ * Exception levée lorsqu'un cycle de coût négatif est atteignable depuis le
+ * nœud de départ : les plus courts chemins ne sont alors pas définis
+ */
+public class CycleNegatifException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Nœuds du cycle, dans l'ordre de parcours (le premier n'est pas répété) */
+    private final List<String> cycle;
+
+    /**
+     * Constructeur
+     * @param cycle les nœuds du cycle négatif, dans l'ordre des arcs
+     */
+    public CycleNegatifException(List<String> cycle) {
+        super("Cycle de coût négatif détecté : " + String.join(" -> ", cycle)
+                + (cycle.isEmpty() ? "" : " -> " + cycle.get(0)));
+        this.cycle = cycle;
+    }
+
+    /**
+     * Retourne les nœuds du cycle négatif
+     * @return la liste des nœuds du cycle
+     */
+    public List<String> getCycle() {
+        return this.cycle;
+    }
+}
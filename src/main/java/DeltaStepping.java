@@ -0,0 +1,458 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Classe implémentant l'algorithme Δ-stepping (Meyer et Sanders) : plus courts
+ * chemins depuis un nœud, en parallèle
+ * - les nœuds atteints sont rangés dans des paquets de largeur Δ selon leur valeur
+ *   (paquet i : valeurs dans [iΔ, (i+1)Δ[) et les paquets sont traités dans l'ordre
+ * - dans un paquet, les arcs légers (coût <= Δ) des nœuds du paquet sont relâchés
+ *   en parallèle, jusqu'à ce que le paquet ne se remplisse plus ; les arcs lourds
+ *   des nœuds retirés du paquet sont ensuite relâchés une seule fois, en parallèle
+ * - les paquets forment un tableau circulaire de ceil(coût max / Δ) + 2 cases :
+ *   pendant le traitement du paquet i, une valeur ne peut atteindre que les
+ *   paquets i à i + ceil(coût max / Δ) + 1. Le tableau est borné (PAQUETS_MAX) ;
+ *   au-delà de la fenêtre, les nœuds attendent dans un tas de débordement
+ * - les valeurs sont dans un tableau atomique (bits des double), diminuées par un
+ *   minimum atomique sans verrou (BellmanFordParallele.diminuer)
+ * - les parents sont calculés à la fin, de façon déterministe
+ *
+ * Δ petit : proche de Dijkstra (peu de travail en trop, peu de parallélisme) ;
+ * Δ grand : proche de Bellman-Ford (beaucoup de parallélisme, des relâchements inutiles).
+ * Les distances obtenues sont exactement celles de Dijkstra. Les coûts doivent être
+ * positifs ou nuls.
+ *
+ * Sans nombre de threads, les relâchements utilisent le pool commun ; sinon
+ * l'instance crée son propre pool, arrêté par close().
+ */
+public class DeltaStepping implements AutoCloseable {
+
+    /** Nombre minimal de nœuds d'une frontière traités par une tâche */
+    private static final int TAILLE_BLOC_MIN = 256;
+
+    /** Nombre maximal de cases du tableau circulaire de paquets */
+    private static final int PAQUETS_MAX = 1 << 16;
+
+    /** Largeur des paquets (0 : choisie pour chaque graphe par deltaConseille) */
+    private final double delta;
+
+    /** Pool de threads utilisé pour les relâchements */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructeur utilisant le pool commun et un Δ choisi pour chaque graphe
+     */
+    public DeltaStepping() {
+        this(0);
+    }
+
+    /**
+     * Constructeur utilisant le pool commun (tous les cœurs disponibles)
+     * @param delta la largeur des paquets (0 pour la choisir d'après le graphe)
+     */
+    public DeltaStepping(double delta) {
+        this.delta = verifierDelta(delta);
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructeur avec un nombre de threads donné : l'instance crée son propre
+     * pool, à arrêter par close()
+     * @param delta la largeur des paquets (0 pour la choisir d'après le graphe)
+     * @param nbThreads le nombre de threads
+     */
+    public DeltaStepping(double delta, int nbThreads) {
+        this.delta = verifierDelta(delta);
+        this.pool = new ForkJoinPool(nbThreads);
+    }
+
+    /**
+     * Arrête le pool de l'instance (sans effet sur le pool commun)
+     */
+    @Override
+    public void close() {
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdown();
+        }
+    }
+
+    private static double verifierDelta(double delta) {
+        if (!(delta >= 0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("Largeur de paquet invalide : " + delta);
+        }
+        return delta;
+    }
+
+    /**
+     * Largeur de paquet conseillée : le coût moyen des arcs de coût non nul
+     * (un arc moyen fait passer au paquet suivant)
+     * @param g le graphe compact
+     * @return la largeur conseillée (1 si tous les arcs sont de coût nul)
+     */
+    public static double deltaConseille(GrapheCompact g) {
+        double somme = 0;
+        int nb = 0;
+        for (int a = 0; a < g.nbArcs(); a++) {
+            if (g.cout(a) > 0) {
+                somme += g.cout(a);
+                nb++;
+            }
+        }
+        return (nb == 0) ? 1 : somme / nb;
+    }
+
+    /**
+     * Résout le problème du plus court chemin depuis un nœud de départ
+     * @param g le graphe (compacté si nécessaire)
+     * @param depart le nœud de départ
+     * @return un objet Valeurs contenant les distances et parents de chaque nœud
+     */
+    public Valeurs resoudre(Graphe g, String depart) {
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        ValeursIndexees valeurs = new ValeursIndexees(compact);
+        int indiceDepart = compact.indice(depart);
+        if (indiceDepart == -1) {
+            valeurs.setValeur(depart, 0.0);
+            return valeurs;
+        }
+        return resoudre(compact, indiceDepart, valeurs);
+    }
+
+    /**
+     * Résout le problème du plus court chemin depuis un nœud d'un graphe compact
+     * @param g le graphe compact
+     * @param depart l'indice du nœud de départ
+     * @param valeurs l'objet résultat (réinitialisé), construit sur le graphe compact
+     * @return l'objet valeurs passé en paramètre
+     */
+    public ValeursIndexees resoudre(GrapheCompact g, int depart, ValeursIndexees valeurs) {
+        int n = g.nbNoeuds();
+        double coutMax = 0;
+        double sommeCouts = 0;
+        for (int a = 0; a < g.nbArcs(); a++) {
+            if (g.cout(a) < 0) {
+                throw new IllegalArgumentException("Δ-stepping demande des coûts positifs (arc " + a + ")");
+            }
+            coutMax = Math.max(coutMax, g.cout(a));
+            sommeCouts += g.cout(a);
+        }
+        // Une valeur ne dépasse pas la somme des coûts : avec ce plancher (sans effet
+        // sur les distances), tout numéro de paquet tient dans un long
+        double largeur = Math.max((this.delta > 0) ? this.delta : deltaConseille(g), sommeCouts / (1L << 52));
+        valeurs.reinitialiser();
+
+        AtomicLongArray distances = new AtomicLongArray(n);
+        long infini = Double.doubleToRawLongBits(Double.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            distances.lazySet(i, infini);
+        }
+        distances.set(depart, Double.doubleToRawLongBits(0.0));
+
+        Paquets paquets = new Paquets((int) Math.min(PAQUETS_MAX, Math.ceil(coutMax / largeur) + 2));
+        paquets.ajouter(0, depart);
+        // Nœuds diminués pendant une étape (chaque nœud une seule fois grâce à son étape de marquage)
+        int[] diminues = new int[n];
+        AtomicInteger nbDiminues = new AtomicInteger();
+        AtomicIntegerArray etapes = new AtomicIntegerArray(n);
+        int etape = 0;
+        // Nœuds retirés du paquet courant, dont les arcs lourds restent à relâcher
+        int[] retires = new int[n];
+        long[] paquetRetrait = new long[n];
+        Arrays.fill(paquetRetrait, -1);
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DeltaStepping") : null;
+
+        for (long i = paquets.suivant(0); i != -1; i = paquets.suivant(i + 1)) {
+            int nbRetires = 0;
+            while (paquets.taille(i) > 0) {
+                // Frontière : nœuds du paquet dont la valeur est toujours dans le paquet
+                int[] contenu = paquets.vider(i);
+                int nbFrontiere = 0;
+                for (int k = 0; k < contenu.length && contenu[k] != -1; k++) {
+                    int u = contenu[k];
+                    if (paquet(distances, u, largeur) != i) {
+                        continue; // Entrée périmée : le nœud a été diminué vers un autre paquet
+                    }
+                    contenu[nbFrontiere++] = u;
+                    // Un nœud rediminué dans son paquet refait ses arcs légers, mais ses arcs
+                    // lourds ne sont relâchés qu'une fois, avec sa valeur définitive
+                    if (paquetRetrait[u] != i) {
+                        paquetRetrait[u] = i;
+                        retires[nbRetires++] = u;
+                    }
+                }
+                etape++;
+                nbDiminues.set(0);
+                relacher(g, distances, contenu, nbFrontiere, largeur, true, diminues, nbDiminues, etapes, etape,
+                        mesure);
+                ranger(distances, diminues, nbDiminues.get(), largeur, paquets);
+            }
+            etape++;
+            nbDiminues.set(0);
+            relacher(g, distances, retires, nbRetires, largeur, false, diminues, nbDiminues, etapes, etape,
+                    mesure);
+            ranger(distances, diminues, nbDiminues.get(), largeur, paquets);
+        }
+
+        for (int u = 0; u < n; u++) {
+            double d = Double.longBitsToDouble(distances.get(u));
+            if (d != Double.MAX_VALUE) {
+                valeurs.setDistance(u, d);
+            }
+        }
+        BellmanFordParallele.resoudreParents(g, depart, valeurs);
+        if (Metriques.ACTIVES) {
+            mesure.passes = etape;
+            Metriques.terminer(mesure);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Relâche en parallèle les arcs légers (ou lourds) des nœuds d'une frontière
+     */
+    private void relacher(GrapheCompact g, AtomicLongArray distances, int[] frontiere, int taille, double largeur,
+                          boolean legers, int[] diminues, AtomicInteger nbDiminues, AtomicIntegerArray etapes,
+                          int etape, Metriques.Mesure mesure) {
+        if (taille == 0) {
+            return;
+        }
+        int tailleBloc = Math.max(TAILLE_BLOC_MIN, taille / (this.pool.getParallelism() * 8) + 1);
+        Relachement tache = new Relachement(g, distances, frontiere, largeur, legers, diminues, nbDiminues,
+                etapes, etape, mesure, 0, taille, tailleBloc);
+        if (taille <= tailleBloc) {
+            tache.compute();
+        } else {
+            this.pool.invoke(tache);
+        }
+    }
+
+    /**
+     * Range les nœuds diminués dans le paquet de leur nouvelle valeur
+     */
+    private static void ranger(AtomicLongArray distances, int[] diminues, int nb, double largeur, Paquets paquets) {
+        for (int k = 0; k < nb; k++) {
+            int v = diminues[k];
+            paquets.ajouter(paquet(distances, v, largeur), v);
+        }
+    }
+
+    /**
+     * Numéro du paquet d'un nœud d'après sa valeur actuelle
+     */
+    private static long paquet(AtomicLongArray distances, int u, double largeur) {
+        return (long) (Double.longBitsToDouble(distances.get(u)) / largeur);
+    }
+
+    /**
+     * Tâche relâchant les arcs d'un intervalle [debut, fin[ de la frontière
+     */
+    private static class Relachement extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GrapheCompact g;
+        private final AtomicLongArray distances;
+        private final int[] frontiere;
+        private final double largeur;
+        private final boolean legers;
+        private final int[] diminues;
+        private final AtomicInteger nbDiminues;
+        private final AtomicIntegerArray etapes;
+        private final int etape;
+        private final Metriques.Mesure mesure;
+        private final int debut;
+        private final int fin;
+        private final int tailleBloc;
+
+        Relachement(GrapheCompact g, AtomicLongArray distances, int[] frontiere, double largeur, boolean legers,
+                    int[] diminues, AtomicInteger nbDiminues, AtomicIntegerArray etapes, int etape,
+                    Metriques.Mesure mesure, int debut, int fin, int tailleBloc) {
+            this.g = g;
+            this.distances = distances;
+            this.frontiere = frontiere;
+            this.largeur = largeur;
+            this.legers = legers;
+            this.diminues = diminues;
+            this.nbDiminues = nbDiminues;
+            this.etapes = etapes;
+            this.etape = etape;
+            this.mesure = mesure;
+            this.debut = debut;
+            this.fin = fin;
+            this.tailleBloc = tailleBloc;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.fin - this.debut > this.tailleBloc) {
+                int milieu = (this.debut + this.fin) >>> 1;
+                invokeAll(new Relachement(this.g, this.distances, this.frontiere, this.largeur, this.legers,
+                                this.diminues, this.nbDiminues, this.etapes, this.etape, this.mesure, this.debut,
+                                milieu, this.tailleBloc),
+                        new Relachement(this.g, this.distances, this.frontiere, this.largeur, this.legers,
+                                this.diminues, this.nbDiminues, this.etapes, this.etape, this.mesure, milieu,
+                                this.fin, this.tailleBloc));
+                return;
+            }
+            long relaches = 0;
+            long diminutions = 0;
+            for (int k = this.debut; k < this.fin; k++) {
+                int u = this.frontiere[k];
+                double valeurU = Double.longBitsToDouble(this.distances.get(u));
+                for (int a = this.g.debut(u), finArcs = this.g.fin(u); a < finArcs; a++) {
+                    double cout = this.g.cout(a);
+                    if ((cout <= this.largeur) != this.legers) {
+                        continue;
+                    }
+                    int v = this.g.cible(a);
+                    if (Metriques.ACTIVES) {
+                        relaches++;
+                    }
+                    if (BellmanFordParallele.diminuer(this.distances, v, valeurU + cout)) {
+                        if (Metriques.ACTIVES) {
+                            diminutions++;
+                        }
+                        if (this.etapes.getAndSet(v, this.etape) != this.etape) {
+                            this.diminues[this.nbDiminues.getAndIncrement()] = v;
+                        }
+                    }
+                }
+            }
+            if (Metriques.ACTIVES) {
+                this.mesure.cumuler(this.fin - this.debut, relaches, diminutions);
+            }
+        }
+    }
+
+    /**
+     * Paquets de nœuds, indexés par numéro de paquet ; un nœud peut figurer dans
+     * plusieurs paquets (les entrées périmées sont ignorées au moment du traitement)
+     * Les paquets courant à courant + nbCases - 1 sont dans un tableau circulaire ;
+     * les nœuds des paquets suivants attendent dans un tas, trié par numéro de paquet,
+     * et entrent dans le tableau quand la fenêtre les atteint.
+     */
+    private static final class Paquets {
+        private final int nbCases;
+        private final int[][] contenus;
+        private final int[] tailles;
+        /** Premier paquet de la fenêtre et nombre d'entrées dans la fenêtre */
+        private long courant;
+        private int nbFenetre;
+        /** Tas de débordement : numéro de paquet et nœud */
+        private long[] numerosDebord = new long[16];
+        private int[] noeudsDebord = new int[16];
+        private int nbDebord;
+
+        Paquets(int nbCases) {
+            this.nbCases = nbCases;
+            this.contenus = new int[nbCases][];
+            this.tailles = new int[nbCases];
+        }
+
+        void ajouter(long i, int u) {
+            if (i - this.courant >= this.nbCases) {
+                deborder(i, u);
+                return;
+            }
+            int k = (int) (i % this.nbCases);
+            int[] c = this.contenus[k];
+            if (c == null) {
+                c = new int[8];
+            } else if (this.tailles[k] == c.length) {
+                c = Arrays.copyOf(c, c.length * 2);
+            }
+            c[this.tailles[k]++] = u;
+            this.contenus[k] = c;
+            this.nbFenetre++;
+        }
+
+        int taille(long i) {
+            return this.tailles[(int) (i % this.nbCases)];
+        }
+
+        /**
+         * Retire le contenu d'un paquet (terminé par -1 s'il n'est pas plein)
+         */
+        int[] vider(long i) {
+            int k = (int) (i % this.nbCases);
+            int[] c = this.contenus[k];
+            if (this.tailles[k] < c.length) {
+                c[this.tailles[k]] = -1;
+            }
+            this.nbFenetre -= this.tailles[k];
+            this.contenus[k] = null;
+            this.tailles[k] = 0;
+            return c;
+        }
+
+        /**
+         * Premier paquet non vide à partir de i (les paquets avant i sont vides), ou -1 ;
+         * la fenêtre est avancée jusqu'à lui
+         */
+        long suivant(long i) {
+            if (this.nbFenetre == 0) {
+                if (this.nbDebord == 0) {
+                    return -1;
+                }
+                i = Math.max(i, this.numerosDebord[0]);
+            }
+            while (this.nbFenetre > 0 && this.tailles[(int) (i % this.nbCases)] == 0) {
+                i++;
+            }
+            this.courant = i;
+            // Les nœuds qui entrent dans la fenêtre quittent le tas
+            while (this.nbDebord > 0 && this.numerosDebord[0] - i < this.nbCases) {
+                long numero = this.numerosDebord[0];
+                int u = this.noeudsDebord[0];
+                retirerDebord();
+                ajouter(numero, u);
+            }
+            return i;
+        }
+
+        private void deborder(long i, int u) {
+            if (this.nbDebord == this.numerosDebord.length) {
+                this.numerosDebord = Arrays.copyOf(this.numerosDebord, 2 * this.nbDebord);
+                this.noeudsDebord = Arrays.copyOf(this.noeudsDebord, 2 * this.nbDebord);
+            }
+            int k = this.nbDebord++;
+            while (k > 0) {
+                int p = (k - 1) >>> 1;
+                if (this.numerosDebord[p] <= i) {
+                    break;
+                }
+                this.numerosDebord[k] = this.numerosDebord[p];
+                this.noeudsDebord[k] = this.noeudsDebord[p];
+                k = p;
+            }
+            this.numerosDebord[k] = i;
+            this.noeudsDebord[k] = u;
+        }
+
+        private void retirerDebord() {
+            long numero = this.numerosDebord[--this.nbDebord];
+            int u = this.noeudsDebord[this.nbDebord];
+            int k = 0;
+            while (true) {
+                int f = 2 * k + 1;
+                if (f >= this.nbDebord) {
+                    break;
+                }
+                if (f + 1 < this.nbDebord && this.numerosDebord[f + 1] < this.numerosDebord[f]) {
+                    f++;
+                }
+                if (this.numerosDebord[f] >= numero) {
+                    break;
+                }
+                this.numerosDebord[k] = this.numerosDebord[f];
+                this.noeudsDebord[k] = this.noeudsDebord[f];
+                k = f;
+            }
+            this.numerosDebord[k] = numero;
+            this.noeudsDebord[k] = u;
+        }
+    }
+}
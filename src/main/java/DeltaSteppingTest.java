@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests unitaires pour la classe DeltaStepping
+ */
+public class DeltaSteppingTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testMemesDistancesQueDijkstra() throws IOException {
+        Valeurs petit;
+        try (DeltaStepping deltaStepping = new DeltaStepping(10, 2)) {
+            petit = deltaStepping.resoudre(graphe, "A");
+        }
+        assertEquals(76, petit.getValeur("C"), 0.001);
+        assertEquals(List.of("A", "B", "E", "D", "C"), petit.calculerChemin("C"));
+
+        // Mêmes distances (au bit près) que Dijkstra, quel que soit Δ
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        for (double delta : new double[]{0, 1, 30, 1000}) {
+            try (DeltaStepping delta4 = new DeltaStepping(delta, 4)) {
+                for (String depart : new String[]{"1", "100", "250"}) {
+                    Valeurs attendu = dijkstra.resoudre(metro, depart);
+                    Valeurs v = delta4.resoudre(metro, depart);
+                    for (String noeud : metro.listeNoeuds()) {
+                        assertEquals(attendu.getValeur(noeud), v.getValeur(noeud), "Δ=" + delta + ", " + depart + " -> " + noeud);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrandGraphe() {
+        // Assez de nœuds par paquet pour que les relâchements soient découpés en tâches
+        Random alea = new Random(5);
+        GrapheListe g = new GrapheListe();
+        int n = 20000;
+        for (int i = 0; i < n; i++) {
+            g.ajouterNoeud("n" + i);
+        }
+        for (int k = 0; k < 4 * n; k++) {
+            g.ajouterArc("n" + alea.nextInt(n), "n" + alea.nextInt(n), alea.nextInt(100) * 0.1);
+        }
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        Valeurs attendu = dijkstra.resoudre(compact, "n0");
+        Valeurs v;
+        try (DeltaStepping deltaStepping = new DeltaStepping(50, 4)) {
+            v = deltaStepping.resoudre(compact, "n0");
+        }
+        for (int u = 0; u < n; u++) {
+            String noeud = compact.nom(u);
+            assertEquals(attendu.getValeur(noeud), v.getValeur(noeud), "n0 -> " + noeud);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DeltaStepping(-1));
+    }
+
+    @Test
+    public void testPetitDelta() {
+        // Δ très petit devant les coûts : le tableau circulaire de paquets est borné
+        GrapheListe chaine = new GrapheListe();
+        chaine.ajouterArc("a", "b", 1000);
+        chaine.ajouterArc("b", "c", 1000);
+        Valeurs v = new DeltaStepping(1e-6).resoudre(chaine, "a");
+        assertEquals(1000, v.getValeur("b"));
+        assertEquals(2000, v.getValeur("c"));
+        assertEquals(List.of("a", "b", "c"), v.calculerChemin("c"));
+
+        // Coûts minuscules et grands mêlés : des nœuds passent par le tas de débordement
+        Random alea = new Random(9);
+        GrapheListe g = new GrapheListe();
+        int n = 2000;
+        for (int i = 0; i < n; i++) {
+            g.ajouterNoeud("n" + i);
+        }
+        for (int k = 0; k < 4 * n; k++) {
+            double cout = alea.nextBoolean() ? alea.nextInt(10) * 1e-6 : alea.nextInt(1000);
+            g.ajouterArc("n" + alea.nextInt(n), "n" + alea.nextInt(n), cout);
+        }
+        Valeurs attendu = dijkstra.resoudre(g, "n0");
+        for (double delta : new double[]{1e-9, 1e-6, 1e-3}) {
+            try (DeltaStepping deltaStepping = new DeltaStepping(delta, 2)) {
+                Valeurs w = deltaStepping.resoudre(g, "n0");
+                for (String noeud : g.listeNoeuds()) {
+                    assertEquals(attendu.getValeur(noeud), w.getValeur(noeud), "Δ=" + delta + ", n0 -> " + noeud);
+                }
+            }
+        }
+    }
+}
@@ -5,6 +5,13 @@ import java.util.*;
  */
 public class Dijkstra {
 
+    /**
+     * Tas conservé entre deux appels de resoudre(GrapheCompact, int, int, ValeursIndexees)
+     * (évite les allocations) ; les méthodes par noms de nœuds ne l'utilisent pas
+     * et restent utilisables par plusieurs threads sur une même instance
+     */
+    private TasBinaire tas;
+
     /**
      * Implémente l'algorithme de Dijkstra pour trouver les plus courts chemins
      * depuis un nœud de départ vers tous les autres nœuds du graphe
@@ -36,82 +43,208 @@ public class Dijkstra {
      *   Fin Tant que
      * Fin
      *
+     * Q est représenté par un tas binaire (TasBinaire) : l'extraction du
+     * sommet de valeur minimale coûte O(log V) au lieu d'un parcours de Q,
+     * et seuls les sommets déjà atteints y sont insérés.
+     *
      * @param g le graphe sur lequel appliquer l'algorithme
      * @param depart le nœud de départ
      * @return un objet Valeurs contenant les distances et parents calculés
      */
     public Valeurs resoudre(Graphe g, String depart) {
-        // Initialisation de l'objet Valeurs pour stocker les résultats
-        Valeurs valeurs = new Valeurs();
+        return resoudre(g, depart, null);
+    }
 
-        // Q <- {} // utilisation d'une liste de noeuds à traiter
-        Set<String> Q = new HashSet<>();
-
-        // Pour chaque sommet v de G faire
-        for (String v : g.listeNoeuds()) {
-            // v.valeur <- Infini
-            valeurs.setValeur(v, Double.MAX_VALUE);
-            // v.parent <- Indéfini (null en Java)
-            valeurs.setParent(v, null);
-            // Q <- Q U {v} // ajouter le sommet v à la liste Q
-            Q.add(v);
+    /**
+     * Algorithme de Dijkstra avec arrêt anticipé : la recherche s'arrête dès
+     * que le nœud d'arrivée est traité (sorti de Q).
+     * Les valeurs de l'arrivée et des nœuds de son chemin sont alors définitives,
+     * les autres nœuds encore dans Q n'ont qu'une valeur provisoire.
+     *
+     * @param g le graphe sur lequel appliquer l'algorithme
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée (null pour calculer vers tous les nœuds)
+     * @return un objet Valeurs contenant les distances et parents calculés
+     */
+    public Valeurs resoudre(Graphe g, String depart, String arrivee) {
+        if (g instanceof GrapheCompact) {
+            GrapheCompact gc = (GrapheCompact) g;
+            ValeursIndexees valeurs = new ValeursIndexees(gc);
+            int indiceDepart = gc.indice(depart);
+            if (indiceDepart == -1) {
+                valeurs.setValeur(depart, 0);
+                return valeurs;
+            }
+            // Tas propre à l'appel : l'instance peut être partagée entre threads
+            parcourir(gc, indiceDepart, (arrivee == null) ? -1 : gc.indice(arrivee), valeurs,
+                    new TasBinaire(gc.nbNoeuds()));
+            return valeurs;
         }
 
+        // Numérotation des nœuds pour travailler sur des tableaux
+        List<String> noeuds = g.listeNoeuds();
+        int n = noeuds.size();
+
+        // v.valeur <- Infini, v.parent <- Indéfini (valeurs par défaut)
+        ValeursIndexees valeurs = new ValeursIndexees(noeuds);
+
+        // Q ne contient que les sommets atteints, le départ pour commencer
+        TasBinaire Q = new TasBinaire(n);
+        int indiceDepart = valeurs.indice(depart);
+        int indiceArrivee = (arrivee == null) ? -1 : valeurs.indice(arrivee);
+        if (indiceDepart == -1) {
+            valeurs.setValeur(depart, 0);
+            return valeurs;
+        }
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("Dijkstra") : null;
         // A.valeur <- 0
-        valeurs.setValeur(depart, 0);
+        valeurs.setDistance(indiceDepart, 0);
+        Q.insererOuDiminuer(indiceDepart, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
 
         // Tant que Q est un ensemble non vide faire
-        while (!Q.isEmpty()) {
+        while (!Q.estVide()) {
             // u <- un sommet de Q telle que u.valeur est minimal
-            String u = trouverSommetValeurMinimale(Q, valeurs);
-
-            // enlever le sommet u de la liste Q
             // Q <- Q \ {u}
-            Q.remove(u);
+            int u = Q.extraireMin();
+            valeurs.marquer(u);
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+
+            // Arrêt anticipé : la valeur de l'arrivée ne peut plus diminuer
+            if (u == indiceArrivee) {
+                break;
+            }
 
             // Pour chaque sommet v de Q tel que l'arc (u,v) existe faire
-            for (Arc arc : g.suivants(u)) {
-                String v = arc.getDest();
+            double valeurU = valeurs.getDistance(u);
+            for (Arc arc : g.suivants(noeuds.get(u))) {
+                int v = valeurs.indice(arc.getDest());
+                if (v == -1 || valeurs.estMarque(v)) {
+                    continue;
+                }
 
-                // Vérifier que v est encore dans Q
-                if (Q.contains(v)) {
-                    // d <- u.valeur + poids(u,v)
-                    double d = valeurs.getValeur(u) + arc.getCout();
+                // d <- u.valeur + poids(u,v)
+                double d = valeurU + arc.getCout();
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
 
-                    // Si d < v.valeur
-                    if (d < valeurs.getValeur(v)) {
-                        // le chemin est plus interessant
-                        // Alors v.valeur <- d
-                        valeurs.setValeur(v, d);
-                        // v.parent <- u
-                        valeurs.setParent(v, u);
+                // Si d < v.valeur
+                if (d < valeurs.getDistance(v)) {
+                    valeurs.setDistance(v, d);
+                    valeurs.setParentIndice(v, u);
+                    Q.insererOuDiminuer(v, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
                     }
                 }
             }
         }
 
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
         return valeurs;
     }
 
     /**
-     * Méthode utilitaire pour trouver le sommet avec la valeur minimale dans Q
-     * @param Q ensemble des sommets non traités
-     * @param valeurs objet contenant les valeurs des sommets
-     * @return le sommet avec la valeur minimale
+     * Algorithme de Dijkstra sur un graphe compact, sans allocation :
+     * le résultat est écrit dans un objet ValeursIndexees réutilisable
+     * (réinitialisé au début) et le tas est conservé d'un appel à l'autre.
+     * Une même instance de Dijkstra ne doit donc pas être partagée entre threads.
+     *
+     * @param g le graphe compact
+     * @param depart l'indice du nœud de départ
+     * @param arrivee l'indice du nœud d'arrivée, ou -1 pour tous les nœuds
+     * @param valeurs l'objet résultat, construit sur le graphe g
+     * @return l'objet valeurs passé en paramètre
      */
-    private String trouverSommetValeurMinimale(Set<String> Q, Valeurs valeurs) {
-        String sommetMin = null;
-        double valeurMin = Double.MAX_VALUE;
-
-        for (String sommet : Q) {
-            double valeur = valeurs.getValeur(sommet);
-            if (valeur < valeurMin) {
-                valeurMin = valeur;
-                sommetMin = sommet;
-            }
+    public ValeursIndexees resoudre(GrapheCompact g, int depart, int arrivee, ValeursIndexees valeurs) {
+        valeurs.reinitialiser();
+        if (this.tas == null) {
+            this.tas = new TasBinaire(g.nbNoeuds());
+        } else {
+            this.tas.vider();
+            this.tas.assurerCapacite(g.nbNoeuds());
         }
+        parcourir(g, depart, arrivee, valeurs, this.tas);
+        return valeurs;
+    }
 
-        return sommetMin;
+    /**
+     * Boucle principale de Dijkstra sur les indices d'un graphe compact
+     * (valeurs doit être réinitialisé et Q vide)
+     * @param g le graphe compact
+     * @param depart l'indice du nœud de départ
+     * @param arrivee l'indice du nœud d'arrivée, ou -1
+     * @param valeurs les valeurs et parents des nœuds
+     * @param Q le tas, vide
+     */
+    static void parcourir(GrapheCompact g, int depart, int arrivee, ValeursIndexees valeurs, TasBinaire Q) {
+        parcourir(g, depart, arrivee, null, 0, valeurs, Q);
+    }
+
+    /**
+     * Boucle principale de Dijkstra, arrêtée à l'arrivée ou dès que toutes les
+     * cibles d'un masque sont traitées (valeurs doit être réinitialisé et Q vide)
+     * @param g le graphe compact
+     * @param depart l'indice du nœud de départ
+     * @param arrivee l'indice du nœud d'arrivée, ou -1
+     * @param estCible le masque des cibles (indexé par nœud), ou null
+     * @param nbCibles le nombre de cibles du masque
+     * @param valeurs les valeurs et parents des nœuds
+     * @param Q le tas, vide
+     */
+    static void parcourir(GrapheCompact g, int depart, int arrivee, boolean[] estCible, int nbCibles,
+                          ValeursIndexees valeurs, TasBinaire Q) {
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraCompact") : null;
+        valeurs.setDistance(depart, 0);
+        Q.insererOuDiminuer(depart, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (!Q.estVide()) {
+            int u = Q.extraireMin();
+            valeurs.marquer(u);
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+            if (u == arrivee || (estCible != null && estCible[u] && --nbCibles == 0)) {
+                break;
+            }
+
+            double valeurU = valeurs.getDistance(u);
+            for (int a = g.debut(u), fin = g.fin(u); a < fin; a++) {
+                int v = g.cible(a);
+                if (valeurs.estMarque(v)) {
+                    continue;
+                }
+                double d = valeurU + g.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (d < valeurs.getDistance(v)) {
+                    valeurs.setDistance(v, d);
+                    valeurs.setParentIndice(v, u);
+                    Q.insererOuDiminuer(v, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
     }
 
     /**
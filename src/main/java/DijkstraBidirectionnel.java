@@ -0,0 +1,161 @@
+/**
+ * Classe implémentant l'algorithme de Dijkstra bidirectionnel pour un couple
+ * départ / arrivée
+ * - une recherche avant part du départ sur le graphe
+ * - une recherche arrière part de l'arrivée sur le graphe inverse
+ * - on avance à chaque itération la recherche dont le tas a le plus petit minimum
+ * - meilleur = plus petit coût d'un chemin départ -> u -> v -> arrivée déjà vu
+ *   avec u atteint par l'avant et v par l'arrière ; on s'arrête dès que
+ *   min(tas avant) + min(tas arrière) >= meilleur
+ */
+public class DijkstraBidirectionnel {
+
+    /** Graphe de la recherche avant */
+    private final GrapheCompact graphe;
+
+    /** Graphe inverse, pour la recherche arrière */
+    private final GrapheCompact inverse;
+
+    /** Valeurs de la recherche avant (distance depuis le départ) */
+    private final ValeursIndexees avant;
+
+    /** Valeurs de la recherche arrière (distance jusqu'à l'arrivée) */
+    private final ValeursIndexees arriere;
+
+    /** Tas des deux recherches */
+    private final TasBinaire tasAvant;
+    private final TasBinaire tasArriere;
+
+    /** Nombre de nœuds sortis des tas lors de la dernière recherche */
+    private int nbNoeudsTraites;
+
+    /**
+     * Constructeur (le graphe inverse est calculé une fois pour toutes)
+     * @param g le graphe
+     */
+    public DijkstraBidirectionnel(Graphe g) {
+        this.graphe = GrapheCompact.depuis(g);
+        this.inverse = this.graphe.inverse();
+        this.avant = new ValeursIndexees(this.graphe);
+        this.arriere = new ValeursIndexees(this.graphe);
+        this.tasAvant = new TasBinaire(this.graphe.nbNoeuds());
+        this.tasArriere = new TasBinaire(this.graphe.nbNoeuds());
+    }
+
+    /**
+     * Retourne le nombre de nœuds traités (dans les deux sens) lors de la dernière recherche
+     * @return le nombre de nœuds traités
+     */
+    public int getNbNoeudsTraites() {
+        return this.nbNoeudsTraites;
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux nœuds
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return le chemin et son coût, ou null si l'arrivée est inaccessible
+     */
+    public Chemin resoudre(String depart, String arrivee) {
+        int s = this.graphe.indice(depart);
+        int t = this.graphe.indice(arrivee);
+        if (s == -1 || t == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + (s == -1 ? depart : arrivee));
+        }
+
+        this.avant.reinitialiser();
+        this.arriere.reinitialiser();
+        this.tasAvant.vider();
+        this.tasArriere.vider();
+        this.nbNoeudsTraites = 0;
+
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraBidirectionnel") : null;
+        this.avant.setDistance(s, 0);
+        this.tasAvant.insererOuDiminuer(s, 0);
+        this.arriere.setDistance(t, 0);
+        this.tasArriere.insererOuDiminuer(t, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas += 2;
+        }
+
+        double meilleur = (s == t) ? 0 : Double.MAX_VALUE;
+        int rencontre = (s == t) ? s : -1;
+
+        while (!this.tasAvant.estVide() && !this.tasArriere.estVide()) {
+            // Critère d'arrêt : aucun chemin passant par des nœuds non traités ne peut être meilleur
+            if (this.tasAvant.cleMin() + this.tasArriere.cleMin() >= meilleur) {
+                break;
+            }
+
+            boolean sensAvant = this.tasAvant.cleMin() <= this.tasArriere.cleMin();
+            GrapheCompact g = sensAvant ? this.graphe : this.inverse;
+            ValeursIndexees ici = sensAvant ? this.avant : this.arriere;
+            ValeursIndexees autre = sensAvant ? this.arriere : this.avant;
+            TasBinaire Q = sensAvant ? this.tasAvant : this.tasArriere;
+
+            int u = Q.extraireMin();
+            ici.marquer(u);
+            this.nbNoeudsTraites++;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+
+            double valeurU = ici.getDistance(u);
+            for (int a = g.debut(u), fin = g.fin(u); a < fin; a++) {
+                int v = g.cible(a);
+                double d = valeurU + g.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (!ici.estMarque(v) && d < ici.getDistance(v)) {
+                    ici.setDistance(v, d);
+                    ici.setParentIndice(v, u);
+                    Q.insererOuDiminuer(v, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+                // Le nœud v a-t-il été atteint par l'autre recherche ?
+                double reste = autre.getDistance(v);
+                if (reste != Double.MAX_VALUE && d + reste < meilleur) {
+                    meilleur = d + reste;
+                    rencontre = v;
+                }
+            }
+        }
+
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        if (rencontre == -1) {
+            return null;
+        }
+        return reconstruire(s, t, rencontre);
+    }
+
+    /**
+     * Reconstruit le chemin départ -> rencontre -> arrivée à partir des parents des deux recherches
+     */
+    private Chemin reconstruire(int s, int t, int rencontre) {
+        int n = this.graphe.nbNoeuds();
+        int[] noeuds = new int[n + 1];
+        int nb = 0;
+        // Partie avant, remontée de la rencontre jusqu'au départ puis retournée
+        for (int u = rencontre; u != -1 && nb <= n; u = (u == s) ? -1 : this.avant.getParentIndice(u)) {
+            noeuds[nb++] = u;
+        }
+        for (int i = 0, j = nb - 1; i < j; i++, j--) {
+            int tmp = noeuds[i];
+            noeuds[i] = noeuds[j];
+            noeuds[j] = tmp;
+        }
+        // Partie arrière : le parent dans le graphe inverse est le nœud suivant vers l'arrivée
+        for (int u = (rencontre == t) ? -1 : this.arriere.getParentIndice(rencontre); u != -1 && nb <= n;
+             u = (u == t) ? -1 : this.arriere.getParentIndice(u)) {
+            noeuds[nb++] = u;
+        }
+        return Chemin.depuisIndices(this.graphe, noeuds, nb);
+    }
+}
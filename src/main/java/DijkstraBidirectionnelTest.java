@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe DijkstraBidirectionnel
+ */
+public class DijkstraBidirectionnelTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testBidirectionnel() {
+        DijkstraBidirectionnel bidirectionnel = new DijkstraBidirectionnel(graphe);
+
+        Chemin chemin = bidirectionnel.resoudre("A", "C");
+        assertEquals(76, chemin.getCout(), 0.001, "Distance A->C devrait être 76");
+        assertEquals(List.of("A", "B", "E", "D", "C"), chemin.getNoeuds());
+
+        assertEquals(0, bidirectionnel.resoudre("B", "B").getCout(), 0.001);
+        assertEquals(83, bidirectionnel.resoudre("B", "A").getCout(), 0.001);
+
+        // Arrivée inaccessible
+        GrapheListe grapheAvecIsole = new GrapheListe();
+        grapheAvecIsole.ajouterArc("A", "B", 10);
+        grapheAvecIsole.ajouterArc("C", "D", 5);
+        assertNull(new DijkstraBidirectionnel(grapheAvecIsole).resoudre("A", "D"));
+    }
+
+    @Test
+    public void testBidirectionnelMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        DijkstraBidirectionnel bidirectionnel = new DijkstraBidirectionnel(metro);
+        for (String depart : new String[]{"1", "25", "50", "100", "150"}) {
+            Valeurs attendu = dijkstra.resoudre(metro, depart);
+            for (String arrivee : metro.listeNoeuds()) {
+                Chemin chemin = bidirectionnel.resoudre(depart, arrivee);
+                assertEquals(attendu.getValeur(arrivee), chemin.getCout(), 0.001,
+                        "Distance différente pour " + depart + " -> " + arrivee);
+                assertEquals(arrivee, chemin.getNoeuds().get(chemin.getNoeuds().size() - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Classe implémentant une recherche de Dijkstra d'un nœud vers un ensemble de cibles
+ * - la recherche s'arrête dès que toutes les cibles sont traitées ou dès que
+ *   le nombre de cibles voulu est atteint (les k plus proches) ; les nœuds
+ *   au-delà du budget ne sont jamais insérés dans Q, qui se vide alors d'elle-même
+ * - seuls les nœuds atteints sont stockés (tables de hachage, file de priorité
+ *   à suppression paresseuse) : la mémoire dépend de la zone explorée et non
+ *   du nombre de nœuds du graphe, dont la liste n'est jamais parcourue
+ * - le résultat ne contient que les cibles atteintes, par distance croissante
+ */
+public class DijkstraCibles {
+
+    /** Graphe de la recherche */
+    private final Graphe graphe;
+
+    /** Nombre de nœuds traités par la dernière recherche */
+    private int nbNoeudsTraites;
+
+    /**
+     * Entrée de la file de priorité : un nœud et sa valeur au moment de l'insertion
+     */
+    private static class Entree implements Comparable<Entree> {
+        final String noeud;
+        final double valeur;
+
+        Entree(String noeud, double valeur) {
+            this.noeud = noeud;
+            this.valeur = valeur;
+        }
+
+        @Override
+        public int compareTo(Entree autre) {
+            return Double.compare(this.valeur, autre.valeur);
+        }
+    }
+
+    /**
+     * Constructeur
+     * @param g le graphe
+     */
+    public DijkstraCibles(Graphe g) {
+        this.graphe = g;
+    }
+
+    /**
+     * Calcule la distance du départ vers chaque cible
+     * @param depart le nœud de départ
+     * @param cibles les nœuds cibles
+     * @return la distance de chaque cible accessible, par distance croissante
+     */
+    public Map<String, Double> resoudre(String depart, Collection<String> cibles) {
+        return resoudre(depart, cibles, Double.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcule la distance du départ vers chaque cible, dans la limite d'un budget
+     * @param depart le nœud de départ
+     * @param cibles les nœuds cibles
+     * @param budget la distance maximale
+     * @return la distance de chaque cible à distance au plus budget, par distance croissante
+     */
+    public Map<String, Double> resoudre(String depart, Collection<String> cibles, double budget) {
+        return resoudre(depart, cibles, budget, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcule la distance du départ vers les k cibles les plus proches
+     * @param depart le nœud de départ
+     * @param cibles les nœuds cibles
+     * @param k le nombre de cibles voulues
+     * @return la distance des k cibles les plus proches (moins si inaccessibles), par distance croissante
+     */
+    public Map<String, Double> plusProches(String depart, Collection<String> cibles, int k) {
+        return resoudre(depart, cibles, Double.MAX_VALUE, k);
+    }
+
+    /**
+     * Nombre de nœuds traités par la dernière recherche
+     * @return le nombre de nœuds traités
+     */
+    public int getNbNoeudsTraites() {
+        return this.nbNoeudsTraites;
+    }
+
+    /**
+     * Dijkstra avec arrêt anticipé sur les cibles
+     * @param depart le nœud de départ
+     * @param cibles les nœuds cibles
+     * @param budget la distance maximale
+     * @param nbMax le nombre maximal de cibles à retourner
+     * @return la distance des cibles traitées, par distance croissante
+     */
+    private Map<String, Double> resoudre(String depart, Collection<String> cibles, double budget, int nbMax) {
+        Set<String> restantes = new HashSet<>(cibles);
+        Map<String, Double> resultat = new LinkedHashMap<>();
+        this.nbNoeudsTraites = 0;
+        if (restantes.isEmpty() || nbMax <= 0) {
+            return resultat;
+        }
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraCibles") : null;
+        Map<String, Double> distances = new HashMap<>();
+        Set<String> traites = new HashSet<>();
+        PriorityQueue<Entree> Q = new PriorityQueue<>();
+        distances.put(depart, 0.0);
+        Q.add(new Entree(depart, 0));
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (!Q.isEmpty()) {
+            Entree entree = Q.poll();
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+            }
+            String u = entree.noeud;
+            // Entrée périmée : le nœud a été traité avec une valeur plus petite
+            if (!traites.add(u)) {
+                continue;
+            }
+            this.nbNoeudsTraites++;
+            if (Metriques.ACTIVES) {
+                mesure.noeudsTraites++;
+            }
+            if (restantes.remove(u)) {
+                resultat.put(u, entree.valeur);
+                if (restantes.isEmpty() || resultat.size() == nbMax) {
+                    break;
+                }
+            }
+
+            for (Arc arc : this.graphe.suivants(u)) {
+                String v = arc.getDest();
+                if (traites.contains(v)) {
+                    continue;
+                }
+                double d = entree.valeur + arc.getCout();
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (d <= budget && d < distances.getOrDefault(v, Double.MAX_VALUE)) {
+                    distances.put(v, d);
+                    Q.add(new Entree(v, d));
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return resultat;
+    }
+}
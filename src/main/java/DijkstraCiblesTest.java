@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitaires pour la classe DijkstraCibles
+ */
+public class DijkstraCiblesTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testCiblesEtBudget() {
+        DijkstraCibles recherche = new DijkstraCibles(graphe);
+        Map<String, Double> distances = recherche.resoudre("A", List.of("D", "B"));
+        assertEquals(List.of("B", "D"), new ArrayList<>(distances.keySet()),
+                "Cibles par distance croissante");
+        assertEquals(12, distances.get("B"), 0.001);
+        assertEquals(66, distances.get("D"), 0.001);
+        assertEquals(4, recherche.getNbNoeudsTraites(), "C n'est pas traité : arrêt après D");
+
+        distances = recherche.resoudre("A", List.of("C", "D", "E"), 50);
+        assertEquals(Map.of("E", 23.0), distances, "C et D dépassent le budget");
+        assertEquals(3, recherche.getNbNoeudsTraites());
+
+        distances = recherche.plusProches("A", List.of("C", "D", "E", "inconnu"), 2);
+        assertEquals(List.of("E", "D"), new ArrayList<>(distances.keySet()));
+        assertTrue(recherche.resoudre("A", List.of()).isEmpty());
+    }
+
+    @Test
+    public void testMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        Valeurs attendu = dijkstra.resoudre(metro, "100");
+        List<String> cibles = List.of("1", "45", "150", "200", "250", "280");
+        Map<String, Double> distances = new DijkstraCibles(metro).resoudre("100", cibles);
+        assertEquals(cibles.size(), distances.size());
+        double precedente = 0;
+        for (Map.Entry<String, Double> entree : distances.entrySet()) {
+            assertEquals(attendu.getValeur(entree.getKey()), entree.getValue(), 0.001);
+            assertTrue(entree.getValue() >= precedente);
+            precedente = entree.getValue();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe DijkstraDynamique - plus courts chemins depuis une source, réparés
+ * après des modifications d'arcs au lieu d'être recalculés (principe de
+ * Ramalingam et Reps)
+ * - les modifications (coût changé, arc supprimé ou ajouté) passent par ce moteur,
+ *   qui les applique au graphe et note les couples (u,v) touchés
+ * - mettreAJour() traite le lot de modifications en attente :
+ *   1. un arc de l'arbre qui devient plus cher (ou disparaît) rend invalides les
+ *      valeurs de tout le sous-arbre qu'il porte : ces nœuds sont remis à l'infini,
+ *      puis reçoivent la meilleure valeur proposée par leurs prédécesseurs intacts
+ *   2. un arc qui devient moins cher (ou apparaît) propose une nouvelle valeur
+ *   3. un Dijkstra part de toutes ces propositions et ne se propage que tant que
+ *      les valeurs diminuent
+ * Le travail est proportionnel à la zone touchée (nœuds dont la valeur ou le parent
+ * change, et leurs voisins), pas à la taille du graphe.
+ * Les coûts doivent être positifs ou nuls. Le graphe ne doit pas être modifié
+ * directement tant que le moteur est utilisé (sa version est contrôlée).
+ */
+public class DijkstraDynamique {
+
+    /** Graphe modifié par le moteur */
+    private final GrapheListe graphe;
+
+    /** Nom de chaque nœud (dans l'ordre de listeNoeuds, comme les valeurs) */
+    private final List<String> noeuds;
+
+    /** Indice du nœud de départ */
+    private final int depart;
+
+    /** Valeurs et parents courants (arbre de plus courts chemins) */
+    private final ValeursIndexees valeurs;
+
+    /** Prédécesseurs de chaque nœud (avec répétitions possibles, jamais retirés) */
+    private int[][] predecesseurs;
+    private final int[] nbPredecesseurs;
+
+    /** Couples (origine, destination) modifiés depuis la dernière mise à jour */
+    private int[] modifies = new int[16];
+    private int nbModifies;
+
+    /** Version du graphe attendue (toute autre version signale une modification externe) */
+    private long version;
+
+    /** Tas et marque des nœuds invalidés, conservés entre deux mises à jour */
+    private final TasBinaire tas;
+    private final boolean[] invalide;
+
+    /** Nombre de nœuds traités lors de la dernière mise à jour */
+    private int nbNoeudsTraites;
+
+    /**
+     * Constructeur : calcule l'arbre initial par Dijkstra
+     * @param graphe le graphe (coûts positifs ou nuls)
+     * @param depart le nœud de départ
+     */
+    public DijkstraDynamique(GrapheListe graphe, String depart) {
+        this.graphe = graphe;
+        this.noeuds = graphe.listeNoeuds();
+        int n = this.noeuds.size();
+        this.valeurs = (ValeursIndexees) new Dijkstra().resoudre(graphe, depart);
+        this.depart = this.valeurs.indice(depart);
+        if (this.depart == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + depart);
+        }
+
+        this.predecesseurs = new int[n][];
+        this.nbPredecesseurs = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (Arc arc : graphe.suivants(this.noeuds.get(u))) {
+                if (arc.getCout() < 0) {
+                    throw new IllegalArgumentException("Coût négatif sur l'arc " + this.noeuds.get(u) + " -> "
+                            + arc.getDest());
+                }
+                ajouterPredecesseur(u, this.valeurs.indice(arc.getDest()));
+            }
+        }
+        this.tas = new TasBinaire(n);
+        this.invalide = new boolean[n];
+        this.version = graphe.getVersion();
+    }
+
+    /**
+     * Change le coût de tous les arcs allant d'un nœud à un autre
+     * @param origine le nœud de départ de l'arc
+     * @param destination le nœud d'arrivée de l'arc
+     * @param cout le nouveau coût (positif ou nul)
+     * @return le nombre d'arcs modifiés
+     */
+    public int modifierCout(String origine, String destination, double cout) {
+        if (cout < 0) {
+            throw new IllegalArgumentException("Coût négatif : " + cout);
+        }
+        controlerVersion();
+        int nb = this.graphe.modifierCout(origine, destination, cout);
+        noter(origine, destination, nb);
+        return nb;
+    }
+
+    /**
+     * Supprime tous les arcs allant d'un nœud à un autre
+     * @param origine le nœud de départ de l'arc
+     * @param destination le nœud d'arrivée de l'arc
+     * @return le nombre d'arcs supprimés
+     */
+    public int supprimerArc(String origine, String destination) {
+        controlerVersion();
+        int nb = this.graphe.supprimerArc(origine, destination);
+        noter(origine, destination, nb);
+        return nb;
+    }
+
+    /**
+     * Ajoute un arc entre deux nœuds existants (réouverture d'un tronçon par exemple)
+     * @param origine le nœud de départ de l'arc
+     * @param destination le nœud d'arrivée de l'arc
+     * @param cout le coût (positif ou nul)
+     * @param ligne la ligne de l'arc (peut être null)
+     */
+    public void ajouterArc(String origine, String destination, double cout, String ligne) {
+        if (cout < 0) {
+            throw new IllegalArgumentException("Coût négatif : " + cout);
+        }
+        int u = indice(origine);
+        int v = indice(destination);
+        controlerVersion();
+        this.graphe.ajouterArc(origine, destination, cout, ligne);
+        ajouterPredecesseur(u, v);
+        noter(origine, destination, 1);
+    }
+
+    /**
+     * Retourne les plus courts chemins à jour (les modifications en attente sont traitées)
+     * @return les valeurs et parents, mis à jour en place à chaque appel
+     */
+    public Valeurs getValeurs() {
+        mettreAJour();
+        return this.valeurs;
+    }
+
+    /**
+     * Retourne le nombre de nœuds traités (invalidés ou sortis du tas)
+     * lors de la dernière mise à jour
+     * @return le nombre de nœuds traités
+     */
+    public int getNbNoeudsTraites() {
+        return this.nbNoeudsTraites;
+    }
+
+    /**
+     * Répare l'arbre de plus courts chemins après les modifications en attente
+     */
+    public void mettreAJour() {
+        controlerVersion();
+        this.nbNoeudsTraites = 0;
+        if (this.nbModifies == 0) {
+            return;
+        }
+        ValeursIndexees val = this.valeurs;
+        TasBinaire Q = this.tas;
+        Q.vider();
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraDynamique") : null;
+
+        // 1. Arcs de l'arbre devenus plus chers : invalidation des sous-arbres
+        int[] zone = new int[16];
+        int nbZone = 0;
+        for (int i = 0; i < this.nbModifies; i++) {
+            int u = this.modifies[2 * i];
+            int v = this.modifies[2 * i + 1];
+            if (val.getParentIndice(v) == u && !this.invalide[v]
+                    && val.getDistance(u) + meilleurCout(u, v) > val.getDistance(v)) {
+                int debut = nbZone;
+                zone = ajouter(zone, nbZone++, v);
+                this.invalide[v] = true;
+                // Parcours du sous-arbre : les fils d'un nœud sont parmi ses successeurs
+                for (int j = debut; j < nbZone; j++) {
+                    int x = zone[j];
+                    for (Arc arc : this.graphe.suivants(this.noeuds.get(x))) {
+                        int w = val.indice(arc.getDest());
+                        if (!this.invalide[w] && val.getParentIndice(w) == x) {
+                            this.invalide[w] = true;
+                            zone = ajouter(zone, nbZone++, w);
+                        }
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < nbZone; j++) {
+            val.setDistance(zone[j], Double.MAX_VALUE);
+            val.setParentIndice(zone[j], -1);
+        }
+        // Meilleure valeur proposée par les prédécesseurs restés valides
+        for (int j = 0; j < nbZone; j++) {
+            int v = zone[j];
+            for (int k = 0; k < this.nbPredecesseurs[v]; k++) {
+                int p = this.predecesseurs[v][k];
+                if (this.invalide[p] || val.getDistance(p) == Double.MAX_VALUE) {
+                    continue;
+                }
+                proposer(p, v, val.getDistance(p) + meilleurCout(p, v), Q, mesure);
+            }
+        }
+        for (int j = 0; j < nbZone; j++) {
+            this.invalide[zone[j]] = false;
+        }
+
+        // 2. Arcs devenus moins chers ou ajoutés
+        for (int i = 0; i < this.nbModifies; i++) {
+            int u = this.modifies[2 * i];
+            int v = this.modifies[2 * i + 1];
+            if (val.getDistance(u) != Double.MAX_VALUE) {
+                proposer(u, v, val.getDistance(u) + meilleurCout(u, v), Q, mesure);
+            }
+        }
+        this.nbModifies = 0;
+
+        // 3. Propagation tant que les valeurs diminuent
+        this.nbNoeudsTraites = nbZone;
+        while (!Q.estVide()) {
+            int u = Q.extraireMin();
+            this.nbNoeudsTraites++;
+            double valeurU = val.getDistance(u);
+            List<Arc> suivants = this.graphe.suivants(this.noeuds.get(u));
+            for (Arc arc : suivants) {
+                proposer(u, val.indice(arc.getDest()), valeurU + arc.getCout(), Q, mesure);
+            }
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.arcsRelaches += suivants.size();
+            }
+        }
+        if (Metriques.ACTIVES) {
+            mesure.noeudsTraites = this.nbNoeudsTraites;
+            Metriques.terminer(mesure);
+        }
+    }
+
+    /**
+     * Donne à v la valeur d passant par u si elle est meilleure
+     */
+    private void proposer(int u, int v, double d, TasBinaire Q, Metriques.Mesure mesure) {
+        if (d < this.valeurs.getDistance(v) && v != this.depart) {
+            this.valeurs.setDistance(v, d);
+            this.valeurs.setParentIndice(v, u);
+            Q.insererOuDiminuer(v, d);
+            if (Metriques.ACTIVES) {
+                mesure.diminutions++;
+                mesure.insertionsTas++;
+            }
+        }
+    }
+
+    /**
+     * Coût du meilleur arc allant de u à v (infini s'il n'y en a plus)
+     */
+    private double meilleurCout(int u, int v) {
+        String destination = this.noeuds.get(v);
+        double meilleur = Double.POSITIVE_INFINITY;
+        for (Arc arc : this.graphe.suivants(this.noeuds.get(u))) {
+            if (arc.getDest().equals(destination)) {
+                meilleur = Math.min(meilleur, arc.getCout());
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Note un couple modifié (si au moins un arc a changé)
+     */
+    private void noter(String origine, String destination, int nbArcs) {
+        this.version = this.graphe.getVersion();
+        if (nbArcs == 0) {
+            return;
+        }
+        if (2 * this.nbModifies + 2 > this.modifies.length) {
+            this.modifies = Arrays.copyOf(this.modifies, this.modifies.length * 2);
+        }
+        this.modifies[2 * this.nbModifies] = indice(origine);
+        this.modifies[2 * this.nbModifies + 1] = indice(destination);
+        this.nbModifies++;
+    }
+
+    /**
+     * Ajoute u aux prédécesseurs de v, s'il n'y est pas déjà (arcs parallèles,
+     * tronçon rouvert plusieurs fois)
+     */
+    private void ajouterPredecesseur(int u, int v) {
+        int[] p = this.predecesseurs[v];
+        for (int k = 0; k < this.nbPredecesseurs[v]; k++) {
+            if (p[k] == u) {
+                return;
+            }
+        }
+        if (p == null) {
+            p = new int[2];
+        } else if (this.nbPredecesseurs[v] == p.length) {
+            p = Arrays.copyOf(p, p.length * 2);
+        }
+        p[this.nbPredecesseurs[v]++] = u;
+        this.predecesseurs[v] = p;
+    }
+
+    /**
+     * Ajoute un élément à un tableau extensible
+     */
+    private static int[] ajouter(int[] t, int taille, int x) {
+        if (taille == t.length) {
+            t = Arrays.copyOf(t, t.length * 2);
+        }
+        t[taille] = x;
+        return t;
+    }
+
+    /**
+     * Indice d'un nœud connu du moteur
+     */
+    private int indice(String nom) {
+        int u = this.valeurs.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+
+    /**
+     * Vérifie que le graphe n'a pas été modifié sans passer par le moteur
+     */
+    private void controlerVersion() {
+        if (this.graphe.getVersion() != this.version) {
+            throw new IllegalStateException("Le graphe a été modifié sans passer par DijkstraDynamique");
+        }
+    }
+}
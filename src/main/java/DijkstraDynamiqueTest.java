@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests unitaires pour la classe DijkstraDynamique
+ */
+public class DijkstraDynamiqueTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testModifications() {
+        DijkstraDynamique dynamique = new DijkstraDynamique(graphe, "A");
+        assertEquals(76, dynamique.getValeurs().getValeur("C"), 0.001);
+
+        // L'arc B->E de l'arbre devient plus cher : E, D et C passent par A->D
+        dynamique.modifierCout("B", "E", 100);
+        Valeurs v = dynamique.getValeurs();
+        assertEquals(87, v.getValeur("D"), 0.001);
+        assertEquals(97, v.getValeur("C"), 0.001);
+        assertEquals(112, v.getValeur("E"), 0.001);
+        assertEquals("A", v.getParent("D"));
+
+        // Suppression de A->D : C et D ne sont plus accessibles que par E
+        dynamique.supprimerArc("A", "D");
+        dynamique.modifierCout("B", "E", 1);
+        v = dynamique.getValeurs();
+        assertEquals(13, v.getValeur("E"), 0.001);
+        assertEquals(56, v.getValeur("D"), 0.001);
+        assertEquals(List.of("A", "B", "E", "D", "C"), v.calculerChemin("C"));
+
+        dynamique.supprimerArc("E", "D");
+        v = dynamique.getValeurs();
+        assertEquals(Double.MAX_VALUE, v.getValeur("D"), "D est devenu inaccessible");
+        assertTrue(v.calculerChemin("C").isEmpty());
+
+        graphe.ajouterArc("A", "C", 1);
+        assertThrows(IllegalStateException.class, dynamique::getValeurs, "Modification hors du moteur");
+    }
+
+    @Test
+    public void testArcRouvertPlusieursFois() {
+        DijkstraDynamique dynamique = new DijkstraDynamique(graphe, "A");
+        // Tronçon A->E fermé puis rouvert à répétition, parallèle à un arc qui reste
+        for (int i = 0; i < 50; i++) {
+            dynamique.ajouterArc("A", "E", 30 + i, null);
+            dynamique.getValeurs();
+            dynamique.supprimerArc("A", "E");
+        }
+        dynamique.ajouterArc("A", "E", 5, null);
+        dynamique.ajouterArc("A", "E", 8, null);
+        dynamique.modifierCout("B", "E", 100);
+        Valeurs v = dynamique.getValeurs();
+        Valeurs attendu = dijkstra.resoudre(graphe, "A");
+        for (String noeud : graphe.listeNoeuds()) {
+            assertEquals(attendu.getValeur(noeud), v.getValeur(noeud), 0.001, "A -> " + noeud);
+        }
+        assertEquals(List.of("A", "E"), v.calculerChemin("E"));
+
+        dynamique.supprimerArc("A", "E");
+        assertEquals(112, dynamique.getValeurs().getValeur("E"), 0.001, "E ne reste accessible que par B");
+    }
+
+    @Test
+    public void testModificationsAleatoires() {
+        Random alea = new Random(11);
+        GrapheListe g = new GrapheListe();
+        int n = 400;
+        for (int k = 0; k < 1600; k++) {
+            g.ajouterArc("n" + alea.nextInt(n), "n" + alea.nextInt(n), alea.nextInt(20));
+        }
+        DijkstraDynamique dynamique = new DijkstraDynamique(g, "n0");
+        int total = 0;
+        for (int lot = 0; lot < 30; lot++) {
+            for (int k = 0; k < 3; k++) {
+                String u = "n" + alea.nextInt(n);
+                List<Arc> arcs = g.suivants(u);
+                int choix = alea.nextInt(3);
+                if (choix == 0 && !arcs.isEmpty()) {
+                    dynamique.supprimerArc(u, arcs.get(alea.nextInt(arcs.size())).getDest());
+                } else if (choix == 1 && !arcs.isEmpty()) {
+                    dynamique.modifierCout(u, arcs.get(alea.nextInt(arcs.size())).getDest(), alea.nextInt(40));
+                } else if (g.contientNoeud("n" + (lot + k))) {
+                    dynamique.ajouterArc(u, "n" + (lot + k), alea.nextInt(20), null);
+                }
+            }
+            Valeurs v = dynamique.getValeurs();
+            total += dynamique.getNbNoeudsTraites();
+            Valeurs attendu = dijkstra.resoudre(g, "n0");
+            for (String noeud : g.listeNoeuds()) {
+                assertEquals(attendu.getValeur(noeud), v.getValeur(noeud), 0.001, "Lot " + lot + ", nœud " + noeud);
+            }
+        }
+        assertTrue(total < 30 * g.nbNoeuds() / 2, "Réparations trop coûteuses : " + total + " nœuds traités");
+    }
+}
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe implémentant Dijkstra avec pénalité de changement de ligne, de façon exacte
+ * - la recherche porte sur des états « arrivé au nœud v par l'arc a » plutôt que
+ *   sur les nœuds : la ligne d'arrivée fait partie de l'état, un nœud peut donc
+ *   être atteint par plusieurs lignes sans que l'une efface l'autre
+ * - passer de l'arc a à l'arc b (sortant de la destination de a) coûte
+ *   cout(b), plus la pénalité si les deux arcs ont une ligne et qu'elles diffèrent
+ * - les lignes sont des identifiants entiers du graphe compact : aucune recherche
+ *   d'arc n'est faite pendant les relâchements
+ */
+public class DijkstraLignes {
+
+    /** Pénalité par défaut pour un changement de ligne */
+    public static final double PENALITE_DEFAUT = 10.0;
+
+    /** Graphe compact de la recherche */
+    private final GrapheCompact graphe;
+
+    /** Pénalité ajoutée à chaque changement de ligne */
+    private final double penalite;
+
+    /** Tas sur les états (arcs 0..m-1, plus l'état m = au départ sans ligne) */
+    private final TasBinaire tas;
+
+    /**
+     * Constructeur avec la pénalité par défaut
+     * @param g le graphe
+     */
+    public DijkstraLignes(Graphe g) {
+        this(g, PENALITE_DEFAUT);
+    }
+
+    /**
+     * Constructeur
+     * @param g le graphe
+     * @param penalite la pénalité ajoutée à chaque changement de ligne (positive ou nulle)
+     */
+    public DijkstraLignes(Graphe g, double penalite) {
+        this.graphe = GrapheCompact.depuis(g);
+        this.penalite = penalite;
+        this.tas = new TasBinaire(this.graphe.nbArcs() + 1);
+    }
+
+    /**
+     * Calcule les plus courts chemins pénalisés depuis un nœud vers tous les autres
+     * La valeur d'un nœud est le coût de son meilleur état ; calculerChemin suit
+     * les arcs de ce meilleur état et donne donc l'itinéraire exact.
+     * @param depart le nœud de départ
+     * @return un objet Valeurs contenant les distances et parents calculés
+     */
+    public Valeurs resoudre(String depart) {
+        int s = indice(depart);
+        int m = this.graphe.nbArcs();
+        double[] distances = new double[m + 1];
+        int[] parents = new int[m + 1];
+        rechercher(s, -1, distances, parents);
+
+        // Meilleur état de chaque nœud
+        int n = this.graphe.nbNoeuds();
+        int[] meilleurEtat = new int[n];
+        Arrays.fill(meilleurEtat, -1);
+        for (int a = 0; a < m; a++) {
+            int v = this.graphe.cible(a);
+            if (distances[a] != Double.MAX_VALUE && v != s
+                    && (meilleurEtat[v] == -1 || distances[a] < distances[meilleurEtat[v]])) {
+                meilleurEtat[v] = a;
+            }
+        }
+        return new ValeursLignes(s, distances, parents, meilleurEtat);
+    }
+
+    /**
+     * Calcule l'itinéraire pénalisé optimal entre deux nœuds
+     * (la recherche s'arrête au premier état de l'arrivée traité)
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return le chemin (son coût inclut les pénalités), ou null si l'arrivée est inaccessible
+     */
+    public Chemin chemin(String depart, String arrivee) {
+        int s = indice(depart);
+        int t = indice(arrivee);
+        int m = this.graphe.nbArcs();
+        double[] distances = new double[m + 1];
+        int[] parents = new int[m + 1];
+        int etat = rechercher(s, t, distances, parents);
+        if (etat == -1) {
+            return null;
+        }
+        List<String> noeuds = new ArrayList<>();
+        List<String> lignes = new ArrayList<>();
+        for (int a = etat; a != m; a = parents[a]) {
+            noeuds.add(this.graphe.nom(this.graphe.cible(a)));
+            lignes.add(this.graphe.nomLigne(this.graphe.ligne(a)));
+        }
+        noeuds.add(depart);
+        Collections.reverse(noeuds);
+        Collections.reverse(lignes);
+        return new Chemin(noeuds, lignes, distances[etat]);
+    }
+
+    /**
+     * Indice d'un nœud du graphe, avec contrôle
+     */
+    private int indice(String nom) {
+        int u = this.graphe.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+
+    /**
+     * Dijkstra sur les états (arcs)
+     * @param s l'indice du nœud de départ
+     * @param t l'indice du nœud d'arrivée, ou -1 pour tout explorer
+     * @param distances la valeur de chaque état (rempli)
+     * @param parents l'état précédent de chaque état (rempli)
+     * @return le premier état traité arrivant en t (m si t == s), ou -1
+     */
+    private int rechercher(int s, int t, double[] distances, int[] parents) {
+        GrapheCompact g = this.graphe;
+        int m = g.nbArcs();
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(parents, -1);
+        boolean[] traite = new boolean[m + 1];
+        TasBinaire Q = this.tas;
+        Q.vider();
+
+        if (s == t) {
+            distances[m] = 0;
+            return m;
+        }
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraLignes") : null;
+        distances[m] = 0;
+        Q.insererOuDiminuer(m, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (!Q.estVide()) {
+            int etat = Q.extraireMin();
+            traite[etat] = true;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+            int u = (etat == m) ? s : g.cible(etat);
+            if (u == t) {
+                if (Metriques.ACTIVES) {
+                    Metriques.terminer(mesure);
+                }
+                return etat;
+            }
+            short ligneArrivee = (etat == m) ? GrapheCompact.SANS_LIGNE : g.ligne(etat);
+            double valeur = distances[etat];
+
+            for (int b = g.debut(u), fin = g.fin(u); b < fin; b++) {
+                if (traite[b]) {
+                    continue;
+                }
+                short ligneSortante = g.ligne(b);
+                double d = valeur + g.cout(b);
+                if (ligneArrivee != GrapheCompact.SANS_LIGNE && ligneSortante != GrapheCompact.SANS_LIGNE
+                        && ligneArrivee != ligneSortante) {
+                    d += this.penalite;
+                }
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (d < distances[b]) {
+                    distances[b] = d;
+                    parents[b] = etat;
+                    Q.insererOuDiminuer(b, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return -1;
+    }
+
+    /**
+     * Résultat de resoudre : valeurs par nœud, et chemin reconstruit en suivant
+     * les états (arcs) plutôt que les parents des nœuds
+     */
+    private class ValeursLignes extends ValeursIndexees {
+        private final int depart;
+        private final int[] parents;
+        private final int[] meilleurEtat;
+
+        ValeursLignes(int depart, double[] distances, int[] parents, int[] meilleurEtat) {
+            super(graphe);
+            this.depart = depart;
+            this.parents = parents;
+            this.meilleurEtat = meilleurEtat;
+            int m = graphe.nbArcs();
+            setDistance(depart, 0);
+            for (int v = 0; v < meilleurEtat.length; v++) {
+                int a = meilleurEtat[v];
+                if (a != -1) {
+                    setDistance(v, distances[a]);
+                    setParentIndice(v, parents[a] == m ? depart : graphe.cible(parents[a]));
+                }
+            }
+        }
+
+        @Override
+        public List<String> calculerChemin(String destination) {
+            int v = indice(destination);
+            if (v == -1 || this.meilleurEtat[v] == -1) {
+                return super.calculerChemin(destination);
+            }
+            int m = graphe.nbArcs();
+            List<String> chemin = new ArrayList<>();
+            for (int a = this.meilleurEtat[v]; a != m; a = this.parents[a]) {
+                chemin.add(graphe.nom(graphe.cible(a)));
+            }
+            chemin.add(graphe.nom(this.depart));
+            Collections.reverse(chemin);
+            return chemin;
+        }
+    }
+}
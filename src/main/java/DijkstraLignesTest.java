@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe DijkstraLignes
+ */
+public class DijkstraLignesTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testPenaliteExacte() {
+        // S -> X par la ligne 2 (coût 4) ou par la ligne 1 (coût 5), puis X -> T par la ligne 1 (coût 1)
+        // Avec une pénalité de 10, il faut arriver en X par la ligne 1 : coût 6 et non 15
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("S", "X", 4, "2");
+        g.ajouterArc("S", "X", 5, "1");
+        g.ajouterArc("X", "T", 1, "1");
+
+        DijkstraLignes dijkstraLignes = new DijkstraLignes(g, 10);
+        Chemin chemin = dijkstraLignes.chemin("S", "T");
+        assertEquals(6, chemin.getCout(), 0.001);
+        assertEquals(List.of("S", "X", "T"), chemin.getNoeuds());
+        assertEquals(List.of("1", "1"), chemin.getLignes());
+
+        Valeurs resultats = dijkstraLignes.resoudre("S");
+        assertEquals(4, resultats.getValeur("X"), 0.001);
+        assertEquals(6, resultats.getValeur("T"), 0.001);
+        assertEquals(List.of("S", "X", "T"), resultats.calculerChemin("T"));
+    }
+
+    @Test
+    public void testPenaliteMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+
+        // Sans pénalité, on retrouve les distances de Dijkstra
+        Valeurs attendu = dijkstra.resoudre(metro, "25");
+        Valeurs sansPenalite = new DijkstraLignes(metro, 0).resoudre("25");
+        for (String noeud : metro.listeNoeuds()) {
+            assertEquals(attendu.getValeur(noeud), sansPenalite.getValeur(noeud), 0.001);
+        }
+
+        // Avec pénalité : coût = temps de trajet + pénalités, jamais pire que resoudre2
+        DijkstraLignes dijkstraLignes = new DijkstraLignes(metro);
+        Valeurs approche = dijkstra.resoudre2(metro, "25");
+        for (String arrivee : new String[]{"45", "100", "150", "200"}) {
+            Chemin chemin = dijkstraLignes.chemin("25", arrivee);
+            Chemin sansPenaliteChemin = new DijkstraLignes(metro, 0).chemin("25", arrivee);
+            double temps = chemin.getCout() - DijkstraLignes.PENALITE_DEFAUT * chemin.nbChangements();
+            assertTrue(temps >= sansPenaliteChemin.getCout() - 0.001);
+            assertTrue(chemin.getCout() <= approche.getValeur(arrivee) + 0.001);
+        }
+    }
+}
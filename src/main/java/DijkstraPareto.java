@@ -0,0 +1,309 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe implémentant une recherche multicritère (temps de trajet, changements
+ * de ligne) par étiquettes, qui donne le front de Pareto d'un trajet
+ * - comme DijkstraLignes, les états sont « arrivé au nœud v par l'arc a » ;
+ *   un état peut porter plusieurs étiquettes (temps, changements) non dominées
+ * - les étiquettes sont traitées par ordre lexicographique (temps, puis
+ *   changements) : une étiquette traitée n'est dominée par aucune étiquette
+ *   traitée ensuite, et celles d'un même état ont des changements strictement
+ *   décroissants. Le front d'un état traité se résume donc au plus petit
+ *   nombre de changements déjà atteint (minTraite)
+ * - chaque état garde son sac d'étiquettes en attente, chaîné dans des
+ *   tableaux primitifs : une étiquette dominée n'entre pas dans le tas, et
+ *   celles qu'elle domine sont retirées (suppression paresseuse)
+ * - une étiquette qui ne fait pas mieux que l'arrivée en changements est
+ *   abandonnée : tout prolongement arriverait plus tard sans changer moins
+ * Une seule recherche remplace les exécutions de DijkstraLignes avec
+ * plusieurs pénalités : chaque pénalité choisit un point du front.
+ * Les coûts doivent être positifs ou nuls.
+ */
+public class DijkstraPareto {
+
+    /** Capacité initiale des tableaux d'étiquettes */
+    private static final int CAPACITE_INITIALE = 1024;
+
+    /** Graphe compact de la recherche */
+    private final GrapheCompact graphe;
+
+    /** Étiquettes : temps, changements, état, étiquette précédente, suivante dans le sac de l'état */
+    private double[] temps;
+    private int[] changements;
+    private int[] etats;
+    private int[] parents;
+    private int[] suivantsSac;
+
+    /** Étiquettes retirées du tas (dominées ou déjà traitées) */
+    private boolean[] retirees;
+
+    /** Nombre d'étiquettes créées par la dernière recherche */
+    private int nbEtiquettes;
+
+    /** Première étiquette en attente du sac de chaque état (-1 : sac vide) */
+    private final int[] sacs;
+
+    /** Plus petit nombre de changements parmi les étiquettes traitées de chaque état */
+    private final int[] minTraite;
+
+    /** Tas binaire d'étiquettes, ordre lexicographique (temps, changements) */
+    private int[] tas;
+    private int tailleTas;
+
+    /**
+     * Constructeur
+     * @param g le graphe (coûts positifs ou nuls)
+     */
+    public DijkstraPareto(Graphe g) {
+        this.graphe = GrapheCompact.depuis(g);
+        int m = this.graphe.nbArcs();
+        for (int a = 0; a < m; a++) {
+            if (this.graphe.cout(a) < 0) {
+                throw new IllegalArgumentException("Le front de Pareto demande des coûts positifs (arc " + a + ")");
+            }
+        }
+        this.sacs = new int[m + 1];
+        this.minTraite = new int[m + 1];
+        this.temps = new double[CAPACITE_INITIALE];
+        this.changements = new int[CAPACITE_INITIALE];
+        this.etats = new int[CAPACITE_INITIALE];
+        this.parents = new int[CAPACITE_INITIALE];
+        this.suivantsSac = new int[CAPACITE_INITIALE];
+        this.retirees = new boolean[CAPACITE_INITIALE];
+        this.tas = new int[CAPACITE_INITIALE];
+    }
+
+    /**
+     * Calcule le front de Pareto (temps de trajet, changements de ligne) entre deux nœuds
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return les chemins non dominés, par temps croissant et changements
+     *         strictement décroissants (coût = temps sans pénalité) ; vide si inaccessible
+     */
+    public List<Chemin> front(String depart, String arrivee) {
+        int s = indice(depart);
+        int t = indice(arrivee);
+        GrapheCompact g = this.graphe;
+        int m = g.nbArcs();
+        List<Chemin> front = new ArrayList<>();
+        if (s == t) {
+            front.add(new Chemin(new ArrayList<>(List.of(depart)), new ArrayList<>(), 0));
+            return front;
+        }
+
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("DijkstraPareto") : null;
+        Arrays.fill(this.sacs, -1);
+        Arrays.fill(this.minTraite, Integer.MAX_VALUE);
+        this.nbEtiquettes = 0;
+        this.tailleTas = 0;
+        int minArrivee = Integer.MAX_VALUE;
+        inserer(nouvelle(0, 0, m, -1));
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (this.tailleTas > 0) {
+            int e = extraireMin();
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+            }
+            if (this.retirees[e]) {
+                continue;
+            }
+            this.retirees[e] = true;
+            int etat = this.etats[e];
+            int c = this.changements[e];
+            if (c >= this.minTraite[etat] || c >= minArrivee) {
+                continue;
+            }
+            this.minTraite[etat] = c;
+            if (Metriques.ACTIVES) {
+                mesure.noeudsTraites++;
+            }
+            int u = (etat == m) ? s : g.cible(etat);
+            if (u == t) {
+                front.add(chemin(e, depart));
+                minArrivee = c;
+                if (c == 0) {
+                    break;
+                }
+                continue;
+            }
+
+            short ligneArrivee = (etat == m) ? GrapheCompact.SANS_LIGNE : g.ligne(etat);
+            double valeur = this.temps[e];
+            for (int b = g.debut(u), fin = g.fin(u); b < fin; b++) {
+                short ligneSortante = g.ligne(b);
+                int cb = c;
+                if (ligneArrivee != GrapheCompact.SANS_LIGNE && ligneSortante != GrapheCompact.SANS_LIGNE
+                        && ligneArrivee != ligneSortante) {
+                    cb++;
+                }
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (cb >= this.minTraite[b] || cb >= minArrivee) {
+                    continue;
+                }
+                double d = valeur + g.cout(b);
+                if (ajouterAuSac(b, d, cb, e)) {
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return front;
+    }
+
+    /**
+     * Nombre d'étiquettes créées par la dernière recherche
+     * @return le nombre d'étiquettes
+     */
+    public int getNbEtiquettes() {
+        return this.nbEtiquettes;
+    }
+
+    /**
+     * Ajoute une étiquette au sac d'un état si aucune étiquette en attente ne
+     * la domine, en retirant celles qu'elle domine
+     * @return vrai si l'étiquette a été ajoutée (et insérée dans le tas)
+     */
+    private boolean ajouterAuSac(int etat, double d, int c, int parent) {
+        int precedente = -1;
+        int x = this.sacs[etat];
+        while (x != -1) {
+            int suivante = this.suivantsSac[x];
+            if (!this.retirees[x] && this.temps[x] <= d && this.changements[x] <= c) {
+                return false;
+            }
+            if (this.retirees[x] || (d <= this.temps[x] && c <= this.changements[x])) {
+                // Étiquette traitée ou dominée : elle quitte le sac
+                this.retirees[x] = true;
+                if (precedente == -1) {
+                    this.sacs[etat] = suivante;
+                } else {
+                    this.suivantsSac[precedente] = suivante;
+                }
+            } else {
+                precedente = x;
+            }
+            x = suivante;
+        }
+        int e = nouvelle(d, c, etat, parent);
+        this.suivantsSac[e] = this.sacs[etat];
+        this.sacs[etat] = e;
+        inserer(e);
+        return true;
+    }
+
+    /**
+     * Crée une étiquette (les tableaux sont agrandis au besoin)
+     */
+    private int nouvelle(double d, int c, int etat, int parent) {
+        int e = this.nbEtiquettes++;
+        if (e == this.temps.length) {
+            int capacite = 2 * e;
+            this.temps = Arrays.copyOf(this.temps, capacite);
+            this.changements = Arrays.copyOf(this.changements, capacite);
+            this.etats = Arrays.copyOf(this.etats, capacite);
+            this.parents = Arrays.copyOf(this.parents, capacite);
+            this.suivantsSac = Arrays.copyOf(this.suivantsSac, capacite);
+            this.retirees = Arrays.copyOf(this.retirees, capacite);
+        }
+        this.temps[e] = d;
+        this.changements[e] = c;
+        this.etats[e] = etat;
+        this.parents[e] = parent;
+        this.suivantsSac[e] = -1;
+        this.retirees[e] = false;
+        return e;
+    }
+
+    /**
+     * Chemin d'une étiquette de l'arrivée, en remontant les étiquettes précédentes
+     */
+    private Chemin chemin(int e, String depart) {
+        List<String> noeuds = new ArrayList<>();
+        List<String> lignes = new ArrayList<>();
+        for (int x = e; this.parents[x] != -1; x = this.parents[x]) {
+            int a = this.etats[x];
+            noeuds.add(this.graphe.nom(this.graphe.cible(a)));
+            lignes.add(this.graphe.nomLigne(this.graphe.ligne(a)));
+        }
+        noeuds.add(depart);
+        Collections.reverse(noeuds);
+        Collections.reverse(lignes);
+        return new Chemin(noeuds, lignes, this.temps[e]);
+    }
+
+    /**
+     * Indice d'un nœud du graphe, avec contrôle
+     */
+    private int indice(String nom) {
+        int u = this.graphe.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+
+    /**
+     * Vrai si l'étiquette x passe avant l'étiquette y (temps, puis changements)
+     */
+    private boolean avant(int x, int y) {
+        return this.temps[x] < this.temps[y]
+                || (this.temps[x] == this.temps[y] && this.changements[x] < this.changements[y]);
+    }
+
+    /**
+     * Insère une étiquette dans le tas
+     */
+    private void inserer(int e) {
+        if (this.tailleTas == this.tas.length) {
+            this.tas = Arrays.copyOf(this.tas, 2 * this.tailleTas);
+        }
+        int i = this.tailleTas++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!avant(e, this.tas[p])) {
+                break;
+            }
+            this.tas[i] = this.tas[p];
+            i = p;
+        }
+        this.tas[i] = e;
+    }
+
+    /**
+     * Retire et retourne la plus petite étiquette du tas
+     */
+    private int extraireMin() {
+        int min = this.tas[0];
+        int e = this.tas[--this.tailleTas];
+        int i = 0;
+        while (true) {
+            int f = 2 * i + 1;
+            if (f >= this.tailleTas) {
+                break;
+            }
+            if (f + 1 < this.tailleTas && avant(this.tas[f + 1], this.tas[f])) {
+                f++;
+            }
+            if (!avant(this.tas[f], e)) {
+                break;
+            }
+            this.tas[i] = this.tas[f];
+            i = f;
+        }
+        this.tas[i] = e;
+        return min;
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe DijkstraPareto
+ */
+public class DijkstraParetoTest {
+
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testFront() {
+        // S -> X par la ligne 2 (coût 4) ou par la ligne 1 (coût 5), puis X -> T par la ligne 1 (coût 1),
+        // ou S -> T directement par la ligne 3 (coût 20, dominé)
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("S", "X", 4, "2");
+        g.ajouterArc("S", "X", 5, "1");
+        g.ajouterArc("X", "T", 1, "1");
+        g.ajouterArc("S", "T", 20, "3");
+
+        DijkstraPareto pareto = new DijkstraPareto(g);
+        List<Chemin> front = pareto.front("S", "T");
+        assertEquals(2, front.size(), front.toString());
+        assertEquals(5, front.get(0).getCout(), 0.001);
+        assertEquals(1, front.get(0).nbChangements());
+        assertEquals(6, front.get(1).getCout(), 0.001);
+        assertEquals(0, front.get(1).nbChangements());
+        assertEquals(List.of("1", "1"), front.get(1).getLignes());
+
+        assertEquals(1, pareto.front("S", "S").size());
+        g.ajouterNoeud("Z");
+        assertTrue(new DijkstraPareto(g).front("S", "Z").isEmpty());
+    }
+
+    @Test
+    public void testFrontMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        DijkstraPareto pareto = new DijkstraPareto(metro);
+        double[] penalites = {0, 10, 60, 120, 300, 1000};
+        for (String[] trajet : new String[][]{{"25", "45"}, {"26", "110"}, {"1", "197"}, {"143", "283"}}) {
+            List<Chemin> front = pareto.front(trajet[0], trajet[1]);
+            assertEquals(dijkstra.resoudre(metro, trajet[0]).getValeur(trajet[1]), front.get(0).getCout(), 0.001,
+                    "Le premier point du front est le plus court chemin");
+            for (int i = 1; i < front.size(); i++) {
+                assertTrue(front.get(i).getCout() > front.get(i - 1).getCout());
+                assertTrue(front.get(i).nbChangements() < front.get(i - 1).nbChangements());
+            }
+            // Chaque pénalité choisit un point du front
+            for (double penalite : penalites) {
+                double meilleur = Double.MAX_VALUE;
+                for (Chemin chemin : front) {
+                    meilleur = Math.min(meilleur, chemin.getCout() + penalite * chemin.nbChangements());
+                }
+                Chemin penalise = new DijkstraLignes(metro, penalite).chemin(trajet[0], trajet[1]);
+                assertEquals(penalise.getCout(), meilleur, 0.001,
+                        trajet[0] + " -> " + trajet[1] + " avec une pénalité de " + penalite);
+            }
+        }
+    }
+
+    @Test
+    public void testCoutNegatifRefuse() {
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("S", "T", 3, "1");
+        g.ajouterArc("T", "S", -1, "1");
+        assertThrows(IllegalArgumentException.class, () -> new DijkstraPareto(g));
+    }
+}
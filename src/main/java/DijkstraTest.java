@@ -2,6 +2,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Tests unitaires pour la classe Dijkstra
  */
@@ -113,4 +121,91 @@ public class DijkstraTest {
                     "Les parents calculés par Dijkstra et Bellman-Ford doivent être identiques pour le nœud " + noeud);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testArretAnticipe() {
+        // La recherche s'arrête dès que C est traité : la valeur de C et son chemin sont exacts
+        Valeurs resultats = dijkstra.resoudre(graphe, "A", "C");
+
+        assertEquals(76, resultats.getValeur("C"), 0.001, "Distance A->C devrait être 76");
+        assertEquals(java.util.List.of("A", "B", "E", "D", "C"), resultats.calculerChemin("C"));
+    }
+
+    @Test
+    public void testTasBinaire() {
+        TasBinaire tas = new TasBinaire(4);
+        tas.insererOuDiminuer(0, 5);
+        tas.insererOuDiminuer(1, 3);
+        tas.insererOuDiminuer(2, 8);
+        tas.insererOuDiminuer(2, 1); // diminution de clé
+        tas.insererOuDiminuer(1, 9); // clé plus grande ignorée
+
+        assertEquals(2, tas.extraireMin());
+        assertEquals(1, tas.extraireMin());
+        assertEquals(0, tas.extraireMin());
+        assertTrue(tas.estVide());
+    }
+
+    @Test
+    public void testGrapheCompact() {
+        // Dijkstra doit donner les mêmes résultats sur la version compacte du graphe
+        Valeurs resultats = dijkstra.resoudre(graphe, "A");
+        Valeurs resultatsCompact = dijkstra.resoudre(GrapheCompact.depuis(graphe), "A");
+
+        for (String noeud : graphe.listeNoeuds()) {
+            assertEquals(resultats.getValeur(noeud), resultatsCompact.getValeur(noeud), 0.001);
+            assertEquals(resultats.getParent(noeud), resultatsCompact.getParent(noeud));
+        }
+    }
+
+    @Test
+    public void testInstancePartagee() throws Exception {
+        // L'API par noms sur un graphe compact ne partage aucun état entre appels
+        GrapheCompact metro = GrapheCompact.depuis(LireReseau.lire("src/main/java/metro.txt"));
+        List<String> departs = metro.listeNoeuds().subList(0, 40);
+        Map<String, Valeurs> attendus = new HashMap<>();
+        for (String depart : departs) {
+            attendus.put(depart, new Dijkstra().resoudre(metro, depart));
+        }
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> resultats = new ArrayList<>();
+            for (int essai = 0; essai < 5; essai++) {
+                for (String depart : departs) {
+                    resultats.add(threads.submit(() -> {
+                        Valeurs v = dijkstra.resoudre(metro, depart);
+                        for (String noeud : metro.listeNoeuds()) {
+                            if (v.getValeur(noeud) != attendus.get(depart).getValeur(noeud)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }));
+                }
+            }
+            for (Future<Boolean> resultat : resultats) {
+                assertTrue(resultat.get(), "Résultat faussé par un appel concurrent");
+            }
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void testValeursReutilisees() {
+        // Deux requêtes successives dans le même objet résultat
+        GrapheCompact compact = GrapheCompact.depuis(graphe);
+        ValeursIndexees valeurs = new ValeursIndexees(compact);
+
+        dijkstra.resoudre(compact, compact.indice("A"), -1, valeurs);
+        assertEquals(76, valeurs.getValeur("C"), 0.001);
+        assertEquals(java.util.List.of("A", "B", "E", "D", "C"), valeurs.calculerChemin("C"));
+
+        dijkstra.resoudre(compact, compact.indice("B"), -1, valeurs);
+        assertEquals(83, valeurs.getValeur("A"), 0.001, "Distance B->A devrait être 83");
+        assertEquals(64, valeurs.getValeur("C"), 0.001, "Distance B->C devrait être 64");
+        assertEquals(0, valeurs.getValeur("B"), 0.001);
+        assertNull(valeurs.getParent("B"), "Les anciens parents doivent être effacés");
+        assertEquals("D", valeurs.getParent("C"));
+    }
+}
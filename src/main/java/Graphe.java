@@ -17,4 +17,13 @@ public interface Graphe {
      * @return la liste des arcs partant de ce nœud
      */
     public List<Arc> suivants(String n);
+
+    /**
+     * Retourne le numéro de version du graphe, qui change à chaque modification
+     * (un graphe non modifiable garde toujours la même version)
+     * @return la version du graphe
+     */
+    public default long getVersion() {
+        return 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,379 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe GrapheCompact - Implémentation figée (non modifiable) de l'interface Graphe
+ * au format CSR (compressed sparse row)
+ * - les nœuds sont numérotés de 0 à n-1
+ * - les arcs partant du nœud u occupent les cases debuts[u] .. debuts[u+1]-1
+ *   des tableaux cibles, couts et lignes
+ * - les noms de nœuds et de lignes ne sont utilisés qu'aux bords de l'API
+ *   (dictionnaire nom <-> indice), les algorithmes travaillent sur les indices
+ */
+public class GrapheCompact implements Graphe {
+
+    /** Identifiant de ligne pour un arc sans ligne */
+    public static final short SANS_LIGNE = -1;
+
+    /** Nom de chaque nœud (indice -> nom) */
+    private final String[] noms;
+
+    /** Indice de chaque nœud (nom -> indice) */
+    private final Map<String, Integer> indices;
+
+    /** Début des arcs de chaque nœud, de taille n+1 */
+    private final int[] debuts;
+
+    /** Nœud de destination de chaque arc */
+    private final int[] cibles;
+
+    /** Coût de chaque arc */
+    private final double[] couts;
+
+    /** Identifiant de ligne de chaque arc (SANS_LIGNE si aucune) */
+    private final short[] lignes;
+
+    /** Nom de chaque ligne (identifiant -> nom) */
+    private final String[] nomsLignes;
+
+    /**
+     * Constructeur à partir des tableaux déjà au format CSR
+     * (les tableaux ne sont pas copiés)
+     */
+    GrapheCompact(String[] noms, int[] debuts, int[] cibles, double[] couts,
+                  short[] lignes, String[] nomsLignes) {
+        this.noms = noms;
+        this.debuts = debuts;
+        this.cibles = cibles;
+        this.couts = couts;
+        this.lignes = lignes;
+        this.nomsLignes = nomsLignes;
+        this.indices = new HashMap<>(noms.length * 2);
+        for (int i = 0; i < noms.length; i++) {
+            this.indices.put(noms[i], i);
+        }
+    }
+
+    /**
+     * Construit un graphe compact à partir d'un graphe quelconque
+     * (l'ordre des nœuds et des arcs de chaque nœud est conservé)
+     * @param g le graphe à compacter
+     * @return le graphe compact équivalent
+     */
+    public static GrapheCompact depuis(Graphe g) {
+        if (g instanceof GrapheCompact) {
+            return (GrapheCompact) g;
+        }
+        List<String> listeNoeuds = g.listeNoeuds();
+        int n = listeNoeuds.size();
+        String[] noms = listeNoeuds.toArray(new String[0]);
+        Map<String, Integer> indices = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(noms[i], i);
+        }
+
+        // Premier passage : nombre d'arcs de chaque nœud
+        int[] debuts = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            debuts[u + 1] = debuts[u] + g.suivants(noms[u]).size();
+        }
+
+        // Second passage : remplissage des tableaux d'arcs
+        int m = debuts[n];
+        int[] cibles = new int[m];
+        double[] couts = new double[m];
+        short[] lignes = new short[m];
+        Map<String, Short> idLignes = new HashMap<>();
+        List<String> nomsLignes = new ArrayList<>();
+        int a = 0;
+        for (int u = 0; u < n; u++) {
+            for (Arc arc : g.suivants(noms[u])) {
+                cibles[a] = indices.get(arc.getDest());
+                couts[a] = arc.getCout();
+                lignes[a] = identifiantLigne(arc.getLigne(), idLignes, nomsLignes);
+                a++;
+            }
+        }
+        return new GrapheCompact(noms, debuts, cibles, couts, lignes, nomsLignes.toArray(new String[0]));
+    }
+
+    /**
+     * Construit un graphe compact à partir d'une liste d'arcs quelconque
+     * (utilisé par les chargeurs de fichiers). Le tri par nœud de départ est
+     * stable : les arcs d'un même nœud gardent leur ordre d'apparition.
+     * @param noms le nom de chaque nœud
+     * @param nbArcs le nombre d'arcs à prendre dans les tableaux
+     * @param origines le nœud de départ de chaque arc
+     * @param destinations le nœud d'arrivée de chaque arc
+     * @param couts le coût de chaque arc
+     * @param lignes l'identifiant de ligne de chaque arc (peut être null)
+     * @param nomsLignes le nom de chaque identifiant de ligne
+     * @return le graphe compact
+     */
+    public static GrapheCompact construire(String[] noms, int nbArcs, int[] origines, int[] destinations,
+                                           double[] couts, short[] lignes, String[] nomsLignes) {
+        int n = noms.length;
+        int[] debuts = new int[n + 1];
+        for (int a = 0; a < nbArcs; a++) {
+            debuts[origines[a] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            debuts[u + 1] += debuts[u];
+        }
+
+        int[] curseurs = Arrays.copyOf(debuts, n);
+        int[] ciblesTriees = new int[nbArcs];
+        double[] coutsTries = new double[nbArcs];
+        short[] lignesTriees = new short[nbArcs];
+        for (int a = 0; a < nbArcs; a++) {
+            int pos = curseurs[origines[a]]++;
+            ciblesTriees[pos] = destinations[a];
+            coutsTries[pos] = couts[a];
+            lignesTriees[pos] = (lignes == null) ? SANS_LIGNE : lignes[a];
+        }
+        return new GrapheCompact(noms, debuts, ciblesTriees, coutsTries, lignesTriees, nomsLignes);
+    }
+
+    /**
+     * Construit le graphe inverse (transposé) : chaque arc u -> v devient v -> u,
+     * avec le même coût et la même ligne. Les nœuds gardent les mêmes indices.
+     * @return le graphe inverse
+     */
+    public GrapheCompact inverse() {
+        int n = this.noms.length;
+        int m = this.cibles.length;
+        int[] origines = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int a = this.debuts[u]; a < this.debuts[u + 1]; a++) {
+                origines[a] = u;
+            }
+        }
+        return construire(this.noms, m, this.cibles, origines, this.couts, this.lignes, this.nomsLignes);
+    }
+
+    /**
+     * Retourne l'arc de coût minimal allant de u vers v
+     * @param u l'indice du nœud de départ
+     * @param v l'indice du nœud d'arrivée
+     * @return l'indice de l'arc, ou -1 s'il n'existe pas
+     */
+    public int arcEntre(int u, int v) {
+        int meilleur = -1;
+        for (int a = this.debuts[u]; a < this.debuts[u + 1]; a++) {
+            if (this.cibles[a] == v && (meilleur == -1 || this.couts[a] < this.couts[meilleur])) {
+                meilleur = a;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Retourne l'identifiant d'une ligne, en le créant si nécessaire
+     */
+    static short identifiantLigne(String ligne, Map<String, Short> idLignes, List<String> nomsLignes) {
+        if (ligne == null) {
+            return SANS_LIGNE;
+        }
+        Short id = idLignes.get(ligne);
+        if (id == null) {
+            if (nomsLignes.size() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Trop de lignes différentes (maximum " + Short.MAX_VALUE + ")");
+            }
+            id = (short) nomsLignes.size();
+            idLignes.put(ligne, id);
+            nomsLignes.add(ligne);
+        }
+        return id;
+    }
+
+    /**
+     * Retourne la liste de tous les nœuds du graphe
+     * @return la liste des nœuds
+     */
+    @Override
+    public List<String> listeNoeuds() {
+        return new ArrayList<>(Arrays.asList(this.noms));
+    }
+
+    /**
+     * Retourne la liste des arcs partant du nœud donné
+     * (les objets Arc sont créés à la demande)
+     * @param n le nœud de départ
+     * @return la liste des arcs partant de n
+     */
+    @Override
+    public List<Arc> suivants(String n) {
+        int u = indice(n);
+        List<Arc> arcs = new ArrayList<>();
+        if (u == -1) {
+            return arcs; // Nœud non trouvé
+        }
+        for (int a = this.debuts[u]; a < this.debuts[u + 1]; a++) {
+            String ligne = nomLigne(this.lignes[a]);
+            arcs.add(ligne == null ? new Arc(this.noms[this.cibles[a]], this.couts[a])
+                    : new Arc(this.noms[this.cibles[a]], this.couts[a], ligne));
+        }
+        return arcs;
+    }
+
+    /**
+     * Retourne le nombre de nœuds
+     * @return le nombre de nœuds
+     */
+    public int nbNoeuds() {
+        return this.noms.length;
+    }
+
+    /**
+     * Retourne le nombre d'arcs
+     * @return le nombre d'arcs
+     */
+    public int nbArcs() {
+        return this.cibles.length;
+    }
+
+    /**
+     * Retourne l'indice d'un nœud
+     * @param nom le nom du nœud
+     * @return l'indice du nœud, ou -1 si non trouvé
+     */
+    public int indice(String nom) {
+        Integer i = this.indices.get(nom);
+        return (i == null) ? -1 : i;
+    }
+
+    /**
+     * Retourne le nom d'un nœud
+     * @param u l'indice du nœud
+     * @return le nom du nœud
+     */
+    public String nom(int u) {
+        return this.noms[u];
+    }
+
+    /**
+     * Retourne le premier arc partant du nœud u
+     * @param u l'indice du nœud
+     * @return l'indice du premier arc de u
+     */
+    public int debut(int u) {
+        return this.debuts[u];
+    }
+
+    /**
+     * Retourne l'indice qui suit le dernier arc partant du nœud u
+     * @param u l'indice du nœud
+     * @return l'indice de fin (exclu) des arcs de u
+     */
+    public int fin(int u) {
+        return this.debuts[u + 1];
+    }
+
+    /**
+     * Retourne le nœud de destination d'un arc
+     * @param a l'indice de l'arc
+     * @return l'indice du nœud de destination
+     */
+    public int cible(int a) {
+        return this.cibles[a];
+    }
+
+    /**
+     * Retourne le coût d'un arc
+     * @param a l'indice de l'arc
+     * @return le coût de l'arc
+     */
+    public double cout(int a) {
+        return this.couts[a];
+    }
+
+    /**
+     * Retourne l'identifiant de ligne d'un arc
+     * @param a l'indice de l'arc
+     * @return l'identifiant de ligne, ou SANS_LIGNE
+     */
+    public short ligne(int a) {
+        return this.lignes[a];
+    }
+
+    /**
+     * Tableau des noms de nœuds (partagé, ne pas modifier)
+     */
+    String[] tableauNoms() {
+        return this.noms;
+    }
+
+    /**
+     * Dictionnaire nom -> indice (partagé, ne pas modifier)
+     */
+    Map<String, Integer> tableIndices() {
+        return this.indices;
+    }
+
+    /**
+     * Tableaux CSR (partagés, ne pas modifier), pour l'écriture des instantanés
+     */
+    int[] tableauDebuts() {
+        return this.debuts;
+    }
+
+    int[] tableauCibles() {
+        return this.cibles;
+    }
+
+    double[] tableauCouts() {
+        return this.couts;
+    }
+
+    short[] tableauLignes() {
+        return this.lignes;
+    }
+
+    String[] tableauNomsLignes() {
+        return this.nomsLignes;
+    }
+
+    /**
+     * Retourne le nombre de lignes différentes
+     * @return le nombre de lignes
+     */
+    public int nbLignes() {
+        return this.nomsLignes.length;
+    }
+
+    /**
+     * Retourne le nom d'une ligne
+     * @param id l'identifiant de ligne
+     * @return le nom de la ligne, ou null pour SANS_LIGNE
+     */
+    public String nomLigne(int id) {
+        return (id == SANS_LIGNE) ? null : this.nomsLignes[id];
+    }
+
+    /**
+     * Méthode toString pour afficher le graphe
+     * @return représentation textuelle du graphe
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int u = 0; u < this.noms.length; u++) {
+            sb.append(this.noms[u]).append(" -> ");
+            for (int a = this.debuts[u]; a < this.debuts[u + 1]; a++) {
+                sb.append(this.noms[this.cibles[a]]).append('(').append(this.couts[a]);
+                if (this.lignes[a] != SANS_LIGNE) {
+                    sb.append(',').append(this.nomsLignes[this.lignes[a]]);
+                }
+                sb.append(')');
+                if (a < this.debuts[u + 1] - 1) {
+                    sb.append(' ');
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,7 @@
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe GrapheListe - Implémentation de l'interface Graphe
@@ -13,12 +15,28 @@ public class GrapheListe implements Graphe {
     /** Liste des arcs partant de chaque nœud (même indice que noeuds) */
     private ArrayList<Arcs> adjacence;
 
+    /** Indice de chaque nœud dans la liste noeuds (recherche en temps constant) */
+    private Map<String, Integer> indices;
+
+    /** Version du graphe, augmentée à chaque ajout de nœud ou d'arc et à chaque modification d'arc */
+    private long version;
+
     /**
      * Constructeur par défaut - crée un graphe vide
      */
     public GrapheListe() {
-        this.noeuds = new ArrayList<>();
-        this.adjacence = new ArrayList<>();
+        this(16);
+    }
+
+    /**
+     * Constructeur - crée un graphe vide dimensionné pour un nombre de nœuds donné
+     * (évite les réallocations lors du chargement d'un gros réseau)
+     * @param capaciteNoeuds le nombre de nœuds attendu
+     */
+    public GrapheListe(int capaciteNoeuds) {
+        this.noeuds = new ArrayList<>(capaciteNoeuds);
+        this.adjacence = new ArrayList<>(capaciteNoeuds);
+        this.indices = new HashMap<>(Math.max(16, capaciteNoeuds * 2));
     }
 
     /**
@@ -61,7 +79,35 @@ public class GrapheListe implements Graphe {
      * @return l'indice du nœud, ou -1 si non trouvé
      */
     private int getIndice(String n) {
-        return this.noeuds.indexOf(n);
+        Integer indice = this.indices.get(n);
+        return (indice == null) ? -1 : indice;
+    }
+
+    /**
+     * Indique si un nœud appartient au graphe
+     * @param noeud le nom du nœud
+     * @return true si le nœud existe
+     */
+    public boolean contientNoeud(String noeud) {
+        return this.indices.containsKey(noeud);
+    }
+
+    /**
+     * Retourne le nombre de nœuds du graphe (sans copier la liste)
+     * @return le nombre de nœuds
+     */
+    public int nbNoeuds() {
+        return this.noeuds.size();
+    }
+
+    /**
+     * Retourne la version du graphe : elle augmente à chaque ajout de nœud ou d'arc
+     * et à chaque modification ou suppression d'arc
+     * @return la version du graphe
+     */
+    @Override
+    public long getVersion() {
+        return this.version;
     }
 
     /**
@@ -69,10 +115,24 @@ public class GrapheListe implements Graphe {
      * @param noeud le nom du nœud à ajouter
      */
     public void ajouterNoeud(String noeud) {
-        if (!this.noeuds.contains(noeud)) {
+        indiceOuAjout(noeud);
+    }
+
+    /**
+     * Retourne l'indice d'un nœud, en l'ajoutant au graphe s'il n'existe pas
+     * @param noeud le nom du nœud
+     * @return l'indice du nœud
+     */
+    private int indiceOuAjout(String noeud) {
+        Integer indice = this.indices.get(noeud);
+        if (indice == null) {
+            indice = this.noeuds.size();
+            this.indices.put(noeud, indice);
             this.noeuds.add(noeud);
             this.adjacence.add(new Arcs());
+            this.version++;
         }
+        return indice;
     }
 
     /**
@@ -93,16 +153,76 @@ public class GrapheListe implements Graphe {
      * @param ligne le numéro de ligne (peut être null)
      */
     public void ajouterArc(String depart, String destination, double cout, String ligne) {
-        // Ajouter les nœuds s'ils n'existent pas
-        ajouterNoeud(depart);
-        ajouterNoeud(destination);
+        // Ajouter les nœuds s'ils n'existent pas (une seule recherche par nœud)
+        int indiceDepart = indiceOuAjout(depart);
+        indiceOuAjout(destination);
 
         // Créer l'arc avec ou sans ligne
         Arc arc = (ligne != null) ? new Arc(destination, cout, ligne) : new Arc(destination, cout);
 
         // Ajouter l'arc à la liste d'adjacence du nœud de départ
-        int indiceDepart = getIndice(depart);
         this.adjacence.get(indiceDepart).ajouterArc(arc);
+        this.version++;
+    }
+
+    /**
+     * Change le coût de tous les arcs allant d'un nœud à un autre
+     * @param depart le nœud de départ
+     * @param destination le nœud de destination
+     * @param cout le nouveau coût
+     * @return le nombre d'arcs modifiés (0 si aucun arc ne relie les deux nœuds)
+     */
+    public int modifierCout(String depart, String destination, double cout) {
+        return modifierCout(depart, destination, null, cout);
+    }
+
+    /**
+     * Change le coût des arcs d'une ligne allant d'un nœud à un autre
+     * @param depart le nœud de départ
+     * @param destination le nœud de destination
+     * @param ligne la ligne des arcs à modifier (null pour toutes les lignes)
+     * @param cout le nouveau coût
+     * @return le nombre d'arcs modifiés
+     */
+    public int modifierCout(String depart, String destination, String ligne, double cout) {
+        int indiceDepart = getIndice(depart);
+        if (indiceDepart == -1) {
+            return 0;
+        }
+        int nb = this.adjacence.get(indiceDepart).modifierCout(destination, ligne, cout);
+        if (nb > 0) {
+            this.version++;
+        }
+        return nb;
+    }
+
+    /**
+     * Supprime tous les arcs allant d'un nœud à un autre (les nœuds sont conservés)
+     * @param depart le nœud de départ
+     * @param destination le nœud de destination
+     * @return le nombre d'arcs supprimés
+     */
+    public int supprimerArc(String depart, String destination) {
+        return supprimerArc(depart, destination, null);
+    }
+
+    /**
+     * Supprime les arcs d'une ligne allant d'un nœud à un autre
+     * @param depart le nœud de départ
+     * @param destination le nœud de destination
+     * @param ligne la ligne des arcs à supprimer (null pour toutes les lignes)
+     * @return le nombre d'arcs supprimés
+     */
+    public int supprimerArc(String depart, String destination, String ligne) {
+        int indiceDepart = getIndice(depart);
+        if (indiceDepart == -1) {
+            return 0;
+        }
+        int nb = this.adjacence.get(indiceDepart).supprimerArcs(destination, ligne);
+        if (nb > 0) {
+            this.version++;
+        }
+        return nb;
     }
 
     /**
@@ -134,29 +254,44 @@ public class GrapheListe implements Graphe {
     /**
      * Méthode privée pour charger un graphe depuis un fichier simple
      * (format de la question 16: noeud1 noeud2 cout par ligne)
+     * Chaque ligne est traitée en temps constant (index des nœuds),
+     * le chargement est donc linéaire en la taille du fichier.
      * @param nomFichier le nom du fichier
      */
     private void chargerDepuisFichierSimple(String nomFichier) {
-        try {
-            java.io.BufferedReader reader = new java.io.BufferedReader(
-                    new java.io.FileReader(nomFichier));
-            String ligne;
-
-            while ((ligne = reader.readLine()) != null) {
-                ligne = ligne.trim();
-                if (!ligne.isEmpty()) {
-                    String[] parties = ligne.split("\t"); // Tabulation comme séparateur
-                    if (parties.length >= 3) {
-                        String depart = parties[0].trim();
-                        String destination = parties[1].trim();
-                        double cout = Double.parseDouble(parties[2].trim());
-                        ajouterArc(depart, destination, cout);
-                    }
-                }
-            }
-            reader.close();
+        try (java.io.BufferedReader reader = new java.io.BufferedReader(
+                new java.io.FileReader(nomFichier), 1 << 16)) {
+            ajouterArcs(reader);
         } catch (Exception e) {
             System.err.println("Erreur lors du chargement du fichier: " + e.getMessage());
         }
     }
+
+    /**
+     * Ajoute en masse les arcs lus dans un flux au format de la question 16
+     * (noeud1 noeud2 cout par ligne, séparés par des tabulations)
+     * @param reader le flux à lire
+     * @return le nombre d'arcs ajoutés
+     * @throws java.io.IOException si erreur de lecture
+     */
+    public int ajouterArcs(java.io.BufferedReader reader) throws java.io.IOException {
+        int nbArcs = 0;
+        String ligne;
+        while ((ligne = reader.readLine()) != null) {
+            ligne = ligne.trim();
+            // Découpage sur les deux premières tabulations, sans expression régulière
+            int tab1 = ligne.indexOf('\t');
+            int tab2 = (tab1 == -1) ? -1 : ligne.indexOf('\t', tab1 + 1);
+            if (tab2 == -1) {
+                continue; // Ligne vide ou incomplète
+            }
+            int tab3 = ligne.indexOf('\t', tab2 + 1);
+            String depart = ligne.substring(0, tab1).trim();
+            String destination = ligne.substring(tab1 + 1, tab2).trim();
+            double cout = Double.parseDouble(ligne.substring(tab2 + 1, tab3 == -1 ? ligne.length() : tab3).trim());
+            ajouterArc(depart, destination, cout);
+            nbArcs++;
+        }
+        return nbArcs;
+    }
 }
\ No newline at end of file
@@ -99,10 +99,97 @@ public class GrapheTest {
         assertTrue(hasEToC, "Il devrait y avoir un arc de E vers C");
     }
 
+    @Test
+    public void testModifierEtSupprimerArc() {
+        graphe.ajouterArc("A", "B", 5, "1");
+        long version = graphe.getVersion();
+
+        assertEquals(2, graphe.modifierCout("A", "B", 7), "Les deux arcs A->B sont modifiés");
+        assertEquals(version + 1, graphe.getVersion(), "La modification change la version");
+        for (Arc arc : graphe.suivants("A")) {
+            if (arc.getDest().equals("B")) {
+                assertEquals(7, arc.getCout(), 0.001);
+            }
+        }
+        assertEquals("1", graphe.suivants("A").get(2).getLigne(), "La ligne de l'arc est conservée");
+
+        assertEquals(1, graphe.supprimerArc("A", "B", "1"), "Seul l'arc de la ligne 1 est supprimé");
+        assertEquals(1, graphe.supprimerArc("A", "B"));
+        assertEquals(1, graphe.suivants("A").size());
+        assertTrue(graphe.contientNoeud("B"), "Le nœud reste dans le graphe");
+
+        long apres = graphe.getVersion();
+        assertEquals(0, graphe.supprimerArc("A", "B"));
+        assertEquals(0, graphe.modifierCout("Z", "A", 1));
+        assertEquals(apres, graphe.getVersion(), "Sans arc touché, la version ne change pas");
+    }
+
     @Test
     public void testNoeudInexistant() {
         // Test des arcs partant d'un nœud inexistant
         List<Arc> arcsZ = graphe.suivants("Z");
         assertTrue(arcsZ.isEmpty(), "Un nœud inexistant ne devrait pas avoir d'arcs sortants");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGrapheCompact() {
+        GrapheCompact compact = GrapheCompact.depuis(graphe);
+
+        // Même nœuds, dans le même ordre, et mêmes arcs
+        assertEquals(graphe.listeNoeuds(), compact.listeNoeuds());
+        assertEquals(7, compact.nbArcs(), "Le graphe devrait contenir 7 arcs");
+        assertEquals(graphe.toString(), compact.toString());
+
+        // Parcours des arcs de D par indices
+        int d = compact.indice("D");
+        assertEquals(2, compact.fin(d) - compact.debut(d), "Le nœud D devrait avoir 2 arcs sortants");
+        assertEquals("B", compact.nom(compact.cible(compact.debut(d))));
+        assertEquals(23, compact.cout(compact.debut(d)), 0.001);
+
+        assertEquals(-1, compact.indice("Z"));
+        assertTrue(compact.suivants("Z").isEmpty());
+    }
+
+    @Test
+    public void testGrapheCompactConstruire() {
+        // Arcs donnés dans le désordre : 1->2, 0->1, 1->0 avec lignes
+        String[] noms = {"X", "Y", "Z"};
+        int[] origines = {1, 0, 1};
+        int[] destinations = {2, 1, 0};
+        double[] couts = {4, 2, 3};
+        short[] lignes = {0, 1, 0};
+        GrapheCompact compact = GrapheCompact.construire(noms, 3, origines, destinations,
+                couts, lignes, new String[]{"L1", "L2"});
+
+        List<Arc> arcsY = compact.suivants("Y");
+        assertEquals(2, arcsY.size());
+        assertEquals("Z", arcsY.get(0).getDest(), "L'ordre des arcs de Y doit être conservé");
+        assertEquals("X", arcsY.get(1).getDest());
+        assertEquals("L1", arcsY.get(0).getLigne());
+        assertEquals("L2", compact.suivants("X").get(0).getLigne());
+    }
+
+    @Test
+    public void testContientNoeud() {
+        assertTrue(graphe.contientNoeud("A"));
+        assertFalse(graphe.contientNoeud("Z"));
+        assertEquals(5, graphe.nbNoeuds());
+
+        // Un nœud ajouté deux fois n'est présent qu'une fois
+        graphe.ajouterNoeud("Z");
+        graphe.ajouterNoeud("Z");
+        assertEquals(6, graphe.nbNoeuds());
+        assertTrue(graphe.suivants("Z").isEmpty());
+    }
+
+    @Test
+    public void testAjouterArcs() throws java.io.IOException {
+        GrapheListe g = new GrapheListe();
+        String contenu = "A\tB\t12\nB\tC\t3.5\n\nC\tA\t7\n";
+        int nbArcs = g.ajouterArcs(new java.io.BufferedReader(new java.io.StringReader(contenu)));
+
+        assertEquals(3, nbArcs, "3 arcs devraient être lus");
+        assertEquals(List.of("A", "B", "C"), g.listeNoeuds());
+        assertEquals(3.5, g.suivants("B").get(0).getCout(), 0.001);
+    }
+}
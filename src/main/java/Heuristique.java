@@ -0,0 +1,15 @@
+/**
+ * Interface définissant une heuristique pour l'algorithme A*
+ * L'estimation doit être un minorant de la distance réelle (heuristique admissible)
+ * et vérifier h(u) <= cout(u,v) + h(v) pour chaque arc (heuristique cohérente).
+ */
+public interface Heuristique {
+
+    /**
+     * Estime la distance restante d'un nœud à la cible
+     * @param noeud l'indice du nœud (dans le graphe compact de la recherche)
+     * @param cible l'indice du nœud cible
+     * @return un minorant de la distance de noeud à cible
+     */
+    public double estimer(int noeud, int cible);
+}
@@ -0,0 +1,68 @@
+/**
+ * Heuristique euclidienne pour A* sur un réseau dont les stations ont des coordonnées
+ * - estimation = distance à vol d'oiseau / vitesse maximale
+ * - la vitesse maximale est la plus grande valeur de distance(u,v) / cout(u,v)
+ *   observée sur les arcs du réseau : aucun arc ne va plus vite, l'estimation
+ *   est donc un minorant du coût restant (admissible et cohérente)
+ */
+public class HeuristiqueEuclidienne implements Heuristique {
+
+    /** Abscisse de chaque nœud (NaN si inconnue) */
+    private final double[] x;
+
+    /** Ordonnée de chaque nœud (NaN si inconnue) */
+    private final double[] y;
+
+    /** Inverse de la vitesse maximale observée (0 si l'heuristique est inutilisable) */
+    private final double inverseVitesse;
+
+    /**
+     * Construit l'heuristique pour un graphe compact et les coordonnées d'un réseau
+     * @param g le graphe compact sur lequel A* sera exécuté
+     * @param reseau le réseau fournissant les coordonnées des stations
+     */
+    public HeuristiqueEuclidienne(GrapheCompact g, Reseau reseau) {
+        int n = g.nbNoeuds();
+        this.x = new double[n];
+        this.y = new double[n];
+        boolean complet = true;
+        for (int u = 0; u < n; u++) {
+            double[] c = reseau.getCoordonnees(g.nom(u));
+            complet &= (c != null);
+            this.x[u] = (c == null) ? Double.NaN : c[0];
+            this.y[u] = (c == null) ? Double.NaN : c[1];
+        }
+
+        // Vitesse maximale observée sur les arcs
+        double vitesseMax = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = g.debut(u); a < g.fin(u); a++) {
+                double distance = distance(u, g.cible(a));
+                if (!(distance > 0)) {
+                    continue;
+                }
+                double cout = g.cout(a);
+                vitesseMax = (cout <= 0) ? Double.POSITIVE_INFINITY : Math.max(vitesseMax, distance / cout);
+            }
+        }
+        // Sans vitesse finie exploitable, ou si une station n'a pas de coordonnées
+        // (ses arcs échappent à la vitesse maximale), l'heuristique vaut 0 : A* devient Dijkstra
+        boolean utilisable = complet && vitesseMax > 0 && !Double.isInfinite(vitesseMax);
+        this.inverseVitesse = utilisable ? 1 / vitesseMax : 0;
+    }
+
+    /**
+     * Distance à vol d'oiseau entre deux nœuds
+     */
+    private double distance(int u, int v) {
+        double dx = this.x[u] - this.x[v];
+        double dy = this.y[u] - this.y[v];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    @Override
+    public double estimer(int noeud, int cible) {
+        double d = distance(noeud, cible);
+        return (this.inverseVitesse == 0) ? 0 : d * this.inverseVitesse;
+    }
+}
@@ -0,0 +1,345 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Heuristique ALT (A*, Landmarks, inégalité Triangulaire) pour A*
+ * - on choisit k nœuds repères (landmarks) L et on précalcule, par Dijkstra sur
+ *   le graphe et sur son inverse, les distances d(L,u) et d(u,L) pour tout nœud u
+ * - par l'inégalité triangulaire, d(u,t) >= d(L,t) - d(L,u) et d(u,t) >= d(u,L) - d(t,L) :
+ *   l'estimation est le plus grand de ces minorants sur tous les repères
+ *   (admissible et cohérente, sans coordonnées)
+ * - les tables sont deux tableaux plats de n * k valeurs, rangés nœud par nœud
+ *   pour qu'une estimation ne lise que deux zones contiguës
+ * Les repères sont choisis par éloignement (chaque repère est le nœud le plus loin
+ * des précédents) ou par évitement (le repère est placé dans la zone de l'arbre de
+ * plus courts chemins où les repères existants donnent les plus mauvais minorants).
+ */
+public class HeuristiqueLandmarks implements Heuristique {
+
+    /**
+     * Stratégies de choix des repères
+     */
+    public enum Selection {
+        /** Nœud le plus éloigné des repères déjà choisis */
+        ELOIGNEMENT,
+        /** Feuille du sous-arbre de plus courts chemins le plus mal couvert */
+        EVITEMENT
+    }
+
+    /** Graine du tirage des racines (stratégie EVITEMENT) : le choix est reproductible */
+    private static final long GRAINE = 42;
+
+    /** Nombre de racines essayées (stratégie EVITEMENT) avant de revenir à l'éloignement */
+    private static final int ESSAIS_RACINE = 10;
+
+    /** Graphe compact et graphe inverse */
+    private final GrapheCompact graphe;
+    private final GrapheCompact inverse;
+
+    /** Indices des repères */
+    private final int[] reperes;
+
+    /** Nombre de repères effectivement calculés */
+    private int k;
+
+    /** depuis[u * k + l] = d(repère l, u) ; POSITIVE_INFINITY si u est inaccessible */
+    private double[] depuis;
+
+    /** vers[u * k + l] = d(u, repère l) ; POSITIVE_INFINITY si le repère est inaccessible */
+    private double[] vers;
+
+    /**
+     * Construit l'heuristique avec des repères choisis par éloignement
+     * @param g le graphe compact sur lequel A* sera exécuté (coûts positifs ou nuls)
+     * @param nbReperes le nombre de repères
+     */
+    public HeuristiqueLandmarks(GrapheCompact g, int nbReperes) {
+        this(g, nbReperes, Selection.ELOIGNEMENT);
+    }
+
+    /**
+     * Construit l'heuristique
+     * @param g le graphe compact sur lequel A* sera exécuté (coûts positifs ou nuls)
+     * @param nbReperes le nombre de repères (borné par le nombre de nœuds)
+     * @param selection la stratégie de choix des repères
+     */
+    public HeuristiqueLandmarks(GrapheCompact g, int nbReperes, Selection selection) {
+        if (nbReperes < 1) {
+            throw new IllegalArgumentException("Il faut au moins un repère : " + nbReperes);
+        }
+        for (int a = 0; a < g.nbArcs(); a++) {
+            if (g.cout(a) < 0) {
+                throw new IllegalArgumentException("Les repères demandent des coûts positifs (arc " + a + ")");
+            }
+        }
+        this.graphe = g;
+        this.inverse = g.inverse();
+        int n = g.nbNoeuds();
+        int kMax = Math.min(nbReperes, n);
+        this.reperes = new int[kMax];
+        this.depuis = new double[n * kMax];
+        this.vers = new double[n * kMax];
+        this.k = 0;
+
+        Dijkstra dijkstra = new Dijkstra();
+        ValeursIndexees avant = new ValeursIndexees(g);
+        ValeursIndexees arriere = new ValeursIndexees(g);
+        Random alea = new Random(GRAINE);
+        while (this.k < kMax) {
+            int repere = -1;
+            for (int essai = 0; selection == Selection.EVITEMENT && repere == -1 && essai < ESSAIS_RACINE; essai++) {
+                repere = plusMalCouvert(dijkstra, avant, alea.nextInt(n));
+            }
+            if (repere == -1) {
+                repere = plusEloigne();
+            }
+            if (repere == -1) {
+                break;
+            }
+            ajouterRepere(repere, kMax, dijkstra, avant, arriere);
+        }
+        compacter(kMax);
+    }
+
+    /**
+     * Calcule les tables d'un nouveau repère (rangées avec un pas de kMax pendant la construction)
+     */
+    private void ajouterRepere(int repere, int kMax, Dijkstra dijkstra, ValeursIndexees avant,
+                               ValeursIndexees arriere) {
+        dijkstra.resoudre(this.graphe, repere, -1, avant);
+        dijkstra.resoudre(this.inverse, repere, -1, arriere);
+        int l = this.k;
+        for (int u = 0; u < this.graphe.nbNoeuds(); u++) {
+            this.depuis[u * kMax + l] = infini(avant.getDistance(u));
+            this.vers[u * kMax + l] = infini(arriere.getDistance(u));
+        }
+        this.reperes[l] = repere;
+        this.k++;
+    }
+
+    /**
+     * Resserre les tables si moins de repères que prévu ont été trouvés
+     */
+    private void compacter(int kMax) {
+        if (this.k == kMax) {
+            return;
+        }
+        int n = this.graphe.nbNoeuds();
+        double[] d = new double[n * this.k];
+        double[] v = new double[n * this.k];
+        for (int u = 0; u < n; u++) {
+            System.arraycopy(this.depuis, u * kMax, d, u * this.k, this.k);
+            System.arraycopy(this.vers, u * kMax, v, u * this.k, this.k);
+        }
+        this.depuis = d;
+        this.vers = v;
+    }
+
+    /**
+     * Distance d'un nœud aux repères déjà choisis (aller + retour, le plus proche) :
+     * POSITIVE_INFINITY si aucun repère ne le relie
+     */
+    private double eloignement(int u, int kMax) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int l = 0; l < this.k; l++) {
+            min = Math.min(min, this.depuis[u * kMax + l] + this.vers[u * kMax + l]);
+        }
+        return min;
+    }
+
+    /**
+     * Stratégie ELOIGNEMENT : nœud relié au graphe le plus éloigné des repères existants
+     * (un nœud d'une autre composante est prioritaire) ; le premier repère est le nœud
+     * le plus éloigné du nœud 0
+     * @return le nœud choisi, ou -1 si tous les nœuds reliés sont déjà des repères
+     */
+    private int plusEloigne() {
+        int n = this.graphe.nbNoeuds();
+        int kMax = this.reperes.length;
+        double[] reference = null;
+        if (this.k == 0) {
+            // Distances depuis le premier nœud relié, comme point de départ
+            int depart = 0;
+            while (depart < n && !estRelie(depart)) {
+                depart++;
+            }
+            if (depart == n) {
+                return -1;
+            }
+            ValeursIndexees v = new Dijkstra().resoudre(this.graphe, depart, -1, new ValeursIndexees(this.graphe));
+            reference = new double[n];
+            for (int u = 0; u < n; u++) {
+                double d = v.getDistance(u);
+                reference[u] = (d == Double.MAX_VALUE) ? -1 : d;
+            }
+        }
+        int meilleur = -1;
+        double meilleurEloignement = -1;
+        for (int u = 0; u < n; u++) {
+            if (!estRelie(u) || estRepere(u)) {
+                continue;
+            }
+            double e = (reference != null) ? reference[u] : eloignement(u, kMax);
+            if (e > meilleurEloignement) {
+                meilleurEloignement = e;
+                meilleur = u;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Stratégie EVITEMENT : dans l'arbre de plus courts chemins d'une racine, chaque nœud
+     * pèse d(racine,u) - minorant actuel ; le poids d'un sous-arbre contenant un repère
+     * est nul. On descend depuis la racine vers le fils non couvert le plus lourd jusqu'à une feuille.
+     * @return le nœud choisi, ou -1 si l'arbre de cette racine est déjà couvert
+     */
+    private int plusMalCouvert(Dijkstra dijkstra, ValeursIndexees arbre, int racine) {
+        int n = this.graphe.nbNoeuds();
+        int kMax = this.reperes.length;
+        for (int essai = 0; essai < n && (!estRelie(racine) || estRepere(racine)); essai++) {
+            racine = (racine + 1) % n;
+        }
+        if (!estRelie(racine) || estRepere(racine)) {
+            return -1;
+        }
+        dijkstra.resoudre(this.graphe, racine, -1, arbre);
+
+        // Fils de chaque nœud dans l'arbre (tableau plat indexé par début)
+        int[] debuts = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int p = arbre.getParentIndice(u);
+            if (p != -1) {
+                debuts[p + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            debuts[u + 1] += debuts[u];
+        }
+        int[] fils = new int[debuts[n]];
+        int[] remplis = Arrays.copyOf(debuts, n);
+        for (int u = 0; u < n; u++) {
+            int p = arbre.getParentIndice(u);
+            if (p != -1) {
+                fils[remplis[p]++] = u;
+            }
+        }
+
+        // Ordre préfixe depuis la racine, puis poids des sous-arbres en ordre inverse
+        int[] ordre = new int[n];
+        int taille = 0;
+        ordre[taille++] = racine;
+        for (int i = 0; i < taille; i++) {
+            int u = ordre[i];
+            for (int j = debuts[u]; j < debuts[u + 1]; j++) {
+                ordre[taille++] = fils[j];
+            }
+        }
+        double[] poids = new double[n];
+        boolean[] couvert = new boolean[n];
+        for (int i = taille - 1; i >= 0; i--) {
+            int u = ordre[i];
+            if (estRepere(u)) {
+                couvert[u] = true;
+            }
+            double p = arbre.getDistance(u) - minorant(racine, u, kMax);
+            for (int j = debuts[u]; j < debuts[u + 1]; j++) {
+                couvert[u] |= couvert[fils[j]];
+                p += poids[fils[j]];
+            }
+            poids[u] = couvert[u] ? 0 : p;
+        }
+
+        // Descente vers le sous-arbre non couvert le plus lourd
+        if (couvert[racine]) {
+            return -1;
+        }
+        int u = racine;
+        while (true) {
+            int suivant = -1;
+            for (int j = debuts[u]; j < debuts[u + 1]; j++) {
+                int f = fils[j];
+                if (!couvert[f] && (suivant == -1 || poids[f] > poids[suivant])) {
+                    suivant = f;
+                }
+            }
+            if (suivant == -1) {
+                return u;
+            }
+            u = suivant;
+        }
+    }
+
+    /**
+     * Indique si un nœud a au moins un arc (entrant ou sortant)
+     */
+    private boolean estRelie(int u) {
+        return this.graphe.debut(u) < this.graphe.fin(u) || this.inverse.debut(u) < this.inverse.fin(u);
+    }
+
+    /**
+     * Indique si un nœud est déjà un repère
+     */
+    private boolean estRepere(int u) {
+        for (int l = 0; l < this.k; l++) {
+            if (this.reperes[l] == u) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Distance de Dijkstra convertie en infini pour les nœuds inaccessibles
+     */
+    private static double infini(double d) {
+        return (d == Double.MAX_VALUE) ? Double.POSITIVE_INFINITY : d;
+    }
+
+    /**
+     * Plus grand minorant de d(u,t) donné par les repères, les tables ayant un pas de pas
+     */
+    private double minorant(int u, int t, int pas) {
+        double[] depuis = this.depuis;
+        double[] vers = this.vers;
+        int iu = u * pas;
+        int it = t * pas;
+        double h = 0;
+        for (int l = 0; l < this.k; l++) {
+            double dLt = depuis[it + l];
+            double dLu = depuis[iu + l];
+            // Un repère qui n'atteint pas u ne dit rien ; s'il atteint u mais pas t,
+            // t est inaccessible depuis u et tout minorant convient
+            if (dLu != Double.POSITIVE_INFINITY && dLt != Double.POSITIVE_INFINITY) {
+                h = Math.max(h, dLt - dLu);
+            }
+            double duL = vers[iu + l];
+            double dtL = vers[it + l];
+            if (duL != Double.POSITIVE_INFINITY && dtL != Double.POSITIVE_INFINITY) {
+                h = Math.max(h, duL - dtL);
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public double estimer(int noeud, int cible) {
+        return minorant(noeud, cible, this.k);
+    }
+
+    /**
+     * Retourne les indices des repères choisis
+     * @return les repères, dans l'ordre de leur choix
+     */
+    public int[] getReperes() {
+        return Arrays.copyOf(this.reperes, this.k);
+    }
+
+    /**
+     * Retourne le nombre de repères
+     * @return le nombre de repères
+     */
+    public int nbReperes() {
+        return this.k;
+    }
+}
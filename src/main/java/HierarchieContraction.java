@@ -0,0 +1,995 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Classe HierarchieContraction - hiérarchie de contraction (Contraction Hierarchies)
+ * pour répondre très vite à des requêtes départ / arrivée sur un graphe fixe
+ *
+ * Prétraitement :
+ * - les nœuds sont contractés un par un, du moins important au plus important ;
+ *   contracter v, c'est le retirer du graphe en ajoutant un raccourci u -> w
+ *   (de milieu v) pour chaque chemin u -> v -> w qui est le seul plus court chemin
+ *   de u à w (vérifié par une recherche de témoin limitée qui évite v)
+ * - l'importance d'un nœud est recalculée au moment de le contracter (mise à jour
+ *   paresseuse) : raccourcis ajoutés - arcs retirés + voisins déjà contractés
+ * - le rang d'un nœud est son numéro d'ordre de contraction ; les arcs restants
+ *   au moment de contracter v (vers des nœuds de rang supérieur) forment le graphe
+ *   montant (arcs sortants de v) et le graphe descendant (arcs entrants, rangés à l'envers)
+ *
+ * Requête : Dijkstra bidirectionnel qui ne fait que monter en rang, des deux côtés.
+ * Le chemin trouvé est ensuite « déplié » en remplaçant chaque raccourci par ses deux arcs.
+ *
+ * Les coûts doivent être positifs ou nuls.
+ */
+public class HierarchieContraction {
+
+    /** Nombre maximal de nœuds traités par une recherche de témoin lors d'une contraction */
+    private static final int LIMITE_TEMOIN = 100;
+
+    /** Même limite lors du calcul de l'importance d'un nœud (simple estimation) */
+    private static final int LIMITE_SIMULATION = 25;
+
+    /** « EXCH » et version du format de sauvegarde */
+    private static final int MAGIQUE = 0x48435845;
+    public static final int VERSION = 1;
+
+    /** Graphe d'origine (noms, lignes, arcs pour les chemins dépliés) */
+    private final GrapheCompact graphe;
+
+    /** Rang (ordre de contraction) de chaque nœud */
+    private final int[] rangs;
+
+    /** Arcs montants : u -> w avec rang(w) > rang(u), rangés en u */
+    private final Niveau avant;
+
+    /** Arcs descendants : u -> w avec rang(u) > rang(w), rangés à l'envers en w */
+    private final Niveau arriere;
+
+    /** Espaces de travail des requêtes */
+    private final ValeursIndexees valeursAvant;
+    private final ValeursIndexees valeursArriere;
+    private final int[] arcsAvant;
+    private final int[] arcsArriere;
+    private final TasBinaire tasAvant;
+    private final TasBinaire tasArriere;
+
+    /** Nombre de nœuds sortis des tas lors de la dernière requête */
+    private int nbNoeudsTraites;
+
+    private HierarchieContraction(GrapheCompact graphe, int[] rangs, Niveau avant, Niveau arriere) {
+        this.graphe = graphe;
+        this.rangs = rangs;
+        this.avant = avant;
+        this.arriere = arriere;
+        int n = graphe.nbNoeuds();
+        this.valeursAvant = new ValeursIndexees(graphe);
+        this.valeursArriere = new ValeursIndexees(graphe);
+        this.arcsAvant = new int[n];
+        this.arcsArriere = new int[n];
+        this.tasAvant = new TasBinaire(n);
+        this.tasArriere = new TasBinaire(n);
+    }
+
+    /**
+     * Construit la hiérarchie d'un graphe (prétraitement)
+     * @param g le graphe, à coûts positifs ou nuls
+     * @return la hiérarchie
+     */
+    public static HierarchieContraction construire(Graphe g) {
+        GrapheCompact compact = GrapheCompact.depuis(g);
+        return new Contraction(compact).contracter();
+    }
+
+    /**
+     * Retourne le graphe compact d'origine
+     * @return le graphe compact
+     */
+    public GrapheCompact getGraphe() {
+        return this.graphe;
+    }
+
+    /**
+     * Retourne le nombre de raccourcis ajoutés par le prétraitement
+     * @return le nombre de raccourcis
+     */
+    public int nbRaccourcis() {
+        return this.avant.nbRaccourcis() + this.arriere.nbRaccourcis();
+    }
+
+    /**
+     * Retourne le nombre de nœuds traités (dans les deux sens) lors de la dernière requête
+     * @return le nombre de nœuds traités
+     */
+    public int getNbNoeudsTraites() {
+        return this.nbNoeudsTraites;
+    }
+
+    /**
+     * Calcule la distance entre deux nœuds
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return la distance, ou Double.MAX_VALUE si l'arrivée est inaccessible
+     */
+    public double distance(String depart, String arrivee) {
+        int rencontre = rechercher(indice(depart), indice(arrivee));
+        return (rencontre == -1) ? Double.MAX_VALUE
+                : this.valeursAvant.getDistance(rencontre) + this.valeursArriere.getDistance(rencontre);
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux nœuds
+     * Seuls les nœuds du chemin ont une valeur ; calculerChemin(arrivee) donne
+     * le chemin complet (raccourcis dépliés).
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return un objet Valeurs contenant les distances et parents des nœuds du chemin
+     */
+    public Valeurs resoudre(String depart, String arrivee) {
+        int s = indice(depart);
+        int[] noeuds = deplier(s, indice(arrivee));
+        ValeursIndexees valeurs = new ValeursIndexees(this.graphe);
+        valeurs.setDistance(s, 0);
+        for (int i = 1; noeuds != null && i < noeuds.length; i++) {
+            int a = this.graphe.arcEntre(noeuds[i - 1], noeuds[i]);
+            valeurs.setDistance(noeuds[i], valeurs.getDistance(noeuds[i - 1]) + this.graphe.cout(a));
+            valeurs.setParentIndice(noeuds[i], noeuds[i - 1]);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Calcule le plus court chemin entre deux nœuds, avec les lignes empruntées
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return le chemin, ou null si l'arrivée est inaccessible
+     */
+    public Chemin chemin(String depart, String arrivee) {
+        int[] noeuds = deplier(indice(depart), indice(arrivee));
+        return (noeuds == null) ? null : Chemin.depuisIndices(this.graphe, noeuds, noeuds.length);
+    }
+
+    /**
+     * Indice d'un nœud du graphe, avec contrôle
+     */
+    private int indice(String nom) {
+        int u = this.graphe.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+
+    /**
+     * Recherche bidirectionnelle montante
+     * @return le nœud de rencontre du plus court chemin, ou -1 si aucun chemin
+     */
+    private int rechercher(int s, int t) {
+        ValeursIndexees va = this.valeursAvant;
+        ValeursIndexees vr = this.valeursArriere;
+        va.reinitialiser();
+        vr.reinitialiser();
+        this.tasAvant.vider();
+        this.tasArriere.vider();
+        this.nbNoeudsTraites = 0;
+
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("HierarchieContraction") : null;
+        va.setDistance(s, 0);
+        this.arcsAvant[s] = -1;
+        this.tasAvant.insererOuDiminuer(s, 0);
+        vr.setDistance(t, 0);
+        this.arcsArriere[t] = -1;
+        this.tasArriere.insererOuDiminuer(t, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas += 2;
+        }
+
+        double meilleur = Double.MAX_VALUE;
+        int rencontre = -1;
+        while (true) {
+            // Une recherche s'arrête quand son minimum atteint le meilleur chemin connu
+            boolean avantActif = !this.tasAvant.estVide() && this.tasAvant.cleMin() < meilleur;
+            boolean arriereActif = !this.tasArriere.estVide() && this.tasArriere.cleMin() < meilleur;
+            if (!avantActif && !arriereActif) {
+                break;
+            }
+            boolean sensAvant = avantActif && (!arriereActif || this.tasAvant.cleMin() <= this.tasArriere.cleMin());
+            Niveau niveau = sensAvant ? this.avant : this.arriere;
+            ValeursIndexees ici = sensAvant ? va : vr;
+            ValeursIndexees autre = sensAvant ? vr : va;
+            int[] arcs = sensAvant ? this.arcsAvant : this.arcsArriere;
+            TasBinaire Q = sensAvant ? this.tasAvant : this.tasArriere;
+
+            int u = Q.extraireMin();
+            ici.marquer(u);
+            this.nbNoeudsTraites++;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+            double valeurU = ici.getDistance(u);
+            double reste = autre.getDistance(u);
+            if (reste != Double.MAX_VALUE && valeurU + reste < meilleur) {
+                meilleur = valeurU + reste;
+                rencontre = u;
+            }
+
+            for (int a = niveau.debuts[u], fin = niveau.debuts[u + 1]; a < fin; a++) {
+                int v = niveau.cibles[a];
+                double d = valeurU + niveau.couts[a];
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (!ici.estMarque(v) && d < ici.getDistance(v)) {
+                    ici.setDistance(v, d);
+                    arcs[v] = a;
+                    Q.insererOuDiminuer(v, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return rencontre;
+    }
+
+    /**
+     * Recherche puis déplie le chemin de s à t
+     * @return les indices des nœuds du chemin, ou null si aucun chemin
+     */
+    private int[] deplier(int s, int t) {
+        int rencontre = rechercher(s, t);
+        if (rencontre == -1) {
+            return null;
+        }
+        // Arcs du chemin dans la hiérarchie : s -> rencontre (avant), puis rencontre -> t (arrière)
+        int nbArcs = 0;
+        for (int u = rencontre; u != s; u = this.avant.origine(this.arcsAvant[u])) {
+            nbArcs++;
+        }
+        for (int u = rencontre; u != t; u = this.arriere.origine(this.arcsArriere[u])) {
+            nbArcs++;
+        }
+        // Chaque arc est noté (origine, destination, milieu)
+        int[] pile = new int[3 * Math.max(1, nbArcs) + 3 * this.graphe.nbNoeuds()];
+        int sommet = 0;
+        // Partie arrière, empilée de t vers la rencontre pour être dépilée dans l'ordre
+        int[] arcsArriere = new int[nbArcs];
+        int nbArriere = 0;
+        for (int u = rencontre; u != t; u = this.arriere.origine(this.arcsArriere[u])) {
+            arcsArriere[nbArriere++] = this.arcsArriere[u];
+        }
+        for (int i = nbArriere - 1; i >= 0; i--) {
+            int a = arcsArriere[i];
+            // Arc arrière rangé en w vers u : il représente l'arc u -> w du graphe
+            pile[sommet++] = this.arriere.cibles[a];
+            pile[sommet++] = this.arriere.origine(a);
+            pile[sommet++] = this.arriere.milieux[a];
+        }
+        for (int u = rencontre; u != s; u = this.avant.origine(this.arcsAvant[u])) {
+            int a = this.arcsAvant[u];
+            pile[sommet++] = this.avant.origine(a);
+            pile[sommet++] = u;
+            pile[sommet++] = this.avant.milieux[a];
+        }
+
+        int[] noeuds = new int[this.graphe.nbNoeuds() + 1];
+        int nb = 0;
+        noeuds[nb++] = s;
+        while (sommet > 0) {
+            int milieu = pile[--sommet];
+            int w = pile[--sommet];
+            int u = pile[--sommet];
+            if (milieu == -1) {
+                noeuds[nb++] = w;
+                continue;
+            }
+            if (sommet + 6 > pile.length) {
+                pile = Arrays.copyOf(pile, 2 * pile.length);
+            }
+            // Raccourci u -> w = u -> milieu (arc descendant) puis milieu -> w (arc montant) ;
+            // le second est empilé en premier pour que le premier soit déplié d'abord
+            int montant = this.avant.arcVers(milieu, w);
+            pile[sommet++] = milieu;
+            pile[sommet++] = w;
+            pile[sommet++] = this.avant.milieux[montant];
+            int descendant = this.arriere.arcVers(milieu, u);
+            pile[sommet++] = u;
+            pile[sommet++] = milieu;
+            pile[sommet++] = this.arriere.milieux[descendant];
+        }
+        return Arrays.copyOf(noeuds, nb);
+    }
+
+    /**
+     * Sauvegarde la hiérarchie (graphe d'origine compris), pour ne faire le prétraitement qu'une fois
+     * Le fichier se termine par la somme de contrôle CRC32 de son contenu ; il est
+     * écrit à côté puis renommé, pour qu'un lecteur ne voie jamais un fichier à moitié écrit.
+     * @param fichier le nom du fichier à écrire
+     * @throws IOException si erreur d'écriture
+     */
+    public void ecrire(String fichier) throws IOException {
+        Path cible = Paths.get(fichier).toAbsolutePath();
+        Path temporaire = Files.createTempFile(cible.getParent(), cible.getFileName().toString(), ".tmp");
+        try {
+            ecrire(temporaire);
+            Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+    }
+
+    /**
+     * Écrit la hiérarchie dans un fichier (temporaire), somme de contrôle comprise
+     */
+    private void ecrire(Path fichier) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileOutputStream flux = new FileOutputStream(fichier.toFile())) {
+            DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(flux, crc), 1 << 16));
+            GrapheCompact g = this.graphe;
+            sortie.writeInt(MAGIQUE);
+            sortie.writeInt(VERSION);
+            sortie.writeInt(g.nbNoeuds());
+            for (int u = 0; u < g.nbNoeuds(); u++) {
+                sortie.writeUTF(g.nom(u));
+            }
+            sortie.writeInt(g.nbLignes());
+            for (int l = 0; l < g.nbLignes(); l++) {
+                sortie.writeUTF(g.nomLigne(l));
+            }
+            ecrireTableau(sortie, g.tableauDebuts());
+            ecrireTableau(sortie, g.tableauCibles());
+            for (double c : g.tableauCouts()) {
+                sortie.writeDouble(c);
+            }
+            for (short l : g.tableauLignes()) {
+                sortie.writeShort(l);
+            }
+            ecrireTableau(sortie, this.rangs);
+            this.avant.ecrire(sortie);
+            this.arriere.ecrire(sortie);
+            sortie.flush();
+            // La somme de contrôle, écrite hors du flux contrôlé
+            new DataOutputStream(flux).writeLong(crc.getValue());
+            flux.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Relit une hiérarchie sauvegardée par ecrire
+     * @param fichier le nom du fichier
+     * @return la hiérarchie
+     * Chaque taille relue est comparée à ce qui reste du fichier avant d'allouer
+     * quoi que ce soit, et le contenu des tableaux (indices de nœuds, bornes des
+     * arcs, rangs) est vérifié ; toute incohérence est signalée par une IOException.
+     * @throws IOException si erreur de lecture, fichier d'une autre version ou abîmé
+     */
+    public static HierarchieContraction lire(String fichier) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileInputStream flux = new FileInputStream(fichier)) {
+            long taille = flux.getChannel().size();
+            // Le flux contrôlé s'arrête avant les 8 octets de la somme de contrôle
+            FluxCompte compte = new FluxCompte(new BufferedInputStream(
+                    new CheckedInputStream(new FilterInputStream(flux) {
+                        private long restant = taille - 8;
+
+                        @Override
+                        public int read() throws IOException {
+                            return (restant-- > 0) ? super.read() : -1;
+                        }
+
+                        @Override
+                        public int read(byte[] b, int off, int len) throws IOException {
+                            if (restant <= 0) {
+                                return -1;
+                            }
+                            int lus = super.read(b, off, (int) Math.min(len, restant));
+                            restant -= Math.max(0, lus);
+                            return lus;
+                        }
+                    }, crc), 1 << 16), taille - 8, fichier);
+            DataInputStream entree = new DataInputStream(compte);
+            try {
+                if (entree.readInt() != MAGIQUE) {
+                    throw new IOException("Ce n'est pas une hiérarchie de contraction : " + fichier);
+                }
+                int version = entree.readInt();
+                if (version != VERSION) {
+                    throw new IOException("Hiérarchie de version " + version + " (attendue : " + VERSION + ") : " + fichier);
+                }
+                // Une chaîne occupe au moins 2 octets (sa longueur)
+                int n = compte.lireTaille(entree, 2);
+                String[] noms = new String[n];
+                for (int u = 0; u < n; u++) {
+                    noms[u] = entree.readUTF();
+                }
+                String[] nomsLignes = new String[compte.lireTaille(entree, 2)];
+                for (int l = 0; l < nomsLignes.length; l++) {
+                    nomsLignes[l] = entree.readUTF();
+                }
+                int[] debuts = lireTableau(entree, compte);
+                int[] cibles = lireTableau(entree, compte);
+                verifierArcs(debuts, cibles, n, fichier);
+                compte.verifier(10L * cibles.length);
+                double[] couts = new double[cibles.length];
+                for (int a = 0; a < couts.length; a++) {
+                    couts[a] = entree.readDouble();
+                }
+                short[] lignes = new short[cibles.length];
+                for (int a = 0; a < lignes.length; a++) {
+                    lignes[a] = entree.readShort();
+                    if (lignes[a] < GrapheCompact.SANS_LIGNE || lignes[a] >= nomsLignes.length) {
+                        throw new IOException("Hiérarchie incohérente (ligne " + lignes[a] + " inconnue) : " + fichier);
+                    }
+                }
+                int[] rangs = lireTableau(entree, compte);
+                verifierRangs(rangs, n, fichier);
+                Niveau avant = Niveau.lire(entree, compte, n, fichier);
+                Niveau arriere = Niveau.lire(entree, compte, n, fichier);
+                if (entree.read() != -1) {
+                    throw new IOException("Données en trop dans " + fichier);
+                }
+                long attendu = new DataInputStream(flux).readLong();
+                if (attendu != crc.getValue()) {
+                    throw new IOException("Hiérarchie corrompue (somme de contrôle incorrecte) : " + fichier);
+                }
+                GrapheCompact g = new GrapheCompact(noms, debuts, cibles, couts, lignes, nomsLignes);
+                return new HierarchieContraction(g, rangs, avant, arriere);
+            } catch (java.io.EOFException | RuntimeException e) {
+                // Tableaux incohérents (indices hors bornes...) : refusés comme un fichier tronqué
+                throw new IOException("Hiérarchie tronquée ou corrompue : " + fichier, e);
+            }
+        }
+    }
+
+    /**
+     * Vérifie une structure CSR relue : n + 1 débuts croissants de 0 au nombre
+     * d'arcs, cibles dans le graphe
+     */
+    private static void verifierArcs(int[] debuts, int[] cibles, int n, String fichier) throws IOException {
+        if (debuts.length != n + 1 || debuts[0] != 0 || debuts[n] != cibles.length) {
+            throw new IOException("Hiérarchie incohérente (bornes des arcs) : " + fichier);
+        }
+        for (int u = 0; u < n; u++) {
+            if (debuts[u] > debuts[u + 1]) {
+                throw new IOException("Hiérarchie incohérente (debuts non croissant) : " + fichier);
+            }
+        }
+        for (int c : cibles) {
+            if (c < 0 || c >= n) {
+                throw new IOException("Hiérarchie incohérente (cible " + c + " hors du graphe) : " + fichier);
+            }
+        }
+    }
+
+    /**
+     * Vérifie que les rangs relus sont une permutation de 0 à n - 1
+     */
+    private static void verifierRangs(int[] rangs, int n, String fichier) throws IOException {
+        if (rangs.length != n) {
+            throw new IOException("Hiérarchie incohérente (" + rangs.length + " rangs pour " + n + " nœuds) : " + fichier);
+        }
+        boolean[] vus = new boolean[n];
+        for (int r : rangs) {
+            if (r < 0 || r >= n || vus[r]) {
+                throw new IOException("Hiérarchie incohérente (rang " + r + ") : " + fichier);
+            }
+            vus[r] = true;
+        }
+    }
+
+    private static void ecrireTableau(DataOutputStream sortie, int[] tableau) throws IOException {
+        sortie.writeInt(tableau.length);
+        for (int x : tableau) {
+            sortie.writeInt(x);
+        }
+    }
+
+    private static int[] lireTableau(DataInputStream entree, FluxCompte compte) throws IOException {
+        int[] tableau = new int[compte.lireTaille(entree, 4)];
+        for (int i = 0; i < tableau.length; i++) {
+            tableau[i] = entree.readInt();
+        }
+        return tableau;
+    }
+
+    /**
+     * Flux comptant les octets consommés, pour comparer chaque taille relue à ce
+     * qui reste du fichier
+     */
+    private static final class FluxCompte extends FilterInputStream {
+        private final long taille;
+        private final String fichier;
+        private long lus;
+
+        FluxCompte(InputStream entree, long taille, String fichier) {
+            super(entree);
+            this.taille = taille;
+            this.fichier = fichier;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                this.lus++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int lus = super.read(b, off, len);
+            this.lus += Math.max(0, lus);
+            return lus;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long sautes = super.skip(n);
+            this.lus += sautes;
+            return sautes;
+        }
+
+        /**
+         * Vérifie qu'il reste au moins le nombre d'octets donné
+         */
+        void verifier(long octets) throws IOException {
+            if (octets > this.taille - this.lus) {
+                throw new IOException("Hiérarchie corrompue (" + octets + " octets annoncés, "
+                        + (this.taille - this.lus) + " restants) : " + this.fichier);
+            }
+        }
+
+        /**
+         * Lit un nombre d'éléments, en vérifiant qu'ils tiennent dans le reste du fichier
+         */
+        int lireTaille(DataInputStream entree, int tailleElement) throws IOException {
+            int nb = entree.readInt();
+            if (nb < 0) {
+                throw new IOException("Hiérarchie corrompue (taille " + nb + ") : " + this.fichier);
+            }
+            verifier((long) nb * tailleElement);
+            return nb;
+        }
+    }
+
+    /**
+     * Arcs d'un sens de la hiérarchie au format CSR ; milieu = -1 pour un arc d'origine,
+     * sinon nœud contourné par le raccourci
+     */
+    private static final class Niveau {
+        final int[] debuts;
+        final int[] cibles;
+        final double[] couts;
+        final int[] milieux;
+        /** Nœud où est rangé chaque arc */
+        final int[] origines;
+
+        Niveau(int[] debuts, int[] cibles, double[] couts, int[] milieux) {
+            this.debuts = debuts;
+            this.cibles = cibles;
+            this.couts = couts;
+            this.milieux = milieux;
+            this.origines = new int[cibles.length];
+            for (int u = 0; u + 1 < debuts.length; u++) {
+                Arrays.fill(this.origines, debuts[u], debuts[u + 1], u);
+            }
+        }
+
+        /**
+         * Range des arcs (dans le désordre) par nœud d'origine
+         */
+        static Niveau construire(int n, int nb, int[] origines, int[] cibles, double[] couts, int[] milieux) {
+            int[] debuts = new int[n + 1];
+            for (int a = 0; a < nb; a++) {
+                debuts[origines[a] + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                debuts[u + 1] += debuts[u];
+            }
+            int[] curseurs = Arrays.copyOf(debuts, n);
+            int[] c = new int[nb];
+            double[] k = new double[nb];
+            int[] m = new int[nb];
+            for (int a = 0; a < nb; a++) {
+                int pos = curseurs[origines[a]]++;
+                c[pos] = cibles[a];
+                k[pos] = couts[a];
+                m[pos] = milieux[a];
+            }
+            return new Niveau(debuts, c, k, m);
+        }
+
+        int origine(int a) {
+            return this.origines[a];
+        }
+
+        /**
+         * Arc de coût minimal rangé en u et menant à v
+         */
+        int arcVers(int u, int v) {
+            int meilleur = -1;
+            for (int a = this.debuts[u]; a < this.debuts[u + 1]; a++) {
+                if (this.cibles[a] == v && (meilleur == -1 || this.couts[a] < this.couts[meilleur])) {
+                    meilleur = a;
+                }
+            }
+            return meilleur;
+        }
+
+        int nbRaccourcis() {
+            int nb = 0;
+            for (int m : this.milieux) {
+                nb += (m != -1) ? 1 : 0;
+            }
+            return nb;
+        }
+
+        void ecrire(DataOutputStream sortie) throws IOException {
+            ecrireTableau(sortie, this.debuts);
+            ecrireTableau(sortie, this.cibles);
+            for (double c : this.couts) {
+                sortie.writeDouble(c);
+            }
+            ecrireTableau(sortie, this.milieux);
+        }
+
+        /**
+         * Relit un niveau écrit par ecrire, en vérifiant ses tableaux (graphe de n nœuds)
+         */
+        static Niveau lire(DataInputStream entree, FluxCompte compte, int n, String fichier) throws IOException {
+            int[] debuts = lireTableau(entree, compte);
+            int[] cibles = lireTableau(entree, compte);
+            verifierArcs(debuts, cibles, n, fichier);
+            compte.verifier(8L * cibles.length);
+            double[] couts = new double[cibles.length];
+            for (int a = 0; a < couts.length; a++) {
+                couts[a] = entree.readDouble();
+            }
+            int[] milieux = lireTableau(entree, compte);
+            if (milieux.length != cibles.length) {
+                throw new IOException("Hiérarchie incohérente (" + milieux.length + " milieux pour "
+                        + cibles.length + " arcs) : " + fichier);
+            }
+            for (int m : milieux) {
+                if (m < -1 || m >= n) {
+                    throw new IOException("Hiérarchie incohérente (milieu " + m + " hors du graphe) : " + fichier);
+                }
+            }
+            return new Niveau(debuts, cibles, couts, milieux);
+        }
+    }
+
+    /**
+     * Prétraitement : graphe modifiable (listes d'arcs par nœud, dans les deux sens)
+     * et contraction des nœuds par ordre d'importance
+     */
+    private static final class Contraction {
+        private final GrapheCompact graphe;
+        private final int n;
+
+        /** Arcs sortants et entrants de chaque nœud : voisin, coût, milieu (-1 si arc d'origine) */
+        private final int[][] sortants;
+        private final double[][] coutsSortants;
+        private final int[][] milieuxSortants;
+        private final int[] nbSortants;
+        private final int[][] entrants;
+        private final double[][] coutsEntrants;
+        private final int[][] milieuxEntrants;
+        private final int[] nbEntrants;
+
+        private final boolean[] contracte;
+
+        /** Cibles de la recherche de témoin en cours (marquées par son numéro) */
+        private final int[] cibles;
+        private int numeroRecherche;
+        private final int[] voisinsContractes;
+        private final int[] rangs;
+
+        /** Arcs de la hiérarchie en cours de construction (origine, cible, coût, milieu) */
+        private int nbAvant;
+        private int[] origAvant = new int[16];
+        private int[] ciblAvant = new int[16];
+        private double[] coutAvant = new double[16];
+        private int[] milAvant = new int[16];
+        private int nbArriere;
+        private int[] origArriere = new int[16];
+        private int[] ciblArriere = new int[16];
+        private double[] coutArriere = new double[16];
+        private int[] milArriere = new int[16];
+
+        /** Espace de travail des recherches de témoins */
+        private final ValeursIndexees temoins;
+        private final TasBinaire tas;
+
+        Contraction(GrapheCompact g) {
+            this.graphe = g;
+            this.n = g.nbNoeuds();
+            this.sortants = new int[n][];
+            this.coutsSortants = new double[n][];
+            this.milieuxSortants = new int[n][];
+            this.nbSortants = new int[n];
+            this.entrants = new int[n][];
+            this.coutsEntrants = new double[n][];
+            this.milieuxEntrants = new int[n][];
+            this.nbEntrants = new int[n];
+            for (int u = 0; u < n; u++) {
+                int degre = Math.max(2, g.fin(u) - g.debut(u));
+                this.sortants[u] = new int[degre];
+                this.coutsSortants[u] = new double[degre];
+                this.milieuxSortants[u] = new int[degre];
+                this.entrants[u] = new int[2];
+                this.coutsEntrants[u] = new double[2];
+                this.milieuxEntrants[u] = new int[2];
+            }
+            for (int u = 0; u < n; u++) {
+                for (int a = g.debut(u); a < g.fin(u); a++) {
+                    if (g.cout(a) < 0) {
+                        throw new IllegalArgumentException("Coût négatif : la hiérarchie de contraction exige des coûts positifs");
+                    }
+                    ajouterArc(u, g.cible(a), g.cout(a), -1);
+                }
+            }
+            this.contracte = new boolean[n];
+            this.cibles = new int[n];
+            this.voisinsContractes = new int[n];
+            this.rangs = new int[n];
+            this.temoins = new ValeursIndexees(g);
+            this.tas = new TasBinaire(n);
+        }
+
+        /**
+         * Contracte tous les nœuds et construit la hiérarchie
+         */
+        HierarchieContraction contracter() {
+            // File des nœuds par importance (mise à jour paresseuse)
+            TasBinaire ordre = new TasBinaire(n);
+            for (int v = 0; v < n; v++) {
+                ordre.insererOuDiminuer(v, importance(v));
+            }
+            int rang = 0;
+            while (!ordre.estVide()) {
+                int v = ordre.extraireMin();
+                double priorite = importance(v);
+                if (!ordre.estVide() && priorite > ordre.cleMin()) {
+                    ordre.insererOuDiminuer(v, priorite);
+                    continue;
+                }
+                this.rangs[v] = rang++;
+                contracterNoeud(v);
+            }
+            Niveau avant = Niveau.construire(n, nbAvant, origAvant, ciblAvant, coutAvant, milAvant);
+            Niveau arriere = Niveau.construire(n, nbArriere, origArriere, ciblArriere, coutArriere, milArriere);
+            return new HierarchieContraction(this.graphe, this.rangs, avant, arriere);
+        }
+
+        /**
+         * Importance d'un nœud : raccourcis nécessaires - arcs retirés + voisins contractés
+         */
+        private double importance(int v) {
+            int degre = 0;
+            for (int i = 0; i < nbEntrants[v]; i++) {
+                degre += contracte[entrants[v][i]] ? 0 : 1;
+            }
+            for (int i = 0; i < nbSortants[v]; i++) {
+                degre += contracte[sortants[v][i]] ? 0 : 1;
+            }
+            return raccourcis(v, false) - degre + voisinsContractes[v];
+        }
+
+        /**
+         * Contraction de v : arcs restants enregistrés dans la hiérarchie, puis raccourcis
+         */
+        private void contracterNoeud(int v) {
+            for (int i = 0; i < nbSortants[v]; i++) {
+                int w = sortants[v][i];
+                if (!contracte[w]) {
+                    ajouterAvant(v, w, coutsSortants[v][i], milieuxSortants[v][i]);
+                    voisinsContractes[w]++;
+                }
+            }
+            for (int i = 0; i < nbEntrants[v]; i++) {
+                int u = entrants[v][i];
+                if (!contracte[u]) {
+                    ajouterArriere(v, u, coutsEntrants[v][i], milieuxEntrants[v][i]);
+                    voisinsContractes[u]++;
+                }
+            }
+            raccourcis(v, true);
+            contracte[v] = true;
+
+            // v disparaît des listes de ses voisins, qui ne contiennent ainsi que des nœuds restants
+            for (int i = 0; i < nbSortants[v]; i++) {
+                retirer(entrants, coutsEntrants, milieuxEntrants, nbEntrants, sortants[v][i], v);
+            }
+            for (int i = 0; i < nbEntrants[v]; i++) {
+                retirer(sortants, coutsSortants, milieuxSortants, nbSortants, entrants[v][i], v);
+            }
+        }
+
+        /**
+         * Retire x de la liste du nœud u (le dernier élément prend sa place)
+         */
+        private static void retirer(int[][] voisins, double[][] couts, int[][] milieux, int[] nb, int u, int x) {
+            for (int i = 0; i < nb[u]; i++) {
+                if (voisins[u][i] == x) {
+                    int dernier = --nb[u];
+                    voisins[u][i] = voisins[u][dernier];
+                    couts[u][i] = couts[u][dernier];
+                    milieux[u][i] = milieux[u][dernier];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Compte (et ajoute si ajouter) les raccourcis nécessaires pour contracter v
+         */
+        private int raccourcis(int v, boolean ajouter) {
+            int nb = 0;
+            // Coût maximal d'un chemin par v, pour borner les recherches de témoins
+            double maxSortant = 0;
+            for (int j = 0; j < nbSortants[v]; j++) {
+                if (!contracte[sortants[v][j]]) {
+                    maxSortant = Math.max(maxSortant, coutsSortants[v][j]);
+                }
+            }
+            for (int i = 0; i < nbEntrants[v]; i++) {
+                int u = entrants[v][i];
+                if (contracte[u]) {
+                    continue;
+                }
+                double coutUV = coutsEntrants[v][i];
+                // Les cibles sont les voisins sortants de v : la recherche s'arrête quand elles sont toutes traitées
+                numeroRecherche++;
+                int nbCibles = 0;
+                for (int j = 0; j < nbSortants[v]; j++) {
+                    int w = sortants[v][j];
+                    if (!contracte[w] && w != u && cibles[w] != numeroRecherche) {
+                        cibles[w] = numeroRecherche;
+                        nbCibles++;
+                    }
+                }
+                if (nbCibles == 0) {
+                    continue;
+                }
+                temoin(u, v, coutUV + maxSortant, nbCibles, ajouter ? LIMITE_TEMOIN : LIMITE_SIMULATION);
+                for (int j = 0; j < nbSortants[v]; j++) {
+                    int w = sortants[v][j];
+                    if (contracte[w] || w == u) {
+                        continue;
+                    }
+                    double parV = coutUV + coutsSortants[v][j];
+                    if (temoins.getDistance(w) > parV) {
+                        nb++;
+                        if (ajouter) {
+                            ajouterArc(u, w, parV, v);
+                        }
+                    }
+                }
+            }
+            return nb;
+        }
+
+        /**
+         * Recherche de témoins : Dijkstra limité depuis u, sans passer par v
+         * ni par les nœuds contractés, jusqu'au coût max, au plus limite nœuds,
+         * ou jusqu'à ce que les nbCibles cibles marquées soient traitées
+         */
+        private void temoin(int u, int v, double max, int nbCibles, int limite) {
+            temoins.reinitialiser();
+            tas.vider();
+            temoins.setDistance(u, 0);
+            tas.insererOuDiminuer(u, 0);
+            int traites = 0;
+            while (!tas.estVide() && tas.cleMin() <= max && traites++ < limite) {
+                int x = tas.extraireMin();
+                temoins.marquer(x);
+                if (cibles[x] == numeroRecherche && --nbCibles == 0) {
+                    break;
+                }
+                double dx = temoins.getDistance(x);
+                for (int i = 0; i < nbSortants[x]; i++) {
+                    int y = sortants[x][i];
+                    if (y == v || contracte[y] || temoins.estMarque(y)) {
+                        continue;
+                    }
+                    double d = dx + coutsSortants[x][i];
+                    if (d < temoins.getDistance(y)) {
+                        temoins.setDistance(y, d);
+                        tas.insererOuDiminuer(y, d);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Ajoute l'arc u -> w (ou diminue le coût de l'arc existant)
+         */
+        private void ajouterArc(int u, int w, double cout, int milieu) {
+            if (u == w) {
+                return;
+            }
+            for (int i = 0; i < nbSortants[u]; i++) {
+                if (sortants[u][i] == w) {
+                    if (cout < coutsSortants[u][i]) {
+                        coutsSortants[u][i] = cout;
+                        milieuxSortants[u][i] = milieu;
+                        for (int j = 0; j < nbEntrants[w]; j++) {
+                            if (entrants[w][j] == u) {
+                                coutsEntrants[w][j] = cout;
+                                milieuxEntrants[w][j] = milieu;
+                            }
+                        }
+                    }
+                    return;
+                }
+            }
+            if (nbSortants[u] == sortants[u].length) {
+                int capacite = 2 * nbSortants[u];
+                sortants[u] = Arrays.copyOf(sortants[u], capacite);
+                coutsSortants[u] = Arrays.copyOf(coutsSortants[u], capacite);
+                milieuxSortants[u] = Arrays.copyOf(milieuxSortants[u], capacite);
+            }
+            sortants[u][nbSortants[u]] = w;
+            coutsSortants[u][nbSortants[u]] = cout;
+            milieuxSortants[u][nbSortants[u]++] = milieu;
+            if (nbEntrants[w] == entrants[w].length) {
+                int capacite = 2 * nbEntrants[w];
+                entrants[w] = Arrays.copyOf(entrants[w], capacite);
+                coutsEntrants[w] = Arrays.copyOf(coutsEntrants[w], capacite);
+                milieuxEntrants[w] = Arrays.copyOf(milieuxEntrants[w], capacite);
+            }
+            entrants[w][nbEntrants[w]] = u;
+            coutsEntrants[w][nbEntrants[w]] = cout;
+            milieuxEntrants[w][nbEntrants[w]++] = milieu;
+        }
+
+        private void ajouterAvant(int u, int w, double cout, int milieu) {
+            if (nbAvant == origAvant.length) {
+                int capacite = 2 * nbAvant;
+                origAvant = Arrays.copyOf(origAvant, capacite);
+                ciblAvant = Arrays.copyOf(ciblAvant, capacite);
+                coutAvant = Arrays.copyOf(coutAvant, capacite);
+                milAvant = Arrays.copyOf(milAvant, capacite);
+            }
+            origAvant[nbAvant] = u;
+            ciblAvant[nbAvant] = w;
+            coutAvant[nbAvant] = cout;
+            milAvant[nbAvant++] = milieu;
+        }
+
+        private void ajouterArriere(int w, int u, double cout, int milieu) {
+            if (nbArriere == origArriere.length) {
+                int capacite = 2 * nbArriere;
+                origArriere = Arrays.copyOf(origArriere, capacite);
+                ciblArriere = Arrays.copyOf(ciblArriere, capacite);
+                coutArriere = Arrays.copyOf(coutArriere, capacite);
+                milArriere = Arrays.copyOf(milArriere, capacite);
+            }
+            origArriere[nbArriere] = w;
+            ciblArriere[nbArriere] = u;
+            coutArriere[nbArriere] = cout;
+            milArriere[nbArriere++] = milieu;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Tests unitaires pour la classe HierarchieContraction
+ */
+public class HierarchieContractionTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Graphe de test (Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testPetitGraphe() {
+        HierarchieContraction ch = HierarchieContraction.construire(graphe);
+
+        assertEquals(76, ch.distance("A", "C"), 0.001, "Distance A->C devrait être 76");
+        Valeurs v = ch.resoudre("A", "C");
+        assertEquals(76, v.getValeur("C"), 0.001);
+        assertEquals(List.of("A", "B", "E", "D", "C"), v.calculerChemin("C"), "Le chemin doit être déplié");
+        assertEquals(0, ch.distance("D", "D"), 0.001);
+
+        graphe.ajouterNoeud("F");
+        HierarchieContraction avecIsole = HierarchieContraction.construire(graphe);
+        assertEquals(Double.MAX_VALUE, avecIsole.distance("A", "F"), "F est inaccessible");
+        assertNull(avecIsole.chemin("A", "F"));
+        assertTrue(avecIsole.resoudre("A", "F").calculerChemin("F").isEmpty());
+    }
+
+    @Test
+    public void testMemesDistancesQueDijkstra() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        HierarchieContraction ch = HierarchieContraction.construire(metro);
+        List<String> noeuds = metro.listeNoeuds();
+        for (String depart : new String[]{"1", "50", "100", "150", "200"}) {
+            Valeurs attendu = dijkstra.resoudre(metro, depart);
+            for (String arrivee : noeuds) {
+                assertEquals(attendu.getValeur(arrivee), ch.distance(depart, arrivee), 0.001,
+                        "Distance " + depart + " -> " + arrivee);
+            }
+        }
+        // Le chemin déplié a bien le coût annoncé
+        Chemin c = ch.chemin("100", "125");
+        assertEquals(ch.distance("100", "125"), c.getCout(), 0.001);
+        assertEquals("100", c.getNoeuds().get(0));
+        assertEquals("125", c.getNoeuds().get(c.getNoeuds().size() - 1));
+    }
+
+    @Test
+    public void testGrapheOrienteAleatoire() {
+        // Graphe orienté non symétrique, avec arcs multiples et coûts nuls
+        Random alea = new Random(7);
+        GrapheListe g = new GrapheListe();
+        for (int i = 0; i < 300; i++) {
+            g.ajouterNoeud("n" + i);
+        }
+        for (int k = 0; k < 1200; k++) {
+            g.ajouterArc("n" + alea.nextInt(300), "n" + alea.nextInt(300), alea.nextInt(20));
+        }
+        HierarchieContraction ch = HierarchieContraction.construire(g);
+        for (int k = 0; k < 10; k++) {
+            String depart = "n" + alea.nextInt(300);
+            Valeurs attendu = dijkstra.resoudre(g, depart);
+            for (int i = 0; i < 300; i += 7) {
+                String arrivee = "n" + i;
+                assertEquals(attendu.getValeur(arrivee), ch.distance(depart, arrivee), 0.001,
+                        "Distance " + depart + " -> " + arrivee);
+                Chemin c = ch.chemin(depart, arrivee);
+                if (c != null) {
+                    assertEquals(attendu.getValeur(arrivee), c.getCout(), 0.001, "Coût du chemin déplié");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSauvegarde() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        HierarchieContraction ch = HierarchieContraction.construire(metro);
+        Path fichier = Files.createTempFile("metro", ".ch");
+        try {
+            ch.ecrire(fichier.toString());
+            HierarchieContraction relue = HierarchieContraction.lire(fichier.toString());
+            assertEquals(ch.nbRaccourcis(), relue.nbRaccourcis());
+            assertEquals(ch.chemin("50", "75").getNoeuds(), relue.chemin("50", "75").getNoeuds());
+            assertEquals(ch.chemin("50", "75").getLignes(), relue.chemin("50", "75").getLignes());
+
+            byte[] valide = Files.readAllBytes(fichier);
+            byte[] octets = valide.clone();
+            octets[octets.length / 2] ^= 1;
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> HierarchieContraction.lire(fichier.toString()));
+
+            // Nombre de nœuds (octets 8 à 11, gros-boutiste) démesuré : refusé avant d'allouer
+            octets = valide.clone();
+            octets[8] ^= 0x40;
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> HierarchieContraction.lire(fichier.toString()));
+
+            // Contenu incohérent mais somme de contrôle recalculée : le dernier milieu
+            // (juste avant la somme) désigne un nœud absent
+            for (int milieu : new int[]{metro.listeNoeuds().size(), -2}) {
+                octets = valide.clone();
+                ByteBuffer.wrap(octets).putInt(octets.length - 12, milieu);
+                signer(octets);
+                Files.write(fichier, octets);
+                IOException e = assertThrows(IOException.class, () -> HierarchieContraction.lire(fichier.toString()));
+                assertTrue(e.getMessage().contains("incohérente"), e.getMessage());
+            }
+
+            // Le fichier resigné sans modification est bien accepté
+            octets = valide.clone();
+            signer(octets);
+            Files.write(fichier, octets);
+            assertEquals(ch.nbRaccourcis(), HierarchieContraction.lire(fichier.toString()).nbRaccourcis());
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    public void testCoutNegatifRefuse() {
+        graphe.ajouterArc("E", "A", -1);
+        assertThrows(IllegalArgumentException.class, () -> HierarchieContraction.construire(graphe));
+    }
+
+    /**
+     * Recalcule la somme de contrôle d'un fichier de hiérarchie modifié
+     */
+    private static void signer(byte[] octets) {
+        CRC32 crc = new CRC32();
+        crc.update(octets, 0, octets.length - 8);
+        ByteBuffer.wrap(octets).putLong(octets.length - 8, crc.getValue());
+    }
+}
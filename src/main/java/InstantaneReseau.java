@@ -0,0 +1,442 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Classe InstantaneReseau - sauvegarde binaire d'un réseau déjà construit,
+ * pour le recharger sans analyser le fichier texte
+ * - l'instantané contient le graphe au format compact (tableaux CSR), le nom et
+ *   les coordonnées des stations et le nom des lignes
+ * - à la lecture, le fichier est projeté en mémoire et chaque tableau est recopié
+ *   d'un bloc dans les tableaux du GrapheCompact : il n'y a rien à analyser
+ * - l'en-tête porte un numéro de version, sa propre somme de contrôle CRC32 et
+ *   celle des données ; les tailles et les tableaux sont vérifiés avant d'être
+ *   utilisés. Un fichier d'une autre version ou abîmé est refusé (IOException)
+ * - l'instantané est écrit dans un fichier temporaire renommé à la fin : un
+ *   lecteur ne voit jamais un instantané à moitié écrit
+ *
+ * Format (petit-boutiste) :
+ * - en-tête de 56 octets : magique, version, n, m, nombre de lignes, CRC32 de
+ *   l'en-tête (calculé avec ce champ à 0), taille et date du fichier source
+ *   (-1 si inconnues), taille et CRC32 des données
+ * - données : debuts (n+1 int), cibles (m int), lignes (m short, complété à 8 octets),
+ *   couts (m double), x et y (n double chacun, NaN si inconnu), puis les chaînes
+ *   (noms des nœuds, noms des stations, noms des lignes) : longueur (int, -1 si
+ *   absente) suivie des octets UTF-8
+ */
+public class InstantaneReseau {
+
+    /** « EXPG » */
+    private static final int MAGIQUE = 0x47505845;
+
+    /** Version du format, à augmenter à chaque changement */
+    public static final int VERSION = 2;
+
+    /** Taille de l'en-tête */
+    private static final int TAILLE_EN_TETE = 56;
+
+    /** Extension des instantanés créés par charger */
+    public static final String EXTENSION = ".graphe";
+
+    /**
+     * Écrit l'instantané d'un réseau
+     * @param reseau le réseau à sauvegarder
+     * @param fichier le nom du fichier à écrire
+     * @throws IOException si erreur d'écriture
+     */
+    public static void ecrire(Reseau reseau, String fichier) throws IOException {
+        ecrire(reseau, fichier, -1, -1);
+    }
+
+    /**
+     * Écrit l'instantané d'un réseau, en notant la taille et la date du fichier source
+     */
+    private static void ecrire(Reseau reseau, String fichier, long tailleSource, long dateSource)
+            throws IOException {
+        GrapheCompact g = GrapheCompact.depuis(reseau.getGraphe());
+        String[] noms = g.tableauNoms();
+        String[] nomsLignes = g.tableauNomsLignes();
+        Path cible = Paths.get(fichier).toAbsolutePath();
+        Path temporaire = Files.createTempFile(cible.getParent(), cible.getFileName().toString(), ".tmp");
+        try {
+            ecrire(reseau, g, noms, nomsLignes, temporaire, tailleSource, dateSource);
+            Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+    }
+
+    /**
+     * Écrit l'instantané dans un fichier (temporaire), en-tête compris
+     */
+    private static void ecrire(Reseau reseau, GrapheCompact g, String[] noms, String[] nomsLignes, Path fichier,
+                               long tailleSource, long dateSource) throws IOException {
+        int n = g.nbNoeuds();
+        int m = g.nbArcs();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.WRITE)) {
+            Ecrivain sortie = new Ecrivain(canal, TAILLE_EN_TETE);
+            for (int d : g.tableauDebuts()) {
+                sortie.tampon(4).putInt(d);
+            }
+            for (int c : g.tableauCibles()) {
+                sortie.tampon(4).putInt(c);
+            }
+            for (short l : g.tableauLignes()) {
+                sortie.tampon(2).putShort(l);
+            }
+            sortie.aligner();
+            for (double c : g.tableauCouts()) {
+                sortie.tampon(8).putDouble(c);
+            }
+            for (int axe = 0; axe < 2; axe++) {
+                for (String nom : noms) {
+                    double[] c = reseau.getCoordonnees(nom);
+                    sortie.tampon(8).putDouble(c == null ? Double.NaN : c[axe]);
+                }
+            }
+            for (String nom : noms) {
+                sortie.chaine(nom);
+            }
+            for (String nom : noms) {
+                sortie.chaine(reseau.getNom(nom));
+            }
+            for (String ligne : nomsLignes) {
+                sortie.chaine(ligne);
+            }
+            long tailleDonnees = sortie.terminer();
+
+            ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+            enTete.putInt(MAGIQUE).putInt(VERSION).putInt(n).putInt(m).putInt(nomsLignes.length).putInt(0);
+            enTete.putLong(tailleSource).putLong(dateSource);
+            enTete.putLong(tailleDonnees).putLong(sortie.crc.getValue());
+            enTete.putInt(20, crcEnTete(enTete));
+            enTete.flip();
+            while (enTete.hasRemaining()) {
+                canal.write(enTete, enTete.position());
+            }
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Lit un instantané
+     * @param fichier le nom du fichier
+     * @return le réseau, dont le graphe est un GrapheCompact
+     * @throws IOException si erreur de lecture, ou si le fichier n'est pas un instantané
+     *                     valide (version différente, somme de contrôle incorrecte,
+     *                     tailles ou tableaux incohérents)
+     */
+    public static Reseau lire(String fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(fichier), StandardOpenOption.READ)) {
+            return lire(canal, fichier);
+        } catch (RuntimeException e) {
+            // Dernier rempart : un instantané incohérent ne doit jamais sortir autrement qu'en IOException
+            throw new IOException("Instantané invalide : " + fichier, e);
+        }
+    }
+
+    /**
+     * Lit un instantané ouvert, en vérifiant chaque taille avant d'allouer
+     */
+    private static Reseau lire(FileChannel canal, String fichier) throws IOException {
+        ByteBuffer enTete = lireEnTete(canal, fichier);
+        int n = enTete.getInt(8);
+        int m = enTete.getInt(12);
+        int nbLignes = enTete.getInt(16);
+        long tailleDonnees = enTete.getLong(40);
+        long crcAttendu = enTete.getLong(48);
+        if (tailleDonnees < 0 || canal.size() != TAILLE_EN_TETE + tailleDonnees) {
+            throw new IOException("Instantané tronqué : " + fichier);
+        }
+        // Tableaux de taille fixe : debuts, cibles, lignes (alignées), couts, x, y ;
+        // chaque chaîne occupe au moins 4 octets
+        long tailleTableaux = (4L * n + 4 + 6L * m + 7) / 8 * 8 + 8L * m + 16L * n;
+        if (n < 0 || m < 0 || nbLignes < 0 || nbLignes > Short.MAX_VALUE
+                || tailleTableaux + 4 * (2L * n + nbLignes) > tailleDonnees) {
+            throw new IOException("Instantané incohérent (tailles de l'en-tête) : " + fichier);
+        }
+
+        Lecteur entree = new Lecteur(canal, TAILLE_EN_TETE);
+        int[] debuts = new int[n + 1];
+        entree.zone(4L * (n + 1)).asIntBuffer().get(debuts);
+        int[] cibles = new int[m];
+        entree.zone(4L * m).asIntBuffer().get(cibles);
+        short[] lignes = new short[m];
+        entree.zone(2L * m).asShortBuffer().get(lignes);
+        entree.aligner();
+        double[] couts = new double[m];
+        entree.zone(8L * m).asDoubleBuffer().get(couts);
+        double[] x = new double[n];
+        entree.zone(8L * n).asDoubleBuffer().get(x);
+        double[] y = new double[n];
+        entree.zone(8L * n).asDoubleBuffer().get(y);
+
+        // Les chaînes occupent le reste du fichier
+        ByteBuffer chaines = entree.zone(TAILLE_EN_TETE + tailleDonnees - entree.position);
+        if (entree.crc.getValue() != crcAttendu) {
+            throw new IOException("Instantané corrompu (somme de contrôle incorrecte) : " + fichier);
+        }
+        verifier(debuts, cibles, lignes, nbLignes, fichier);
+        String[] noms = new String[n];
+        for (int u = 0; u < n; u++) {
+            noms[u] = chaine(chaines, fichier);
+            if (noms[u] == null) {
+                throw new IOException("Instantané incohérent (nœud sans nom) : " + fichier);
+            }
+        }
+        Map<String, String> nomsStations = new HashMap<>(n * 2);
+        Map<String, double[]> coordonnees = new HashMap<>(n * 2);
+        for (int u = 0; u < n; u++) {
+            String nom = chaine(chaines, fichier);
+            if (nom != null) {
+                nomsStations.put(noms[u], nom);
+            }
+            if (!Double.isNaN(x[u])) {
+                coordonnees.put(noms[u], new double[]{x[u], y[u]});
+            }
+        }
+        String[] nomsLignes = new String[nbLignes];
+        for (int l = 0; l < nbLignes; l++) {
+            nomsLignes[l] = chaine(chaines, fichier);
+        }
+
+        GrapheCompact g = new GrapheCompact(noms, debuts, cibles, couts, lignes, nomsLignes);
+        return new Reseau(g, nomsStations, coordonnees);
+    }
+
+    /**
+     * Charge un fichier de réseau en passant par son instantané (fichier + EXTENSION)
+     * L'instantané est utilisé s'il est valide et a été fait à partir du fichier
+     * dans son état actuel (même taille, même date) ; sinon le fichier texte est lu
+     * et l'instantané (re)créé pour les chargements suivants.
+     * @param fichier le nom du fichier texte du réseau
+     * @return le réseau, dont le graphe est un GrapheCompact
+     * @throws IOException si erreur de lecture du fichier texte
+     */
+    public static Reseau charger(String fichier) throws IOException {
+        File source = new File(fichier);
+        String instantane = fichier + EXTENSION;
+        if (new File(instantane).exists()) {
+            try {
+                if (estAJour(instantane, source)) {
+                    return lire(instantane);
+                }
+            } catch (IOException e) {
+                // Instantané abîmé ou d'une autre version : il est recréé
+            }
+        }
+        return recreer(fichier, source, instantane);
+    }
+
+    /**
+     * Indique si un instantané a été fait à partir du fichier source dans son état actuel
+     */
+    private static boolean estAJour(String instantane, File source) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(instantane), StandardOpenOption.READ)) {
+            ByteBuffer enTete = lireEnTete(canal, instantane);
+            return enTete.getLong(24) == source.length() && enTete.getLong(32) == source.lastModified();
+        }
+    }
+
+    /**
+     * Lit le fichier texte et écrit son instantané
+     */
+    private static Reseau recreer(String fichier, File source, String instantane) throws IOException {
+        long taille = source.length();
+        long date = source.lastModified();
+        Reseau reseau = LireReseauMappe.lireReseau(fichier);
+        try {
+            ecrire(reseau, instantane, taille, date);
+        } catch (IOException e) {
+            // Sans instantané, le prochain chargement relira simplement le texte
+            System.err.println("Impossible d'écrire l'instantané " + instantane + " : " + e.getMessage());
+        }
+        return reseau;
+    }
+
+    /**
+     * Lit et vérifie l'en-tête (nombre magique et version)
+     */
+    private static ByteBuffer lireEnTete(FileChannel canal, String fichier) throws IOException {
+        ByteBuffer enTete = ByteBuffer.allocate(TAILLE_EN_TETE).order(ByteOrder.LITTLE_ENDIAN);
+        while (enTete.hasRemaining() && canal.read(enTete, enTete.position()) > 0) {
+            // lecture jusqu'à remplir l'en-tête
+        }
+        if (enTete.hasRemaining() || enTete.getInt(0) != MAGIQUE) {
+            throw new IOException("Ce n'est pas un instantané de réseau : " + fichier);
+        }
+        if (enTete.getInt(4) != VERSION) {
+            throw new IOException("Instantané de version " + enTete.getInt(4) + " (attendue : " + VERSION + ") : " + fichier);
+        }
+        if (enTete.getInt(20) != crcEnTete(enTete)) {
+            throw new IOException("Instantané corrompu (somme de contrôle de l'en-tête incorrecte) : " + fichier);
+        }
+        return enTete;
+    }
+
+    /**
+     * Vérifie la structure CSR relue : debuts croissant de 0 à m, cibles et
+     * lignes dans leurs bornes
+     */
+    private static void verifier(int[] debuts, int[] cibles, short[] lignes, int nbLignes, String fichier)
+            throws IOException {
+        int n = debuts.length - 1;
+        int m = cibles.length;
+        if (debuts[0] != 0 || debuts[n] != m) {
+            throw new IOException("Instantané incohérent (bornes des arcs) : " + fichier);
+        }
+        for (int u = 0; u < n; u++) {
+            if (debuts[u] > debuts[u + 1]) {
+                throw new IOException("Instantané incohérent (debuts non croissant) : " + fichier);
+            }
+        }
+        for (int a = 0; a < m; a++) {
+            if (cibles[a] < 0 || cibles[a] >= n) {
+                throw new IOException("Instantané incohérent (cible " + cibles[a] + " hors du graphe) : " + fichier);
+            }
+            if (lignes[a] < GrapheCompact.SANS_LIGNE || lignes[a] >= nbLignes) {
+                throw new IOException("Instantané incohérent (ligne " + lignes[a] + " inconnue) : " + fichier);
+            }
+        }
+    }
+
+    /**
+     * CRC32 de l'en-tête, calculé avec son propre champ à 0
+     */
+    private static int crcEnTete(ByteBuffer enTete) {
+        byte[] octets = new byte[TAILLE_EN_TETE];
+        enTete.get(0, octets);
+        Arrays.fill(octets, 20, 24, (byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(octets);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Lit une chaîne (longueur puis octets UTF-8), null si la longueur est -1
+     */
+    private static String chaine(ByteBuffer chaines, String fichier) throws IOException {
+        int longueur = chaines.getInt();
+        if (longueur == -1) {
+            return null;
+        }
+        if (longueur < 0 || longueur > chaines.remaining()) {
+            throw new IOException("Instantané incohérent (longueur de chaîne " + longueur + ") : " + fichier);
+        }
+        byte[] octets = new byte[longueur];
+        chaines.get(octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Écriture séquentielle par un tampon direct, avec calcul du CRC32 au fil de l'eau
+     */
+    private static final class Ecrivain {
+        private final FileChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+        private long ecrits;
+
+        Ecrivain(FileChannel canal, long position) {
+            this.canal = canal;
+            this.position = position;
+        }
+
+        /**
+         * Retourne le tampon, vidé au préalable s'il reste moins de place que demandé
+         */
+        ByteBuffer tampon(int place) throws IOException {
+            if (this.tampon.remaining() < place) {
+                vider();
+            }
+            return this.tampon;
+        }
+
+        void chaine(String s) throws IOException {
+            if (s == null) {
+                tampon(4).putInt(-1);
+                return;
+            }
+            byte[] octets = s.getBytes(StandardCharsets.UTF_8);
+            tampon(4).putInt(octets.length);
+            for (int i = 0; i < octets.length; i += this.tampon.capacity()) {
+                int longueur = Math.min(this.tampon.capacity(), octets.length - i);
+                tampon(longueur).put(octets, i, longueur);
+            }
+        }
+
+        /**
+         * Complète par des zéros jusqu'à un multiple de 8 octets
+         */
+        void aligner() throws IOException {
+            while ((this.ecrits + this.tampon.position()) % 8 != 0) {
+                tampon(1).put((byte) 0);
+            }
+        }
+
+        long terminer() throws IOException {
+            vider();
+            return this.ecrits;
+        }
+
+        private void vider() throws IOException {
+            this.tampon.flip();
+            ByteBuffer copie = this.tampon.duplicate();
+            this.crc.update(copie);
+            while (this.tampon.hasRemaining()) {
+                int n = this.canal.write(this.tampon, this.position);
+                this.position += n;
+                this.ecrits += n;
+            }
+            this.tampon.clear();
+        }
+    }
+
+    /**
+     * Lecture séquentielle de zones projetées en mémoire, avec calcul du CRC32
+     */
+    private static final class Lecteur {
+        private final FileChannel canal;
+        private final CRC32 crc = new CRC32();
+        private long position;
+
+        Lecteur(FileChannel canal, long position) {
+            this.canal = canal;
+            this.position = position;
+        }
+
+        /**
+         * Projette la zone suivante de la taille donnée et l'ajoute au CRC32
+         */
+        ByteBuffer zone(long taille) throws IOException {
+            if (taille > Integer.MAX_VALUE) {
+                throw new IOException("Tableau de plus de 2 Go dans l'instantané");
+            }
+            MappedByteBuffer zone = this.canal.map(FileChannel.MapMode.READ_ONLY, this.position, taille);
+            this.crc.update(zone.duplicate());
+            this.position += taille;
+            return zone.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void aligner() throws IOException {
+            long reste = (this.position - TAILLE_EN_TETE) % 8;
+            if (reste != 0) {
+                zone(8 - reste);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Tests unitaires pour la classe InstantaneReseau
+ */
+public class InstantaneReseauTest {
+
+    @Test
+    public void testInstantane() throws IOException {
+        Reseau attendu = LireReseau.lireReseau("src/main/java/metro.txt");
+        Path fichier = Files.createTempFile("metro", InstantaneReseau.EXTENSION);
+        try {
+            InstantaneReseau.ecrire(attendu, fichier.toString());
+            Reseau lu = InstantaneReseau.lire(fichier.toString());
+
+            assertEquals(GrapheCompact.depuis(attendu.getGraphe()).toString(), lu.getGraphe().toString(),
+                    "Le graphe relu doit être identique");
+            assertEquals(attendu.getNoms(), lu.getNoms());
+            assertArrayEquals(attendu.getCoordonnees("15"), lu.getCoordonnees("15"), 0.001);
+
+            // Un octet modifié dans les données doit être détecté
+            byte[] octets = Files.readAllBytes(fichier);
+            octets[octets.length / 2] ^= 1;
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> InstantaneReseau.lire(fichier.toString()));
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    public void testInstantaneEnTeteCorrompu() throws IOException {
+        Reseau reseau = LireReseau.lireReseau("src/main/java/metro.txt");
+        Path fichier = Files.createTempFile("metro", InstantaneReseau.EXTENSION);
+        try {
+            InstantaneReseau.ecrire(reseau, fichier.toString());
+            byte[] valide = Files.readAllBytes(fichier);
+            ByteBuffer enTete = ByteBuffer.wrap(valide).order(ByteOrder.LITTLE_ENDIAN);
+            int n = enTete.getInt(8);
+
+            // Un bit du nombre de nœuds modifié : la somme de contrôle de l'en-tête le détecte
+            byte[] octets = valide.clone();
+            octets[8] ^= 0x40;
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> InstantaneReseau.lire(fichier.toString()));
+
+            // Nombre de nœuds énorme mais en-tête re-signé : refusé avant toute allocation
+            octets = valide.clone();
+            ByteBuffer.wrap(octets).order(ByteOrder.LITTLE_ENDIAN).putInt(8, Integer.MAX_VALUE);
+            signer(octets);
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> InstantaneReseau.lire(fichier.toString()));
+
+            // Cible hors du graphe, données et en-tête re-signés : refusée par la vérification des tableaux
+            octets = valide.clone();
+            ByteBuffer.wrap(octets).order(ByteOrder.LITTLE_ENDIAN).putInt(56 + 4 * (n + 1), n);
+            signer(octets);
+            Files.write(fichier, octets);
+            assertThrows(IOException.class, () -> InstantaneReseau.lire(fichier.toString()));
+
+            // Le fichier re-signé sans modification reste lisible
+            octets = valide.clone();
+            signer(octets);
+            Files.write(fichier, octets);
+            assertEquals(n, ((GrapheCompact) InstantaneReseau.lire(fichier.toString()).getGraphe()).nbNoeuds());
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    public void testChargerInstantane() throws IOException {
+        Path dossier = Files.createTempDirectory("reseau");
+        Path source = dossier.resolve("reseau.txt");
+        Path instantane = dossier.resolve("reseau.txt" + InstantaneReseau.EXTENSION);
+        try {
+            Files.write(source, "% stations\nA:Alpha:1:2:1\nB:Bêta:3:4:1\n% connexions\nA:B:5:1\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            Reseau premier = InstantaneReseau.charger(source.toString());
+            assertTrue(Files.exists(instantane), "Le premier chargement doit créer l'instantané");
+            assertEquals("Bêta", premier.getNom("B"));
+
+            Reseau second = InstantaneReseau.charger(source.toString());
+            assertEquals(premier.getGraphe().toString(), second.getGraphe().toString());
+
+            // Source modifiée : l'instantané périmé est ignoré et refait
+            Files.write(source, "% stations\nA:Alpha:1:2:1\nB:Bêta:3:4:1\n% connexions\nA:B:7:1\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            File f = source.toFile();
+            f.setLastModified(f.lastModified() + 2000);
+            Reseau troisieme = InstantaneReseau.charger(source.toString());
+            assertEquals(7, troisieme.getGraphe().suivants("A").get(0).getCout(), 0.001);
+        } finally {
+            Files.deleteIfExists(instantane);
+            Files.deleteIfExists(source);
+            Files.delete(dossier);
+        }
+    }
+
+    /**
+     * Recalcule les sommes de contrôle d'un instantané (données, puis en-tête)
+     */
+    private static void signer(byte[] octets) {
+        ByteBuffer enTete = ByteBuffer.wrap(octets).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(octets, 56, octets.length - 56);
+        enTete.putLong(48, crc.getValue());
+        enTete.putInt(20, 0);
+        crc.reset();
+        crc.update(octets, 0, 56);
+        enTete.putInt(20, (int) crc.getValue());
+    }
+}
@@ -0,0 +1,319 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Classe calculant les isochrones d'une station : les nœuds atteignables dans
+ * un budget, les arcs qui sortent de cette zone et l'enveloppe convexe de la zone
+ * - une seule recherche de Dijkstra, bornée au plus grand budget, sert à tous
+ *   les budgets : aucun nœud au-delà n'est inséré dans le tas, et les nœuds
+ *   étant traités par distance croissante, la zone d'un budget est un préfixe
+ *   de l'ordre de traitement
+ * - un arc frontière (u, v) part d'un nœud de la zone vers un nœud hors zone ;
+ *   la fraction de l'arc parcourue dans le budget donne le point où s'arrête
+ *   l'isochrone sur cet arc
+ * - l'enveloppe est l'enveloppe convexe (chaîne monotone d'Andrew) des
+ *   coordonnées des nœuds de la zone et des points d'arrêt sur les arcs frontière
+ */
+public class Isochrones {
+
+    /** Graphe compact de la recherche */
+    private final GrapheCompact graphe;
+
+    /** Coordonnées de chaque nœud (NaN si la station n'en a pas) */
+    private final double[] x;
+    private final double[] y;
+
+    /** Résultat de la recherche, réutilisé d'un appel à l'autre */
+    private final ValeursIndexees valeurs;
+
+    /** Tas conservé entre deux appels */
+    private final TasBinaire tas;
+
+    /**
+     * Isochrone d'un budget
+     */
+    public static class Isochrone {
+        private final double budget;
+        private final List<String> noeuds;
+        private final List<ArcFrontiere> frontiere;
+        private final List<double[]> enveloppe;
+
+        Isochrone(double budget, List<String> noeuds, List<ArcFrontiere> frontiere, List<double[]> enveloppe) {
+            this.budget = budget;
+            this.noeuds = noeuds;
+            this.frontiere = frontiere;
+            this.enveloppe = enveloppe;
+        }
+
+        /**
+         * Retourne le budget de l'isochrone
+         * @return le budget
+         */
+        public double getBudget() {
+            return this.budget;
+        }
+
+        /**
+         * Retourne les nœuds atteignables dans le budget
+         * @return les nœuds, par distance croissante
+         */
+        public List<String> getNoeuds() {
+            return this.noeuds;
+        }
+
+        /**
+         * Retourne les arcs qui sortent de la zone
+         * @return les arcs frontière
+         */
+        public List<ArcFrontiere> getFrontiere() {
+            return this.frontiere;
+        }
+
+        /**
+         * Retourne l'enveloppe convexe de la zone
+         * @return les sommets {x, y} du polygone, dans le sens trigonométrique
+         */
+        public List<double[]> getEnveloppe() {
+            return this.enveloppe;
+        }
+    }
+
+    /**
+     * Arc sortant de la zone d'une isochrone
+     */
+    public static class ArcFrontiere {
+        private final String origine;
+        private final String destination;
+        private final String ligne;
+        private final double fraction;
+
+        ArcFrontiere(String origine, String destination, String ligne, double fraction) {
+            this.origine = origine;
+            this.destination = destination;
+            this.ligne = ligne;
+            this.fraction = fraction;
+        }
+
+        /**
+         * Retourne le nœud de départ de l'arc (dans la zone)
+         * @return le nœud de départ
+         */
+        public String getOrigine() {
+            return this.origine;
+        }
+
+        /**
+         * Retourne le nœud d'arrivée de l'arc (hors zone)
+         * @return le nœud d'arrivée
+         */
+        public String getDestination() {
+            return this.destination;
+        }
+
+        /**
+         * Retourne la ligne de l'arc
+         * @return la ligne, ou null
+         */
+        public String getLigne() {
+            return this.ligne;
+        }
+
+        /**
+         * Retourne la part de l'arc parcourue dans le budget
+         * @return la fraction, entre 0 et 1 (exclu)
+         */
+        public double getFraction() {
+            return this.fraction;
+        }
+
+        @Override
+        public String toString() {
+            return this.origine + " -> " + this.destination + " (" + this.fraction + ")";
+        }
+    }
+
+    /**
+     * Constructeur
+     * @param reseau le réseau (graphe et coordonnées des stations)
+     */
+    public Isochrones(Reseau reseau) {
+        this.graphe = GrapheCompact.depuis(reseau.getGraphe());
+        int n = this.graphe.nbNoeuds();
+        this.x = new double[n];
+        this.y = new double[n];
+        for (int u = 0; u < n; u++) {
+            double[] c = reseau.getCoordonnees(this.graphe.nom(u));
+            this.x[u] = (c == null) ? Double.NaN : c[0];
+            this.y[u] = (c == null) ? Double.NaN : c[1];
+        }
+        this.valeurs = new ValeursIndexees(this.graphe);
+        this.tas = new TasBinaire(n);
+    }
+
+    /**
+     * Calcule les isochrones d'un nœud pour plusieurs budgets, en une seule recherche
+     * @param depart le nœud de départ
+     * @param budgets les budgets (positifs ou nuls)
+     * @return une isochrone par budget, dans l'ordre des budgets donnés
+     */
+    public List<Isochrone> calculer(String depart, double... budgets) {
+        int s = this.graphe.indice(depart);
+        if (s == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + depart);
+        }
+        double max = 0;
+        for (double b : budgets) {
+            if (b < 0) {
+                throw new IllegalArgumentException("Budget négatif : " + b);
+            }
+            max = Math.max(max, b);
+        }
+        int[] ordre = rechercher(s, max);
+        int nbAtteints = ordre.length;
+
+        List<Isochrone> isochrones = new ArrayList<>(budgets.length);
+        for (double b : budgets) {
+            // Zone : préfixe de l'ordre de traitement
+            int fin = 0;
+            while (fin < nbAtteints && this.valeurs.getDistance(ordre[fin]) <= b) {
+                fin++;
+            }
+            isochrones.add(isochrone(b, ordre, fin));
+        }
+        return isochrones;
+    }
+
+    /**
+     * Dijkstra borné : aucun nœud au-delà du budget n'entre dans le tas
+     * @return les nœuds traités, par distance croissante
+     */
+    private int[] rechercher(int s, double budget) {
+        GrapheCompact g = this.graphe;
+        ValeursIndexees v = this.valeurs;
+        v.reinitialiser();
+        TasBinaire Q = this.tas;
+        Q.vider();
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("Isochrones") : null;
+        int[] ordre = new int[16];
+        int nb = 0;
+        v.setDistance(s, 0);
+        Q.insererOuDiminuer(s, 0);
+        if (Metriques.ACTIVES) {
+            mesure.insertionsTas++;
+        }
+
+        while (!Q.estVide()) {
+            int u = Q.extraireMin();
+            v.marquer(u);
+            if (nb == ordre.length) {
+                ordre = Arrays.copyOf(ordre, 2 * nb);
+            }
+            ordre[nb++] = u;
+            if (Metriques.ACTIVES) {
+                mesure.extractionsTas++;
+                mesure.noeudsTraites++;
+            }
+            double du = v.getDistance(u);
+            for (int a = g.debut(u), fin = g.fin(u); a < fin; a++) {
+                int w = g.cible(a);
+                if (v.estMarque(w)) {
+                    continue;
+                }
+                double d = du + g.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (d <= budget && d < v.getDistance(w)) {
+                    v.setDistance(w, d);
+                    v.setParentIndice(w, u);
+                    Q.insererOuDiminuer(w, d);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        if (Metriques.ACTIVES) {
+            Metriques.terminer(mesure);
+        }
+        return Arrays.copyOf(ordre, nb);
+    }
+
+    /**
+     * Isochrone d'un budget à partir des fin premiers nœuds traités
+     */
+    private Isochrone isochrone(double budget, int[] ordre, int fin) {
+        GrapheCompact g = this.graphe;
+        List<String> noeuds = new ArrayList<>(fin);
+        List<ArcFrontiere> frontiere = new ArrayList<>();
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < fin; i++) {
+            int u = ordre[i];
+            noeuds.add(g.nom(u));
+            if (!Double.isNaN(this.x[u])) {
+                points.add(new double[]{this.x[u], this.y[u]});
+            }
+            double du = this.valeurs.getDistance(u);
+            for (int a = g.debut(u), f = g.fin(u); a < f; a++) {
+                int w = g.cible(a);
+                if (this.valeurs.getDistance(w) <= budget) {
+                    continue;
+                }
+                double fraction = (g.cout(a) > 0) ? (budget - du) / g.cout(a) : 0;
+                frontiere.add(new ArcFrontiere(g.nom(u), g.nom(w), g.nomLigne(g.ligne(a)), fraction));
+                if (!Double.isNaN(this.x[u]) && !Double.isNaN(this.x[w])) {
+                    points.add(new double[]{this.x[u] + fraction * (this.x[w] - this.x[u]),
+                            this.y[u] + fraction * (this.y[w] - this.y[u])});
+                }
+            }
+        }
+        return new Isochrone(budget, noeuds, frontiere, enveloppeConvexe(points));
+    }
+
+    /**
+     * Enveloppe convexe d'un ensemble de points (chaîne monotone d'Andrew)
+     * @param points les points {x, y}
+     * @return les sommets de l'enveloppe dans le sens trigonométrique, sans
+     *         points alignés (un ou deux points si l'ensemble est dégénéré)
+     */
+    static List<double[]> enveloppeConvexe(List<double[]> points) {
+        List<double[]> tries = new ArrayList<>(points);
+        tries.sort(Comparator.<double[]>comparingDouble(p -> p[0]).thenComparingDouble(p -> p[1]));
+        int n = tries.size();
+        if (n <= 1) {
+            return tries;
+        }
+        double[][] enveloppe = new double[2 * n][];
+        int k = 0;
+        // Bord inférieur
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && produitVectoriel(enveloppe[k - 2], enveloppe[k - 1], tries.get(i)) <= 0) {
+                k--;
+            }
+            enveloppe[k++] = tries.get(i);
+        }
+        // Bord supérieur
+        for (int i = n - 2, bas = k + 1; i >= 0; i--) {
+            while (k >= bas && produitVectoriel(enveloppe[k - 2], enveloppe[k - 1], tries.get(i)) <= 0) {
+                k--;
+            }
+            enveloppe[k++] = tries.get(i);
+        }
+        // Le dernier point est le premier ; des points tous confondus n'en laissent qu'un
+        List<double[]> resultat = new ArrayList<>(Arrays.asList(enveloppe).subList(0, k - 1));
+        if (resultat.size() == 2 && Arrays.equals(resultat.get(0), resultat.get(1))) {
+            resultat.remove(1);
+        }
+        return resultat;
+    }
+
+    /**
+     * Produit vectoriel (a - o) x (b - o) : positif si o, a, b tournent à gauche
+     */
+    private static double produitVectoriel(double[] o, double[] a, double[] b) {
+        return (a[0] - o[0]) * (b[1] - o[1]) - (a[1] - o[1]) * (b[0] - o[0]);
+    }
+}
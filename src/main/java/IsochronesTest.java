@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests unitaires pour la classe Isochrones
+ */
+public class IsochronesTest {
+
+    private Reseau reseau;
+
+    @BeforeEach
+    public void setUp() {
+        // A (0,0) - B (10,0) - C (20,0) en 10 dans les deux sens, B -> D (10,10) en 30
+        GrapheListe graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 10, "1");
+        graphe.ajouterArc("B", "A", 10, "1");
+        graphe.ajouterArc("B", "C", 10, "1");
+        graphe.ajouterArc("C", "B", 10, "1");
+        graphe.ajouterArc("B", "D", 30, "2");
+        Map<String, double[]> coordonnees = new HashMap<>();
+        coordonnees.put("A", new double[]{0, 0});
+        coordonnees.put("B", new double[]{10, 0});
+        coordonnees.put("C", new double[]{20, 0});
+        coordonnees.put("D", new double[]{10, 10});
+        reseau = new Reseau(graphe, new HashMap<>(), coordonnees);
+    }
+
+    @Test
+    public void testPlusieursBudgets() {
+        List<Isochrones.Isochrone> isochrones = new Isochrones(reseau).calculer("A", 15, 5, 100);
+        assertEquals(3, isochrones.size());
+
+        Isochrones.Isochrone cinq = isochrones.get(1);
+        assertEquals(5, cinq.getBudget(), 0.001);
+        assertEquals(List.of("A"), cinq.getNoeuds());
+        assertEquals(1, cinq.getFrontiere().size());
+        assertEquals("B", cinq.getFrontiere().get(0).getDestination());
+        assertEquals(0.5, cinq.getFrontiere().get(0).getFraction(), 0.001);
+        assertEquals(2, cinq.getEnveloppe().size(), "Zone dégénérée : le segment de A à mi-chemin de B");
+
+        Isochrones.Isochrone quinze = isochrones.get(0);
+        assertEquals(List.of("A", "B"), quinze.getNoeuds());
+        assertEquals(2, quinze.getFrontiere().size());
+        for (Isochrones.ArcFrontiere arc : quinze.getFrontiere()) {
+            assertEquals("B", arc.getOrigine());
+            assertEquals(arc.getDestination().equals("C") ? 0.5 : 5.0 / 30, arc.getFraction(), 0.001);
+        }
+        // Triangle A, mi-chemin de C et un sixième du chemin vers D
+        List<double[]> enveloppe = quinze.getEnveloppe();
+        assertEquals(3, enveloppe.size());
+        assertArrayEquals(new double[]{0, 0}, enveloppe.get(0), 0.001);
+        assertArrayEquals(new double[]{15, 0}, enveloppe.get(1), 0.001);
+        assertArrayEquals(new double[]{10, 10.0 / 6}, enveloppe.get(2), 0.001);
+
+        Isochrones.Isochrone tout = isochrones.get(2);
+        assertEquals(4, tout.getNoeuds().size());
+        assertTrue(tout.getFrontiere().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> new Isochrones(reseau).calculer("Z", 10));
+        assertThrows(IllegalArgumentException.class, () -> new Isochrones(reseau).calculer("A", -1));
+    }
+
+    @Test
+    public void testEnveloppeConvexe() {
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            for (int j = 0; j <= 4; j++) {
+                points.add(new double[]{i, j});
+            }
+        }
+        List<double[]> enveloppe = Isochrones.enveloppeConvexe(points);
+        assertEquals(4, enveloppe.size(), "Les points alignés sur les bords sont retirés");
+        assertArrayEquals(new double[]{0, 0}, enveloppe.get(0), 0.001);
+        assertArrayEquals(new double[]{4, 0}, enveloppe.get(1), 0.001);
+        assertArrayEquals(new double[]{4, 4}, enveloppe.get(2), 0.001);
+        assertArrayEquals(new double[]{0, 4}, enveloppe.get(3), 0.001);
+        assertEquals(1, Isochrones.enveloppeConvexe(List.of(new double[]{1, 1}, new double[]{1, 1})).size());
+    }
+
+    @Test
+    public void testMetro() throws IOException {
+        Reseau metro = LireReseau.lireReseau("src/main/java/metro.txt");
+        Valeurs attendu = new Dijkstra().resoudre(metro.getGraphe(), "100");
+        double[] budgets = {60, 120, 180, 240};
+        List<Isochrones.Isochrone> isochrones = new Isochrones(metro).calculer("100", budgets);
+        for (int i = 0; i < budgets.length; i++) {
+            Set<String> zone = new HashSet<>();
+            for (String noeud : metro.getGraphe().listeNoeuds()) {
+                if (attendu.getValeur(noeud) <= budgets[i]) {
+                    zone.add(noeud);
+                }
+            }
+            Isochrones.Isochrone iso = isochrones.get(i);
+            assertEquals(zone, new HashSet<>(iso.getNoeuds()), "Budget " + budgets[i]);
+            for (Isochrones.ArcFrontiere arc : iso.getFrontiere()) {
+                assertTrue(zone.contains(arc.getOrigine()));
+                assertFalse(zone.contains(arc.getDestination()));
+                assertTrue(arc.getFraction() >= 0 && arc.getFraction() < 1);
+            }
+            assertTrue(iso.getEnveloppe().size() >= 3);
+        }
+    }
+}
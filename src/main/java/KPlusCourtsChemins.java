@@ -0,0 +1,348 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Classe implémentant la recherche des k plus courts chemins sans boucle (Yen)
+ * - un Dijkstra sur le graphe inverse depuis l'arrivée donne l'arbre des
+ *   suffixes : la distance exacte de chaque nœud à l'arrivée, et le suffixe
+ *   optimal qui la réalise
+ * - chaque chemin candidat est une racine (préfixe d'un chemin déjà retenu)
+ *   suivie d'une déviation depuis le nœud d'embranchement ; les arcs déjà
+ *   empruntés après la même racine et les nœuds de la racine sont interdits
+ * - si le suffixe optimal du nœud d'embranchement n'emprunte aucun nœud ni arc
+ *   interdit, il est la déviation (aucune recherche) ; sinon la déviation est
+ *   calculée par A*, avec la distance à l'arrivée comme heuristique (exacte
+ *   sans interdits, donc admissible et cohérente avec)
+ * - un chemin n'est dévié qu'à partir de son propre embranchement (Lawler) :
+ *   les racines plus courtes ont déjà été essayées pour son parent
+ * Les chemins sont des suites d'arcs : deux arcs parallèles de lignes
+ * différentes donnent deux chemins distincts.
+ */
+public class KPlusCourtsChemins {
+
+    /** Graphe compact de la recherche */
+    private final GrapheCompact graphe;
+
+    /** Graphe inverse (mêmes indices de nœuds) pour l'arbre des suffixes */
+    private final GrapheCompact inverse;
+
+    /** Distances vers l'arrivée (arbre des suffixes de la dernière arrivée) */
+    private final ValeursIndexees versArrivee;
+
+    /** Arrivée de l'arbre des suffixes courant (-1 : aucun) */
+    private int arriveeSuffixes = -1;
+
+    /** Arcs et nœuds interdits pour la déviation courante (= epoque) */
+    private final int[] arcInterdit;
+    private final int[] noeudInterdit;
+    private int epoque;
+
+    /** Tableaux de l'A* des déviations */
+    private final double[] distances;
+    private final int[] arcParent;
+    private final int[] vus;
+    private final int[] traites;
+    private final TasBinaire tas;
+
+    /** Nombre de recherches A* faites par le dernier appel */
+    private int nbRecherches;
+
+    /**
+     * Chemin candidat ou retenu : suite d'arcs, coût et position de son embranchement
+     */
+    private static class Candidat implements Comparable<Candidat> {
+        final int[] arcs;
+        final double cout;
+        final int embranchement;
+
+        Candidat(int[] arcs, double cout, int embranchement) {
+            this.arcs = arcs;
+            this.cout = cout;
+            this.embranchement = embranchement;
+        }
+
+        @Override
+        public int compareTo(Candidat autre) {
+            int c = Double.compare(this.cout, autre.cout);
+            return c != 0 ? c : Integer.compare(this.arcs.length, autre.arcs.length);
+        }
+    }
+
+    /**
+     * Constructeur
+     * @param g le graphe (coûts positifs ou nuls)
+     */
+    public KPlusCourtsChemins(Graphe g) {
+        this.graphe = GrapheCompact.depuis(g);
+        this.inverse = this.graphe.inverse();
+        int n = this.graphe.nbNoeuds();
+        this.versArrivee = new ValeursIndexees(this.inverse);
+        this.arcInterdit = new int[this.graphe.nbArcs()];
+        this.noeudInterdit = new int[n];
+        this.distances = new double[n];
+        this.arcParent = new int[n];
+        this.vus = new int[n];
+        this.traites = new int[n];
+        this.tas = new TasBinaire(n);
+    }
+
+    /**
+     * Calcule les k plus courts chemins sans boucle entre deux nœuds
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @param k le nombre de chemins voulus
+     * @return au plus k chemins, par coût croissant (avec leurs lignes)
+     */
+    public List<Chemin> chemins(String depart, String arrivee, int k) {
+        int s = indice(depart);
+        int t = indice(arrivee);
+        GrapheCompact g = this.graphe;
+        List<Chemin> resultat = new ArrayList<>();
+        this.nbRecherches = 0;
+        if (k <= 0) {
+            return resultat;
+        }
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("KPlusCourtsChemins") : null;
+        if (t != this.arriveeSuffixes) {
+            new Dijkstra().resoudre(this.inverse, t, -1, this.versArrivee);
+            this.arriveeSuffixes = t;
+        }
+        if (this.versArrivee.getDistance(s) == Double.MAX_VALUE) {
+            if (Metriques.ACTIVES) {
+                Metriques.terminer(mesure);
+            }
+            return resultat;
+        }
+
+        List<Candidat> retenus = new ArrayList<>();
+        PriorityQueue<Candidat> candidats = new PriorityQueue<>();
+        Set<String> connus = new HashSet<>();
+        Candidat premier = new Candidat(suffixe(s, t, new int[0], 0), this.versArrivee.getDistance(s), 0);
+        connus.add(Arrays.toString(premier.arcs));
+        retenus.add(premier);
+
+        while (retenus.size() < k) {
+            Candidat precedent = retenus.get(retenus.size() - 1);
+            int[] arcs = precedent.arcs;
+            double coutRacine = 0;
+            for (int i = 0; i < precedent.embranchement; i++) {
+                coutRacine += g.cout(arcs[i]);
+            }
+            for (int i = precedent.embranchement; i < arcs.length; i++) {
+                int embranchement = (i == 0) ? s : g.cible(arcs[i - 1]);
+                this.epoque++;
+                // Arcs empruntés après la même racine par les chemins retenus
+                for (Candidat c : retenus) {
+                    if (c.arcs.length > i && memeRacine(c.arcs, arcs, i)) {
+                        this.arcInterdit[c.arcs[i]] = this.epoque;
+                    }
+                }
+                // Nœuds de la racine, hors embranchement
+                if (i > 0) {
+                    this.noeudInterdit[s] = this.epoque;
+                }
+                for (int j = 0; j < i - 1; j++) {
+                    this.noeudInterdit[g.cible(arcs[j])] = this.epoque;
+                }
+
+                int[] deviation = suffixeLibre(embranchement, t)
+                        ? suffixe(embranchement, t, arcs, i)
+                        : rechercher(embranchement, t, arcs, i, mesure);
+                if (deviation != null) {
+                    double cout = coutRacine;
+                    for (int j = i; j < deviation.length; j++) {
+                        cout += g.cout(deviation[j]);
+                    }
+                    if (connus.add(Arrays.toString(deviation))) {
+                        candidats.add(new Candidat(deviation, cout, i));
+                    }
+                }
+                coutRacine += g.cout(arcs[i]);
+            }
+            if (candidats.isEmpty()) {
+                break;
+            }
+            retenus.add(candidats.poll());
+        }
+
+        for (Candidat c : retenus) {
+            resultat.add(chemin(s, c));
+        }
+        if (Metriques.ACTIVES) {
+            mesure.passes = this.nbRecherches;
+            Metriques.terminer(mesure);
+        }
+        return resultat;
+    }
+
+    /**
+     * Nombre de recherches A* faites par le dernier appel (les autres
+     * déviations ont été lues dans l'arbre des suffixes)
+     * @return le nombre de recherches
+     */
+    public int getNbRecherches() {
+        return this.nbRecherches;
+    }
+
+    /**
+     * Vrai si les i premiers arcs des deux chemins sont les mêmes
+     */
+    private static boolean memeRacine(int[] a, int[] b, int i) {
+        for (int j = i - 1; j >= 0; j--) {
+            if (a[j] != b[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Arc suivant de u sur son plus court chemin vers l'arrivée (arbre des suffixes)
+     */
+    private int arcSuivant(int u) {
+        int v = this.versArrivee.getParentIndice(u);
+        return this.graphe.arcEntre(u, v);
+    }
+
+    /**
+     * Vrai si le suffixe optimal de u n'emprunte aucun nœud ni arc interdit
+     */
+    private boolean suffixeLibre(int u, int t) {
+        while (u != t) {
+            int a = arcSuivant(u);
+            if (this.arcInterdit[a] == this.epoque) {
+                return false;
+            }
+            u = this.graphe.cible(a);
+            if (this.noeudInterdit[u] == this.epoque) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Racine (i premiers arcs) suivie du suffixe optimal de u
+     */
+    private int[] suffixe(int u, int t, int[] racine, int i) {
+        int longueur = i;
+        for (int v = u; v != t; v = this.versArrivee.getParentIndice(v)) {
+            longueur++;
+        }
+        int[] arcs = Arrays.copyOf(racine, longueur);
+        for (int v = u, j = i; v != t; j++) {
+            arcs[j] = arcSuivant(v);
+            v = this.graphe.cible(arcs[j]);
+        }
+        return arcs;
+    }
+
+    /**
+     * A* de u vers t sans les nœuds ni arcs interdits
+     * @return la racine (i premiers arcs) suivie de la déviation, ou null si t est inaccessible
+     */
+    private int[] rechercher(int u, int t, int[] racine, int i, Metriques.Mesure mesure) {
+        GrapheCompact g = this.graphe;
+        this.nbRecherches++;
+        TasBinaire Q = this.tas;
+        Q.vider();
+        int e = this.epoque;
+        this.distances[u] = 0;
+        this.arcParent[u] = -1;
+        this.vus[u] = e;
+        Q.insererOuDiminuer(u, this.versArrivee.getDistance(u));
+
+        while (!Q.estVide()) {
+            int x = Q.extraireMin();
+            this.traites[x] = e;
+            if (Metriques.ACTIVES) {
+                mesure.noeudsTraites++;
+                mesure.extractionsTas++;
+            }
+            if (x == t) {
+                int longueur = i;
+                for (int v = t; v != u; v = origine(this.arcParent[v])) {
+                    longueur++;
+                }
+                int[] arcs = Arrays.copyOf(racine, longueur);
+                int v = t;
+                for (int j = longueur - 1; j >= i; j--) {
+                    arcs[j] = this.arcParent[v];
+                    v = origine(arcs[j]);
+                }
+                return arcs;
+            }
+            for (int a = g.debut(x), fin = g.fin(x); a < fin; a++) {
+                int y = g.cible(a);
+                if (this.arcInterdit[a] == e || this.noeudInterdit[y] == e || this.traites[y] == e) {
+                    continue;
+                }
+                double h = this.versArrivee.getDistance(y);
+                if (h == Double.MAX_VALUE) {
+                    continue;
+                }
+                double d = this.distances[x] + g.cout(a);
+                if (Metriques.ACTIVES) {
+                    mesure.arcsRelaches++;
+                }
+                if (this.vus[y] != e || d < this.distances[y]) {
+                    this.vus[y] = e;
+                    this.distances[y] = d;
+                    this.arcParent[y] = a;
+                    Q.insererOuDiminuer(y, d + h);
+                    if (Metriques.ACTIVES) {
+                        mesure.diminutions++;
+                        mesure.insertionsTas++;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nœud de départ d'un arc (recherche dichotomique dans les débuts du graphe compact)
+     */
+    private int origine(int a) {
+        int bas = 0;
+        int haut = this.graphe.nbNoeuds() - 1;
+        while (bas < haut) {
+            int milieu = (bas + haut + 1) >>> 1;
+            if (this.graphe.debut(milieu) <= a) {
+                bas = milieu;
+            } else {
+                haut = milieu - 1;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Chemin (nœuds, lignes, coût) d'un candidat
+     */
+    private Chemin chemin(int s, Candidat c) {
+        List<String> noeuds = new ArrayList<>(c.arcs.length + 1);
+        List<String> lignes = new ArrayList<>(c.arcs.length);
+        noeuds.add(this.graphe.nom(s));
+        for (int a : c.arcs) {
+            noeuds.add(this.graphe.nom(this.graphe.cible(a)));
+            lignes.add(this.graphe.nomLigne(this.graphe.ligne(a)));
+        }
+        return new Chemin(noeuds, lignes, c.cout);
+    }
+
+    /**
+     * Indice d'un nœud du graphe, avec contrôle
+     */
+    private int indice(String nom) {
+        int u = this.graphe.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+}
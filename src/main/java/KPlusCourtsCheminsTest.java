@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests unitaires pour la classe KPlusCourtsChemins
+ */
+public class KPlusCourtsCheminsTest {
+
+    @Test
+    public void testPetitGraphe() {
+        // Exemple classique de Yen : C -> H
+        GrapheListe g = new GrapheListe();
+        g.ajouterArc("C", "D", 3);
+        g.ajouterArc("C", "E", 2);
+        g.ajouterArc("D", "F", 4);
+        g.ajouterArc("E", "D", 1);
+        g.ajouterArc("E", "F", 2);
+        g.ajouterArc("E", "G", 3);
+        g.ajouterArc("F", "G", 2);
+        g.ajouterArc("F", "H", 1);
+        g.ajouterArc("G", "H", 2);
+
+        List<Chemin> chemins = new KPlusCourtsChemins(g).chemins("C", "H", 3);
+        assertEquals(3, chemins.size());
+        assertEquals(List.of("C", "E", "F", "H"), chemins.get(0).getNoeuds());
+        assertEquals(5, chemins.get(0).getCout(), 0.001);
+        assertEquals(List.of("C", "E", "G", "H"), chemins.get(1).getNoeuds());
+        assertEquals(7, chemins.get(1).getCout(), 0.001);
+        assertEquals(8, chemins.get(2).getCout(), 0.001);
+
+        assertEquals(7, new KPlusCourtsChemins(g).chemins("C", "H", 100).size(), "Tous les chemins sans boucle");
+        assertTrue(new KPlusCourtsChemins(g).chemins("H", "C", 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new KPlusCourtsChemins(g).chemins("C", "Z", 3));
+    }
+
+    @Test
+    public void testGraphesAleatoires() {
+        Random random = new Random(7);
+        for (int essai = 0; essai < 30; essai++) {
+            GrapheListe g = new GrapheListe();
+            int n = 7;
+            for (int i = 0; i < n; i++) {
+                g.ajouterNoeud("N" + i);
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i != j && random.nextDouble() < 0.4) {
+                        g.ajouterArc("N" + i, "N" + j, 1 + random.nextInt(20));
+                    }
+                }
+            }
+            List<Double> attendus = new ArrayList<>();
+            enumerer(g, "N0", "N6", new HashSet<>(Set.of("N0")), 0, attendus);
+            Collections.sort(attendus);
+
+            List<Chemin> chemins = new KPlusCourtsChemins(g).chemins("N0", "N6", 10);
+            assertEquals(Math.min(10, attendus.size()), chemins.size());
+            Set<List<String>> distincts = new HashSet<>();
+            for (int i = 0; i < chemins.size(); i++) {
+                Chemin chemin = chemins.get(i);
+                assertEquals(attendus.get(i), chemin.getCout(), 0.001, "Essai " + essai + ", chemin " + i);
+                assertEquals(chemin.getNoeuds().size(), new HashSet<>(chemin.getNoeuds()).size(), "Sans boucle");
+                assertTrue(distincts.add(chemin.getNoeuds()));
+            }
+        }
+    }
+
+    /**
+     * Coûts de tous les chemins sans boucle (graphe sans arcs parallèles)
+     */
+    private static void enumerer(Graphe g, String u, String t, Set<String> visites, double cout, List<Double> couts) {
+        if (u.equals(t)) {
+            couts.add(cout);
+            return;
+        }
+        for (Arc arc : g.suivants(u)) {
+            if (visites.add(arc.getDest())) {
+                enumerer(g, arc.getDest(), t, visites, cout + arc.getCout(), couts);
+                visites.remove(arc.getDest());
+            }
+        }
+    }
+
+    @Test
+    public void testMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        KPlusCourtsChemins yen = new KPlusCourtsChemins(metro);
+        Dijkstra dijkstra = new Dijkstra();
+        for (String[] trajet : new String[][]{{"1", "197"}, {"25", "45"}, {"143", "283"}}) {
+            List<Chemin> chemins = yen.chemins(trajet[0], trajet[1], 10);
+            assertEquals(10, chemins.size());
+            assertEquals(dijkstra.resoudre(metro, trajet[0]).getValeur(trajet[1]), chemins.get(0).getCout(), 0.001);
+            for (int i = 0; i < chemins.size(); i++) {
+                Chemin chemin = chemins.get(i);
+                if (i > 0) {
+                    assertTrue(chemin.getCout() >= chemins.get(i - 1).getCout());
+                }
+                assertEquals(trajet[0], chemin.getNoeuds().get(0));
+                assertEquals(trajet[1], chemin.getNoeuds().get(chemin.getNoeuds().size() - 1));
+                assertEquals(chemin.getNoeuds().size() - 1, chemin.getLignes().size());
+                assertEquals(chemin.getNoeuds().size(), new HashSet<>(chemin.getNoeuds()).size(), "Sans boucle");
+            }
+        }
+    }
+}
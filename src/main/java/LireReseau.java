@@ -17,8 +17,20 @@ public class LireReseau {
      * @throws IOException si erreur de lecture du fichier
      */
     public static Graphe lire(String fichier) throws IOException {
+        return lireReseau(fichier).getGraphe();
+    }
+
+    /**
+     * Lit un fichier de réseau et construit le graphe correspondant,
+     * en conservant le nom et les coordonnées de chaque station
+     * @param fichier le nom du fichier contenant le plan du réseau
+     * @return le réseau (graphe, noms et coordonnées des stations)
+     * @throws IOException si erreur de lecture du fichier
+     */
+    public static Reseau lireReseau(String fichier) throws IOException {
         GrapheListe graphe = new GrapheListe();
         Map<String, String> stations = new HashMap<>(); // id -> nom
+        Map<String, double[]> coordonnees = new HashMap<>(); // id -> {x, y}
 
         BufferedReader reader = new BufferedReader(new FileReader(fichier));
         String ligne;
@@ -51,9 +63,14 @@ public class LireReseau {
                     String idStation = parties[0].trim();
                     String nomStation = parties[1].trim();
                     stations.put(idStation, nomStation);
+                    if (parties.length >= 4) {
+                        double x = Double.parseDouble(parties[2].trim());
+                        double y = Double.parseDouble(parties[3].trim());
+                        coordonnees.put(idStation, new double[]{x, y});
+                    }
 
                     // Ajouter la station au graphe (utilise l'ID comme nom de nœud)
-                    if (!graphe.listeNoeuds().contains(idStation)) {
+                    if (!graphe.contientNoeud(idStation)) {
                         // On va utiliser une méthode pour ajouter des nœuds vides
                         graphe.ajouterNoeud(idStation);
                     }
@@ -75,7 +92,7 @@ public class LireReseau {
         }
 
         reader.close();
-        return graphe;
+        return new Reseau(graphe, stations, coordonnees);
     }
 
     /**
@@ -0,0 +1,616 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe LireReseauMappe - chargement de gros fichiers de réseau par projection
+ * en mémoire (NIO), sans passer par des lignes de type String
+ * - le fichier est projeté par morceaux (un MappedByteBuffer est limité à 2 Go),
+ *   chaque morceau se termine sur une fin de ligne
+ * - les identifiants, temps et numéros de ligne sont lus directement dans les octets
+ *   et rangés dans des tableaux primitifs ; une chaîne n'est créée que pour un
+ *   identifiant ou une ligne rencontré pour la première fois
+ * - le graphe est construit en une fois au format compact (GrapheCompact.construire)
+ * Les formats sont ceux de LireReseau (fichier de réseau) et de GrapheListe
+ * (fichier simple « noeud1 noeud2 cout » séparés par des tabulations) ;
+ * le graphe obtenu est le même, nœuds et arcs dans le même ordre.
+ */
+public class LireReseauMappe {
+
+    /** Taille maximale d'un morceau projeté en mémoire */
+    static final int TAILLE_MORCEAU = 1 << 30;
+
+    /** Puissances de 10 exactement représentables en double */
+    private static final double[] PUISSANCES_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** Sections d'un fichier de réseau */
+    private static final int AUCUNE = 0;
+    private static final int STATIONS = 1;
+    private static final int CONNEXIONS = 2;
+
+    /** Format lu : fichier de réseau (true) ou fichier simple (false) */
+    private final boolean formatReseau;
+
+    /** Section en cours de lecture (fichier de réseau) */
+    private int section = AUCUNE;
+
+    /**
+     * Lecture découpée (LireReseauParallele) : position dans le fichier de la ligne qui
+     * suit l'en-tête des connexions (-1 tant qu'il n'est pas lu), et indicateur
+     * d'en-tête de section rencontré au milieu des connexions
+     */
+    private boolean arretAuxConnexions;
+    long positionConnexions = -1;
+    boolean autreSection;
+
+    /** Identifiants des nœuds, dans l'ordre d'apparition */
+    final Dictionnaire noeuds = new Dictionnaire();
+
+    /** Noms des lignes, dans l'ordre d'apparition */
+    final Dictionnaire lignes = new Dictionnaire();
+
+    /** Arcs lus (tableaux agrandis au besoin) */
+    int nbArcs;
+    int[] origines;
+    int[] destinations;
+    double[] couts;
+    short[] lignesArcs;
+
+    /** Nom et coordonnées des stations (id -> nom, id -> {x, y}) */
+    final Map<String, String> nomsStations = new HashMap<>();
+    final Map<String, double[]> coordonnees = new HashMap<>();
+
+    /** Octets du morceau en cours, et tampon pour décoder les noms de stations */
+    private MappedByteBuffer octets;
+    private byte[] tampon = new byte[256];
+
+    LireReseauMappe(boolean formatReseau, long tailleFichier) {
+        this.formatReseau = formatReseau;
+        // Estimation grossière : une connexion pour 32 octets, au plus 2^20 arcs pour commencer
+        int capacite = (int) Math.min(1 << 20, Math.max(16, tailleFichier / 16));
+        this.origines = new int[capacite];
+        this.destinations = new int[capacite];
+        this.couts = new double[capacite];
+        this.lignesArcs = new short[capacite];
+    }
+
+    /**
+     * Lit un fichier de réseau (même format que LireReseau.lireReseau)
+     * @param fichier le nom du fichier contenant le plan du réseau
+     * @return le réseau, dont le graphe est un GrapheCompact
+     * @throws IOException si erreur de lecture du fichier
+     */
+    public static Reseau lireReseau(String fichier) throws IOException {
+        return lireReseau(fichier, TAILLE_MORCEAU);
+    }
+
+    /**
+     * Lit un fichier de réseau en le projetant par morceaux d'au plus tailleMorceau octets
+     */
+    static Reseau lireReseau(String fichier, int tailleMorceau) throws IOException {
+        LireReseauMappe lecteur = lireFichier(fichier, true, tailleMorceau);
+        return new Reseau(lecteur.construireGraphe(), lecteur.nomsStations, lecteur.coordonnees);
+    }
+
+    /**
+     * Lit un fichier simple (noeud1 noeud2 cout par ligne, séparés par des tabulations),
+     * comme le constructeur GrapheListe(String)
+     * @param fichier le nom du fichier
+     * @return le graphe compact correspondant
+     * @throws IOException si erreur de lecture du fichier
+     */
+    public static GrapheCompact lireArcs(String fichier) throws IOException {
+        return lireArcs(fichier, TAILLE_MORCEAU);
+    }
+
+    /**
+     * Lit un fichier simple en le projetant par morceaux d'au plus tailleMorceau octets
+     */
+    static GrapheCompact lireArcs(String fichier, int tailleMorceau) throws IOException {
+        return lireFichier(fichier, false, tailleMorceau).construireGraphe();
+    }
+
+    /**
+     * Projette le fichier morceau par morceau et analyse chaque ligne complète
+     */
+    private static LireReseauMappe lireFichier(String fichier, boolean formatReseau, int tailleMorceau)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(fichier), StandardOpenOption.READ)) {
+            long taille = canal.size();
+            LireReseauMappe lecteur = new LireReseauMappe(formatReseau, taille);
+            lecteur.lirePlage(canal, 0, taille, tailleMorceau);
+            return lecteur;
+        }
+    }
+
+    /**
+     * Lecteur des seules lignes de stations et commentaires du début d'un fichier
+     * de réseau : la lecture s'arrête juste après l'en-tête des connexions
+     */
+    static LireReseauMappe lecteurEnTete() {
+        LireReseauMappe lecteur = new LireReseauMappe(true, 0);
+        lecteur.arretAuxConnexions = true;
+        return lecteur;
+    }
+
+    /**
+     * Lecteur d'une partie de la section des connexions d'un fichier de réseau
+     */
+    static LireReseauMappe lecteurConnexions(long taillePlage) {
+        LireReseauMappe lecteur = new LireReseauMappe(true, taillePlage);
+        lecteur.section = CONNEXIONS;
+        return lecteur;
+    }
+
+    /**
+     * Projette les octets debut .. fin-1 du fichier morceau par morceau et analyse
+     * chaque ligne complète (debut doit être un début de ligne)
+     */
+    void lirePlage(FileChannel canal, long debut, long fin, int tailleMorceau) throws IOException {
+        long position = debut;
+        while (position < fin && this.positionConnexions == -1) {
+            int longueur = (int) Math.min(tailleMorceau, fin - position);
+            MappedByteBuffer morceau = canal.map(FileChannel.MapMode.READ_ONLY, position, longueur);
+            int finMorceau = longueur;
+            if (position + longueur < fin) {
+                // Le morceau s'arrête après sa dernière fin de ligne, la suite est relue avec le suivant
+                while (finMorceau > 0 && morceau.get(finMorceau - 1) != '\n') {
+                    finMorceau--;
+                }
+                if (finMorceau == 0) {
+                    throw new IOException("Ligne de plus de " + tailleMorceau + " octets");
+                }
+            }
+            analyser(morceau, position, finMorceau);
+            position += finMorceau;
+        }
+    }
+
+    /**
+     * Analyse les lignes des octets 0 .. fin-1 d'un morceau projeté à partir de
+     * la position donnée du fichier
+     */
+    private void analyser(MappedByteBuffer morceau, long position, int fin) {
+        this.octets = morceau;
+        int debut = 0;
+        while (debut < fin) {
+            int finLigne = debut;
+            while (finLigne < fin && morceau.get(finLigne) != '\n') {
+                finLigne++;
+            }
+            if (this.formatReseau) {
+                analyserLigneReseau(debut, finLigne);
+            } else {
+                analyserLigneSimple(debut, finLigne);
+            }
+            debut = finLigne + 1;
+            if (this.arretAuxConnexions && this.section == CONNEXIONS) {
+                this.positionConnexions = position + Math.min(debut, fin);
+                break;
+            }
+        }
+        this.octets = null;
+    }
+
+    /**
+     * Ligne d'un fichier de réseau : commentaire, station ou connexion
+     */
+    private void analyserLigneReseau(int debut, int fin) {
+        debut = sauterBlancs(debut, fin);
+        fin = retirerBlancs(debut, fin);
+        // Comme String.split, on ignore les champs vides en fin de ligne (« id: », « id:nom:x: »)
+        while (fin > debut && this.octets.get(fin - 1) == ':') {
+            fin--;
+        }
+        if (debut == fin || this.octets.get(debut) == '%') {
+            // Les commentaires sont rares : on peut se permettre une chaîne pour repérer les sections
+            String commentaire = chaine(debut, fin);
+            if (commentaire.contains("stations") || commentaire.contains("Stations")) {
+                this.autreSection |= (this.section == CONNEXIONS);
+                this.section = STATIONS;
+            } else if (commentaire.contains("connexions") || commentaire.contains("Connexions")) {
+                this.section = CONNEXIONS;
+            }
+            return;
+        }
+
+        // Découpage sur les quatre premiers ':'
+        int sep1 = chercher(':', debut, fin);
+        int sep2 = chercher(':', sep1 + 1, fin);
+        int sep3 = chercher(':', sep2 + 1, fin);
+        int sep4 = chercher(':', sep3 + 1, fin);
+
+        if (this.section == STATIONS) {
+            // Format: id_station:nom_station:x:y:num_ligne1,num_ligne2,...
+            if (sep1 == fin) {
+                return;
+            }
+            int station = this.noeuds.indiceOuAjout(this.octets, debut, sep1);
+            String id = this.noeuds.nom(station);
+            this.nomsStations.put(id, chaine(sep1 + 1, sep2));
+            if (sep3 < fin) {
+                double x = lireNombre(sep2 + 1, sep3);
+                double y = lireNombre(sep3 + 1, sep4);
+                this.coordonnees.put(id, new double[]{x, y});
+            }
+        } else if (this.section == CONNEXIONS) {
+            // Format: id_station_depart:id_station_arrivee:temps:num_ligne
+            if (sep3 == fin) {
+                return;
+            }
+            int depart = this.noeuds.indiceOuAjout(this.octets, debut, sep1);
+            int arrivee = this.noeuds.indiceOuAjout(this.octets, sep1 + 1, sep2);
+            double temps = lireNombre(sep2 + 1, sep3);
+            short ligne = identifiantLigne(sep3 + 1, sep4);
+
+            // Connexion bidirectionnelle, dans le même ordre que LireReseau
+            ajouterArc(depart, arrivee, temps, ligne);
+            ajouterArc(arrivee, depart, temps, ligne);
+        }
+    }
+
+    /**
+     * Ligne d'un fichier simple : noeud1, noeud2 et coût séparés par des tabulations
+     */
+    private void analyserLigneSimple(int debut, int fin) {
+        debut = sauterBlancs(debut, fin);
+        fin = retirerBlancs(debut, fin);
+        int tab1 = chercher('\t', debut, fin);
+        int tab2 = chercher('\t', tab1 + 1, fin);
+        if (tab2 >= fin) {
+            return; // Ligne vide ou incomplète
+        }
+        int tab3 = chercher('\t', tab2 + 1, fin);
+        int depart = this.noeuds.indiceOuAjout(this.octets, debut, tab1);
+        int destination = this.noeuds.indiceOuAjout(this.octets, tab1 + 1, tab2);
+        ajouterArc(depart, destination, lireNombre(tab2 + 1, tab3), GrapheCompact.SANS_LIGNE);
+    }
+
+    /**
+     * Ajoute un arc aux tableaux, en les agrandissant si nécessaire
+     */
+    private void ajouterArc(int depart, int arrivee, double cout, short ligne) {
+        if (this.nbArcs == this.origines.length) {
+            int capacite = this.nbArcs + (this.nbArcs >> 1) + 16;
+            this.origines = Arrays.copyOf(this.origines, capacite);
+            this.destinations = Arrays.copyOf(this.destinations, capacite);
+            this.couts = Arrays.copyOf(this.couts, capacite);
+            this.lignesArcs = Arrays.copyOf(this.lignesArcs, capacite);
+        }
+        this.origines[this.nbArcs] = depart;
+        this.destinations[this.nbArcs] = arrivee;
+        this.couts[this.nbArcs] = cout;
+        this.lignesArcs[this.nbArcs] = ligne;
+        this.nbArcs++;
+    }
+
+    /**
+     * Construit le graphe compact à partir des arcs lus
+     */
+    private GrapheCompact construireGraphe() {
+        return GrapheCompact.construire(this.noeuds.noms(), this.nbArcs, this.origines, this.destinations,
+                this.couts, this.lignesArcs, this.lignes.noms());
+    }
+
+    /**
+     * Identifiant de la ligne écrite entre debut et fin (champ éventuellement entouré de blancs)
+     */
+    private short identifiantLigne(int debut, int fin) {
+        debut = sauterBlancs(debut, fin);
+        fin = retirerBlancs(debut, fin);
+        int id = this.lignes.indiceOuAjout(this.octets, debut, fin);
+        if (id > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop de lignes différentes (maximum " + Short.MAX_VALUE + ")");
+        }
+        return (short) id;
+    }
+
+    /**
+     * Lit un nombre décimal directement dans les octets
+     * Cas courant (chiffres, un point, au plus 15 chiffres) : mantisse entière divisée par
+     * une puissance de 10, toutes deux exactes, donc même résultat que Double.parseDouble.
+     * Les autres écritures (exposant, nombres très longs...) passent par Double.parseDouble.
+     */
+    private double lireNombre(int debut, int fin) {
+        debut = sauterBlancs(debut, fin);
+        fin = retirerBlancs(debut, fin);
+        int i = debut;
+        boolean negatif = false;
+        if (i < fin && (this.octets.get(i) == '-' || this.octets.get(i) == '+')) {
+            negatif = this.octets.get(i) == '-';
+            i++;
+        }
+        long mantisse = 0;
+        int nbChiffres = 0;
+        int nbDecimales = 0;
+        boolean point = false;
+        for (; i < fin; i++) {
+            byte c = this.octets.get(i);
+            if (c >= '0' && c <= '9' && nbChiffres < 15) {
+                mantisse = mantisse * 10 + (c - '0');
+                nbChiffres++;
+                if (point) {
+                    nbDecimales++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return Double.parseDouble(chaine(debut, fin));
+            }
+        }
+        if (nbChiffres == 0) {
+            return Double.parseDouble(chaine(debut, fin)); // Lève NumberFormatException
+        }
+        double valeur = (nbDecimales == 0) ? mantisse : mantisse / PUISSANCES_10[nbDecimales];
+        return negatif ? -valeur : valeur;
+    }
+
+    /**
+     * Position du premier octet c entre debut et fin, ou fin s'il n'y en a pas
+     */
+    private int chercher(char c, int debut, int fin) {
+        int i = Math.min(debut, fin);
+        while (i < fin && this.octets.get(i) != c) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Avance debut jusqu'au premier octet non blanc (comme String.trim)
+     */
+    private int sauterBlancs(int debut, int fin) {
+        while (debut < fin && estBlanc(this.octets.get(debut))) {
+            debut++;
+        }
+        return debut;
+    }
+
+    /**
+     * Recule fin jusqu'après le dernier octet non blanc
+     */
+    private int retirerBlancs(int debut, int fin) {
+        while (fin > debut && estBlanc(this.octets.get(fin - 1))) {
+            fin--;
+        }
+        return fin;
+    }
+
+    /**
+     * Octet blanc au sens de String.trim (les octets des caractères UTF-8 multi-octets sont négatifs)
+     */
+    private static boolean estBlanc(byte c) {
+        return c >= 0 && c <= ' ';
+    }
+
+    /**
+     * Chaîne UTF-8 écrite entre debut et fin, sans les blancs qui l'entourent
+     */
+    private String chaine(int debut, int fin) {
+        debut = sauterBlancs(debut, fin);
+        fin = retirerBlancs(debut, fin);
+        int longueur = Math.max(0, fin - debut);
+        if (longueur > this.tampon.length) {
+            this.tampon = new byte[Math.max(longueur, 2 * this.tampon.length)];
+        }
+        this.octets.get(debut, this.tampon, 0, longueur);
+        return new String(this.tampon, 0, longueur, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Dictionnaire octets -> indice, par adressage ouvert
+     * Les clés sont recopiées dans un seul tableau d'octets ; la chaîne correspondante
+     * n'est créée qu'à l'ajout d'une nouvelle clé.
+     * Les clés entières (identifiants numériques, cas le plus courant) sont retrouvées
+     * directement dans un tableau indexé par leur valeur, sans hachage, tant que ce
+     * tableau reste dense (au plus CASES_PAR_CLE cases par clé) ; les clés entières
+     * trop grandes passent par la table de hachage.
+     */
+    static final class Dictionnaire {
+        /** Plus grande clé entière rangée dans le tableau direct */
+        private static final int MAX_ENTIER = 1 << 24;
+
+        /** Nombre maximal de cases du tableau direct par clé du dictionnaire */
+        private static final int CASES_PAR_CLE = 16;
+
+        /** Indice + 1 de chaque clé entière (0 si absente) */
+        private int[] parEntier = new int[256];
+
+        /** Table de hachage : indice de la clé, ou -1 si la case est vide */
+        private int[] table = new int[1024];
+
+        /** Octets de toutes les clés, les unes à la suite des autres */
+        private byte[] cles = new byte[4096];
+
+        /** Début de chaque clé dans cles, de taille nb+1 */
+        private int[] debuts = new int[257];
+
+        /** Hachage de chaque clé */
+        private int[] hachages = new int[256];
+
+        /** Chaîne de chaque clé */
+        private String[] noms = new String[256];
+
+        /** Nombre de clés */
+        private int nb;
+
+        Dictionnaire() {
+            Arrays.fill(this.table, -1);
+        }
+
+        /**
+         * Retourne l'indice de la clé formée des octets debut .. fin-1, en l'ajoutant si besoin
+         */
+        int indiceOuAjout(ByteBuffer octets, int debut, int fin) {
+            // Les clés sont comparées sans les blancs qui les entourent
+            while (debut < fin && estBlanc(octets.get(debut))) {
+                debut++;
+            }
+            while (fin > debut && estBlanc(octets.get(fin - 1))) {
+                fin--;
+            }
+            return indiceOuAjout(octets, debut, fin, null);
+        }
+
+        /**
+         * Ajoute les clés d'un autre dictionnaire, dans leur ordre d'ajout
+         * @param autre le dictionnaire à fusionner
+         * @return l'indice dans ce dictionnaire de chaque clé de l'autre
+         */
+        int[] fusionner(Dictionnaire autre) {
+            ByteBuffer cles = ByteBuffer.wrap(autre.cles);
+            int[] correspondance = new int[autre.nb];
+            for (int k = 0; k < autre.nb; k++) {
+                correspondance[k] = indiceOuAjout(cles, autre.debuts[k], autre.debuts[k + 1], autre.noms[k]);
+            }
+            return correspondance;
+        }
+
+        /**
+         * Recherche ou ajout d'une clé sans blancs autour ; nom est sa chaîne si elle est déjà connue
+         */
+        private int indiceOuAjout(ByteBuffer octets, int debut, int fin, String nom) {
+            int entier = entier(octets, debut, fin);
+            if (entier >= this.parEntier.length) {
+                agrandirParEntier(entier);
+            }
+            if (entier != -1 && entier < this.parEntier.length) {
+                int k = this.parEntier[entier] - 1;
+                if (k == -1) {
+                    k = ajouter(octets, debut, fin, 0, nom);
+                    this.parEntier[entier] = k + 1;
+                }
+                return k;
+            }
+
+            int h = 0x811c9dc5;
+            for (int i = debut; i < fin; i++) {
+                h = (h ^ octets.get(i)) * 0x01000193;
+            }
+            int masque = this.table.length - 1;
+            for (int c = h & masque; ; c = (c + 1) & masque) {
+                int k = this.table[c];
+                if (k == -1) {
+                    k = ajouter(octets, debut, fin, h, nom);
+                    this.table[c] = k;
+                    if (2 * this.nb > this.table.length) {
+                        agrandirTable();
+                    }
+                    return k;
+                }
+                if (this.hachages[k] == h && egale(k, octets, debut, fin)) {
+                    return k;
+                }
+            }
+        }
+
+        /**
+         * Agrandit le tableau direct pour y ranger la clé entière donnée, s'il reste
+         * assez dense ; les clés entières déjà rangées dans la table de hachage et
+         * désormais couvertes y sont recopiées, pour n'être trouvées qu'à un endroit
+         */
+        private void agrandirParEntier(int entier) {
+            long limite = (long) CASES_PAR_CLE * (this.nb + 1) + 256;
+            if (entier >= limite) {
+                return;
+            }
+            int ancienne = this.parEntier.length;
+            int taille = (int) Math.min(Math.max(entier + 1, 2L * ancienne), limite);
+            this.parEntier = Arrays.copyOf(this.parEntier, taille);
+            ByteBuffer cles = ByteBuffer.wrap(this.cles);
+            for (int k = 0; k < this.nb; k++) {
+                int e = entier(cles, this.debuts[k], this.debuts[k + 1]);
+                if (e >= ancienne && e < taille) {
+                    this.parEntier[e] = k + 1;
+                }
+            }
+        }
+
+        /**
+         * Valeur d'une clé écrite en chiffres sans zéro initial (« 0 » compris),
+         * ou -1 si ce n'est pas le cas ou si elle dépasse MAX_ENTIER
+         */
+        private static int entier(ByteBuffer octets, int debut, int fin) {
+            if (debut == fin || fin - debut > 8 || (octets.get(debut) == '0' && fin - debut > 1)) {
+                return -1;
+            }
+            int valeur = 0;
+            for (int i = debut; i < fin; i++) {
+                byte c = octets.get(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                valeur = valeur * 10 + (c - '0');
+            }
+            return (valeur <= MAX_ENTIER) ? valeur : -1;
+        }
+
+        private boolean egale(int k, ByteBuffer octets, int debut, int fin) {
+            int d = this.debuts[k];
+            if (this.debuts[k + 1] - d != fin - debut) {
+                return false;
+            }
+            for (int i = debut; i < fin; i++, d++) {
+                if (this.cles[d] != octets.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int ajouter(ByteBuffer octets, int debut, int fin, int h, String nom) {
+            int k = this.nb;
+            if (k == this.noms.length) {
+                this.noms = Arrays.copyOf(this.noms, 2 * k);
+                this.hachages = Arrays.copyOf(this.hachages, 2 * k);
+                this.debuts = Arrays.copyOf(this.debuts, 2 * k + 1);
+            }
+            int d = this.debuts[k];
+            int longueur = fin - debut;
+            if (d + longueur > this.cles.length) {
+                this.cles = Arrays.copyOf(this.cles, Math.max(d + longueur, 2 * this.cles.length));
+            }
+            octets.get(debut, this.cles, d, longueur);
+            this.debuts[k + 1] = d + longueur;
+            this.hachages[k] = h;
+            this.noms[k] = (nom != null) ? nom : new String(this.cles, d, longueur, StandardCharsets.UTF_8);
+            this.nb++;
+            return k;
+        }
+
+        private void agrandirTable() {
+            int[] table = new int[2 * this.table.length];
+            Arrays.fill(table, -1);
+            int masque = table.length - 1;
+            for (int k = 0; k < this.nb; k++) {
+                int c = this.hachages[k] & masque;
+                while (table[c] != -1) {
+                    c = (c + 1) & masque;
+                }
+                table[c] = k;
+            }
+            this.table = table;
+        }
+
+        int taille() {
+            return this.nb;
+        }
+
+        String nom(int k) {
+            return this.noms[k];
+        }
+
+        String[] noms() {
+            return Arrays.copyOf(this.noms, this.nb);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe LireReseauMappe
+ */
+public class LireReseauMappeTest {
+
+    @Test
+    public void testLireReseauMappe() throws IOException {
+        Reseau attendu = LireReseau.lireReseau("src/main/java/metro.txt");
+        // Petits morceaux : des lignes sont coupées à la frontière entre deux projections
+        Reseau lu = LireReseauMappe.lireReseau("src/main/java/metro.txt", 4096);
+
+        assertEquals(GrapheCompact.depuis(attendu.getGraphe()).toString(), lu.getGraphe().toString(),
+                "Le graphe lu par projection doit être identique, nœuds et arcs dans le même ordre");
+        assertEquals(attendu.getNoms(), lu.getNoms());
+        assertArrayEquals(attendu.getCoordonnees("15"), lu.getCoordonnees("15"), 0.001);
+    }
+
+    @Test
+    public void testLireArcsMappe() throws IOException {
+        Path fichier = Files.createTempFile("graphe", ".txt");
+        try {
+            Files.write(fichier, "A\tB\t12\r\nB\tC\t3.5\n\nC\tA\t7e1\n incomplete\t\nA\tC\t-0.25".getBytes());
+            GrapheCompact g = LireReseauMappe.lireArcs(fichier.toString(), 16);
+
+            assertEquals(List.of("A", "B", "C"), g.listeNoeuds());
+            assertEquals(4, g.nbArcs(), "4 arcs devraient être lus");
+            assertEquals(12, g.suivants("A").get(0).getCout(), 0.001);
+            assertEquals(-0.25, g.suivants("A").get(1).getCout(), 0.001);
+            assertEquals(3.5, g.suivants("B").get(0).getCout(), 0.001);
+            assertEquals(70, g.suivants("C").get(0).getCout(), 0.001);
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    public void testLignesIncompletes() throws IOException {
+        // Champs vides en fin de ligne : ignorés comme par String.split dans LireReseau
+        Path fichier = Files.createTempFile("reseau", ".txt");
+        try {
+            Files.write(fichier, ("% Stations\n7:\n8:Gare:2.5:\n9:Nord:1:2\n10:Sud::\n"
+                    + "% Connexions\n7:9:3:1\n8:9:4:\n8:10:5:2:\n").getBytes());
+            Reseau attendu = LireReseau.lireReseau(fichier.toString());
+            Reseau lu = LireReseauMappe.lireReseau(fichier.toString());
+
+            assertEquals(GrapheCompact.depuis(attendu.getGraphe()).toString(), lu.getGraphe().toString());
+            assertEquals(attendu.getNoms(), lu.getNoms());
+            assertNull(lu.getNom("7"), "« 7: » n'est pas une station");
+            assertEquals("Gare", lu.getNom("8"));
+            assertNull(lu.getCoordonnees("8"), "« 8:Gare:2.5: » n'a pas de coordonnées");
+            assertArrayEquals(new double[]{1, 2}, lu.getCoordonnees("9"), 0.001);
+            assertEquals(4, ((GrapheCompact) lu.getGraphe()).nbArcs(), "« 8:9:4: » n'a pas de ligne : ignorée");
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    public void testDictionnaireClesEntieresEparses() {
+        LireReseauMappe.Dictionnaire dictionnaire = new LireReseauMappe.Dictionnaire();
+        ByteBuffer octets = ByteBuffer.wrap("4000 16000000 0".getBytes());
+        // Clés trop grandes pour le tableau direct d'un petit dictionnaire : table de hachage
+        assertEquals(0, dictionnaire.indiceOuAjout(octets, 0, 4));
+        assertEquals(1, dictionnaire.indiceOuAjout(octets, 5, 13));
+        assertEquals(2, dictionnaire.indiceOuAjout(octets, 14, 15));
+        // Des clés denses agrandissent le tableau direct jusqu'à couvrir 4000 : toujours retrouvée
+        for (int i = 1; i < 300; i++) {
+            byte[] cle = Integer.toString(i).getBytes();
+            assertEquals(i + 2, dictionnaire.indiceOuAjout(ByteBuffer.wrap(cle), 0, cle.length));
+        }
+        assertEquals(0, dictionnaire.indiceOuAjout(octets, 0, 4));
+        assertEquals(1, dictionnaire.indiceOuAjout(octets, 5, 13));
+        assertEquals(302, dictionnaire.taille());
+    }
+}
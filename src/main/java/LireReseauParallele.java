@@ -0,0 +1,324 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Classe LireReseauParallele - chargement d'un fichier de réseau avec plusieurs threads
+ * - le début du fichier (commentaires et stations) est lu séquentiellement
+ *   jusqu'à l'en-tête des connexions
+ * - la section des connexions est découpée en plages d'octets alignées sur des
+ *   fins de ligne ; chaque thread analyse sa plage (LireReseauMappe) dans ses
+ *   propres tableaux d'arcs et ses propres dictionnaires de nœuds et de lignes
+ * - les dictionnaires sont fusionnés dans l'ordre des plages, ce qui numérote
+ *   les nœuds et les lignes comme une lecture séquentielle
+ * - les arcs sont rangés au format compact en parallèle : chaque thread trie les
+ *   arcs de sa plage par origine et compte ceux des seuls nœuds qu'elle touche ;
+ *   les positions sont calculées par blocs de nœuds, chaque plage écrivant les
+ *   arcs d'un nœud à la suite de ceux des plages précédentes. L'ordre des arcs
+ *   de chaque nœud est donc celui du fichier.
+ * Le graphe obtenu est identique à celui de LireReseauMappe.lireReseau.
+ *
+ * Sans nombre de threads, l'analyse utilise le pool commun ; sinon l'instance
+ * crée son propre pool, arrêté par close().
+ */
+public class LireReseauParallele implements AutoCloseable {
+
+    /** Taille minimale d'une plage confiée à un thread */
+    private static final long TAILLE_PLAGE_MIN = 1 << 20;
+
+    /** Taille du tampon de recherche des fins de ligne aux bornes des plages */
+    private static final int TAILLE_RECHERCHE = 4096;
+
+    /** Pool de threads utilisé pour l'analyse */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructeur utilisant le pool commun (tous les cœurs disponibles)
+     */
+    public LireReseauParallele() {
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructeur avec un nombre de threads donné : l'instance crée son propre
+     * pool, à arrêter par close()
+     * @param nbThreads le nombre de threads
+     */
+    public LireReseauParallele(int nbThreads) {
+        this.pool = new ForkJoinPool(nbThreads);
+    }
+
+    /**
+     * Arrête le pool de l'instance (sans effet sur le pool commun)
+     */
+    @Override
+    public void close() {
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * Lit un fichier de réseau (même format que LireReseau.lireReseau)
+     * @param fichier le nom du fichier contenant le plan du réseau
+     * @return le réseau, dont le graphe est un GrapheCompact
+     * @throws IOException si erreur de lecture du fichier
+     */
+    public Reseau lireReseau(String fichier) throws IOException {
+        return lireReseau(fichier, TAILLE_PLAGE_MIN);
+    }
+
+    /**
+     * Lit un fichier de réseau avec des plages d'au moins taillePlageMin octets
+     */
+    Reseau lireReseau(String fichier, long taillePlageMin) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(fichier), StandardOpenOption.READ)) {
+            long taille = canal.size();
+            LireReseauMappe enTete = LireReseauMappe.lecteurEnTete();
+            enTete.lirePlage(canal, 0, taille, LireReseauMappe.TAILLE_MORCEAU);
+            if (enTete.positionConnexions == -1) {
+                // Pas de section de connexions
+                return LireReseauMappe.lireReseau(fichier);
+            }
+
+            long[] bornes = plages(canal, enTete.positionConnexions, taille, taillePlageMin);
+            int nbPlages = bornes.length - 1;
+            List<LireReseauMappe> lecteurs = executer(nbPlages, p -> {
+                LireReseauMappe lecteur = LireReseauMappe.lecteurConnexions(bornes[p + 1] - bornes[p]);
+                lecteur.lirePlage(canal, bornes[p], bornes[p + 1], LireReseauMappe.TAILLE_MORCEAU);
+                return lecteur;
+            });
+            for (LireReseauMappe lecteur : lecteurs) {
+                if (lecteur.autreSection) {
+                    // Une section de stations suit les connexions : la lecture séquentielle s'impose
+                    return LireReseauMappe.lireReseau(fichier);
+                }
+            }
+            return fusionner(enTete, lecteurs);
+        }
+    }
+
+    /**
+     * Découpe les octets debut .. fin-1 du fichier en plages commençant chacune
+     * au début d'une ligne
+     * @return les bornes des plages (la plage p va de bornes[p] à bornes[p+1])
+     */
+    private long[] plages(FileChannel canal, long debut, long fin, long taillePlageMin) throws IOException {
+        int nbPlages = (int) Math.max(1, Math.min(this.pool.getParallelism() * 4L, (fin - debut) / taillePlageMin));
+        long[] bornes = new long[nbPlages + 1];
+        bornes[0] = debut;
+        ByteBuffer tampon = ByteBuffer.allocate(TAILLE_RECHERCHE);
+        for (int p = 1; p < nbPlages; p++) {
+            long position = Math.max(bornes[p - 1], debut + (fin - debut) * p / nbPlages);
+            // Avance jusqu'après la prochaine fin de ligne, un tampon à la fois
+            boolean trouvee = false;
+            while (!trouvee && position < fin) {
+                tampon.clear();
+                tampon.limit((int) Math.min(TAILLE_RECHERCHE, fin - position));
+                int lus = canal.read(tampon, position);
+                if (lus <= 0) {
+                    position = fin;
+                    break;
+                }
+                int i = 0;
+                while (i < lus && tampon.get(i) != '\n') {
+                    i++;
+                }
+                trouvee = i < lus;
+                position += trouvee ? i + 1 : lus;
+            }
+            bornes[p] = position;
+        }
+        bornes[nbPlages] = fin;
+        return bornes;
+    }
+
+    /**
+     * Fusionne les lecteurs des plages dans le lecteur de l'en-tête et construit le réseau
+     */
+    private Reseau fusionner(LireReseauMappe enTete, List<LireReseauMappe> lecteurs) throws IOException {
+        int nbPlages = lecteurs.size();
+
+        // Numérotation globale des nœuds et des lignes, dans l'ordre des plages
+        int[][] noeuds = new int[nbPlages][];
+        int[][] lignes = new int[nbPlages][];
+        for (int p = 0; p < nbPlages; p++) {
+            noeuds[p] = enTete.noeuds.fusionner(lecteurs.get(p).noeuds);
+            lignes[p] = enTete.lignes.fusionner(lecteurs.get(p).lignes);
+        }
+        if (enTete.lignes.taille() > Short.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("Trop de lignes différentes (maximum " + Short.MAX_VALUE + ")");
+        }
+        int n = enTete.noeuds.taille();
+
+        // Renumérotation des arcs, tri par origine et nombre d'arcs des nœuds touchés, par plage
+        List<Comptes> comptes = executer(nbPlages, p -> {
+            LireReseauMappe lecteur = lecteurs.get(p);
+            long[] arcs = new long[lecteur.nbArcs];
+            for (int a = 0; a < lecteur.nbArcs; a++) {
+                lecteur.origines[a] = noeuds[p][lecteur.origines[a]];
+                lecteur.destinations[a] = noeuds[p][lecteur.destinations[a]];
+                if (lecteur.lignesArcs[a] != GrapheCompact.SANS_LIGNE) {
+                    lecteur.lignesArcs[a] = (short) lignes[p][lecteur.lignesArcs[a]];
+                }
+                // Origine en poids fort, numéro d'arc en poids faible : le tri garde l'ordre du fichier
+                arcs[a] = ((long) lecteur.origines[a] << 32) | a;
+            }
+            Arrays.sort(arcs);
+            return new Comptes(arcs);
+        });
+        long total = 0;
+        for (LireReseauMappe lecteur : lecteurs) {
+            total += lecteur.nbArcs;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop d'arcs pour un graphe compact : " + total);
+        }
+        int m = (int) total;
+
+        // Nombre d'arcs de chaque nœud, par blocs de nœuds, puis début des arcs de chaque nœud
+        int[] debuts = new int[n + 1];
+        executer(nbPlages, b -> {
+            int premier = (int) ((long) n * b / nbPlages);
+            int dernier = (int) ((long) n * (b + 1) / nbPlages);
+            for (Comptes c : comptes) {
+                for (int k = c.premier(premier); k < c.nb && c.noeuds[k] < dernier; k++) {
+                    debuts[c.noeuds[k] + 1] += c.positions[k];
+                }
+            }
+            return null;
+        });
+        for (int u = 0; u < n; u++) {
+            debuts[u + 1] += debuts[u];
+        }
+
+        // Position d'écriture de chaque plage pour chaque nœud qu'elle touche, par blocs de nœuds
+        int[] curseurs = Arrays.copyOf(debuts, n);
+        executer(nbPlages, b -> {
+            int premier = (int) ((long) n * b / nbPlages);
+            int dernier = (int) ((long) n * (b + 1) / nbPlages);
+            for (Comptes c : comptes) {
+                for (int k = c.premier(premier); k < c.nb && c.noeuds[k] < dernier; k++) {
+                    int nb = c.positions[k];
+                    c.positions[k] = curseurs[c.noeuds[k]];
+                    curseurs[c.noeuds[k]] += nb;
+                }
+            }
+            return null;
+        });
+
+        // Écriture des arcs de chaque plage à leur place
+        int[] cibles = new int[m];
+        double[] couts = new double[m];
+        short[] lignesArcs = new short[m];
+        executer(nbPlages, p -> {
+            LireReseauMappe lecteur = lecteurs.get(p);
+            Comptes c = comptes.get(p);
+            int k = -1;
+            int pos = 0;
+            int origine = -1;
+            for (long cle : c.arcs) {
+                if ((int) (cle >>> 32) != origine) {
+                    origine = (int) (cle >>> 32);
+                    pos = c.positions[++k];
+                }
+                int a = (int) cle;
+                cibles[pos] = lecteur.destinations[a];
+                couts[pos] = lecteur.couts[a];
+                lignesArcs[pos] = lecteur.lignesArcs[a];
+                pos++;
+            }
+            return null;
+        });
+
+        GrapheCompact g = new GrapheCompact(enTete.noeuds.noms(), debuts, cibles, couts, lignesArcs,
+                enTete.lignes.noms());
+        return new Reseau(g, enTete.nomsStations, enTete.coordonnees);
+    }
+
+    /**
+     * Arcs d'une plage triés par origine, et nœuds qu'elle touche (croissants) avec
+     * leur nombre d'arcs, remplacé ensuite par la position d'écriture de leurs arcs
+     */
+    private static final class Comptes {
+        final long[] arcs;
+        final int[] noeuds;
+        final int[] positions;
+        final int nb;
+
+        Comptes(long[] arcs) {
+            this.arcs = arcs;
+            int[] noeuds = new int[Math.min(arcs.length, 16)];
+            int[] positions = new int[noeuds.length];
+            int nb = 0;
+            for (long cle : arcs) {
+                int u = (int) (cle >>> 32);
+                if (nb == 0 || noeuds[nb - 1] != u) {
+                    if (nb == noeuds.length) {
+                        noeuds = Arrays.copyOf(noeuds, 2 * nb);
+                        positions = Arrays.copyOf(positions, 2 * nb);
+                    }
+                    noeuds[nb++] = u;
+                }
+                positions[nb - 1]++;
+            }
+            this.noeuds = noeuds;
+            this.positions = positions;
+            this.nb = nb;
+        }
+
+        /**
+         * Indice du premier nœud touché supérieur ou égal à u
+         */
+        int premier(int u) {
+            int k = Arrays.binarySearch(this.noeuds, 0, this.nb, u);
+            return (k >= 0) ? k : -k - 1;
+        }
+    }
+
+    /**
+     * Tâche sur une plage
+     */
+    private interface Tache<T> {
+        T executer(int plage) throws IOException;
+    }
+
+    /**
+     * Exécute une tâche pour chaque plage sur le pool et retourne les résultats dans l'ordre des plages
+     */
+    private <T> List<T> executer(int nbPlages, Tache<T> tache) throws IOException {
+        List<Callable<T>> taches = new ArrayList<>(nbPlages);
+        for (int p = 0; p < nbPlages; p++) {
+            int plage = p;
+            taches.add(() -> tache.executer(plage));
+        }
+        List<T> resultats = new ArrayList<>(nbPlages);
+        try {
+            for (Future<T> resultat : this.pool.invokeAll(taches)) {
+                resultats.add(resultat.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Lecture interrompue", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+        return resultats;
+    }
+}
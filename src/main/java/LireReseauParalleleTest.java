@@ -0,0 +1,25 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+/**
+ * Tests unitaires pour la classe LireReseauParallele
+ */
+public class LireReseauParalleleTest {
+
+    @Test
+    public void testLireReseauParallele() throws IOException {
+        Reseau attendu = LireReseauMappe.lireReseau("src/main/java/metro.txt");
+        // Petites plages : la section des connexions est découpée entre une quarantaine de tâches
+        Reseau lu;
+        try (LireReseauParallele lecteur = new LireReseauParallele(4)) {
+            lu = lecteur.lireReseau("src/main/java/metro.txt", 256);
+        }
+
+        assertEquals(attendu.getGraphe().toString(), lu.getGraphe().toString(),
+                "Les nœuds, les arcs et leur ordre doivent être ceux de la lecture séquentielle");
+        assertEquals(attendu.getNoms(), lu.getNoms());
+        assertEquals(((GrapheCompact) attendu.getGraphe()).nbLignes(), ((GrapheCompact) lu.getGraphe()).nbLignes());
+    }
+}
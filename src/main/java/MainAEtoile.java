@@ -0,0 +1,24 @@
+import java.io.IOException;
+
+/**
+ * Programme principal comparant A* (distance à vol d'oiseau, puis repères ALT)
+ * sur le réseau du métro : nombre de nœuds traités pour les trajets de MainMetro
+ * Les temps de calcul sont mesurés par le module benchmarks (BenchmarkMetro).
+ */
+public class MainAEtoile {
+
+    public static void main(String[] args) throws IOException {
+        Reseau reseau = LireReseau.lireReseau("src/main/java/metro.txt");
+        AEtoile aEtoile = AEtoile.pourReseau(reseau);
+        AEtoile alt = AEtoile.avecReperes(reseau.getGraphe(), 8);
+        String[][] trajets = {{"1", "10"}, {"25", "45"}, {"50", "75"}, {"100", "125"}, {"150", "175"}};
+        for (String[] trajet : trajets) {
+            Valeurs v = aEtoile.resoudre(trajet[0], trajet[1]);
+            System.out.println(reseau.getNom(trajet[0]) + " -> " + reseau.getNom(trajet[1])
+                    + " : " + v.getValeur(trajet[1]) + " (" + aEtoile.getNbNoeudsTraites() + " nœuds traités sur "
+                    + aEtoile.getGraphe().nbNoeuds() + ")");
+            alt.resoudre(trajet[0], trajet[1]);
+            System.out.println("  avec 8 repères : " + alt.getNbNoeudsTraites() + " nœuds traités");
+        }
+    }
+}
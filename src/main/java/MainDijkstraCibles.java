@@ -0,0 +1,29 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Programme principal montrant les recherches vers un ensemble de cibles
+ * (DijkstraCibles) sur le métro, avec une station sur sept comme cibles : les 5 plus
+ * proches de la station 1, puis celles à moins de 5 minutes
+ * Les temps de calcul sont mesurés par le module benchmarks (BenchmarkMetro).
+ */
+public class MainDijkstraCibles {
+
+    public static void main(String[] args) throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        List<String> cibles = new ArrayList<>();
+        for (int i = 1; i <= 300; i += 7) {
+            cibles.add(String.valueOf(i));
+        }
+        DijkstraCibles recherche = new DijkstraCibles(metro);
+        Map<String, Double> proches = recherche.plusProches("1", cibles, 5);
+        System.out.println("5 plus proches parmi " + cibles.size() + " : " + proches + " ("
+                + recherche.getNbNoeudsTraites() + " nœuds traités sur " + metro.listeNoeuds().size() + ")");
+
+        Map<String, Double> budget = recherche.resoudre("1", cibles, 300);
+        System.out.println("À moins de 5 minutes : " + budget.size() + " cibles ("
+                + recherche.getNbNoeudsTraites() + " nœuds traités)");
+    }
+}
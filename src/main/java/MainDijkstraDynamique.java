@@ -0,0 +1,31 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Programme principal montrant la mise à jour incrémentale des plus courts chemins
+ * (DijkstraDynamique) sur le réseau du métro : fermeture puis réouverture de la
+ * station 10, avec le nombre de nœuds retraités à chaque réparation
+ * Les temps de réparation et de recalcul complet sont mesurés par le module
+ * benchmarks (BenchmarkMetro).
+ */
+public class MainDijkstraDynamique {
+
+    public static void main(String[] args) throws IOException {
+        GrapheListe metro = (GrapheListe) LireReseau.lire("src/main/java/metro.txt");
+        DijkstraDynamique dynamique = new DijkstraDynamique(metro, "1");
+        List<Arc> fermes = new ArrayList<>(metro.suivants("10"));
+        for (Arc arc : fermes) {
+            dynamique.supprimerArc("10", arc.getDest());
+        }
+        dynamique.mettreAJour();
+        System.out.println("Fermeture de la station 10 : " + dynamique.getNbNoeudsTraites() + " nœuds traités sur "
+                + metro.nbNoeuds());
+
+        for (Arc arc : fermes) {
+            dynamique.ajouterArc("10", arc.getDest(), arc.getCout(), arc.getLigne());
+        }
+        dynamique.mettreAJour();
+        System.out.println("Réouverture : " + dynamique.getNbNoeudsTraites() + " nœuds traités");
+    }
+}
@@ -0,0 +1,21 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Programme principal montrant le front de Pareto (temps, changements de ligne)
+ * d'un trajet du métro : un chemin par compromis non dominé
+ * Le temps de calcul du front est mesuré par le module benchmarks (BenchmarkPareto).
+ */
+public class MainDijkstraPareto {
+
+    public static void main(String[] args) throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        DijkstraPareto pareto = new DijkstraPareto(metro);
+        List<Chemin> front = pareto.front("26", "110");
+        System.out.println("Front 26 -> 110 : " + front.size() + " chemins, " + pareto.getNbEtiquettes()
+                + " étiquettes");
+        for (Chemin chemin : front) {
+            System.out.println(chemin.getCout() + " s, " + chemin.nbChangements() + " changements");
+        }
+    }
+}
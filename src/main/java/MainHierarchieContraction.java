@@ -0,0 +1,23 @@
+import java.io.IOException;
+
+/**
+ * Programme principal montrant une hiérarchie de contraction sur le réseau du métro :
+ * nombre de raccourcis ajoutés, puis trajets de MainMetro avec le nombre de nœuds
+ * traités par requête
+ * Les temps de prétraitement et de requête sont mesurés par le module benchmarks
+ * (BenchmarkMetro).
+ */
+public class MainHierarchieContraction {
+
+    public static void main(String[] args) throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        HierarchieContraction ch = HierarchieContraction.construire(metro);
+        System.out.println("Prétraitement : " + ch.nbRaccourcis() + " raccourcis");
+        String[][] trajets = {{"1", "10"}, {"25", "45"}, {"50", "75"}, {"100", "125"}, {"150", "175"}};
+        for (String[] trajet : trajets) {
+            Chemin c = ch.chemin(trajet[0], trajet[1]);
+            System.out.println(trajet[0] + " -> " + trajet[1] + " : " + c.getCout() + " ("
+                    + ch.getNbNoeudsTraites() + " nœuds traités) " + c.getNoeuds());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Programme principal montrant les isochrones de la station 1 du métro
+ * (1, 2, 3 et 4 minutes) : stations atteintes, arcs frontière et enveloppe
+ * Le temps de calcul est mesuré par le module benchmarks (BenchmarkMetro).
+ */
+public class MainIsochrones {
+
+    public static void main(String[] args) throws IOException {
+        Reseau reseau = LireReseau.lireReseau("src/main/java/metro.txt");
+        Isochrones isochrones = new Isochrones(reseau);
+        List<Isochrones.Isochrone> resultat = isochrones.calculer("1", 60, 120, 180, 240);
+        System.out.println("Isochrones depuis " + reseau.getNom("1"));
+        for (Isochrones.Isochrone iso : resultat) {
+            System.out.println((int) iso.getBudget() + " s : " + iso.getNoeuds().size()
+                    + " stations, " + iso.getFrontiere().size() + " arcs frontière, enveloppe de "
+                    + iso.getEnveloppe().size() + " sommets");
+        }
+    }
+}
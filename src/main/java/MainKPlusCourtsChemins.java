@@ -0,0 +1,20 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Programme principal montrant les 10 plus courts chemins sans boucle (Yen) de la
+ * station 1 à la station 197 du métro
+ * Le temps de calcul est mesuré par le module benchmarks (BenchmarkMetro).
+ */
+public class MainKPlusCourtsChemins {
+
+    public static void main(String[] args) throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        KPlusCourtsChemins yen = new KPlusCourtsChemins(metro);
+        List<Chemin> chemins = yen.chemins("1", "197", 10);
+        System.out.println(chemins.size() + " chemins 1 -> 197 (" + yen.getNbRecherches() + " recherches A*)");
+        for (Chemin chemin : chemins) {
+            System.out.println(chemin.getCout() + " s, " + chemin.nbChangements() + " changements");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Programme principal montrant la recherche d'itinéraires horaires (Raptor) sur le
+ * réseau du métro, avec les fréquences par défaut : trajet de la station 1 à la
+ * station 197 en partant à 08:12, puis options entre 08:00 et 09:00
+ * Les temps de préparation et de requête sont mesurés par le module benchmarks
+ * (BenchmarkMetro).
+ */
+public class MainRaptor {
+
+    public static void main(String[] args) throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        Raptor raptor = new Raptor(metro);
+        System.out.println(raptor.nbRoutes() + " routes");
+
+        int heure = Raptor.depuisHeure("08:12");
+        Chemin chemin = raptor.trajet("1", "197", heure);
+        System.out.println("Départ " + Raptor.versHeure(heure) + ", arrivée "
+                + Raptor.versHeure(heure + (int) chemin.getCout()) + " (" + raptor.getNbTours() + " tours)");
+        System.out.println(chemin);
+
+        List<Raptor.Option> options = raptor.profil("1", "197", Raptor.depuisHeure("08:00"),
+                Raptor.depuisHeure("09:00"));
+        System.out.println("Profil 08:00-09:00 : " + options.size() + " options");
+        System.out.println(options);
+    }
+}
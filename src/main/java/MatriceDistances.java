@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe MatriceDistances - calcul des distances entre une liste de sources
+ * et une liste de cibles (matrice « plusieurs vers plusieurs »)
+ * - un Dijkstra par source, les sources étant réparties dynamiquement entre
+ *   les threads d'un pool (chaque thread prend la source suivante quand il a fini)
+ * - chaque thread a son espace de travail (valeurs indexées et tas), réutilisé
+ *   d'une source à l'autre : aucune allocation par recherche
+ * - une recherche s'arrête dès que toutes les cibles sont traitées
+ * - le résultat est une matrice float[sources][cibles] ; une cible inaccessible
+ *   vaut Float.POSITIVE_INFINITY
+ * Chaque recherche est celle de Dijkstra.parcourir (et en a l'instrumentation).
+ * Sans nombre de threads, les recherches utilisent le pool commun ; sinon
+ * l'instance crée son propre pool, arrêté par close().
+ */
+public class MatriceDistances implements AutoCloseable {
+
+    /** Graphe compact des recherches */
+    private final GrapheCompact graphe;
+
+    /** Pool de threads utilisé pour les recherches */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructeur utilisant le pool commun (tous les cœurs disponibles)
+     * @param g le graphe
+     */
+    public MatriceDistances(Graphe g) {
+        this.graphe = GrapheCompact.depuis(g);
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructeur avec un nombre de threads donné : l'instance crée son propre
+     * pool, à arrêter par close()
+     * @param g le graphe
+     * @param nbThreads le nombre de threads
+     */
+    public MatriceDistances(Graphe g, int nbThreads) {
+        this.graphe = GrapheCompact.depuis(g);
+        this.pool = new ForkJoinPool(nbThreads);
+    }
+
+    /**
+     * Arrête le pool de l'instance (sans effet sur le pool commun)
+     */
+    @Override
+    public void close() {
+        if (this.pool != ForkJoinPool.commonPool()) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * Calcule les distances de chaque source vers chaque cible
+     * @param sources les nœuds de départ
+     * @param cibles les nœuds d'arrivée
+     * @return la matrice des distances, m[i][j] = distance de sources[i] à cibles[j]
+     */
+    public float[][] calculer(List<String> sources, List<String> cibles) {
+        return calculer(indices(sources), indices(cibles));
+    }
+
+    /**
+     * Calcule les distances entre toutes les paires de nœuds du graphe
+     * (dans l'ordre des indices du graphe compact)
+     * @return la matrice des distances
+     */
+    public float[][] toutesPaires() {
+        int[] tous = new int[this.graphe.nbNoeuds()];
+        for (int u = 0; u < tous.length; u++) {
+            tous[u] = u;
+        }
+        return calculer(tous, tous);
+    }
+
+    /**
+     * Calcule les distances de chaque source vers chaque cible (indices du graphe compact)
+     * @param sources les indices des nœuds de départ
+     * @param cibles les indices des nœuds d'arrivée
+     * @return la matrice des distances
+     */
+    public float[][] calculer(int[] sources, int[] cibles) {
+        float[][] matrice = new float[sources.length][];
+        // Cibles distinctes, pour arrêter chaque recherche quand elles sont toutes traitées
+        boolean[] estCible = new boolean[this.graphe.nbNoeuds()];
+        int nbCiblesDistinctes = 0;
+        for (int c : cibles) {
+            if (!estCible[c]) {
+                estCible[c] = true;
+                nbCiblesDistinctes++;
+            }
+        }
+        int nbDistinctes = nbCiblesDistinctes;
+
+        AtomicInteger prochaine = new AtomicInteger();
+        int nbTaches = Math.min(this.pool.getParallelism(), Math.max(1, sources.length));
+        List<Callable<Void>> taches = new ArrayList<>(nbTaches);
+        for (int t = 0; t < nbTaches; t++) {
+            taches.add(() -> {
+                ValeursIndexees valeurs = new ValeursIndexees(this.graphe);
+                TasBinaire tas = new TasBinaire(this.graphe.nbNoeuds());
+                for (int i = prochaine.getAndIncrement(); i < sources.length; i = prochaine.getAndIncrement()) {
+                    valeurs.reinitialiser();
+                    tas.vider();
+                    Dijkstra.parcourir(this.graphe, sources[i], -1, estCible, nbDistinctes, valeurs, tas);
+                    float[] ligne = new float[cibles.length];
+                    for (int j = 0; j < cibles.length; j++) {
+                        double d = valeurs.getDistance(cibles[j]);
+                        ligne[j] = (d == Double.MAX_VALUE) ? Float.POSITIVE_INFINITY : (float) d;
+                    }
+                    matrice[i] = ligne;
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> f : this.pool.invokeAll(taches)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul de la matrice interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant le calcul de la matrice", e.getCause());
+        }
+        return matrice;
+    }
+
+    /**
+     * Indices des nœuds d'une liste, avec contrôle
+     */
+    private int[] indices(List<String> noeuds) {
+        int[] indices = new int[noeuds.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = this.graphe.indice(noeuds.get(i));
+            if (indices[i] == -1) {
+                throw new IllegalArgumentException("Nœud inconnu : " + noeuds.get(i));
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe MatriceDistances
+ */
+public class MatriceDistancesTest {
+
+    private GrapheListe graphe;
+    private Dijkstra dijkstra;
+
+    @BeforeEach
+    public void setUp() {
+        // Création du graphe de test (même que Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+
+        dijkstra = new Dijkstra();
+    }
+
+    @Test
+    public void testMatriceDistances() {
+        graphe.ajouterNoeud("F");
+        float[][] m;
+        try (MatriceDistances matrice = new MatriceDistances(graphe, 2)) {
+            m = matrice.calculer(List.of("A", "C", "F"), List.of("E", "A", "F", "E"));
+        }
+
+        assertEquals(23, m[0][0], 0.001, "Distance A->E devrait être 23");
+        assertEquals(0, m[0][1], 0.001);
+        assertEquals(42, m[1][0], 0.001, "Distance C->E devrait être 42");
+        assertEquals(19, m[1][1], 0.001);
+        assertEquals(m[1][0], m[1][3], 0.001, "Une cible répétée a la même distance");
+        assertEquals(Float.POSITIVE_INFINITY, m[0][2], "F est inaccessible depuis A");
+        assertEquals(Float.POSITIVE_INFINITY, m[2][0], "E est inaccessible depuis F");
+        assertEquals(0, m[2][2], 0.001);
+    }
+
+    @Test
+    public void testMatriceDistancesMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        GrapheCompact compact = GrapheCompact.depuis(metro);
+        float[][] m;
+        try (MatriceDistances matrice = new MatriceDistances(metro, 4)) {
+            m = matrice.toutesPaires();
+        }
+
+        assertEquals(compact.nbNoeuds(), m.length);
+        for (String depart : new String[]{"1", "25", "150"}) {
+            Valeurs v = dijkstra.resoudre(metro, depart);
+            for (int j = 0; j < compact.nbNoeuds(); j++) {
+                assertEquals(v.getValeur(compact.nom(j)), m[compact.indice(depart)][j], 0.01,
+                        "Distance " + depart + "->" + compact.nom(j));
+            }
+        }
+    }
+}
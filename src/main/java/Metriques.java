@@ -0,0 +1,413 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classe Metriques - mesures facultatives des moteurs de recherche
+ * - pour chaque requête : nœuds traités, arcs relâchés, diminutions réussies,
+ *   insertions et extractions du tas (ou de la file), passes (Bellman-Ford), durée et octets alloués
+ * - la dernière mesure de chaque thread est consultable (derniere()), et toutes les
+ *   mesures sont cumulées par moteur dans des histogrammes (paquets de puissances de 2)
+ * - l'ensemble s'exporte en JSON (versJson, ecrireJson)
+ *
+ * Les mesures sont activées au lancement par -Dexplor.metriques=true. L'interrupteur
+ * est une constante (static final) : désactivées, les instructions de mesure des
+ * moteurs (if (Metriques.ACTIVES) ...) sont supprimées par le compilateur JIT et ne
+ * coûtent rien.
+ * Les octets alloués sont ceux du thread appelant (les threads d'un pool ne sont pas comptés).
+ */
+public final class Metriques {
+
+    /** Interrupteur général, lu une seule fois au chargement de la classe */
+    public static final boolean ACTIVES = Boolean.getBoolean("explor.metriques");
+
+    /** Noms des compteurs, dans l'ordre de Mesure.valeurs() */
+    static final String[] COMPTEURS = {"noeudsTraites", "arcsRelaches", "diminutions", "insertionsTas",
+            "extractionsTas", "passes", "dureeNs", "octetsAlloues"};
+
+    /** Histogrammes de chaque moteur (un par compteur), triés par nom de moteur */
+    private static final Map<String, Histogramme[]> AGREGATS = new TreeMap<>();
+
+    /** Dernière mesure terminée par chaque thread */
+    private static final ThreadLocal<Mesure> DERNIERE = new ThreadLocal<>();
+
+    /** Accès aux octets alloués par thread (null si la JVM ne le permet pas) */
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private Metriques() {
+    }
+
+    /**
+     * Commence la mesure d'une requête (à n'appeler que si ACTIVES)
+     * @param moteur le nom du moteur
+     * @return la mesure, à incrémenter pendant la requête puis à passer à terminer
+     */
+    public static Mesure commencer(String moteur) {
+        return new Mesure(moteur, System.nanoTime(), octetsAlloues());
+    }
+
+    /**
+     * Termine une mesure : durée et allocations, dernière mesure du thread, cumul
+     * @param mesure la mesure commencée
+     */
+    public static void terminer(Mesure mesure) {
+        mesure.dureeNs = System.nanoTime() - mesure.dureeNs;
+        long octets = octetsAlloues();
+        mesure.octetsAlloues = (octets < 0 || mesure.octetsAlloues < 0) ? 0 : octets - mesure.octetsAlloues;
+        DERNIERE.set(mesure);
+        long[] valeurs = mesure.valeurs();
+        synchronized (AGREGATS) {
+            Histogramme[] h = AGREGATS.computeIfAbsent(mesure.moteur, m -> nouveauxHistogrammes());
+            for (int i = 0; i < valeurs.length; i++) {
+                h[i].ajouter(valeurs[i]);
+            }
+        }
+    }
+
+    /**
+     * Retourne la dernière mesure terminée par le thread appelant
+     * @return la mesure, ou null si aucune
+     */
+    public static Mesure derniere() {
+        return DERNIERE.get();
+    }
+
+    /**
+     * Retourne l'histogramme cumulé d'un compteur pour un moteur
+     * @param moteur le nom du moteur
+     * @param compteur le nom du compteur (noeudsTraites, arcsRelaches, ..., dureeNs, octetsAlloues)
+     * @return une copie de l'histogramme, ou null si le moteur n'a aucune mesure
+     */
+    public static Histogramme histogramme(String moteur, String compteur) {
+        int i = java.util.Arrays.asList(COMPTEURS).indexOf(compteur);
+        if (i == -1) {
+            throw new IllegalArgumentException("Compteur inconnu : " + compteur);
+        }
+        synchronized (AGREGATS) {
+            Histogramme[] h = AGREGATS.get(moteur);
+            return (h == null) ? null : h[i].copie();
+        }
+    }
+
+    /**
+     * Efface les mesures cumulées
+     */
+    public static void reinitialiser() {
+        synchronized (AGREGATS) {
+            AGREGATS.clear();
+        }
+    }
+
+    /**
+     * Exporte les mesures cumulées en JSON :
+     * {"moteur": {"requetes": n, "compteur": {"nb":..., "somme":..., ..., "paquets": [...]}, ...}, ...}
+     * @return le texte JSON
+     */
+    public static String versJson() {
+        StringBuilder sb = new StringBuilder("{");
+        synchronized (AGREGATS) {
+            boolean premier = true;
+            for (Map.Entry<String, Histogramme[]> e : AGREGATS.entrySet()) {
+                sb.append(premier ? "\n  " : ",\n  ");
+                premier = false;
+                chaine(sb, e.getKey()).append(": {\"requetes\": ").append(e.getValue()[0].getNb());
+                for (int i = 0; i < COMPTEURS.length; i++) {
+                    sb.append(",\n    ");
+                    chaine(sb, COMPTEURS[i]).append(": ");
+                    e.getValue()[i].versJson(sb);
+                }
+                sb.append("\n  }");
+            }
+        }
+        return sb.append("\n}\n").toString();
+    }
+
+    /**
+     * Écrit les mesures cumulées dans un fichier JSON
+     * @param fichier le nom du fichier
+     * @throws IOException si erreur d'écriture
+     */
+    public static void ecrireJson(String fichier) throws IOException {
+        Files.write(Paths.get(fichier), versJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Chaîne JSON (les noms de moteurs et de compteurs n'ont ni guillemet ni barre oblique inverse)
+     */
+    private static StringBuilder chaine(StringBuilder sb, String s) {
+        return sb.append('"').append(s.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+    }
+
+    /**
+     * Un histogramme vide par compteur
+     */
+    private static Histogramme[] nouveauxHistogrammes() {
+        Histogramme[] h = new Histogramme[COMPTEURS.length];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = new Histogramme();
+        }
+        return h;
+    }
+
+    /**
+     * Interface de mesure des allocations par thread, si la JVM la fournit et l'a activée
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean t = ManagementFactory.getThreadMXBean();
+        if (t instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean s = (com.sun.management.ThreadMXBean) t;
+            if (s.isThreadAllocatedMemorySupported() && s.isThreadAllocatedMemoryEnabled()) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Octets alloués jusqu'ici par le thread appelant (-1 si inconnu)
+     */
+    private static long octetsAlloues() {
+        return (THREADS == null) ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Mesure d'une requête : les moteurs incrémentent directement les compteurs
+     * (depuis un seul thread ; les moteurs parallèles passent par cumuler)
+     */
+    public static final class Mesure {
+        final String moteur;
+        long noeudsTraites;
+        long arcsRelaches;
+        long diminutions;
+        long insertionsTas;
+        long extractionsTas;
+        long passes;
+        /** Instant de départ pendant la mesure, puis durée */
+        long dureeNs;
+        /** Octets alloués au départ pendant la mesure, puis différence */
+        long octetsAlloues;
+
+        Mesure(String moteur, long debut, long octets) {
+            this.moteur = moteur;
+            this.dureeNs = debut;
+            this.octetsAlloues = octets;
+        }
+
+        /**
+         * Ajoute les compteurs d'une tâche parallèle
+         */
+        synchronized void cumuler(long noeudsTraites, long arcsRelaches, long diminutions) {
+            this.noeudsTraites += noeudsTraites;
+            this.arcsRelaches += arcsRelaches;
+            this.diminutions += diminutions;
+        }
+
+        long[] valeurs() {
+            return new long[]{this.noeudsTraites, this.arcsRelaches, this.diminutions, this.insertionsTas,
+                    this.extractionsTas, this.passes, this.dureeNs, this.octetsAlloues};
+        }
+
+        /**
+         * Retourne le nom du moteur mesuré
+         * @return le nom du moteur
+         */
+        public String getMoteur() {
+            return this.moteur;
+        }
+
+        /**
+         * Retourne le nombre de nœuds traités (sortis du tas, ou parcourus)
+         * @return le nombre de nœuds traités
+         */
+        public long getNoeudsTraites() {
+            return this.noeudsTraites;
+        }
+
+        /**
+         * Retourne le nombre d'arcs relâchés (examinés)
+         * @return le nombre d'arcs relâchés
+         */
+        public long getArcsRelaches() {
+            return this.arcsRelaches;
+        }
+
+        /**
+         * Retourne le nombre de relâchements qui ont diminué une valeur
+         * @return le nombre de diminutions
+         */
+        public long getDiminutions() {
+            return this.diminutions;
+        }
+
+        /**
+         * Retourne le nombre d'insertions (ou diminutions de clé) dans le tas
+         * @return le nombre d'insertions
+         */
+        public long getInsertionsTas() {
+            return this.insertionsTas;
+        }
+
+        /**
+         * Retourne le nombre d'extractions du minimum du tas
+         * @return le nombre d'extractions
+         */
+        public long getExtractionsTas() {
+            return this.extractionsTas;
+        }
+
+        /**
+         * Retourne le nombre de passes (Bellman-Ford) ou d'étapes (Δ-stepping)
+         * @return le nombre de passes
+         */
+        public long getPasses() {
+            return this.passes;
+        }
+
+        /**
+         * Retourne la durée de la requête
+         * @return la durée en nanosecondes
+         */
+        public long getDureeNs() {
+            return this.dureeNs;
+        }
+
+        /**
+         * Retourne les octets alloués par le thread appelant pendant la requête
+         * @return le nombre d'octets (0 si la JVM ne le mesure pas)
+         */
+        public long getOctetsAlloues() {
+            return this.octetsAlloues;
+        }
+
+        /**
+         * Mesure en JSON (un objet sur une ligne)
+         * @return le texte JSON
+         */
+        public String versJson() {
+            StringBuilder sb = new StringBuilder("{");
+            chaine(sb, "moteur").append(": ");
+            chaine(sb, this.moteur);
+            long[] v = valeurs();
+            for (int i = 0; i < v.length; i++) {
+                sb.append(", ");
+                chaine(sb, COMPTEURS[i]).append(": ").append(v[i]);
+            }
+            return sb.append('}').toString();
+        }
+
+        @Override
+        public String toString() {
+            return versJson();
+        }
+    }
+
+    /**
+     * Histogramme de valeurs positives : paquet 0 pour la valeur 0,
+     * paquet k pour les valeurs de [2^(k-1), 2^k[
+     */
+    public static final class Histogramme {
+        private final long[] paquets = new long[65];
+        private long nb;
+        private long somme;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        void ajouter(long valeur) {
+            valeur = Math.max(0, valeur);
+            this.paquets[64 - Long.numberOfLeadingZeros(valeur)]++;
+            this.nb++;
+            this.somme += valeur;
+            this.min = Math.min(this.min, valeur);
+            this.max = Math.max(this.max, valeur);
+        }
+
+        Histogramme copie() {
+            Histogramme h = new Histogramme();
+            System.arraycopy(this.paquets, 0, h.paquets, 0, this.paquets.length);
+            h.nb = this.nb;
+            h.somme = this.somme;
+            h.min = this.min;
+            h.max = this.max;
+            return h;
+        }
+
+        /**
+         * Retourne le nombre de valeurs
+         * @return le nombre de valeurs
+         */
+        public long getNb() {
+            return this.nb;
+        }
+
+        /**
+         * Retourne la somme des valeurs
+         * @return la somme
+         */
+        public long getSomme() {
+            return this.somme;
+        }
+
+        /**
+         * Retourne la plus petite valeur
+         * @return le minimum (0 si vide)
+         */
+        public long getMin() {
+            return (this.nb == 0) ? 0 : this.min;
+        }
+
+        /**
+         * Retourne la plus grande valeur
+         * @return le maximum (0 si vide)
+         */
+        public long getMax() {
+            return this.max;
+        }
+
+        /**
+         * Retourne la moyenne des valeurs
+         * @return la moyenne (0 si vide)
+         */
+        public double getMoyenne() {
+            return (this.nb == 0) ? 0 : (double) this.somme / this.nb;
+        }
+
+        /**
+         * Quantile approché : borne supérieure du paquet qui le contient (au plus le maximum)
+         * @param q la proportion, entre 0 et 1 (0.5 pour la médiane)
+         * @return la valeur approchée
+         */
+        public long quantile(double q) {
+            long rang = (long) Math.ceil(q * this.nb);
+            long cumul = 0;
+            for (int k = 0; k < this.paquets.length; k++) {
+                cumul += this.paquets[k];
+                if (cumul >= rang && cumul > 0) {
+                    long borne = (k == 0) ? 0 : (k == 64) ? Long.MAX_VALUE : (1L << k) - 1;
+                    return Math.min(borne, this.max);
+                }
+            }
+            return this.max;
+        }
+
+        void versJson(StringBuilder sb) {
+            sb.append("{\"nb\": ").append(this.nb).append(", \"somme\": ").append(this.somme)
+                    .append(", \"min\": ").append(getMin()).append(", \"max\": ").append(this.max)
+                    .append(", \"moyenne\": ").append(String.format(Locale.ROOT, "%.3f", getMoyenne()))
+                    .append(", \"p50\": ").append(quantile(0.5)).append(", \"p90\": ").append(quantile(0.9))
+                    .append(", \"p99\": ").append(quantile(0.99)).append(", \"paquets\": [");
+            int dernier = 64;
+            while (dernier > 0 && this.paquets[dernier] == 0) {
+                dernier--;
+            }
+            for (int k = 0; k <= dernier; k++) {
+                sb.append(k == 0 ? "" : ", ").append(this.paquets[k]);
+            }
+            sb.append("]}");
+        }
+    }
+}
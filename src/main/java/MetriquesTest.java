@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe Metriques
+ * (les tests des moteurs instrumentés ne s'exécutent qu'avec -Dexplor.metriques=true)
+ */
+public class MetriquesTest {
+
+    private GrapheListe graphe;
+
+    @BeforeEach
+    public void setUp() {
+        // Graphe de test (Figure 1 du sujet)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("A", "B", 12);
+        graphe.ajouterArc("A", "D", 87);
+        graphe.ajouterArc("B", "E", 11);
+        graphe.ajouterArc("C", "A", 19);
+        graphe.ajouterArc("D", "B", 23);
+        graphe.ajouterArc("D", "C", 10);
+        graphe.ajouterArc("E", "D", 43);
+        Metriques.reinitialiser();
+    }
+
+    @Test
+    public void testMesureEtHistogramme() {
+        for (int i = 0; i < 100; i++) {
+            Metriques.Mesure m = Metriques.commencer("Essai");
+            m.noeudsTraites = i;
+            m.arcsRelaches = 2 * i;
+            Metriques.terminer(m);
+        }
+        Metriques.Mesure derniere = Metriques.derniere();
+        assertEquals("Essai", derniere.getMoteur());
+        assertEquals(99, derniere.getNoeudsTraites());
+        assertTrue(derniere.getDureeNs() >= 0);
+
+        Metriques.Histogramme h = Metriques.histogramme("Essai", "noeudsTraites");
+        assertEquals(100, h.getNb());
+        assertEquals(4950, h.getSomme());
+        assertEquals(0, h.getMin());
+        assertEquals(99, h.getMax());
+        assertEquals(49.5, h.getMoyenne(), 0.001);
+        // Médiane : la 50e valeur (49) est dans le paquet [32, 64[
+        assertEquals(63, h.quantile(0.5));
+        assertEquals(99, h.quantile(0.99), "Un quantile ne dépasse pas le maximum");
+
+        assertNull(Metriques.histogramme("Inconnu", "noeudsTraites"));
+        assertThrows(IllegalArgumentException.class, () -> Metriques.histogramme("Essai", "inconnu"));
+    }
+
+    @Test
+    public void testJson() {
+        Metriques.Mesure m = Metriques.commencer("Essai");
+        m.passes = 3;
+        Metriques.terminer(m);
+        String json = Metriques.versJson();
+        assertTrue(json.startsWith("{"));
+        assertTrue(json.contains("\"Essai\": {\"requetes\": 1"), json);
+        assertTrue(json.contains("\"passes\": {\"nb\": 1, \"somme\": 3, \"min\": 3, \"max\": 3"), json);
+        assertTrue(m.versJson().contains("\"passes\": 3"), m.versJson());
+
+        Metriques.reinitialiser();
+        assertEquals("{\n}\n", Metriques.versJson());
+    }
+
+    @Test
+    public void testMoteursInstrumentes() {
+        assumeTrue(Metriques.ACTIVES, "Mesures désactivées (-Dexplor.metriques=true pour ce test)");
+
+        new Dijkstra().resoudre(graphe, "A");
+        Metriques.Mesure m = Metriques.derniere();
+        assertEquals("Dijkstra", m.getMoteur());
+        assertEquals(5, m.getNoeudsTraites());
+        assertEquals(5, m.getExtractionsTas());
+        assertEquals(6, m.getInsertionsTas(), "5 insertions et une diminution de clé (D : 87 puis 66)");
+        assertTrue(m.getDiminutions() <= m.getArcsRelaches());
+
+        new BellmanFord().resoudre(graphe, "A");
+        m = Metriques.derniere();
+        assertEquals("BellmanFord", m.getMoteur());
+        assertTrue(m.getPasses() >= 2, "Au moins une passe de modification et une de vérification");
+        assertEquals(m.getPasses() * 7, m.getArcsRelaches(), "Chaque passe relâche les 7 arcs (tous atteints)");
+
+        try (DeltaStepping deltaStepping = new DeltaStepping(10, 2)) {
+            deltaStepping.resoudre(graphe, "A");
+        }
+        assertEquals("DeltaStepping", Metriques.derniere().getMoteur());
+        assertTrue(Metriques.derniere().getDiminutions() >= 4);
+
+        assertEquals(1, Metriques.histogramme("Dijkstra", "dureeNs").getNb());
+        assertTrue(Metriques.versJson().contains("\"BellmanFord\""));
+
+        // Recherches de la matrice faites dans les threads du pool : une mesure par source
+        try (MatriceDistances matrice = new MatriceDistances(graphe, 2)) {
+            matrice.calculer(List.of("A", "C", "E"), List.of("D"));
+        }
+        assertEquals(3, Metriques.histogramme("DijkstraCompact", "dureeNs").getNb());
+
+        // Réparation : D, C et E repassent par A->D (diminutions et insertions dans le tas)
+        DijkstraDynamique dynamique = new DijkstraDynamique(graphe, "A");
+        dynamique.modifierCout("B", "E", 100);
+        dynamique.getValeurs();
+        m = Metriques.derniere();
+        assertEquals("DijkstraDynamique", m.getMoteur());
+        assertTrue(m.getDiminutions() >= 3, "Chacun reçoit une nouvelle valeur");
+        assertEquals(m.getDiminutions(), m.getInsertionsTas());
+    }
+}
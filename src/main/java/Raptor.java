@@ -0,0 +1,717 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe implémentant un calcul d'itinéraire horaire par tours (RAPTOR)
+ * - les routes sont déduites des lignes des arcs : chaque ligne donne une route
+ *   par sens et par branche, d'un terminus (nœud n'ayant qu'un voisin sur la
+ *   ligne) à un autre
+ * - les courses de chaque route sont générées à partir d'une fréquence par ligne
+ *   (premier départ, dernier départ, intervalle) ; les horaires de passage
+ *   sont le cumul des coûts des arcs plus un temps d'arrêt à chaque station
+ * - le tour k trouve les meilleures arrivées en k courses : chaque route n'est
+ *   parcourue qu'une fois par tour, à partir de son premier arrêt amélioré au
+ *   tour précédent, sans tas ni graphe étendu dans le temps
+ * - routes, arrêts et horaires sont stockés dans des tableaux plats d'entiers :
+ *   les horaires de la course c d'une route r sont contigus, à partir de
+ *   debutHoraires[r] + c * nbArrets(r)
+ * Les heures sont des entiers dans l'unité des coûts des arcs (secondes pour
+ * metro.txt), comptées depuis minuit.
+ */
+public class Raptor {
+
+    /** Nombre maximal de courses d'un itinéraire */
+    public static final int MAX_TOURS = 16;
+
+    /** Temps d'arrêt par défaut à chaque station */
+    public static final int ARRET_DEFAUT = 20;
+
+    /** Temps de correspondance minimal par défaut entre deux courses */
+    public static final int CORRESPONDANCE_DEFAUT = 120;
+
+    /** Fréquence par défaut : un départ toutes les 3 minutes de 5h30 à 0h30 */
+    public static final Frequence FREQUENCE_DEFAUT = new Frequence(5 * 3600 + 1800, 24 * 3600 + 1800, 180);
+
+    /** Heure représentant un arrêt non atteint */
+    private static final int INFINI = Integer.MAX_VALUE;
+
+    /** Graphe compact d'origine (noms des nœuds et des lignes) */
+    private final GrapheCompact graphe;
+
+    /** Temps de correspondance minimal */
+    private final int correspondance;
+
+    /** Nombre de routes */
+    private final int nbRoutes;
+
+    /** Ligne (identifiant du graphe compact) de chaque route */
+    private final short[] ligneRoute;
+
+    /** Début des arrêts de chaque route dans arretsRoutes (taille nbRoutes + 1) */
+    private final int[] debutArrets;
+
+    /** Arrêts des routes, à la suite */
+    private final int[] arretsRoutes;
+
+    /** Début des horaires de chaque route dans arrivees et departs */
+    private final int[] debutHoraires;
+
+    /** Nombre de courses de chaque route */
+    private final int[] nbCourses;
+
+    /** Heure d'arrivée de chaque course à chaque arrêt */
+    private final int[] arrivees;
+
+    /** Heure de départ de chaque course de chaque arrêt */
+    private final int[] departs;
+
+    /** Début des routes de chaque arrêt dans routesArret (taille n + 1) */
+    private final int[] debutRoutesArret;
+
+    /** Routes passant par chaque arrêt */
+    private final int[] routesArret;
+
+    /** Position de l'arrêt dans chacune de ces routes */
+    private final int[] positionsArret;
+
+    /** Meilleure arrivée à chaque arrêt en k courses, pour chaque tour k : [k * n + p] */
+    private final int[] tours;
+
+    /** Meilleure arrivée à chaque arrêt, tous tours confondus */
+    private final int[] meilleures;
+
+    /** Route, position de montée et de descente ayant donné tours[k * n + p] (-1 : pas de course) */
+    private final int[] parentRoute;
+    private final int[] parentMontee;
+    private final int[] parentDescente;
+
+    /** Arrêts améliorés au tour courant et au tour précédent */
+    private boolean[] marques;
+    private boolean[] marquesSuivants;
+
+    /** Première position à parcourir de chaque route pour le tour courant (-1 : pas à parcourir) */
+    private final int[] premierePosition;
+
+    /** Tours réellement calculés à la dernière recherche */
+    private int nbToursCalcules;
+
+    /**
+     * Fréquence des courses d'une ligne (mêmes horaires dans les deux sens)
+     */
+    public static class Frequence {
+        private final int premierDepart;
+        private final int dernierDepart;
+        private final int intervalle;
+
+        /**
+         * Constructeur
+         * @param premierDepart l'heure de départ de la première course, au terminus
+         * @param dernierDepart l'heure de départ de la dernière course, au plus tard
+         * @param intervalle l'intervalle entre deux courses (strictement positif)
+         */
+        public Frequence(int premierDepart, int dernierDepart, int intervalle) {
+            if (intervalle <= 0 || dernierDepart < premierDepart) {
+                throw new IllegalArgumentException("Fréquence invalide : " + premierDepart + "-" + dernierDepart
+                        + " toutes les " + intervalle);
+            }
+            this.premierDepart = premierDepart;
+            this.dernierDepart = dernierDepart;
+            this.intervalle = intervalle;
+        }
+
+        /**
+         * Nombre de courses entre le premier et le dernier départ
+         */
+        int nbCourses() {
+            return (this.dernierDepart - this.premierDepart) / this.intervalle + 1;
+        }
+    }
+
+    /**
+     * Option d'un profil : partir à l'heure depart permet d'arriver à l'heure arrivee
+     */
+    public static class Option {
+        private final int depart;
+        private final int arrivee;
+
+        Option(int depart, int arrivee) {
+            this.depart = depart;
+            this.arrivee = arrivee;
+        }
+
+        /**
+         * Retourne l'heure de départ
+         * @return l'heure de départ
+         */
+        public int getDepart() {
+            return this.depart;
+        }
+
+        /**
+         * Retourne l'heure d'arrivée
+         * @return l'heure d'arrivée
+         */
+        public int getArrivee() {
+            return this.arrivee;
+        }
+
+        @Override
+        public String toString() {
+            return versHeure(this.depart) + " -> " + versHeure(this.arrivee);
+        }
+    }
+
+    /**
+     * Constructeur avec la fréquence, le temps d'arrêt et la correspondance par défaut
+     * @param g le graphe (les arcs sans ligne sont ignorés)
+     */
+    public Raptor(Graphe g) {
+        this(g, Collections.emptyMap(), ARRET_DEFAUT, CORRESPONDANCE_DEFAUT);
+    }
+
+    /**
+     * Constructeur
+     * @param g le graphe (les arcs sans ligne sont ignorés)
+     * @param frequences la fréquence de chaque ligne (FREQUENCE_DEFAUT pour les lignes absentes)
+     * @param arret le temps d'arrêt à chaque station intermédiaire
+     * @param correspondance le temps minimal pour changer de course à une station
+     */
+    public Raptor(Graphe g, Map<String, Frequence> frequences, int arret, int correspondance) {
+        if (arret < 0 || correspondance < 0) {
+            throw new IllegalArgumentException("Temps d'arrêt et de correspondance positifs ou nuls attendus");
+        }
+        this.graphe = GrapheCompact.depuis(g);
+        this.correspondance = correspondance;
+        GrapheCompact gc = this.graphe;
+        int n = gc.nbNoeuds();
+
+        // Routes : parcours de chaque ligne depuis chacun de ses terminus
+        List<int[]> routes = new ArrayList<>();
+        List<Short> lignes = new ArrayList<>();
+        for (short l = 0; l < gc.nbLignes(); l++) {
+            for (int[] route : routesLigne(gc, l)) {
+                routes.add(route);
+                lignes.add(l);
+            }
+        }
+        this.nbRoutes = routes.size();
+        this.ligneRoute = new short[this.nbRoutes];
+        this.debutArrets = new int[this.nbRoutes + 1];
+        this.debutHoraires = new int[this.nbRoutes + 1];
+        this.nbCourses = new int[this.nbRoutes];
+        for (int r = 0; r < this.nbRoutes; r++) {
+            this.ligneRoute[r] = lignes.get(r);
+            Frequence f = frequences.getOrDefault(gc.nomLigne(this.ligneRoute[r]), FREQUENCE_DEFAUT);
+            int k = routes.get(r).length;
+            this.nbCourses[r] = f.nbCourses();
+            this.debutArrets[r + 1] = this.debutArrets[r] + k;
+            this.debutHoraires[r + 1] = this.debutHoraires[r] + this.nbCourses[r] * k;
+        }
+
+        // Arrêts et horaires, route par route
+        this.arretsRoutes = new int[this.debutArrets[this.nbRoutes]];
+        this.arrivees = new int[this.debutHoraires[this.nbRoutes]];
+        this.departs = new int[this.debutHoraires[this.nbRoutes]];
+        int[] nbRoutesArret = new int[n];
+        for (int r = 0; r < this.nbRoutes; r++) {
+            int[] route = routes.get(r);
+            int k = route.length;
+            System.arraycopy(route, 0, this.arretsRoutes, this.debutArrets[r], k);
+            for (int p : route) {
+                nbRoutesArret[p]++;
+            }
+            // Décalage de chaque arrêt par rapport au départ du terminus
+            int[] decalageArrivee = new int[k];
+            int[] decalageDepart = new int[k];
+            for (int i = 1; i < k; i++) {
+                int a = arcLigne(gc, route[i - 1], route[i], this.ligneRoute[r]);
+                decalageArrivee[i] = decalageDepart[i - 1] + (int) Math.round(gc.cout(a));
+                decalageDepart[i] = decalageArrivee[i] + (i < k - 1 ? arret : 0);
+            }
+            Frequence f = frequences.getOrDefault(gc.nomLigne(this.ligneRoute[r]), FREQUENCE_DEFAUT);
+            for (int c = 0; c < this.nbCourses[r]; c++) {
+                int heure = f.premierDepart + c * f.intervalle;
+                int base = this.debutHoraires[r] + c * k;
+                for (int i = 0; i < k; i++) {
+                    this.arrivees[base + i] = heure + decalageArrivee[i];
+                    this.departs[base + i] = heure + decalageDepart[i];
+                }
+            }
+        }
+
+        // Routes de chaque arrêt
+        this.debutRoutesArret = new int[n + 1];
+        for (int p = 0; p < n; p++) {
+            this.debutRoutesArret[p + 1] = this.debutRoutesArret[p] + nbRoutesArret[p];
+        }
+        this.routesArret = new int[this.debutRoutesArret[n]];
+        this.positionsArret = new int[this.debutRoutesArret[n]];
+        int[] suivant = Arrays.copyOf(this.debutRoutesArret, n);
+        for (int r = 0; r < this.nbRoutes; r++) {
+            for (int i = this.debutArrets[r]; i < this.debutArrets[r + 1]; i++) {
+                int p = this.arretsRoutes[i];
+                this.routesArret[suivant[p]] = r;
+                this.positionsArret[suivant[p]] = i - this.debutArrets[r];
+                suivant[p]++;
+            }
+        }
+
+        // Tableaux de recherche, réutilisés d'une requête à l'autre
+        this.tours = new int[(MAX_TOURS + 1) * n];
+        this.meilleures = new int[n];
+        this.parentRoute = new int[(MAX_TOURS + 1) * n];
+        this.parentMontee = new int[(MAX_TOURS + 1) * n];
+        this.parentDescente = new int[(MAX_TOURS + 1) * n];
+        this.marques = new boolean[n];
+        this.marquesSuivants = new boolean[n];
+        this.premierePosition = new int[this.nbRoutes];
+    }
+
+    /**
+     * Arc de u vers v sur la ligne donnée (le moins coûteux s'il y en a plusieurs)
+     */
+    private static int arcLigne(GrapheCompact g, int u, int v, short ligne) {
+        int meilleur = -1;
+        for (int a = g.debut(u); a < g.fin(u); a++) {
+            if (g.cible(a) == v && g.ligne(a) == ligne && (meilleur == -1 || g.cout(a) < g.cout(meilleur))) {
+                meilleur = a;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Routes d'une ligne : un chemin maximal depuis chaque terminus, pour chaque
+     * branche. Une ligne sans terminus (boucle) est parcourue depuis son plus
+     * petit nœud, sans l'arc qui la referme.
+     * À une fourche (nœud ayant au moins trois voisins sur la ligne), le tronc est
+     * le côté qui compte le plus de stations : une route doit y arriver ou en
+     * repartir. Sur une ligne en Y, les courses vont du terminus du tronc au bout
+     * de chaque branche, jamais d'une branche à l'autre (à égalité, tous les côtés
+     * les plus grands sont des troncs).
+     */
+    private static List<int[]> routesLigne(GrapheCompact g, short ligne) {
+        int n = g.nbNoeuds();
+        // Voisins distincts sur la ligne (arcs sortants et entrants)
+        List<List<Integer>> voisins = new ArrayList<>(n);
+        for (int u = 0; u < n; u++) {
+            voisins.add(new ArrayList<>(2));
+        }
+        for (int u = 0; u < n; u++) {
+            for (int a = g.debut(u); a < g.fin(u); a++) {
+                int v = g.cible(a);
+                if (g.ligne(a) == ligne && v != u) {
+                    if (!voisins.get(u).contains(v)) {
+                        voisins.get(u).add(v);
+                    }
+                    if (!voisins.get(v).contains(u)) {
+                        voisins.get(v).add(u);
+                    }
+                }
+            }
+        }
+        List<Integer> terminus = new ArrayList<>();
+        int premier = -1;
+        for (int u = 0; u < n; u++) {
+            int d = voisins.get(u).size();
+            if (d == 1) {
+                terminus.add(u);
+            }
+            if (d > 0 && premier == -1) {
+                premier = u;
+            }
+        }
+        if (terminus.isEmpty() && premier != -1) {
+            terminus.add(premier);
+        }
+
+        // Côtés du tronc à chaque fourche (null ailleurs)
+        List<List<Integer>> troncs = new ArrayList<>(n);
+        for (int u = 0; u < n; u++) {
+            troncs.add(voisins.get(u).size() >= 3 ? troncFourche(voisins, u) : null);
+        }
+
+        List<int[]> routes = new ArrayList<>();
+        boolean[] visite = new boolean[n];
+        int[] chemin = new int[n];
+        for (int t : terminus) {
+            prolonger(g, ligne, t, 0, chemin, visite, troncs, routes);
+        }
+        return routes;
+    }
+
+    /**
+     * Voisins d'une fourche du côté du tronc : ceux dont le côté (stations
+     * atteintes sur la ligne sans repasser par la fourche) est le plus grand
+     */
+    private static List<Integer> troncFourche(List<List<Integer>> voisins, int fourche) {
+        List<Integer> tronc = new ArrayList<>(1);
+        int max = -1;
+        boolean[] vu = new boolean[voisins.size()];
+        int[] file = new int[voisins.size()];
+        for (int w : voisins.get(fourche)) {
+            // Parcours en largeur du côté de w, la fourche étant exclue
+            Arrays.fill(vu, false);
+            vu[fourche] = true;
+            vu[w] = true;
+            int tete = 0;
+            int queue = 0;
+            file[queue++] = w;
+            while (tete < queue) {
+                for (int x : voisins.get(file[tete++])) {
+                    if (!vu[x]) {
+                        vu[x] = true;
+                        file[queue++] = x;
+                    }
+                }
+            }
+            if (queue > max) {
+                max = queue;
+                tronc.clear();
+            }
+            if (queue == max) {
+                tronc.add(w);
+            }
+        }
+        return tronc;
+    }
+
+    /**
+     * Parcours en profondeur des arcs de la ligne : chaque chemin qui ne peut
+     * plus être prolongé donne une route (si elle a au moins deux arrêts).
+     * Une fourche n'est traversée que si l'on arrive du tronc ou que l'on y repart.
+     */
+    private static void prolonger(GrapheCompact g, short ligne, int u, int longueur, int[] chemin, boolean[] visite,
+            List<List<Integer>> troncs, List<int[]> routes) {
+        chemin[longueur++] = u;
+        visite[u] = true;
+        List<Integer> tronc = troncs.get(u);
+        boolean depuisTronc = tronc == null || longueur == 1 || tronc.contains(chemin[longueur - 2]);
+        boolean prolonge = false;
+        for (int a = g.debut(u); a < g.fin(u); a++) {
+            int v = g.cible(a);
+            if (g.ligne(a) == ligne && !visite[v] && (depuisTronc || tronc.contains(v))) {
+                prolonge = true;
+                prolonger(g, ligne, v, longueur, chemin, visite, troncs, routes);
+            }
+        }
+        if (!prolonge && longueur > 1) {
+            routes.add(Arrays.copyOf(chemin, longueur));
+        }
+        visite[u] = false;
+    }
+
+    /**
+     * Calcule l'heure d'arrivée au plus tôt
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @param heure l'heure de départ
+     * @return l'heure d'arrivée au plus tôt, ou -1 si l'arrivée n'est pas accessible
+     */
+    public int arriveeAuPlusTot(String depart, String arrivee, int heure) {
+        int t = indice(arrivee);
+        initialiser();
+        rechercher(indice(depart), t, heure);
+        return this.meilleures[t] == INFINI ? -1 : this.meilleures[t];
+    }
+
+    /**
+     * Calcule l'itinéraire arrivant au plus tôt (à arrivée égale, celui qui
+     * emprunte le moins de courses)
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @param heure l'heure de départ
+     * @return le chemin (son coût est la durée totale, attentes comprises), ou null si inaccessible
+     */
+    public Chemin trajet(String depart, String arrivee, int heure) {
+        int s = indice(depart);
+        int t = indice(arrivee);
+        initialiser();
+        rechercher(s, t, heure);
+        if (this.meilleures[t] == INFINI) {
+            return null;
+        }
+        int n = this.graphe.nbNoeuds();
+        int k = 0;
+        while (this.tours[k * n + t] != this.meilleures[t]) {
+            k++;
+        }
+
+        // Remontée des courses, de l'arrivée vers le départ
+        List<String> noeuds = new ArrayList<>();
+        List<String> lignes = new ArrayList<>();
+        int p = t;
+        while (k > 0) {
+            int e = k * n + p;
+            int r = this.parentRoute[e];
+            if (r == -1) {
+                k--;
+                continue;
+            }
+            String ligne = this.graphe.nomLigne(this.ligneRoute[r]);
+            for (int i = this.parentDescente[e]; i > this.parentMontee[e]; i--) {
+                noeuds.add(this.graphe.nom(this.arretsRoutes[this.debutArrets[r] + i]));
+                lignes.add(ligne);
+            }
+            p = this.arretsRoutes[this.debutArrets[r] + this.parentMontee[e]];
+            k--;
+        }
+        noeuds.add(depart);
+        Collections.reverse(noeuds);
+        Collections.reverse(lignes);
+        return new Chemin(noeuds, lignes, this.meilleures[t] - heure);
+    }
+
+    /**
+     * Calcule le profil d'un trajet sur une plage horaire (rRAPTOR) : une
+     * recherche par départ possible, du plus tardif au plus tôt, sans effacer
+     * les arrivées entre deux recherches (partir plus tôt permet toujours
+     * d'attendre). Seules les options non dominées sont gardées.
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @param debut le début de la plage des heures de départ
+     * @param fin la fin de la plage des heures de départ
+     * @return les options par heure de départ croissante, arrivées strictement croissantes
+     */
+    public List<Option> profil(String depart, String arrivee, int debut, int fin) {
+        int s = indice(depart);
+        int t = indice(arrivee);
+
+        // Heures de départ des courses depuis le nœud de départ dans la plage
+        List<Integer> heures = new ArrayList<>();
+        for (int j = this.debutRoutesArret[s]; j < this.debutRoutesArret[s + 1]; j++) {
+            int r = this.routesArret[j];
+            int k = this.debutArrets[r + 1] - this.debutArrets[r];
+            for (int c = 0; c < this.nbCourses[r]; c++) {
+                int h = this.departs[this.debutHoraires[r] + c * k + this.positionsArret[j]];
+                if (h >= debut && h <= fin) {
+                    heures.add(h);
+                }
+            }
+        }
+        heures.sort(Collections.reverseOrder());
+
+        List<Option> options = new ArrayList<>();
+        initialiser();
+        int precedente = INFINI;
+        int derniere = INFINI;
+        for (int h : heures) {
+            if (h == precedente) {
+                continue;
+            }
+            precedente = h;
+            rechercher(s, t, h);
+            int a = this.meilleures[t];
+            // À arrivée égale, l'option partant plus tard (déjà gardée) domine
+            if (a < derniere) {
+                options.add(new Option(h, a));
+                derniere = a;
+            }
+        }
+        Collections.reverse(options);
+        return options;
+    }
+
+    /**
+     * Nombre de tours calculés à la dernière recherche
+     * @return le nombre de tours
+     */
+    public int getNbTours() {
+        return this.nbToursCalcules;
+    }
+
+    /**
+     * Nombre de routes déduites des lignes
+     * @return le nombre de routes
+     */
+    public int nbRoutes() {
+        return this.nbRoutes;
+    }
+
+    /**
+     * Indice d'un nœud du graphe, avec contrôle
+     */
+    private int indice(String nom) {
+        int u = this.graphe.indice(nom);
+        if (u == -1) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nom);
+        }
+        return u;
+    }
+
+    /**
+     * Efface les arrivées de toutes les recherches précédentes
+     */
+    private void initialiser() {
+        Arrays.fill(this.tours, INFINI);
+        Arrays.fill(this.meilleures, INFINI);
+        Arrays.fill(this.parentRoute, -1);
+    }
+
+    /**
+     * Recherche par tours depuis s à l'heure donnée, en conservant les
+     * arrivées déjà présentes (bornes valides pour un départ plus tôt)
+     * @param s l'indice du nœud de départ
+     * @param t l'indice du nœud d'arrivée (élagage des arrivées plus tardives)
+     * @param heure l'heure de départ
+     */
+    private void rechercher(int s, int t, int heure) {
+        int n = this.graphe.nbNoeuds();
+        Metriques.Mesure mesure = Metriques.ACTIVES ? Metriques.commencer("Raptor") : null;
+        Arrays.fill(this.marques, false);
+        if (heure < this.tours[s]) {
+            this.tours[s] = heure;
+            this.parentRoute[s] = -1;
+        }
+        if (heure < this.meilleures[s]) {
+            this.meilleures[s] = heure;
+        }
+        this.marques[s] = true;
+
+        int k = 1;
+        for (; k <= MAX_TOURS; k++) {
+            // Routes passant par un arrêt amélioré au tour précédent
+            Arrays.fill(this.premierePosition, -1);
+            boolean aParcourir = false;
+            for (int p = 0; p < n; p++) {
+                if (!this.marques[p]) {
+                    continue;
+                }
+                for (int j = this.debutRoutesArret[p]; j < this.debutRoutesArret[p + 1]; j++) {
+                    int r = this.routesArret[j];
+                    int i = this.positionsArret[j];
+                    if (this.premierePosition[r] == -1 || i < this.premierePosition[r]) {
+                        this.premierePosition[r] = i;
+                    }
+                    aParcourir = true;
+                }
+            }
+            if (!aParcourir) {
+                break;
+            }
+            Arrays.fill(this.marquesSuivants, false);
+            boolean ameliore = false;
+            int precedent = (k - 1) * n;
+            int courant = k * n;
+
+            for (int r = 0; r < this.nbRoutes; r++) {
+                int premiere = this.premierePosition[r];
+                if (premiere == -1) {
+                    continue;
+                }
+                int debutArret = this.debutArrets[r];
+                int nbArrets = this.debutArrets[r + 1] - debutArret;
+                int course = -1;
+                int base = 0;
+                int montee = -1;
+                for (int i = premiere; i < nbArrets; i++) {
+                    int p = this.arretsRoutes[debutArret + i];
+                    if (Metriques.ACTIVES) {
+                        mesure.arcsRelaches++;
+                    }
+                    // Descente à p
+                    if (course != -1) {
+                        int a = this.arrivees[base + i];
+                        if (a < this.meilleures[p] && a < this.meilleures[t]) {
+                            this.tours[courant + p] = a;
+                            this.meilleures[p] = a;
+                            this.parentRoute[courant + p] = r;
+                            this.parentMontee[courant + p] = montee;
+                            this.parentDescente[courant + p] = i;
+                            this.marquesSuivants[p] = true;
+                            ameliore = true;
+                            if (Metriques.ACTIVES) {
+                                mesure.noeudsTraites++;
+                                mesure.diminutions++;
+                            }
+                        }
+                    }
+                    // Montée à p dans une course plus tôt si possible
+                    int pret = this.tours[precedent + p];
+                    if (pret == INFINI) {
+                        continue;
+                    }
+                    if (k > 1 && p != s) {
+                        pret += this.correspondance;
+                    }
+                    if (course == -1 || pret < this.departs[base + i]) {
+                        int c = premiereCourse(r, i, pret, course == -1 ? this.nbCourses[r] : course);
+                        if (c != -1) {
+                            course = c;
+                            base = this.debutHoraires[r] + c * nbArrets;
+                            montee = i;
+                        }
+                    }
+                }
+            }
+
+            // Les arrivées non améliorées ce tour sont celles du tour précédent
+            for (int p = 0; p < n; p++) {
+                if (this.tours[precedent + p] < this.tours[courant + p]) {
+                    this.tours[courant + p] = this.tours[precedent + p];
+                    this.parentRoute[courant + p] = -1;
+                }
+            }
+            boolean[] echange = this.marques;
+            this.marques = this.marquesSuivants;
+            this.marquesSuivants = echange;
+            if (!ameliore) {
+                k++;
+                break;
+            }
+        }
+        this.nbToursCalcules = k - 1;
+        if (Metriques.ACTIVES) {
+            mesure.passes = this.nbToursCalcules;
+            Metriques.terminer(mesure);
+        }
+    }
+
+    /**
+     * Première course d'une route partant de la position i à l'heure pret ou
+     * après (recherche dichotomique : les courses d'une route ne se doublent pas)
+     * @param r la route
+     * @param i la position de l'arrêt dans la route
+     * @param pret l'heure à partir de laquelle on peut monter
+     * @param fin la borne (exclue) des courses à considérer
+     * @return la course, ou -1 s'il n'y en a pas
+     */
+    private int premiereCourse(int r, int i, int pret, int fin) {
+        int nbArrets = this.debutArrets[r + 1] - this.debutArrets[r];
+        int base = this.debutHoraires[r] + i;
+        int bas = 0;
+        int haut = fin;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (this.departs[base + milieu * nbArrets] < pret) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas < fin ? bas : -1;
+    }
+
+    /**
+     * Convertit une heure en texte hh:mm:ss
+     * @param secondes l'heure en secondes depuis minuit
+     * @return l'heure en texte
+     */
+    public static String versHeure(int secondes) {
+        return String.format("%02d:%02d:%02d", secondes / 3600, secondes / 60 % 60, secondes % 60);
+    }
+
+    /**
+     * Convertit une heure hh:mm ou hh:mm:ss en secondes depuis minuit
+     * @param heure l'heure en texte
+     * @return l'heure en secondes
+     */
+    public static int depuisHeure(String heure) {
+        String[] parties = heure.trim().split(":");
+        int secondes = Integer.parseInt(parties[0]) * 3600 + Integer.parseInt(parties[1]) * 60;
+        return parties.length > 2 ? secondes + Integer.parseInt(parties[2]) : secondes;
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitaires pour la classe Raptor
+ */
+public class RaptorTest {
+
+    private GrapheListe graphe;
+    private Map<String, Raptor.Frequence> frequences;
+
+    @BeforeEach
+    public void setUp() {
+        // Ligne A : X - Y - Z, ligne B : Y - W (60 s par arc, dans les deux sens)
+        graphe = new GrapheListe();
+        graphe.ajouterArc("X", "Y", 60, "A");
+        graphe.ajouterArc("Y", "X", 60, "A");
+        graphe.ajouterArc("Y", "Z", 60, "A");
+        graphe.ajouterArc("Z", "Y", 60, "A");
+        graphe.ajouterArc("Y", "W", 60, "B");
+        graphe.ajouterArc("W", "Y", 60, "B");
+        frequences = new HashMap<>();
+        frequences.put("A", new Raptor.Frequence(0, 3600, 600));
+        frequences.put("B", new Raptor.Frequence(100, 3600, 300));
+    }
+
+    @Test
+    public void testArriveeAuPlusTot() {
+        Raptor raptor = new Raptor(graphe, frequences, 0, 0);
+        assertEquals(4, raptor.nbRoutes(), "Deux routes par ligne, une par sens");
+
+        assertEquals(120, raptor.arriveeAuPlusTot("X", "Z", 0));
+        assertEquals(720, raptor.arriveeAuPlusTot("X", "Z", 10), "La course suivante part à 600");
+        // Y atteint à 60, course de B partant de Y à 100
+        assertEquals(160, raptor.arriveeAuPlusTot("X", "W", 0));
+        assertEquals(42, raptor.arriveeAuPlusTot("X", "X", 42));
+        assertEquals(-1, raptor.arriveeAuPlusTot("X", "Z", 3601), "Plus de course après le dernier départ");
+
+        // Avec 60 s de correspondance, Y est quitté à 400 au plus tôt
+        Raptor avecCorrespondance = new Raptor(graphe, frequences, 0, 60);
+        assertEquals(460, avecCorrespondance.arriveeAuPlusTot("X", "W", 0));
+        assertEquals(120, avecCorrespondance.arriveeAuPlusTot("X", "Z", 0), "Pas de correspondance sans changement");
+    }
+
+    @Test
+    public void testTrajet() {
+        Raptor raptor = new Raptor(graphe, frequences, 0, 0);
+        Chemin chemin = raptor.trajet("X", "W", 0);
+        assertEquals(List.of("X", "Y", "W"), chemin.getNoeuds());
+        assertEquals(List.of("A", "B"), chemin.getLignes());
+        assertEquals(160, chemin.getCout(), 0.001, "Durée attente comprise");
+        assertEquals(3, raptor.getNbTours(), "Deux courses, puis un tour sans amélioration");
+
+        assertNull(raptor.trajet("X", "W", 3601));
+        assertThrows(IllegalArgumentException.class, () -> raptor.trajet("X", "inconnu", 0));
+    }
+
+    @Test
+    public void testProfil() {
+        Raptor raptor = new Raptor(graphe, frequences, 0, 0);
+        List<Raptor.Option> options = raptor.profil("X", "W", 0, 1200);
+        assertEquals(3, options.size(), options.toString());
+        int[][] attendues = {{0, 160}, {600, 760}, {1200, 1360}};
+        for (int i = 0; i < attendues.length; i++) {
+            assertEquals(attendues[i][0], options.get(i).getDepart());
+            assertEquals(attendues[i][1], options.get(i).getArrivee());
+        }
+    }
+
+    @Test
+    public void testLigneEnY() {
+        // Ligne Y : tronc T - U - J, puis branches J - C et J - D (60 s par arc, dans les deux sens)
+        GrapheListe y = new GrapheListe();
+        String[][] arcs = {{"T", "U"}, {"U", "J"}, {"J", "C"}, {"J", "D"}};
+        for (String[] arc : arcs) {
+            y.ajouterArc(arc[0], arc[1], 60, "Y");
+            y.ajouterArc(arc[1], arc[0], 60, "Y");
+        }
+        Raptor raptor = new Raptor(y, Map.of("Y", new Raptor.Frequence(0, 3600, 600)), 0, 60);
+        assertEquals(4, raptor.nbRoutes(), "T -> C, C -> T, T -> D et D -> T : aucune course de C à D");
+
+        assertEquals(180, raptor.arriveeAuPlusTot("T", "C", 0));
+        assertEquals(180, raptor.arriveeAuPlusTot("D", "T", 0));
+        // De C à D : descente à J à 60, correspondance, puis course T -> D partie de T à 0
+        // (à J à 120) ; une course directe C -> D arriverait à 120
+        assertEquals(180, raptor.arriveeAuPlusTot("C", "D", 0));
+        assertEquals(List.of("C", "J", "D"), raptor.trajet("C", "D", 0).getNoeuds());
+    }
+
+    @Test
+    public void testMetro() throws IOException {
+        Graphe metro = LireReseau.lire("src/main/java/metro.txt");
+        // Un départ toutes les 10 s depuis 7h (toutes les stations sont desservies
+        // à 8h) : la durée ne dépasse la distance statique que de l'attente aux montées
+        Map<String, Raptor.Frequence> denses = new HashMap<>();
+        for (String ligne : new String[]{"1", "2", "3", "3bis", "4", "5", "6", "7", "7bis", "8", "9", "10", "11",
+                "12", "13", "14"}) {
+            denses.put(ligne, new Raptor.Frequence(7 * 3600, 9 * 3600, 10));
+        }
+        Raptor raptor = new Raptor(metro, denses, 0, 0);
+        Dijkstra dijkstra = new Dijkstra();
+
+        int heure = 8 * 3600;
+        String[][] trajets = {{"1", "197"}, {"26", "110"}, {"50", "245"}, {"143", "283"}, {"69", "224"}};
+        for (String[] trajet : trajets) {
+            Valeurs valeurs = dijkstra.resoudre(metro, trajet[0]);
+            double distance = valeurs.getValeur(trajet[1]);
+            // Au plus une montée par arc du plus court chemin statique
+            int arcs = valeurs.calculerChemin(trajet[1]).size() - 1;
+            Chemin chemin = raptor.trajet(trajet[0], trajet[1], heure);
+            assertNotNull(chemin, trajet[0] + " -> " + trajet[1]);
+            assertEquals(heure + (int) chemin.getCout(), raptor.arriveeAuPlusTot(trajet[0], trajet[1], heure));
+
+            assertTrue(chemin.getCout() >= distance - 0.5 * chemin.getLignes().size(),
+                    "La durée ne peut pas être inférieure à la distance statique");
+            assertTrue(chemin.getCout() <= distance + 10.5 * arcs,
+                    trajet[0] + " -> " + trajet[1] + " : " + chemin.getCout() + " pour " + distance);
+            assertEquals(trajet[0], chemin.getNoeuds().get(0));
+            assertEquals(trajet[1], chemin.getNoeuds().get(chemin.getNoeuds().size() - 1));
+        }
+
+        // Profil : départs et arrivées strictement croissants, chacun au plus tôt
+        List<Raptor.Option> options = raptor.profil("1", "197", heure, heure + 120);
+        assertFalse(options.isEmpty());
+        for (int i = 0; i < options.size(); i++) {
+            Raptor.Option o = options.get(i);
+            assertEquals(raptor.arriveeAuPlusTot("1", "197", o.getDepart()), o.getArrivee());
+            if (i > 0) {
+                assertTrue(o.getDepart() > options.get(i - 1).getDepart());
+                assertTrue(o.getArrivee() > options.get(i - 1).getArrivee());
+            }
+        }
+    }
+
+    @Test
+    public void testHeures() {
+        assertEquals(8 * 3600 + 12 * 60, Raptor.depuisHeure("08:12"));
+        assertEquals(8 * 3600 + 12 * 60 + 5, Raptor.depuisHeure("8:12:05"));
+        assertEquals("08:12:05", Raptor.versHeure(8 * 3600 + 12 * 60 + 5));
+        assertThrows(IllegalArgumentException.class, () -> new Raptor.Frequence(10, 0, 60));
+    }
+}
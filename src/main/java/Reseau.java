@@ -0,0 +1,64 @@
+import java.util.Map;
+
+/**
+ * Classe Reseau - regroupe un graphe de transport et les informations
+ * des stations lues dans le fichier (nom et coordonnées x/y)
+ * Les stations sont identifiées par leur id, qui est aussi le nom du nœud dans le graphe.
+ */
+public class Reseau {
+
+    /** Graphe des connexions */
+    private final Graphe graphe;
+
+    /** Nom de chaque station (id -> nom) */
+    private final Map<String, String> noms;
+
+    /** Coordonnées de chaque station (id -> {x, y}) */
+    private final Map<String, double[]> coordonnees;
+
+    /**
+     * Constructeur
+     * @param graphe le graphe des connexions
+     * @param noms le nom de chaque station
+     * @param coordonnees les coordonnées {x, y} de chaque station
+     */
+    public Reseau(Graphe graphe, Map<String, String> noms, Map<String, double[]> coordonnees) {
+        this.graphe = graphe;
+        this.noms = noms;
+        this.coordonnees = coordonnees;
+    }
+
+    /**
+     * Retourne le graphe des connexions
+     * @return le graphe
+     */
+    public Graphe getGraphe() {
+        return this.graphe;
+    }
+
+    /**
+     * Retourne les noms des stations
+     * @return la table id -> nom
+     */
+    public Map<String, String> getNoms() {
+        return this.noms;
+    }
+
+    /**
+     * Retourne le nom d'une station
+     * @param id l'identifiant de la station
+     * @return le nom de la station, ou null si inconnue
+     */
+    public String getNom(String id) {
+        return this.noms.get(id);
+    }
+
+    /**
+     * Retourne les coordonnées d'une station
+     * @param id l'identifiant de la station
+     * @return le tableau {x, y}, ou null si la station n'a pas de coordonnées
+     */
+    public double[] getCoordonnees(String id) {
+        return this.coordonnees.get(id);
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.Arrays;
+
+/**
+ * Tas binaire minimum indexé (file de priorité) sur des entiers 0..n-1
+ * - chaque élément est un indice de nœud, associé à une clé (sa valeur)
+ * - la position de chaque élément dans le tas est mémorisée, ce qui permet
+ *   de diminuer la clé d'un élément déjà présent en O(log n)
+ * - aucune allocation après construction tant que la capacité suffit
+ */
+public class TasBinaire {
+
+    /** Éléments du tas, rangés selon l'ordre du tas */
+    private int[] elements;
+
+    /** Clés des éléments (indexées par élément, pas par position) */
+    private double[] cles;
+
+    /** Position de chaque élément dans le tas, -1 s'il est absent */
+    private int[] positions;
+
+    /** Nombre d'éléments présents dans le tas */
+    private int taille;
+
+    /**
+     * Constructeur - crée un tas vide pouvant contenir les éléments 0..capacite-1
+     * @param capacite le nombre d'éléments distincts possibles
+     */
+    public TasBinaire(int capacite) {
+        this.elements = new int[Math.max(1, capacite)];
+        this.cles = new double[Math.max(1, capacite)];
+        this.positions = new int[Math.max(1, capacite)];
+        Arrays.fill(this.positions, -1);
+        this.taille = 0;
+    }
+
+    /**
+     * Agrandit le tas si nécessaire pour accepter les éléments 0..capacite-1
+     * @param capacite le nombre d'éléments distincts possibles
+     */
+    public void assurerCapacite(int capacite) {
+        if (capacite <= this.positions.length) {
+            return;
+        }
+        int nouvelle = Math.max(capacite, this.positions.length * 2);
+        int ancienne = this.positions.length;
+        this.elements = Arrays.copyOf(this.elements, nouvelle);
+        this.cles = Arrays.copyOf(this.cles, nouvelle);
+        this.positions = Arrays.copyOf(this.positions, nouvelle);
+        Arrays.fill(this.positions, ancienne, nouvelle, -1);
+    }
+
+    /**
+     * Indique si le tas est vide
+     * @return true si aucun élément n'est présent
+     */
+    public boolean estVide() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Retourne le nombre d'éléments présents
+     * @return la taille du tas
+     */
+    public int taille() {
+        return this.taille;
+    }
+
+    /**
+     * Indique si un élément est présent dans le tas
+     * @param e l'élément
+     * @return true si e est dans le tas
+     */
+    public boolean contient(int e) {
+        return this.positions[e] != -1;
+    }
+
+    /**
+     * Insère un élément, ou diminue sa clé s'il est déjà présent
+     * (une clé plus grande que la clé actuelle est ignorée)
+     * @param e l'élément
+     * @param cle la nouvelle clé
+     */
+    public void insererOuDiminuer(int e, double cle) {
+        int pos = this.positions[e];
+        if (pos == -1) {
+            pos = this.taille++;
+            this.elements[pos] = e;
+            this.positions[e] = pos;
+            this.cles[e] = cle;
+            monter(pos);
+        } else if (cle < this.cles[e]) {
+            this.cles[e] = cle;
+            monter(pos);
+        }
+    }
+
+    /**
+     * Retourne la clé minimale sans retirer l'élément
+     * @return la clé du sommet du tas
+     */
+    public double cleMin() {
+        return this.cles[this.elements[0]];
+    }
+
+    /**
+     * Retire et retourne l'élément de clé minimale
+     * @return l'élément de clé minimale
+     */
+    public int extraireMin() {
+        int min = this.elements[0];
+        this.positions[min] = -1;
+        this.taille--;
+        if (this.taille > 0) {
+            int dernier = this.elements[this.taille];
+            this.elements[0] = dernier;
+            this.positions[dernier] = 0;
+            descendre(0);
+        }
+        return min;
+    }
+
+    /**
+     * Vide le tas en O(taille) pour pouvoir le réutiliser
+     */
+    public void vider() {
+        for (int i = 0; i < this.taille; i++) {
+            this.positions[this.elements[i]] = -1;
+        }
+        this.taille = 0;
+    }
+
+    /**
+     * Fait remonter l'élément en position pos jusqu'à sa place
+     */
+    private void monter(int pos) {
+        int e = this.elements[pos];
+        double cle = this.cles[e];
+        while (pos > 0) {
+            int posParent = (pos - 1) >>> 1;
+            int parent = this.elements[posParent];
+            if (this.cles[parent] <= cle) {
+                break;
+            }
+            this.elements[pos] = parent;
+            this.positions[parent] = pos;
+            pos = posParent;
+        }
+        this.elements[pos] = e;
+        this.positions[e] = pos;
+    }
+
+    /**
+     * Fait descendre l'élément en position pos jusqu'à sa place
+     */
+    private void descendre(int pos) {
+        int e = this.elements[pos];
+        double cle = this.cles[e];
+        int moitie = this.taille >>> 1;
+        while (pos < moitie) {
+            int fils = 2 * pos + 1;
+            int droit = fils + 1;
+            if (droit < this.taille && this.cles[this.elements[droit]] < this.cles[this.elements[fils]]) {
+                fils = droit;
+            }
+            int elementFils = this.elements[fils];
+            if (cle <= this.cles[elementFils]) {
+                break;
+            }
+            this.elements[pos] = elementFils;
+            this.positions[elementFils] = pos;
+            pos = fils;
+        }
+        this.elements[pos] = e;
+        this.positions[e] = pos;
+    }
+}
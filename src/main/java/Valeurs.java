@@ -80,15 +80,15 @@ public class Valeurs {
      * @return descriptif du noeud
      */
     public String toString() {
-        String res = "";
+        StringBuilder res = new StringBuilder();
         // pour chaque noeud
-        for (String s : this.valeur.keySet()) {
+        for (Map.Entry<String, Double> e : this.valeur.entrySet()) {
             // ajoute la valeur et le noeud parent
-            Double valeurNoeud = valeur.get(s);
-            String noeudParent = parent.get(s);
-            res += s + " -> V:" + valeurNoeud + " p:" + noeudParent + "\n";
+            String noeudParent = parent.get(e.getKey());
+            res.append(e.getKey()).append(" -> V:").append(e.getValue())
+                    .append(" p:").append(noeudParent).append('\n');
         }
-        return res;
+        return res.toString();
     }
 
     /**
@@ -0,0 +1,272 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Version de Valeurs stockée dans des tableaux indexés par numéro de nœud
+ * - valeurs dans un double[], parents dans un int[] (-1 = pas de parent)
+ * - même API par nom que Valeurs (getValeur, getParent, calculerChemin)
+ * - API par indice pour les algorithmes (getDistance, setDistance, ...)
+ * - réutilisable d'une requête à l'autre : reinitialiser() change d'époque
+ *   en O(1), une case n'est valide que si son époque est l'époque courante
+ *
+ * Un nœud jamais modifié depuis la dernière réinitialisation a une valeur
+ * infinie (Double.MAX_VALUE) et pas de parent.
+ */
+public class ValeursIndexees extends Valeurs {
+
+    /** Nom de chaque nœud (indice -> nom) */
+    private final String[] noms;
+
+    /** Indice de chaque nœud (nom -> indice) */
+    private final Map<String, Integer> indices;
+
+    /** Valeur de chaque nœud */
+    private final double[] distances;
+
+    /** Parent de chaque nœud (-1 si aucun) */
+    private final int[] parents;
+
+    /** Époque à laquelle chaque case a été écrite pour la dernière fois */
+    private final int[] epoques;
+
+    /** Époque à laquelle chaque nœud a été marqué (traité) */
+    private final int[] marques;
+
+    /** Époque courante */
+    private int epoque;
+
+    /**
+     * Constructeur pour les nœuds d'un graphe compact (partage son dictionnaire)
+     * @param g le graphe compact
+     */
+    public ValeursIndexees(GrapheCompact g) {
+        this(g.tableauNoms(), g.tableIndices());
+    }
+
+    /**
+     * Constructeur pour une liste de nœuds quelconque (numérotés dans l'ordre de la liste)
+     * @param noeuds la liste des nœuds
+     */
+    public ValeursIndexees(List<String> noeuds) {
+        this(noeuds.toArray(new String[0]), null);
+    }
+
+    /**
+     * Constructeur à partir du dictionnaire des nœuds
+     * @param noms le nom de chaque nœud
+     * @param indices l'indice de chaque nœud (construit si null)
+     */
+    private ValeursIndexees(String[] noms, Map<String, Integer> indices) {
+        super();
+        this.noms = noms;
+        if (indices == null) {
+            indices = new HashMap<>(noms.length * 2);
+            for (int i = 0; i < noms.length; i++) {
+                indices.put(noms[i], i);
+            }
+        }
+        this.indices = indices;
+        this.distances = new double[noms.length];
+        this.parents = new int[noms.length];
+        this.epoques = new int[noms.length];
+        this.marques = new int[noms.length];
+        this.epoque = 1;
+    }
+
+    /**
+     * Efface toutes les valeurs en O(1) pour réutiliser l'objet
+     */
+    public void reinitialiser() {
+        this.epoque++;
+        if (this.epoque == Integer.MAX_VALUE) {
+            // Débordement du compteur : remise à zéro complète (rarissime)
+            Arrays.fill(this.epoques, 0);
+            Arrays.fill(this.marques, 0);
+            this.epoque = 1;
+        }
+        if (!this.valeur.isEmpty()) {
+            this.valeur.clear();
+            this.parent.clear();
+        }
+    }
+
+    /**
+     * Retourne le nombre de nœuds couverts
+     * @return le nombre de nœuds
+     */
+    public int nbNoeuds() {
+        return this.noms.length;
+    }
+
+    /**
+     * Retourne l'indice d'un nœud
+     * @param nom le nom du nœud
+     * @return l'indice du nœud, ou -1 s'il est inconnu
+     */
+    public int indice(String nom) {
+        Integer i = this.indices.get(nom);
+        return (i == null) ? -1 : i;
+    }
+
+    /**
+     * Retourne le nom d'un nœud
+     * @param u l'indice du nœud
+     * @return le nom du nœud
+     */
+    public String nom(int u) {
+        return this.noms[u];
+    }
+
+    /**
+     * Retourne la valeur d'un nœud
+     * @param u l'indice du nœud
+     * @return la valeur, Double.MAX_VALUE si non définie
+     */
+    public double getDistance(int u) {
+        return (this.epoques[u] == this.epoque) ? this.distances[u] : Double.MAX_VALUE;
+    }
+
+    /**
+     * Modifie la valeur d'un nœud
+     * @param u l'indice du nœud
+     * @param d la nouvelle valeur
+     */
+    public void setDistance(int u, double d) {
+        toucher(u);
+        this.distances[u] = d;
+    }
+
+    /**
+     * Retourne le parent d'un nœud
+     * @param u l'indice du nœud
+     * @return l'indice du parent, -1 si aucun
+     */
+    public int getParentIndice(int u) {
+        return (this.epoques[u] == this.epoque) ? this.parents[u] : -1;
+    }
+
+    /**
+     * Modifie le parent d'un nœud
+     * @param u l'indice du nœud
+     * @param p l'indice du parent (-1 si aucun)
+     */
+    public void setParentIndice(int u, int p) {
+        toucher(u);
+        this.parents[u] = p;
+    }
+
+    /**
+     * Marque un nœud (par exemple : sorti de la file des nœuds à traiter)
+     * @param u l'indice du nœud
+     */
+    public void marquer(int u) {
+        this.marques[u] = this.epoque;
+    }
+
+    /**
+     * Indique si un nœud a été marqué depuis la dernière réinitialisation
+     * @param u l'indice du nœud
+     * @return true si le nœud est marqué
+     */
+    public boolean estMarque(int u) {
+        return this.marques[u] == this.epoque;
+    }
+
+    /**
+     * Rend la case u valide pour l'époque courante
+     */
+    private void toucher(int u) {
+        if (this.epoques[u] != this.epoque) {
+            this.epoques[u] = this.epoque;
+            this.distances[u] = Double.MAX_VALUE;
+            this.parents[u] = -1;
+        }
+    }
+
+    @Override
+    public void setValeur(String nom, double valeur) {
+        int u = indice(nom);
+        if (u == -1) {
+            super.setValeur(nom, valeur);
+        } else {
+            setDistance(u, valeur);
+        }
+    }
+
+    @Override
+    public void setParent(String nom, String parent) {
+        int u = indice(nom);
+        if (u == -1) {
+            super.setParent(nom, parent);
+        } else {
+            setParentIndice(u, parent == null ? -1 : indice(parent));
+        }
+    }
+
+    @Override
+    public String getParent(String nom) {
+        int u = indice(nom);
+        if (u == -1) {
+            return super.getParent(nom);
+        }
+        int p = getParentIndice(u);
+        return (p == -1) ? null : this.noms[p];
+    }
+
+    @Override
+    public double getValeur(String nom) {
+        int u = indice(nom);
+        if (u == -1) {
+            return super.getValeur(nom);
+        }
+        return getDistance(u);
+    }
+
+    /**
+     * Calcule le chemin jusqu'à la destination en remontant les parents par indice
+     * @param destination le nœud de destination
+     * @return une liste de nœuds représentant le chemin (vide si aucun)
+     */
+    @Override
+    public List<String> calculerChemin(String destination) {
+        int u = indice(destination);
+        if (u == -1) {
+            return super.calculerChemin(destination);
+        }
+        List<String> chemin = new ArrayList<>();
+        if (getParentIndice(u) == -1) {
+            return chemin;
+        }
+        while (u != -1 && chemin.size() <= this.noms.length) {
+            chemin.add(this.noms[u]);
+            u = getParentIndice(u);
+        }
+        java.util.Collections.reverse(chemin);
+        return chemin;
+    }
+
+    /**
+     * Affiche le contenu trié par nom de nœud, comme Valeurs
+     * @return descriptif des nœuds
+     */
+    @Override
+    public String toString() {
+        Integer[] ordre = new Integer[this.noms.length];
+        for (int i = 0; i < ordre.length; i++) {
+            ordre[i] = i;
+        }
+        Arrays.sort(ordre, (a, b) -> this.noms[a].compareTo(this.noms[b]));
+
+        StringBuilder sb = new StringBuilder();
+        for (int u : ordre) {
+            int p = getParentIndice(u);
+            sb.append(this.noms[u]).append(" -> V:").append(getDistance(u))
+                    .append(" p:").append(p == -1 ? null : this.noms[p]).append('\n');
+        }
+        sb.append(super.toString());
+        return sb.toString();
+    }
+}